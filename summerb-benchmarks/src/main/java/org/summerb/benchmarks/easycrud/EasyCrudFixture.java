@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.benchmarks.easycrud;
+
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.summerb.easycrud.dao.EasyCrudDaoSqlImpl;
+import org.summerb.easycrud.dao.NamedParameterJdbcTemplateEx;
+import org.summerb.easycrud.impl.EasyCrudServiceImpl;
+import org.summerb.easycrud.join_query.JoinQueryFactory;
+import org.summerb.easycrud.join_query.QuerySpecificsResolver;
+import org.summerb.easycrud.join_query.impl.JoinQueryFactoryImpl;
+import org.summerb.easycrud.join_query.impl.QuerySpecificsResolverImpl;
+import org.summerb.easycrud.join_query.impl.SelectFactoryImpl;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.easycrud.sql_builder.FieldsEnlister;
+import org.summerb.easycrud.sql_builder.QueryToSql;
+import org.summerb.easycrud.sql_builder.SqlBuilder;
+import org.summerb.easycrud.sql_builder.impl.FieldsEnlisterCachingImpl;
+import org.summerb.easycrud.sql_builder.impl.FieldsEnlisterImpl;
+import org.summerb.easycrud.sql_builder.impl.SqlBuilderCachingImpl;
+import org.summerb.easycrud.sql_builder.mysql.OrderByToSqlMySqlImpl;
+import org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl;
+import org.summerb.easycrud.sql_builder.mysql.SqlBuilderMySqlImpl;
+import org.summerb.methodCapturers.MethodCapturerProxyClassFactoryImpl;
+import org.summerb.methodCapturers.PropertyNameResolverFactoryImpl;
+
+/**
+ * Wires EasyCrud components the same way as {@link org.summerb.easycrud.config.EasyCrudConfigMySql}
+ * does, but without Spring context and without database (data source is never connected)
+ */
+public class EasyCrudFixture {
+  public final DataSource dataSource = new SimpleDriverDataSource();
+  public final FieldsEnlister fieldsEnlister =
+      new FieldsEnlisterCachingImpl(new FieldsEnlisterImpl());
+  public final QuerySpecificsResolver querySpecificsResolver = new QuerySpecificsResolverImpl();
+  public final QueryToSql queryToSql = new QueryToSqlMySqlImpl();
+  public final SqlBuilder sqlBuilder =
+      new SqlBuilderMySqlImpl(
+          querySpecificsResolver, fieldsEnlister, queryToSql, new OrderByToSqlMySqlImpl());
+  public final SqlBuilder sqlBuilderCaching = new SqlBuilderCachingImpl(sqlBuilder, queryToSql);
+  public final JoinQueryFactory joinQueryFactory =
+      new JoinQueryFactoryImpl(
+          new SelectFactoryImpl(
+              querySpecificsResolver,
+              sqlBuilder,
+              new NamedParameterJdbcTemplateEx(dataSource),
+              fieldsEnlister),
+          querySpecificsResolver,
+          fieldsEnlister);
+  public final PropertyNameResolverFactoryImpl propertyNameResolverFactory =
+      new PropertyNameResolverFactoryImpl(new MethodCapturerProxyClassFactoryImpl());
+
+  public final EasyCrudServiceImpl<Long, PostRow, EasyCrudDaoSqlImpl<Long, PostRow>> postService =
+      buildService("posts", PostRow.class);
+  public final EasyCrudServiceImpl<Long, UserRow, EasyCrudDaoSqlImpl<Long, UserRow>> userService =
+      buildService("users", UserRow.class);
+
+  protected <TRow extends HasId<Long>>
+      EasyCrudServiceImpl<Long, TRow, EasyCrudDaoSqlImpl<Long, TRow>> buildService(
+          String tableName, Class<TRow> rowClass) {
+    EasyCrudDaoSqlImpl<Long, TRow> dao = new EasyCrudDaoSqlImpl<>(dataSource, tableName, rowClass);
+    EasyCrudServiceImpl<Long, TRow, EasyCrudDaoSqlImpl<Long, TRow>> ret =
+        new EasyCrudServiceImpl<>(dao, rowClass);
+    ret.setPropertyNameResolverFactory(propertyNameResolverFactory);
+    ret.setJoinQueryFactory(joinQueryFactory);
+    return ret;
+  }
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.benchmarks.easycrud;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.summerb.easycrud.dao.IndexedSqlParameterSource;
+import org.summerb.easycrud.dao.ParameterSourceBuilderBeanPropImpl;
+import org.summerb.easycrud.dao.SqlTypeOverridesDefaultImpl;
+
+/**
+ * Building parameters for insert and update statements. Values are read to make sure lazy
+ * implementations are measured too
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterSourceBuilderBenchmark {
+  protected static final String[] PARAMS = {
+    "id", "authorId", "title", "body", "likes", "published", "rating", "createdAt", "modifiedAt"
+  };
+
+  protected ParameterSourceBuilderBeanPropImpl<PostRow> parameterSourceBuilder;
+  protected PostRow row;
+  protected int[] paramIndexes;
+
+  @Setup
+  public void setup() {
+    parameterSourceBuilder =
+        new ParameterSourceBuilderBeanPropImpl<>(new SqlTypeOverridesDefaultImpl(), PostRow.class);
+    row = PostRow.build(42);
+
+    IndexedSqlParameterSource params =
+        (IndexedSqlParameterSource) parameterSourceBuilder.buildParameterSource(row);
+    paramIndexes = new int[PARAMS.length];
+    for (int i = 0; i < PARAMS.length; i++) {
+      paramIndexes[i] = params.getParameterIndex(PARAMS[i]);
+    }
+  }
+
+  @Benchmark
+  public SqlParameterSource build() {
+    return parameterSourceBuilder.buildParameterSource(row);
+  }
+
+  @Benchmark
+  public int buildAndRead() {
+    SqlParameterSource params = parameterSourceBuilder.buildParameterSource(row);
+    int ret = 0;
+    for (String param : PARAMS) {
+      ret += params.getSqlType(param);
+      if (params.getValue(param) != null) {
+        ret++;
+      }
+    }
+    return ret;
+  }
+
+  /** Same as {@link #buildAndRead()}, but the way insert and update statements read values */
+  @Benchmark
+  public int buildAndReadIndexed() {
+    IndexedSqlParameterSource params =
+        (IndexedSqlParameterSource) parameterSourceBuilder.buildParameterSource(row);
+    int ret = 0;
+    for (int paramIndex : paramIndexes) {
+      if (params.getTypedValue(paramIndex) != null) {
+        ret++;
+      }
+    }
+    return ret;
+  }
+}
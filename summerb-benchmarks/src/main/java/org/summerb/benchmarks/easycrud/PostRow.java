@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.benchmarks.easycrud;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.easycrud.row.HasTimestamps;
+
+/** Row of an average size, used across EasyCrud benchmarks */
+public class PostRow implements HasId<Long>, HasTimestamps, Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private Long id;
+  private Long authorId;
+  private String title;
+  private String body;
+  private int likes;
+  private boolean published;
+  private BigDecimal rating;
+  private long createdAt;
+  private long modifiedAt;
+
+  public static PostRow build(long id) {
+    PostRow ret = new PostRow();
+    ret.setId(id);
+    ret.setAuthorId(id % 100);
+    ret.setTitle("Title " + id);
+    ret.setBody("Body of the post number " + id + " which is a bit longer than title");
+    ret.setLikes((int) (id % 1000));
+    ret.setPublished(id % 2 == 0);
+    ret.setRating(BigDecimal.valueOf(id % 50, 1));
+    ret.setCreatedAt(1_700_000_000_000L + id);
+    ret.setModifiedAt(1_700_000_000_000L + id * 2);
+    return ret;
+  }
+
+  @Override
+  public Long getId() {
+    return id;
+  }
+
+  @Override
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getAuthorId() {
+    return authorId;
+  }
+
+  public void setAuthorId(Long authorId) {
+    this.authorId = authorId;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public void setTitle(String title) {
+    this.title = title;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public void setBody(String body) {
+    this.body = body;
+  }
+
+  public int getLikes() {
+    return likes;
+  }
+
+  public void setLikes(int likes) {
+    this.likes = likes;
+  }
+
+  public boolean isPublished() {
+    return published;
+  }
+
+  public void setPublished(boolean published) {
+    this.published = published;
+  }
+
+  public BigDecimal getRating() {
+    return rating;
+  }
+
+  public void setRating(BigDecimal rating) {
+    this.rating = rating;
+  }
+
+  @Override
+  public long getCreatedAt() {
+    return createdAt;
+  }
+
+  @Override
+  public void setCreatedAt(long createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  @Override
+  public long getModifiedAt() {
+    return modifiedAt;
+  }
+
+  @Override
+  public void setModifiedAt(long modifiedAt) {
+    this.modifiedAt = modifiedAt;
+  }
+}
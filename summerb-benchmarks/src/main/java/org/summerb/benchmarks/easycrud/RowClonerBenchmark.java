@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.benchmarks.easycrud;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.summerb.easycrud.tools.RowCloner;
+import org.summerb.easycrud.tools.RowClonerDeepCopyImpl;
+import org.summerb.easycrud.tools.RowClonerGeneratedImpl;
+import org.summerb.easycrud.tools.RowClonerReflectionImpl;
+
+/** Cost of a single row clone, which EasyCrud performs on every create and update */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowClonerBenchmark {
+  @Param({"reflection", "generated", "deepCopy"})
+  public String cloner;
+
+  protected RowCloner rowCloner;
+  protected PostRow row;
+
+  @Setup
+  public void setup() {
+    switch (cloner) {
+      case "reflection" -> rowCloner = new RowClonerReflectionImpl();
+      case "generated" -> rowCloner = new RowClonerGeneratedImpl();
+      case "deepCopy" -> rowCloner = new RowClonerDeepCopyImpl();
+      default -> throw new IllegalArgumentException("Unknown cloner: " + cloner);
+    }
+    row = PostRow.build(42);
+  }
+
+  @Benchmark
+  public Object cloneRow() {
+    return rowCloner.clone(row);
+  }
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.benchmarks.easycrud;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.summerb.easycrud.dao.BeanPropertyRowMapperEx;
+import org.summerb.easycrud.dao.GeneratedRowMapper;
+
+/**
+ * Mapping of a {@link ResultSet} page to rows. Result set is an in-memory {@link CachedRowSet} so
+ * numbers reflect mapper overhead only, not driver or network costs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+  protected static final String[] COLUMNS = {
+    "id", "author_id", "title", "body", "likes", "published", "rating", "created_at", "modified_at"
+  };
+  protected static final int[] TYPES = {
+    Types.BIGINT,
+    Types.BIGINT,
+    Types.VARCHAR,
+    Types.VARCHAR,
+    Types.INTEGER,
+    Types.BOOLEAN,
+    Types.DECIMAL,
+    Types.BIGINT,
+    Types.BIGINT
+  };
+
+  @Param({"100"})
+  public int rows;
+
+  @Param({"spring", "summerb", "generated", "handwritten"})
+  public String mapper;
+
+  protected CachedRowSet resultSet;
+  protected RowMapper<PostRow> rowMapper;
+
+  @Setup
+  public void setup() throws SQLException {
+    resultSet = buildResultSet(rows);
+    rowMapper = buildRowMapper(mapper);
+  }
+
+  protected static RowMapper<PostRow> buildRowMapper(String mapper) {
+    switch (mapper) {
+      case "spring":
+        return new BeanPropertyRowMapper<>(PostRow.class);
+      case "summerb":
+        return new BeanPropertyRowMapperEx<>(PostRow.class);
+      case "generated":
+        return new GeneratedRowMapper<>(PostRow.class);
+      case "handwritten":
+        return RowMapperBenchmark::mapByHand;
+      default:
+        throw new IllegalArgumentException("Unknown mapper: " + mapper);
+    }
+  }
+
+  protected static PostRow mapByHand(ResultSet rs, int rowNum) throws SQLException {
+    PostRow ret = new PostRow();
+    ret.setId(rs.getLong(1));
+    ret.setAuthorId(rs.getLong(2));
+    ret.setTitle(rs.getString(3));
+    ret.setBody(rs.getString(4));
+    ret.setLikes(rs.getInt(5));
+    ret.setPublished(rs.getBoolean(6));
+    ret.setRating(rs.getBigDecimal(7));
+    ret.setCreatedAt(rs.getLong(8));
+    ret.setModifiedAt(rs.getLong(9));
+    return ret;
+  }
+
+  protected static CachedRowSet buildResultSet(int rows) throws SQLException {
+    RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+    metaData.setColumnCount(COLUMNS.length);
+    for (int i = 0; i < COLUMNS.length; i++) {
+      metaData.setColumnName(i + 1, COLUMNS[i]);
+      metaData.setColumnLabel(i + 1, COLUMNS[i]);
+      metaData.setColumnType(i + 1, TYPES[i]);
+    }
+
+    CachedRowSet ret = RowSetProvider.newFactory().createCachedRowSet();
+    ret.setMetaData(metaData);
+    for (long id = 1; id <= rows; id++) {
+      PostRow row = PostRow.build(id);
+      ret.moveToInsertRow();
+      ret.updateLong(1, row.getId());
+      ret.updateLong(2, row.getAuthorId());
+      ret.updateString(3, row.getTitle());
+      ret.updateString(4, row.getBody());
+      ret.updateInt(5, row.getLikes());
+      ret.updateBoolean(6, row.isPublished());
+      ret.updateBigDecimal(7, row.getRating());
+      ret.updateLong(8, row.getCreatedAt());
+      ret.updateLong(9, row.getModifiedAt());
+      ret.insertRow();
+      ret.moveToCurrentRow();
+    }
+    ret.beforeFirst();
+    return ret;
+  }
+
+  @Benchmark
+  public void mapPage(Blackhole blackhole) throws SQLException {
+    resultSet.beforeFirst();
+    int rowNum = 0;
+    while (resultSet.next()) {
+      blackhole.consume(rowMapper.mapRow(resultSet, rowNum++));
+    }
+  }
+
+  /** Kept to make sure {@link BigDecimal} column is not optimized away by any mapper */
+  @Benchmark
+  public BigDecimal mapSingleRow() throws SQLException {
+    resultSet.absolute(1);
+    return rowMapper.mapRow(resultSet, 0).getRating();
+  }
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.benchmarks.easycrud;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.summerb.easycrud.join_query.JoinQuery;
+import org.summerb.easycrud.query.OrderBy;
+import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.sql_builder.SqlBuilder;
+import org.summerb.easycrud.sql_builder.model.FromAndWhere;
+import org.summerb.easycrud.sql_builder.model.QueryData;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+
+/**
+ * Building SQL for representative {@link Query} and {@link JoinQuery} shapes, with and without
+ * {@link org.summerb.easycrud.sql_builder.impl.SqlBuilderCachingImpl}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlBuilderBenchmark {
+  protected static final PagerParams PAGE = new PagerParams(20, 20);
+
+  @Param({"plain", "caching"})
+  public String builder;
+
+  protected SqlBuilder sqlBuilder;
+  protected Query<Long, PostRow> simple;
+  protected Query<Long, PostRow> typical;
+  protected Query<Long, PostRow> disjunction;
+  protected OrderBy[] orderBy;
+  protected JoinQuery<Long, PostRow> joinQuery;
+  protected List<Query<?, ?>> joinedQueries;
+  protected OrderBy[] joinedOrderBy;
+
+  @Setup
+  public void setup() {
+    EasyCrudFixture fixture = new EasyCrudFixture();
+    sqlBuilder = "caching".equals(builder) ? fixture.sqlBuilderCaching : fixture.sqlBuilder;
+
+    simple = fixture.postService.query().eq(PostRow::getAuthorId, 5L);
+
+    typical =
+        fixture
+            .postService
+            .query()
+            .eq(PostRow::getAuthorId, 5L)
+            .isTrue(PostRow::isPublished)
+            .in(PostRow::getLikes, List.of(1, 2, 3, 5, 8, 13, 21, 34, 55, 89))
+            .contains(PostRow::getTitle, "abc")
+            .ge(PostRow::getCreatedAt, 1_700_000_000_000L);
+
+    disjunction =
+        fixture
+            .postService
+            .query()
+            .isTrue(PostRow::isPublished)
+            .or(
+                fixture.postService.query().eq(PostRow::getAuthorId, 5L),
+                fixture.postService.query().ge(PostRow::getLikes, 100));
+
+    orderBy =
+        new OrderBy[] {
+          OrderBy.Desc("createdAt"), OrderBy.Asc(fixture.postService.name(PostRow::getTitle))
+        };
+
+    Query<Long, PostRow> posts = fixture.postService.query("p").isTrue(PostRow::isPublished);
+    Query<Long, UserRow> users = fixture.userService.query("u").ge(UserRow::getKarma, 10);
+    joinQuery = posts.toJoin().join(users, PostRow::getAuthorId);
+    joinedQueries = List.of(posts, users);
+    joinedOrderBy = new OrderBy[] {new OrderBy("createdAt", OrderBy.ORDER_DESC, posts)};
+  }
+
+  @Benchmark
+  public FromAndWhere fromAndWhereSimple() {
+    return sqlBuilder.fromAndWhere("posts", simple);
+  }
+
+  @Benchmark
+  public FromAndWhere fromAndWhereTypical() {
+    return sqlBuilder.fromAndWhere("posts", typical);
+  }
+
+  @Benchmark
+  public FromAndWhere fromAndWhereDisjunction() {
+    return sqlBuilder.fromAndWhere("posts", disjunction);
+  }
+
+  @Benchmark
+  public QueryData selectSimple() {
+    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere("posts", simple);
+    return sqlBuilder.select(PostRow.class, fromAndWhere, simple, PagerParams.ALL, null, false);
+  }
+
+  @Benchmark
+  public QueryData selectTypicalPaged() {
+    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere("posts", typical);
+    return sqlBuilder.select(PostRow.class, fromAndWhere, typical, PAGE, orderBy, true);
+  }
+
+  @Benchmark
+  public QueryData joinedSelect() {
+    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(joinQuery);
+    return sqlBuilder.joinedSelect(joinQuery, joinedQueries, PAGE, joinedOrderBy, fromAndWhere);
+  }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.benchmarks.utils;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.summerb.utils.tx.TransactionBoundCache;
+
+/**
+ * {@link TransactionBoundCache} reads outside of transaction (global cache) and the full
+ * transaction-local cycle: first read registers synchronization, then reads fall through the
+ * transaction-local overlay to the global cache, then synchronization cleans it up
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionBoundCacheBenchmark {
+  @Param({"1000"})
+  public int globalEntries;
+
+  @Param({"10"})
+  public int readsPerTransaction;
+
+  protected TransactionBoundCache<Integer, String> cache;
+  protected int key;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    CacheBuilder cacheBuilder = CacheBuilder.newBuilder().maximumSize(globalEntries * 2L);
+    cache =
+        new TransactionBoundCache<Integer, String>(
+            "benchmark-" + System.nanoTime(), cacheBuilder, CacheLoader.from(String::valueOf));
+    for (int i = 0; i < globalEntries; i++) {
+      cache.getUnchecked(i);
+    }
+  }
+
+  @Benchmark
+  public String getOutsideTransaction() {
+    key = (key + 1) % globalEntries;
+    return cache.getUnchecked(key);
+  }
+
+  @Benchmark
+  public int getInsideTransaction() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      int ret = 0;
+      for (int i = 0; i < readsPerTransaction; i++) {
+        key = (key + 1) % globalEntries;
+        ret += cache.getUnchecked(key).length();
+      }
+      return ret;
+    } finally {
+      List<TransactionSynchronization> synchronizations =
+          TransactionSynchronizationManager.getSynchronizations();
+      TransactionSynchronizationManager.clearSynchronization();
+      for (TransactionSynchronization synchronization : synchronizations) {
+        synchronization.afterCommit();
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+      }
+    }
+  }
+}
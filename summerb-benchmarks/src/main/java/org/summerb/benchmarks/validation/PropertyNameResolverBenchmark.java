@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.benchmarks.validation;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.summerb.methodCapturers.MethodCapturerProxyClassFactoryImpl;
+import org.summerb.methodCapturers.PropertyNameResolver;
+import org.summerb.methodCapturers.PropertyNameResolverFactoryImpl;
+import org.summerb.methodCapturers.PropertyNameResolverImpl;
+
+/**
+ * Resolving property names from getter method references. Both the plain (proxy call per
+ * resolution) and the cached resolver, as returned by the factory, are measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyNameResolverBenchmark {
+  protected PropertyNameResolver<TypicalBean> plain;
+  protected PropertyNameResolver<TypicalBean> cached;
+
+  @Setup
+  public void setup() {
+    MethodCapturerProxyClassFactoryImpl methodCapturerProxyClassFactory =
+        new MethodCapturerProxyClassFactoryImpl();
+    plain =
+        new PropertyNameResolverImpl<>(
+            () -> methodCapturerProxyClassFactory.buildProxyFor(TypicalBean.class));
+    cached =
+        new PropertyNameResolverFactoryImpl(methodCapturerProxyClassFactory)
+            .getResolver(TypicalBean.class);
+  }
+
+  @Benchmark
+  public String resolvePlain() {
+    return plain.resolve(TypicalBean::getWorkProductLocationComment);
+  }
+
+  @Benchmark
+  public String resolveCached() {
+    return cached.resolve(TypicalBean::getWorkProductLocationComment);
+  }
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.benchmarks.validation;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.summerb.methodCapturers.MethodCapturerProxyClassFactoryImpl;
+import org.summerb.methodCapturers.PropertyNameResolverFactoryImpl;
+import org.summerb.validation.ValidationContext;
+import org.summerb.validation.ValidationContextFactory;
+import org.summerb.validation.ValidationContextFactoryImpl;
+import org.summerb.validation.jakarta.JakartaAnnotationsProcessorsRegistryPackageScanImpl;
+import org.summerb.validation.jakarta.JakartaValidationBeanProcessorCachedImpl;
+import org.summerb.validation.jakarta.JakartaValidationBeanProcessorImpl;
+import org.summerb.validation.jakarta.JakartaValidatorImpl;
+
+/**
+ * Validation of a typical form bean using Jakarta annotation processors and, for comparison, using
+ * explicit {@link ValidationContext} calls with getter references
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationContextBenchmark {
+  protected ValidationContextFactory validationContextFactory;
+  protected TypicalBean valid;
+  protected TypicalBean invalid;
+
+  @Setup
+  public void setup() {
+    validationContextFactory =
+        new ValidationContextFactoryImpl(
+            new PropertyNameResolverFactoryImpl(new MethodCapturerProxyClassFactoryImpl()),
+            new JakartaValidatorImpl(
+                new JakartaValidationBeanProcessorCachedImpl(
+                    new JakartaValidationBeanProcessorImpl(
+                        new JakartaAnnotationsProcessorsRegistryPackageScanImpl()))));
+
+    valid = new TypicalBean();
+    valid.setProjectId("P-1");
+    valid.setPeriod(LocalDate.of(2025, 1, 1));
+    valid.setType("monthly");
+    valid.setScore(BigDecimal.valueOf(42));
+    valid.setComment("ok");
+
+    invalid = new TypicalBean();
+    invalid.setProjectId(" ");
+    invalid.setScore(BigDecimal.valueOf(420));
+    invalid.setComment("way too long comment");
+  }
+
+  @Benchmark
+  public boolean jakartaValid() {
+    ValidationContext<TypicalBean> ctx = validationContextFactory.buildFor(valid);
+    ctx.processJakartaValidations();
+    return ctx.isHasErrors();
+  }
+
+  @Benchmark
+  public boolean jakartaInvalid() {
+    ValidationContext<TypicalBean> ctx = validationContextFactory.buildFor(invalid);
+    ctx.processJakartaValidations();
+    return ctx.isHasErrors();
+  }
+
+  @Benchmark
+  public boolean explicitInvalid() {
+    ValidationContext<TypicalBean> ctx = validationContextFactory.buildFor(invalid);
+    ctx.notNull(TypicalBean::getPeriod);
+    ctx.notNull(TypicalBean::getType);
+    ctx.notNull(TypicalBean::getScore);
+    ctx.le(TypicalBean::getScore, BigDecimal.valueOf(100));
+    return ctx.isHasErrors();
+  }
+}
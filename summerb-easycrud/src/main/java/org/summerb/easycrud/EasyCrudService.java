@@ -26,10 +26,14 @@ import org.springframework.util.CollectionUtils;
 import org.summerb.easycrud.exceptions.EasyCrudExceptionStrategy;
 import org.summerb.easycrud.exceptions.EntityNotFoundException;
 import org.summerb.easycrud.join_query.JoinQuery;
+import org.summerb.easycrud.prefetch.Prefetch;
+import org.summerb.easycrud.prefetch.PrefetchSource;
 import org.summerb.easycrud.query.EasyCrudServiceQueryApi;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.OrderByBuilder;
 import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.row.HasAuthor;
+import org.summerb.easycrud.row.HasAutoincrementId;
 import org.summerb.easycrud.row.HasId;
 import org.summerb.easycrud.row.HasTimestamps;
 import org.summerb.easycrud.tools.EasyCrudDtoUtils;
@@ -150,6 +154,21 @@ public interface EasyCrudService<TId extends Comparable<TId>, TRow extends HasId
   @Transactional(rollbackFor = Throwable.class)
   TRow create(TRow row);
 
+  /**
+   * Create multiple rows in one go. Rows are inserted using JDBC batch, which is significantly
+   * faster than calling {@link #create(HasId)} for each row individually
+   *
+   * @param rows rows to create
+   * @return newly created rows, in the same order as provided. It is possible that fields will
+   *     differ due to ID set and other modifications set by {@link EasyCrudWireTap} injected into
+   *     this service
+   * @throws ValidationException in case of field validation errors. Some data access exceptions
+   *     might be translated into field validation errors as well
+   * @throws NotAuthorizedException if user is not authorized to perform this operation
+   */
+  @Transactional(rollbackFor = Throwable.class)
+  List<TRow> createAll(Collection<TRow> rows);
+
   /**
    * Update row
    *
@@ -164,6 +183,79 @@ public interface EasyCrudService<TId extends Comparable<TId>, TRow extends HasId
   @Transactional(rollbackFor = Throwable.class)
   TRow update(TRow row);
 
+  /**
+   * Update only given fields of the row. Same as {@link #update(HasId)}, but only columns of the
+   * given fields are written (plus modifiedAt and modifiedBy if applicable), values of other fields
+   * of the given row are ignored. Use {@link #name(Function)} to get field names in a type-safe
+   * manner
+   *
+   * @param row row to update
+   * @param fieldNames names of the fields to update
+   * @return updated row. Note that fields which were not updated are returned as provided, they are
+   *     not re-read from DB
+   * @throws ValidationException in case of field validation errors. Some data access exceptions
+   *     might be translated into field validation errors as well
+   * @throws NotAuthorizedException if user is not authorized to perform this operation
+   * @throws EntityNotFoundException in case entity does not exist
+   */
+  @Transactional(rollbackFor = Throwable.class)
+  TRow updateFields(TRow row, Collection<String> fieldNames);
+
+  /**
+   * Update multiple rows using a single JDBC batch. Each row is updated with the same restrictions
+   * as in {@link #update(HasId)} (including optimistic locking for {@link HasTimestamps} rows), but
+   * rows which were concurrently modified or deleted do not abort the whole batch, they're reported
+   * in {@link UpdateAllResult#getNotUpdated()} instead. If JDBC driver doesn't report per-row
+   * counts, rows are reported in {@link UpdateAllResult#getUnknown()}
+   *
+   * @param rows rows to update
+   * @return outcome of the update for each of the rows
+   * @throws ValidationException in case of field validation errors. Some data access exceptions
+   *     might be translated into field validation errors as well
+   * @throws NotAuthorizedException if user is not authorized to perform this operation
+   */
+  @Transactional(rollbackFor = Throwable.class)
+  UpdateAllResult<TId, TRow> updateAll(Collection<TRow> rows);
+
+  /**
+   * Create row or, if row with same id already exists, update it. Database-native "insert or
+   * update" statement is used, so it doesn't race with concurrent creation of the same row.
+   *
+   * <p>Wire taps are invoked as for {@link #create(HasId)} or {@link #update(HasId)} depending on
+   * whether row exists. To figure that out, current version of the row is loaded and locked
+   * beforehand (only if wire tap requires it or row implements {@link HasTimestamps} or {@link
+   * HasAuthor}). For existing rows createdAt and createdBy are preserved. Optimistic locking is not
+   * applied.
+   *
+   * <p>If row is created by concurrent transaction after it was found missing, but before it was
+   * written, {@link org.springframework.dao.ConcurrencyFailureException} is thrown (given database
+   * reports whether row was inserted or updated)
+   *
+   * <p>Id must be provided by the caller, so it's not supported for {@link HasAutoincrementId} rows
+   *
+   * @param row row to create or update
+   * @return created or updated row. It is possible that fields will differ due to ID set and other
+   *     modifications set by {@link EasyCrudWireTap} injected into this service
+   * @throws ValidationException in case of field validation errors. Some data access exceptions
+   *     might be translated into field validation errors as well
+   * @throws NotAuthorizedException if user is not authorized to perform this operation
+   */
+  @Transactional(rollbackFor = Throwable.class)
+  TRow upsert(TRow row);
+
+  /**
+   * Same as {@link #upsert(HasId)}, but for multiple rows. Rows are written using single JDBC batch
+   * and current versions (if needed) are loaded using single query
+   *
+   * @param rows rows to create or update
+   * @return created or updated rows, in the same order as provided
+   * @throws ValidationException in case of field validation errors. Some data access exceptions
+   *     might be translated into field validation errors as well
+   * @throws NotAuthorizedException if user is not authorized to perform this operation
+   */
+  @Transactional(rollbackFor = Throwable.class)
+  List<TRow> upsertAll(Collection<TRow> rows);
+
   /**
    * @param id id of row to find
    * @return row or null if not found
@@ -233,6 +325,24 @@ public interface EasyCrudService<TId extends Comparable<TId>, TRow extends HasId
   @Transactional(rollbackFor = Throwable.class)
   int deleteByQuery(Query<TId, TRow> query);
 
+  /**
+   * Same as {@link #deleteByQuery(Query)}, but matching rows are loaded and deleted in chunks
+   * (walking them in the order of id), so memory consumption does not depend on the number of
+   * matching rows. Wire taps are invoked per chunk and "after delete" ones only for rows which were
+   * actually deleted.
+   *
+   * @param query query that used to locate rows for deletion
+   * @param chunkSize max number of rows in a chunk
+   * @param commitPerChunk if true, each chunk is deleted in its own transaction, so locks are held
+   *     only while chunk is processed. NOTE: In such case if failure happens, previously deleted
+   *     chunks will not be rolled back. If false, all chunks are deleted in a single transaction
+   * @return number of deleted rows
+   * @throws NotAuthorizedException if user is not authorized to perform this operation
+   * @throws IllegalStateException (possibly wrapped by exception strategy) if transaction manager
+   *     is not available to the service, since rows can't be locked without transaction
+   */
+  int deleteByQueryChunked(Query<TId, TRow> query, int chunkSize, boolean commitPerChunk);
+
   /**
    * @return class of Row served by this service
    */
@@ -330,5 +440,14 @@ public interface EasyCrudService<TId extends Comparable<TId>, TRow extends HasId
    */
   JoinQuery<TId, TRow> buildJoinQuery(Query<TId, TRow> query);
 
+  /**
+   * Builds new {@link Prefetch} that can be used to load rows along with rows they reference.
+   * Usually it's more convenient to use {@link Query#prefetch(Function, EasyCrudService)}
+   *
+   * @param source source of main rows, i.e. {@link Query}
+   * @return prefetch builder
+   */
+  Prefetch<TId, TRow> buildPrefetch(PrefetchSource<TRow> source);
+
   PropertyNameResolver<TRow> getNameResolver();
 }
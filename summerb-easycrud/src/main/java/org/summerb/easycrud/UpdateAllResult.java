@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud;
+
+import java.util.List;
+import org.summerb.easycrud.row.HasId;
+
+/**
+ * Outcome of {@link EasyCrudService#updateAll(java.util.Collection)}. Rows are reported
+ * individually, so that one row which lost optimistic lock race doesn't abort the whole batch
+ *
+ * @param <TId> type of id
+ * @param <TRow> type of row
+ * @author sergey.karpushin
+ */
+public class UpdateAllResult<TId extends Comparable<TId>, TRow extends HasId<TId>> {
+  private final List<TRow> updated;
+  private final List<TRow> notUpdated;
+  private final List<TRow> unknown;
+
+  public UpdateAllResult(List<TRow> updated, List<TRow> notUpdated) {
+    this(updated, notUpdated, List.of());
+  }
+
+  public UpdateAllResult(List<TRow> updated, List<TRow> notUpdated, List<TRow> unknown) {
+    this.updated = updated;
+    this.notUpdated = notUpdated;
+    this.unknown = unknown;
+  }
+
+  /**
+   * @return rows that were successfully updated. Fields might differ from the ones provided due to
+   *     modifiedAt update and other modifications set by wire taps
+   */
+  public List<TRow> getUpdated() {
+    return updated;
+  }
+
+  /**
+   * @return rows that were not updated because they were concurrently modified (optimistic lock
+   *     failure) or deleted. Rows are returned exactly as they were provided by caller
+   */
+  public List<TRow> getNotUpdated() {
+    return notUpdated;
+  }
+
+  /**
+   * @return rows for which outcome is not known because JDBC driver didn't report number of
+   *     affected rows (i.e. when batch is rewritten into a single statement). They were most likely
+   *     updated, but might have lost optimistic lock race as well, so re-read them if it matters.
+   *     Fields are the same as they would be in {@link #getUpdated()}
+   */
+  public List<TRow> getUnknown() {
+    return unknown;
+  }
+
+  /**
+   * @return true if all rows were updated
+   */
+  public boolean isAllUpdated() {
+    return notUpdated.isEmpty() && unknown.isEmpty();
+  }
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.async;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.query.OrderBy;
+import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+import org.summerb.utils.easycrud.api.dto.PaginatedList;
+
+/**
+ * Asynchronous facade for read operations of {@link EasyCrudService}. Useful when several
+ * independent queries needs to be executed, i.e. to build aggregated response - in such case total
+ * latency is the max of latencies of the queries, not their sum:
+ *
+ * <pre>{@code
+ * CompletableFuture<UserRow> user = asyncUsers.findById(userId);
+ * CompletableFuture<List<PostRow>> posts = asyncPosts.findAll(postService.query().eq(...));
+ * CompletableFuture.allOf(user, posts).join();
+ * }</pre>
+ *
+ * <p>Each call is executed by {@link EasyCrudAsyncExecutor} outside of the caller's transaction.
+ *
+ * @author sergey.karpushin
+ * @param <TId> type of id
+ * @param <TRow> type of row
+ */
+public interface AsyncEasyCrudService<TId extends Comparable<TId>, TRow extends HasId<TId>> {
+  /**
+   * @return underlying synchronous service
+   */
+  EasyCrudService<TId, TRow> getService();
+
+  CompletableFuture<TRow> findById(TId id);
+
+  CompletableFuture<TRow> getById(TId id);
+
+  CompletableFuture<List<TRow>> getByIds(Collection<TId> ids);
+
+  CompletableFuture<PaginatedList<TRow>> find(
+      PagerParams pagerParams, Query<TId, TRow> optionalQuery, OrderBy... orderBy);
+
+  CompletableFuture<List<TRow>> findAll(Query<TId, TRow> optionalQuery, OrderBy... orderBy);
+
+  CompletableFuture<Integer> count(Query<TId, TRow> optionalQuery);
+
+  /**
+   * Execute arbitrary call to the underlying service asynchronously
+   *
+   * @param call call to execute
+   * @return future result of the call
+   * @param <T> type of result
+   */
+  <T> CompletableFuture<T> supplyAsync(Function<EasyCrudService<TId, TRow>, T> call);
+}
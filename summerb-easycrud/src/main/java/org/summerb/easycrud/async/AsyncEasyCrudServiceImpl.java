@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.async;
+
+import com.google.common.base.Preconditions;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.query.OrderBy;
+import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+import org.summerb.utils.easycrud.api.dto.PaginatedList;
+
+/**
+ * Default impl of {@link AsyncEasyCrudService}. Instances are cheap, so it is fine to create them
+ * per service, but {@link EasyCrudAsyncExecutor} is supposed to be shared, so that total amount of
+ * concurrent calls is limited
+ *
+ * @author sergey.karpushin
+ * @param <TId> type of id
+ * @param <TRow> type of row
+ */
+public class AsyncEasyCrudServiceImpl<TId extends Comparable<TId>, TRow extends HasId<TId>>
+    implements AsyncEasyCrudService<TId, TRow> {
+  protected final EasyCrudService<TId, TRow> service;
+  protected final EasyCrudAsyncExecutor asyncExecutor;
+
+  public AsyncEasyCrudServiceImpl(
+      EasyCrudService<TId, TRow> service, EasyCrudAsyncExecutor asyncExecutor) {
+    Preconditions.checkArgument(service != null, "service required");
+    Preconditions.checkArgument(asyncExecutor != null, "asyncExecutor required");
+    this.service = service;
+    this.asyncExecutor = asyncExecutor;
+  }
+
+  @Override
+  public EasyCrudService<TId, TRow> getService() {
+    return service;
+  }
+
+  @Override
+  public CompletableFuture<TRow> findById(TId id) {
+    return supplyAsync(x -> x.findById(id));
+  }
+
+  @Override
+  public CompletableFuture<TRow> getById(TId id) {
+    return supplyAsync(x -> x.getById(id));
+  }
+
+  @Override
+  public CompletableFuture<List<TRow>> getByIds(Collection<TId> ids) {
+    return supplyAsync(x -> x.getByIds(ids));
+  }
+
+  @Override
+  public CompletableFuture<PaginatedList<TRow>> find(
+      PagerParams pagerParams, Query<TId, TRow> optionalQuery, OrderBy... orderBy) {
+    return supplyAsync(x -> x.find(pagerParams, optionalQuery, orderBy));
+  }
+
+  @Override
+  public CompletableFuture<List<TRow>> findAll(Query<TId, TRow> optionalQuery, OrderBy... orderBy) {
+    return supplyAsync(x -> x.findAll(optionalQuery, orderBy));
+  }
+
+  @Override
+  public CompletableFuture<Integer> count(Query<TId, TRow> optionalQuery) {
+    return supplyAsync(x -> x.count(optionalQuery));
+  }
+
+  @Override
+  public <T> CompletableFuture<T> supplyAsync(Function<EasyCrudService<TId, TRow>, T> call) {
+    Preconditions.checkArgument(call != null, "call required");
+    return asyncExecutor.supplyAsync(() -> call.apply(service));
+  }
+}
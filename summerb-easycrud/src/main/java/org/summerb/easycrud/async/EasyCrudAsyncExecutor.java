@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.async;
+
+import com.google.common.base.Preconditions;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Executes blocking EasyCrud calls asynchronously while limiting the number of calls that hit the
+ * database concurrently.
+ *
+ * <p>Amount of concurrent calls is limited by a semaphore, which is supposed to be sized according
+ * to the connection pool (so that async calls do not starve the rest of the application). By
+ * default tasks are executed on virtual threads when running on Java 21+, otherwise on a fixed pool
+ * of daemon platform threads of the same size as the semaphore.
+ *
+ * <p>By default Spring Security context is propagated to the executing thread (see {@link
+ * SecurityContextTaskDecorator}). NOTE: tasks are not executed within the caller's transaction,
+ * each of them uses its own connection
+ *
+ * @author sergey.karpushin
+ */
+public class EasyCrudAsyncExecutor implements DisposableBean {
+  public static final int DEFAULT_MAX_CONCURRENCY = 10;
+
+  protected Logger log = LoggerFactory.getLogger(getClass());
+
+  protected final int maxConcurrency;
+  protected final Semaphore semaphore;
+  protected final Executor executor;
+  protected final boolean ownExecutor;
+  protected TaskDecorator taskDecorator;
+
+  public EasyCrudAsyncExecutor() {
+    this(DEFAULT_MAX_CONCURRENCY);
+  }
+
+  /**
+   * @param maxConcurrency max amount of concurrently executing tasks, usually same as the size of
+   *     the connection pool
+   */
+  public EasyCrudAsyncExecutor(int maxConcurrency) {
+    Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+    this.maxConcurrency = maxConcurrency;
+    this.semaphore = new Semaphore(maxConcurrency);
+    this.executor = buildDefaultExecutor(maxConcurrency);
+    this.ownExecutor = true;
+    this.taskDecorator = buildDefaultTaskDecorator();
+  }
+
+  /**
+   * @param executor executor to run tasks on. It is not shut down by this class
+   * @param maxConcurrency max amount of concurrently executing tasks, usually same as the size of
+   *     the connection pool
+   */
+  public EasyCrudAsyncExecutor(Executor executor, int maxConcurrency) {
+    Preconditions.checkArgument(executor != null, "executor required");
+    Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+    this.maxConcurrency = maxConcurrency;
+    this.semaphore = new Semaphore(maxConcurrency);
+    this.executor = executor;
+    this.ownExecutor = false;
+    this.taskDecorator = buildDefaultTaskDecorator();
+  }
+
+  protected Executor buildDefaultExecutor(int maxConcurrency) {
+    try {
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (NoSuchMethodException e) {
+      // NOTE: That's expected prior to Java 21
+    } catch (Exception e) {
+      log.warn("Failed to create virtual thread executor, falling back to platform threads", e);
+    }
+    return Executors.newFixedThreadPool(maxConcurrency, buildThreadFactory());
+  }
+
+  protected ThreadFactory buildThreadFactory() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread ret = new Thread(runnable, "easycrud-async-" + counter.incrementAndGet());
+      ret.setDaemon(true);
+      return ret;
+    };
+  }
+
+  protected TaskDecorator buildDefaultTaskDecorator() {
+    if (ClassUtils.isPresent(
+        "org.springframework.security.core.context.SecurityContextHolder",
+        getClass().getClassLoader())) {
+      return new SecurityContextTaskDecorator();
+    }
+    return null;
+  }
+
+  /**
+   * Execute supplier asynchronously
+   *
+   * @param supplier blocking call to execute
+   * @return future which is completed with the result of the supplier, or completed exceptionally
+   *     with the exception thrown by the supplier
+   * @param <T> type of result
+   */
+  public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+    Preconditions.checkArgument(supplier != null, "supplier required");
+    CompletableFuture<T> ret = new CompletableFuture<>();
+    Runnable task =
+        () -> {
+          try {
+            semaphore.acquire();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ret.completeExceptionally(e);
+            return;
+          }
+
+          // NOTE: Permit is released before completing the future, so that dependent stages
+          // executed synchronously by this thread do not hold it
+          T result;
+          try {
+            result = supplier.get();
+          } catch (Throwable t) {
+            semaphore.release();
+            ret.completeExceptionally(t);
+            return;
+          }
+          semaphore.release();
+          ret.complete(result);
+        };
+
+    executor.execute(taskDecorator == null ? task : taskDecorator.decorate(task));
+    return ret;
+  }
+
+  @Override
+  public void destroy() {
+    if (ownExecutor && executor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * @return amount of tasks that can start right now without waiting for others to complete
+   */
+  public int getAvailablePermits() {
+    return semaphore.availablePermits();
+  }
+
+  public TaskDecorator getTaskDecorator() {
+    return taskDecorator;
+  }
+
+  /**
+   * @param taskDecorator decorator used to propagate thread-bound context (i.e. security context)
+   *     to the executing thread, null to disable propagation
+   */
+  public void setTaskDecorator(TaskDecorator taskDecorator) {
+    this.taskDecorator = taskDecorator;
+  }
+}
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.async;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+/**
+ * Propagates Spring Security context of the submitting thread to the thread which executes the
+ * task, so that {@link org.summerb.security.api.CurrentUserUuidResolver} and wire taps relying on
+ * it work the same way as in the caller thread
+ *
+ * @author sergey.karpushin
+ */
+public class SecurityContextTaskDecorator implements TaskDecorator {
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    return new DelegatingSecurityContextRunnable(runnable);
+  }
+}
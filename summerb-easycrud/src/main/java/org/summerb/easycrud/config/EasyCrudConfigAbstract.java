@@ -30,7 +30,7 @@ import org.summerb.easycrud.sql_builder.SqlBuilder;
 import org.summerb.easycrud.sql_builder.impl.FieldsEnlisterCachingImpl;
 import org.summerb.easycrud.sql_builder.impl.FieldsEnlisterImpl;
 import org.summerb.easycrud.tools.RowCloner;
-import org.summerb.easycrud.tools.RowClonerReflectionImpl;
+import org.summerb.easycrud.tools.RowClonerGeneratedImpl;
 import org.summerb.easycrud.tools.StringIdGenerator;
 import org.summerb.easycrud.tools.StringIdGeneratorUuidImpl;
 
@@ -120,7 +120,7 @@ public abstract class EasyCrudConfigAbstract {
 
   @Bean
   protected RowCloner rowCloner() {
-    return new RowClonerReflectionImpl();
+    return new RowClonerGeneratedImpl();
   }
 
   @Bean
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.ClassUtils;
+import org.summerb.easycrud.metrics.EasyCrudMetrics;
+import org.summerb.easycrud.metrics.EasyCrudMetricsJmxImpl;
+import org.summerb.easycrud.metrics.EasyCrudMetricsMicrometerImpl;
+
+/**
+ * Import this configuration to enable EasyCrud metrics. Metrics are exported to Micrometer if it is
+ * on the classpath and {@code MeterRegistry} bean is available, otherwise they are exposed via JMX.
+ * Without this configuration instrumentation is not installed at all.
+ */
+public class EasyCrudConfigMetrics {
+  @Bean
+  protected EasyCrudMetrics easyCrudMetrics(BeanFactory beanFactory) {
+    if (ClassUtils.isPresent(
+        "io.micrometer.core.instrument.MeterRegistry", getClass().getClassLoader())) {
+      EasyCrudMetrics ret = MicrometerSupport.build(beanFactory);
+      if (ret != null) {
+        return ret;
+      }
+    }
+    return new EasyCrudMetricsJmxImpl();
+  }
+
+  /** Isolates references to Micrometer, so that it's not required to be on the classpath */
+  protected static class MicrometerSupport {
+    protected static EasyCrudMetrics build(BeanFactory beanFactory) {
+      MeterRegistry meterRegistry = beanFactory.getBeanProvider(MeterRegistry.class).getIfUnique();
+      return meterRegistry == null ? null : new EasyCrudMetricsMicrometerImpl(meterRegistry);
+    }
+  }
+}
@@ -9,6 +9,7 @@ import org.summerb.easycrud.sql_builder.FieldsEnlister;
 import org.summerb.easycrud.sql_builder.OrderByToSql;
 import org.summerb.easycrud.sql_builder.QueryToSql;
 import org.summerb.easycrud.sql_builder.SqlBuilder;
+import org.summerb.easycrud.sql_builder.impl.SqlBuilderCachingImpl;
 import org.summerb.easycrud.sql_builder.mysql.OrderByToSqlMySqlImpl;
 import org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl;
 import org.summerb.easycrud.sql_builder.mysql.SqlBuilderMySqlImpl;
@@ -47,7 +48,8 @@ public class EasyCrudConfigMySql extends EasyCrudConfigAbstract {
       FieldsEnlister fieldsEnlister,
       QueryToSql queryToSql,
       OrderByToSql orderByToSql) {
-    return new SqlBuilderMySqlImpl(
-        querySpecificsResolver, fieldsEnlister, queryToSql, orderByToSql);
+    return new SqlBuilderCachingImpl(
+        new SqlBuilderMySqlImpl(querySpecificsResolver, fieldsEnlister, queryToSql, orderByToSql),
+        queryToSql);
   }
 }
@@ -2,6 +2,7 @@ package org.summerb.easycrud.config;
 
 import org.springframework.context.annotation.Bean;
 import org.summerb.easycrud.dao.SqlTypeOverrides;
+import org.summerb.easycrud.dao.TableMetadataValidator;
 import org.summerb.easycrud.exceptions.DaoExceptionTranslator;
 import org.summerb.easycrud.exceptions.DaoExceptionTranslatorPostgresImpl;
 import org.summerb.easycrud.join_query.QuerySpecificsResolver;
@@ -9,6 +10,10 @@ import org.summerb.easycrud.sql_builder.FieldsEnlister;
 import org.summerb.easycrud.sql_builder.OrderByToSql;
 import org.summerb.easycrud.sql_builder.QueryToSql;
 import org.summerb.easycrud.sql_builder.SqlBuilder;
+import org.summerb.easycrud.sql_builder.impl.SqlBuilderCachingImpl;
+import org.summerb.easycrud.sql_builder.postgres.CaseMatchingIndexValidator;
+import org.summerb.easycrud.sql_builder.postgres.CaseMatchingResolver;
+import org.summerb.easycrud.sql_builder.postgres.CaseMatchingResolverImpl;
 import org.summerb.easycrud.sql_builder.postgres.OrderByToSqlPostgresImpl;
 import org.summerb.easycrud.sql_builder.postgres.QueryToSqlPostgresImpl;
 import org.summerb.easycrud.sql_builder.postgres.SqlBuilderPostgresImpl;
@@ -28,6 +33,17 @@ public class EasyCrudConfigPostgres extends EasyCrudConfigAbstract {
     return new QueryToSqlPostgresImpl(sqlTypeOverrides);
   }
 
+  @Bean
+  protected CaseMatchingResolver caseMatchingResolver() {
+    return new CaseMatchingResolverImpl();
+  }
+
+  @Bean
+  protected TableMetadataValidator caseMatchingIndexValidator(
+      CaseMatchingResolver caseMatchingResolver) {
+    return new CaseMatchingIndexValidator(caseMatchingResolver);
+  }
+
   @Bean
   @Override
   protected OrderByToSql orderByToSql() {
@@ -47,7 +63,9 @@ public class EasyCrudConfigPostgres extends EasyCrudConfigAbstract {
       FieldsEnlister fieldsEnlister,
       QueryToSql queryToSql,
       OrderByToSql orderByToSql) {
-    return new SqlBuilderPostgresImpl(
-        querySpecificsResolver, fieldsEnlister, queryToSql, orderByToSql);
+    return new SqlBuilderCachingImpl(
+        new SqlBuilderPostgresImpl(
+            querySpecificsResolver, fieldsEnlister, queryToSql, orderByToSql),
+        queryToSql);
   }
 }
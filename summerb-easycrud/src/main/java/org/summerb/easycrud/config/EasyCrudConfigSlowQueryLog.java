@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.config;
+
+import javax.sql.DataSource;
+import org.springframework.context.annotation.Bean;
+import org.summerb.easycrud.slow_query.SlowQueryRecorder;
+
+/**
+ * Import this configuration to record statements executed by EasyCrud DAOs and joined selects, see
+ * {@link SlowQueryRecorder}. EXPLAIN plans of slow statements are captured using the same {@link
+ * DataSource}
+ */
+public class EasyCrudConfigSlowQueryLog {
+  @Bean
+  protected SlowQueryRecorder slowQueryRecorder(DataSource dataSource) {
+    return new SlowQueryRecorder(dataSource);
+  }
+}
@@ -1,46 +1,58 @@
 package org.summerb.easycrud.dao;
 
-import static org.summerb.easycrud.dao.ParameterSourceBuilderBeanPropImpl.COLUMN_NOT_MAPPED;
 import static org.summerb.easycrud.dao.ParameterSourceBuilderBeanPropImpl.NO_OVERRIDE;
 
 import com.google.common.cache.LoadingCache;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 
 /**
  * A heavily optimized alternative to {@link BeanPropertySqlParameterSource}.
  *
- * <p>Cache functionality injected in constructor provided in {@link
+ * <p>It does not use {@link org.springframework.beans.BeanWrapper}. Values are read using {@link
+ * PropertyReader}s which are built once per row class, and properties are addressed by index (see
+ * {@link IndexedSqlParameterSource}). Per-class data is injected in constructor by {@link
  * ParameterSourceBuilderBeanPropImpl}
  *
  * @param <TRow> row type
  */
-public class BeanPropertySqlParameterSourceEx<TRow> extends BeanPropertySqlParameterSource {
-  /** Cache for mapping column names to field names */
-  protected LoadingCache<String, String> columnNameToFieldNameCache;
+public class BeanPropertySqlParameterSourceEx<TRow> extends AbstractSqlParameterSource
+    implements IndexedSqlParameterSource {
+  protected final TRow row;
 
-  /** Cache for mapping field names to SQL type overrides */
-  protected LoadingCache<String, SqlTypeOverride> fieldNameToOverrideCache;
-
-  /** Property names */
+  /** Property names, index in this array is the index of the property */
   protected final String[] propertyNames;
 
+  /** Readers of the properties, same order as {@link #propertyNames} */
+  protected final PropertyReader[] propertyReaders;
+
+  /** SQL type overrides of the properties, same order as {@link #propertyNames} */
+  protected final SqlTypeOverride[] propertyOverrides;
+
+  /** Cache for mapping column names to property indexes, -1 if column is not mapped */
+  protected final LoadingCache<String, Integer> columnNameToPropertyIndexCache;
+
   /**
    * Constructor for BeanPropertySqlParameterSourceEx.
    *
    * @param row row object
-   * @param columnNameToFieldNameCache cache for column name to field name mapping
-   * @param fieldNameToOverrideCache cache for field name to SQL type override mapping
    * @param propertyNames property names
+   * @param propertyReaders property readers, same order as propertyNames
+   * @param propertyOverrides SQL type overrides, same order as propertyNames
+   * @param columnNameToPropertyIndexCache cache for column name to property index mapping
    */
   public BeanPropertySqlParameterSourceEx(
       TRow row,
-      LoadingCache<String, String> columnNameToFieldNameCache,
-      LoadingCache<String, SqlTypeOverride> fieldNameToOverrideCache,
-      String[] propertyNames) {
-    super(row);
-    this.columnNameToFieldNameCache = columnNameToFieldNameCache;
-    this.fieldNameToOverrideCache = fieldNameToOverrideCache;
+      String[] propertyNames,
+      PropertyReader[] propertyReaders,
+      SqlTypeOverride[] propertyOverrides,
+      LoadingCache<String, Integer> columnNameToPropertyIndexCache) {
+    this.row = row;
     this.propertyNames = propertyNames;
+    this.propertyReaders = propertyReaders;
+    this.propertyOverrides = propertyOverrides;
+    this.columnNameToPropertyIndexCache = columnNameToPropertyIndexCache;
   }
 
   @Override
@@ -48,49 +60,84 @@ public class BeanPropertySqlParameterSourceEx<TRow> extends BeanPropertySqlParam
     return propertyNames;
   }
 
-  @Override
   public String[] getReadablePropertyNames() {
     return propertyNames;
   }
 
   @Override
   public boolean hasValue(String columnName) {
-    return !COLUMN_NOT_MAPPED.equals(columnNameToFieldNameCache.getUnchecked(columnName));
+    return getParameterIndex(columnName) >= 0;
   }
 
   @Override
   public Object getValue(String columnName) throws IllegalArgumentException {
-    String fieldName = columnNameToFieldNameCache.getUnchecked(columnName);
-    if (COLUMN_NOT_MAPPED.equals(fieldName)) {
+    int index = getParameterIndex(columnName);
+    if (index < 0) {
       return null;
     }
+    return getValue(index);
+  }
+
+  @Override
+  public int getSqlType(String columnName) {
+    int index = getParameterIndex(columnName);
+    if (index < 0) {
+      return TYPE_UNKNOWN;
+    }
+    return getSqlType(index);
+  }
+
+  @Override
+  public Object getParameterIndexKey() {
+    return columnNameToPropertyIndexCache;
+  }
 
-    Object rawValue = super.getValue(fieldName);
+  @Override
+  public int getParameterIndex(String columnName) {
+    return columnNameToPropertyIndexCache.getUnchecked(columnName);
+  }
+
+  /**
+   * @param propertyIndex index of the property
+   * @return value of the property, converted if {@link SqlTypeOverride} requires so
+   */
+  public Object getValue(int propertyIndex) {
+    Object rawValue = propertyReaders[propertyIndex].read(row);
     if (rawValue == null) {
       return null;
     }
 
-    SqlTypeOverride override = fieldNameToOverrideCache.getUnchecked(fieldName);
-    if (override != ParameterSourceBuilderBeanPropImpl.NO_OVERRIDE
-        && override.isConversionRequired()) {
+    SqlTypeOverride override = propertyOverrides[propertyIndex];
+    if (override != NO_OVERRIDE && override.isConversionRequired()) {
       return override.convert(rawValue);
     }
 
     return rawValue;
   }
 
-  @Override
-  public int getSqlType(String columnName) {
-    String fieldName = columnNameToFieldNameCache.getUnchecked(columnName);
-    if (COLUMN_NOT_MAPPED.equals(fieldName)) {
+  /**
+   * @param propertyIndex index of the property
+   * @return SQL type of the property if it has {@link SqlTypeOverride}, otherwise {@link
+   *     #TYPE_UNKNOWN}
+   */
+  public int getSqlType(int propertyIndex) {
+    SqlTypeOverride override = propertyOverrides[propertyIndex];
+    if (override == NO_OVERRIDE) {
       return TYPE_UNKNOWN;
     }
+    return override.getSqlType();
+  }
 
-    SqlTypeOverride override = fieldNameToOverrideCache.getUnchecked(fieldName);
-    if (NO_OVERRIDE.equals(override)) {
-      return TYPE_UNKNOWN;
+  @Override
+  public Object getTypedValue(int propertyIndex) {
+    int sqlType = getSqlType(propertyIndex);
+    if (sqlType == TYPE_UNKNOWN) {
+      return getValue(propertyIndex);
     }
+    return new SqlParameterValue(sqlType, getValue(propertyIndex));
+  }
 
-    return override.getSqlType();
+  public TRow getRow() {
+    return row;
   }
 }
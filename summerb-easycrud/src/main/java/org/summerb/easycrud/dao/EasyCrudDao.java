@@ -15,10 +15,13 @@
  ******************************************************************************/
 package org.summerb.easycrud.dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 import org.summerb.easycrud.EasyCrudService;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.row.HasAutoincrementId;
 import org.summerb.easycrud.row.HasId;
 import org.summerb.utils.easycrud.api.dto.PagerParams;
 import org.summerb.utils.easycrud.api.dto.PaginatedList;
@@ -34,22 +37,113 @@ import org.summerb.utils.easycrud.api.dto.PaginatedList;
 public interface EasyCrudDao<TId extends Comparable<TId>, TRow extends HasId<TId>> {
   void create(TRow row);
 
+  /**
+   * Create all rows using a single JDBC batch. Ids, timestamps and other generated values will be
+   * set to given row instances
+   *
+   * @param rows rows to create
+   */
+  void createAll(Collection<TRow> rows);
+
   TRow findById(TId id);
 
   TRow findOneByQuery(Query<TId, TRow> query);
 
+  /**
+   * Find rows by ids and lock them till the end of the current transaction ("SELECT ... FOR
+   * UPDATE"). Always executed against primary database. Must be invoked within transaction
+   *
+   * @param ids ids of rows to find
+   * @return rows which exist, in no particular order
+   */
+  List<TRow> findByIdsForUpdate(Collection<TId> ids);
+
   int delete(TId id);
 
   int delete(TId id, long modifiedAt);
 
   int update(TRow row);
 
+  /**
+   * Same as {@link #update(HasId)}, but only columns of the given fields are written. modifiedAt
+   * and modifiedBy (if applicable) are always written. Fields which are not updatable (i.e. id,
+   * createdAt) are ignored. Statements are cached per distinct set of columns
+   *
+   * @param row row to update
+   * @param fieldNames names of the fields to update
+   * @return number of affected rows
+   */
+  int update(TRow row, Collection<String> fieldNames);
+
+  /**
+   * Update all rows using a single JDBC batch. Same restrictions as for {@link #update(HasId)} are
+   * applied to each row (id and, if applicable, modifiedAt for optimistic locking). Unlike {@link
+   * #update(HasId)} this method will not throw in case some rows were not updated, it reports
+   * per-row outcome instead.
+   *
+   * <p>Rows which were updated will have their modifiedAt (if applicable) set to new value. Rows
+   * which were not updated are left intact
+   *
+   * @param rows rows to update
+   * @return number of affected rows for each of the given rows, in the same order. 0 means row was
+   *     concurrently modified or deleted. {@link java.sql.Statement#SUCCESS_NO_INFO} means JDBC
+   *     driver didn't report the count (i.e. batch was rewritten into a single statement), so
+   *     outcome for that row is unknown. Such rows have modifiedAt set to the new value
+   */
+  int[] updateAll(List<TRow> rows);
+
+  /**
+   * Insert row or, if row with same id already exists, update it using single statement (i.e. "ON
+   * DUPLICATE KEY UPDATE" or "ON CONFLICT DO UPDATE" depending on the dialect). Generated values
+   * are set to the given row the same way as for {@link #create(HasId)}. Optimistic locking is not
+   * applied. In case of update, values of createdAt and createdBy (if applicable) are preserved in
+   * DB, but given row instance will still contain values that were attempted to be inserted
+   *
+   * <p>Id must be provided by the caller, so it's not supported for {@link HasAutoincrementId} rows
+   *
+   * @param row row to insert or update
+   * @return whether row was created or updated, if database reports that
+   */
+  UpsertResult upsert(TRow row);
+
+  /**
+   * Same as {@link #upsert(HasId)}, but for multiple rows using a single JDBC batch
+   *
+   * @param rows rows to insert or update
+   * @return results in the same order as rows were provided
+   */
+  List<UpsertResult> upsertAll(Collection<TRow> rows);
+
   int deleteByQuery(Query<TId, TRow> query);
 
+  /**
+   * Delete rows by ids.
+   *
+   * <p>NOTE: On dialects which cannot return ids of deleted rows, rows are locked using "SELECT ...
+   * FOR UPDATE" prior to deletion, so result is accurate only when invoked within a transaction
+   *
+   * @param ids ids of rows to delete
+   * @return ids of rows which were actually deleted
+   */
+  List<TId> deleteByIds(Collection<TId> ids);
+
   PaginatedList<TRow> query(
       PagerParams pagerParams, Query<TId, TRow> optionalQuery, OrderBy... orderBy);
 
   List<TRow> queryPage(PagerParams pagerParams, Query<TId, TRow> optionalQuery, OrderBy[] orderBy);
 
+  /**
+   * Query rows using forward-only cursor, so that rows are not materialized in memory all at once.
+   *
+   * <p>Returned stream holds JDBC connection and must be closed after use (i.e. use
+   * try-with-resources). Some databases (i.e. Postgres) will use cursor only if stream is consumed
+   * within transaction
+   *
+   * @param optionalQuery optional Query, might be null
+   * @param orderBy optional orderBy, might be missing/null
+   * @return stream of rows
+   */
+  Stream<TRow> stream(Query<TId, TRow> optionalQuery, OrderBy[] orderBy);
+
   int count(Query<TId, TRow> optionalQuery);
 }
@@ -16,34 +16,58 @@
 package org.summerb.easycrud.dao;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Iterables;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.JdbcUpdateAffectedIncorrectNumberOfRowsException;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 import org.springframework.util.CollectionUtils;
 import org.summerb.easycrud.dao.SimpleJdbcUpdate.SimpleJdbcUpdate;
 import org.summerb.easycrud.dao.SimpleJdbcUpdate.TableMetaDataContext;
 import org.summerb.easycrud.dao.SimpleJdbcUpdate.UpdateColumnsEnlisterStrategy;
 import org.summerb.easycrud.exceptions.DaoExceptionTranslator;
 import org.summerb.easycrud.exceptions.DaoExceptionTranslatorMySqlImpl;
+import org.summerb.easycrud.metrics.EasyCrudMetrics;
+import org.summerb.easycrud.metrics.RowMapperMetricsImpl;
+import org.summerb.easycrud.metrics.SqlBuilderMetricsImpl;
+import org.summerb.easycrud.query.Condition;
+import org.summerb.easycrud.query.FieldCondition;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.query.restrictions.In;
 import org.summerb.easycrud.row.HasAuthor;
 import org.summerb.easycrud.row.HasAutoincrementId;
 import org.summerb.easycrud.row.HasId;
 import org.summerb.easycrud.row.HasTimestamps;
 import org.summerb.easycrud.row.HasUuid;
+import org.summerb.easycrud.slow_query.SlowQueryRecorder;
 import org.summerb.easycrud.sql_builder.SqlBuilder;
 import org.summerb.easycrud.sql_builder.model.FromAndWhere;
 import org.summerb.easycrud.sql_builder.model.QueryData;
@@ -52,6 +76,8 @@ import org.summerb.easycrud.tools.StringIdGenerator;
 import org.summerb.easycrud.tools.StringIdGeneratorUuidImpl;
 import org.summerb.utils.clock.ClockResolver;
 import org.summerb.utils.clock.ClockResolverImpl;
+import org.summerb.utils.easycrud.api.dto.CountStrategy;
+import org.summerb.utils.easycrud.api.dto.KeysetPagerParams;
 import org.summerb.utils.easycrud.api.dto.PagerParams;
 import org.summerb.utils.easycrud.api.dto.PaginatedList;
 import org.summerb.utils.easycrud.api.dto.Top;
@@ -65,6 +91,10 @@ import org.summerb.utils.easycrud.api.dto.Top;
 @SuppressWarnings("SqlSourceToSinkFlow")
 public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<TId>>
     extends TableDaoBase implements EasyCrudDao<TId, TRow>, EasyCrudDaoInjections<TId, TRow> {
+  public static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+  public static final int DEFAULT_PARTIAL_UPDATES_CACHE_SIZE = 256;
+  public static final int DEFAULT_CACHED_COUNTS_SIZE = 1000;
+  public static final Duration DEFAULT_CACHED_COUNTS_TTL = Duration.ofMinutes(1);
 
   protected Class<TRow> rowClass;
   protected SqlBuilder sqlBuilder;
@@ -76,10 +106,31 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
   protected StringIdGenerator stringIdGenerator;
   protected DaoExceptionTranslator daoExceptionTranslator;
   protected ClockResolver clockResolver;
+  protected TableMetadataValidator tableMetadataValidator;
+  protected ReadReplicaRouter readReplicaRouter;
+  protected EasyCrudMetrics metrics;
+  protected SlowQueryRecorder slowQueryRecorder;
+
+  /** Template used for read operations, might route statements to read replicas */
+  protected NamedParameterJdbcTemplateEx readJdbc;
 
   protected SimpleJdbcInsert jdbcInsert;
   protected SimpleJdbcUpdate jdbcUpdate;
 
+  /** Update statements for partial updates, keyed by sorted list of columns to update */
+  protected LoadingCache<List<String>, SimpleJdbcUpdate> partialJdbcUpdates;
+
+  protected volatile String upsertClause;
+
+  protected int streamFetchSize = DEFAULT_STREAM_FETCH_SIZE;
+
+  protected CountStrategy countStrategy = CountStrategy.EXACT;
+  protected Duration cachedCountsTtl = DEFAULT_CACHED_COUNTS_TTL;
+  protected Integer maxInListSize;
+
+  /** Counts for {@link CountStrategy#CACHED}, keyed by count SQL and parameter values */
+  protected Cache<String, Long> cachedCounts;
+
   /**
    * Constructor for cases when subclass wants to take full responsibility on instantiation process.
    *
@@ -105,18 +156,37 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
     Preconditions.checkState(rowClass != null, "rowClass required");
     Preconditions.checkState(sqlBuilder != null, "sqlBuilder required");
 
-    if (rowMapper == null) {
-      rowMapper = buildDefaultRowMapper(this.rowClass, this.conversionService);
+    readJdbc = readReplicaRouter == null ? jdbc : readReplicaRouter.wrap(jdbc);
+    if (slowQueryRecorder != null) {
+      jdbc = slowQueryRecorder.wrap(jdbc);
+      readJdbc = slowQueryRecorder.wrap(readJdbc);
     }
 
     if (sqlTypeOverrides == null) {
       sqlTypeOverrides = new SqlTypeOverridesDefaultImpl();
     }
 
+    if (maxInListSize == null) {
+      maxInListSize = sqlBuilder.getMaxInListSize();
+    }
+
+    if (rowMapper == null) {
+      rowMapper = buildDefaultRowMapper(this.rowClass, this.conversionService);
+    }
+
     if (parameterSourceBuilder == null) {
       parameterSourceBuilder = buildDefaultParameterSourceBuilder();
     }
 
+    if (metrics != null) {
+      if (!(sqlBuilder instanceof SqlBuilderMetricsImpl)) {
+        sqlBuilder = new SqlBuilderMetricsImpl(sqlBuilder);
+      }
+      if (!(rowMapper instanceof RowMapperMetricsImpl)) {
+        rowMapper = new RowMapperMetricsImpl<>(rowMapper);
+      }
+    }
+
     if (daoExceptionTranslator == null) {
       daoExceptionTranslator = buildDefaultDaoExceptionToFveTranslator();
     }
@@ -131,6 +201,12 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
 
     jdbcInsert = buildJdbcInsert();
     jdbcUpdate = initJdbcUpdate();
+    partialJdbcUpdates = buildPartialJdbcUpdatesCache();
+    cachedCounts = buildCachedCountsCache();
+
+    if (tableMetadataValidator != null) {
+      tableMetadataValidator.validate(getDataSource(), tableName, rowClass);
+    }
   }
 
   protected ClockResolver buildDefaultClockResolver() {
@@ -151,19 +227,14 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
 
   protected RowMapper<TRow> buildDefaultRowMapper(
       Class<TRow> rowClass, ConversionService conversionService) {
-    BeanPropertyRowMapper<TRow> ret = new BeanPropertyRowMapper<>(rowClass);
-
-    if (conversionService != null) {
-      ret.setConversionService(conversionService);
-    }
-
-    return ret;
+    return new GeneratedRowMapper<>(rowClass, conversionService, sqlTypeOverrides);
   }
 
   protected SimpleJdbcInsert buildJdbcInsert() {
-    SimpleJdbcInsert ret = new SimpleJdbcInsert(dataSource).withTableName(tableName);
+    SimpleJdbcInsertEx ret = new SimpleJdbcInsertEx(dataSource);
+    ret.setTableName(tableName);
     if (HasAutoincrementId.class.isAssignableFrom(rowClass)) {
-      ret = ret.usingGeneratedKeyColumns(HasId.FN_ID);
+      ret.setGeneratedKeyNames(HasId.FN_ID);
     }
     return ret;
   }
@@ -171,17 +242,21 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
   protected SimpleJdbcUpdate initJdbcUpdate() {
     SimpleJdbcUpdate ret = new SimpleJdbcUpdate(dataSource).withTableName(tableName);
 
-    // Configure identification columns - how do we find right record for
-    // update
+    ret.setRestrictingColumns(buildRestrictingColumns());
+    ret.setUpdateColumnsEnlisterStrategy(updateColumnsEnlisterStrategy);
+    return ret;
+  }
+
+  /**
+   * @return identification columns - how do we find right record for update
+   */
+  protected List<String> buildRestrictingColumns() {
     List<String> restrictingColumns = new ArrayList<>();
     restrictingColumns.add(QueryToSqlMySqlImpl.snakeCase(HasId.FN_ID));
     if (HasTimestamps.class.isAssignableFrom(rowClass)) {
       restrictingColumns.add(QueryToSqlMySqlImpl.snakeCase(HasTimestamps.FN_MODIFIED_AT));
     }
-    ret.setRestrictingColumns(restrictingColumns);
-
-    ret.setUpdateColumnsEnlisterStrategy(updateColumnsEnlisterStrategy);
-    return ret;
+    return restrictingColumns;
   }
 
   protected UpdateColumnsEnlisterStrategy updateColumnsEnlisterStrategy =
@@ -211,6 +286,24 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
 
   @Override
   public void create(TRow row) {
+    onWrite();
+    populateGeneratedValuesBeforeCreate(row, currentTimeMillis());
+
+    SqlParameterSource params = parameterSourceBuilder.buildParameterSource(row);
+    try {
+      if (row instanceof HasAutoincrementId) {
+        Number id = jdbcInsert.executeAndReturnKey(params);
+        ((HasAutoincrementId) row).setId(id.longValue());
+      } else {
+        jdbcInsert.execute(params);
+      }
+    } catch (Throwable t) {
+      daoExceptionTranslator.translateAndThrowIfApplicable(t);
+      throw t;
+    }
+  }
+
+  protected void populateGeneratedValuesBeforeCreate(TRow row, long now) {
     if (row instanceof HasUuid hasUuid) {
       if (!stringIdGenerator.isValidId(hasUuid.getId())) {
         hasUuid.setId(stringIdGenerator.generateNewId(row));
@@ -218,18 +311,41 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
     }
 
     if (row instanceof HasTimestamps hasTimestamps) {
-      long now = clockResolver.clock().millis();
       hasTimestamps.setCreatedAt(now);
       hasTimestamps.setModifiedAt(now);
     }
+  }
+
+  protected long currentTimeMillis() {
+    // NOTE: clockResolver is initialized only for rows that implement HasTimestamps
+    return clockResolver == null ? 0 : clockResolver.clock().millis();
+  }
+
+  @Override
+  public void createAll(Collection<TRow> rows) {
+    onWrite();
+    Preconditions.checkArgument(rows != null, "rows required");
+    if (rows.isEmpty()) {
+      return;
+    }
+
+    long now = currentTimeMillis();
+    SqlParameterSource[] batch = new SqlParameterSource[rows.size()];
+    int i = 0;
+    for (TRow row : rows) {
+      populateGeneratedValuesBeforeCreate(row, now);
+      batch[i++] = parameterSourceBuilder.buildParameterSource(row);
+    }
 
-    SqlParameterSource params = parameterSourceBuilder.buildParameterSource(row);
     try {
-      if (row instanceof HasAutoincrementId) {
-        Number id = jdbcInsert.executeAndReturnKey(params);
-        ((HasAutoincrementId) row).setId(id.longValue());
+      if (HasAutoincrementId.class.isAssignableFrom(rowClass)) {
+        List<Number> ids = executeBatchAndReturnKeys(batch);
+        i = 0;
+        for (TRow row : rows) {
+          ((HasAutoincrementId) row).setId(ids.get(i++).longValue());
+        }
       } else {
-        jdbcInsert.execute(params);
+        jdbcInsert.executeBatch(batch);
       }
     } catch (Throwable t) {
       daoExceptionTranslator.translateAndThrowIfApplicable(t);
@@ -237,8 +353,33 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
     }
   }
 
+  protected List<Number> executeBatchAndReturnKeys(SqlParameterSource[] batch) {
+    if (jdbcInsert instanceof SimpleJdbcInsertEx simpleJdbcInsertEx) {
+      return simpleJdbcInsertEx.executeBatchAndReturnKeys(batch);
+    }
+
+    // NOTE: This is a fallback for subclasses which provided their own SimpleJdbcInsert. Vanilla
+    // impl is not capable of retrieving generated keys for batch, so we have to go one by one
+    List<Number> ret = new ArrayList<>(batch.length);
+    for (SqlParameterSource params : batch) {
+      ret.add(jdbcInsert.executeAndReturnKey(params));
+    }
+    return ret;
+  }
+
   @Override
   public int update(TRow row) {
+    return doUpdate(row, jdbcUpdate);
+  }
+
+  @Override
+  public int update(TRow row, Collection<String> fieldNames) {
+    Preconditions.checkArgument(fieldNames != null, "fieldNames required");
+    return doUpdate(row, partialJdbcUpdates.getUnchecked(buildPartialUpdateColumns(fieldNames)));
+  }
+
+  protected int doUpdate(TRow row, SimpleJdbcUpdate jdbcUpdate) {
+    onWrite();
     MapSqlParameterSource restrictionParams = new MapSqlParameterSource();
     restrictionParams.addValue(HasId.FN_ID, row.getId());
     if (row instanceof HasTimestamps hasTimestamps) {
@@ -262,12 +403,190 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
     }
   }
 
+  /**
+   * Resolve columns for partial update. Only columns which are updated by regular update are
+   * allowed, others are ignored. modifiedAt and modifiedBy are always added (if applicable)
+   *
+   * @param fieldNames names of the fields (not columns) to update
+   * @return sorted list of column names, so it can be used as a key for {@link #partialJdbcUpdates}
+   */
+  protected List<String> buildPartialUpdateColumns(Collection<String> fieldNames) {
+    Set<String> requested = new HashSet<>();
+    fieldNames.forEach(x -> requested.add(QueryToSqlMySqlImpl.snakeCase(x).toLowerCase()));
+    if (HasTimestamps.class.isAssignableFrom(rowClass)) {
+      requested.add(QueryToSqlMySqlImpl.snakeCase(HasTimestamps.FN_MODIFIED_AT));
+    }
+    if (HasAuthor.class.isAssignableFrom(rowClass)) {
+      requested.add(QueryToSqlMySqlImpl.snakeCase(HasAuthor.FN_MODIFIED_BY));
+    }
+
+    List<String> ret = new ArrayList<>(requested.size());
+    for (String column : jdbcUpdate.getUpdatingColumns()) {
+      if (requested.contains(column.toLowerCase())) {
+        ret.add(column);
+      }
+    }
+    Preconditions.checkArgument(!ret.isEmpty(), "None of the fields are updatable: %s", fieldNames);
+    Collections.sort(ret);
+    return ret;
+  }
+
+  protected LoadingCache<List<String>, SimpleJdbcUpdate> buildPartialJdbcUpdatesCache() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(DEFAULT_PARTIAL_UPDATES_CACHE_SIZE)
+        .build(
+            new CacheLoader<>() {
+              @Override
+              public SimpleJdbcUpdate load(List<String> columns) {
+                SimpleJdbcUpdate ret = new SimpleJdbcUpdate(dataSource).withTableName(tableName);
+                ret.setRestrictingColumns(buildRestrictingColumns());
+                ret.setDeclaredUpdatingColumns(columns);
+                return ret;
+              }
+            });
+  }
+
+  protected Cache<String, Long> buildCachedCountsCache() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(DEFAULT_CACHED_COUNTS_SIZE)
+        .expireAfterWrite(cachedCountsTtl)
+        .build();
+  }
+
+  @Override
+  public int[] updateAll(List<TRow> rows) {
+    onWrite();
+    Preconditions.checkArgument(rows != null, "rows required");
+    if (rows.isEmpty()) {
+      return new int[0];
+    }
+
+    boolean hasTimestamps = HasTimestamps.class.isAssignableFrom(rowClass);
+    long now = currentTimeMillis();
+    long[] previousModifiedAt = new long[rows.size()];
+    SqlParameterSource[] rowParams = new SqlParameterSource[rows.size()];
+    SqlParameterSource[] restrictionParams = new SqlParameterSource[rows.size()];
+    for (int i = 0; i < rows.size(); i++) {
+      TRow row = rows.get(i);
+      MapSqlParameterSource restriction = new MapSqlParameterSource();
+      restriction.addValue(HasId.FN_ID, row.getId());
+      if (hasTimestamps) {
+        HasTimestamps hasTimestampsRow = (HasTimestamps) row;
+        previousModifiedAt[i] = hasTimestampsRow.getModifiedAt();
+        hasTimestampsRow.setModifiedAt(now);
+        restriction.addValue(HasTimestamps.FN_MODIFIED_AT, previousModifiedAt[i]);
+      }
+      restrictionParams[i] = restriction;
+      rowParams[i] = parameterSourceBuilder.buildParameterSource(row);
+    }
+
+    int[] ret;
+    try {
+      ret = jdbcUpdate.executeBatch(rowParams, restrictionParams);
+    } catch (Throwable t) {
+      daoExceptionTranslator.translateAndThrowIfApplicable(t);
+      throw t;
+    }
+
+    // NOTE: Statement.SUCCESS_NO_INFO is returned as is. Driver didn't report affected rows count
+    // (i.e. because batch was rewritten into a single statement), so we can't tell whether row
+    // lost optimistic lock race or not
+    for (int i = 0; i < ret.length; i++) {
+      if (ret[i] == 0 && hasTimestamps) {
+        ((HasTimestamps) rows.get(i)).setModifiedAt(previousModifiedAt[i]);
+      }
+    }
+    return ret;
+  }
+
+  @Override
+  public UpsertResult upsert(TRow row) {
+    Preconditions.checkArgument(row != null, "row required");
+    return upsertAll(List.of(row)).get(0);
+  }
+
+  @Override
+  public List<UpsertResult> upsertAll(Collection<TRow> rows) {
+    onWrite();
+    Preconditions.checkArgument(rows != null, "rows required");
+    Preconditions.checkState(
+        !HasAutoincrementId.class.isAssignableFrom(rowClass),
+        "Upsert requires id to be provided, it is not supported for HasAutoincrementId rows");
+    Preconditions.checkState(
+        jdbcInsert instanceof SimpleJdbcInsertEx,
+        "Upsert requires jdbcInsert to be an instance of SimpleJdbcInsertEx");
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+
+    long now = currentTimeMillis();
+    SqlParameterSource[] batch = new SqlParameterSource[rows.size()];
+    int i = 0;
+    for (TRow row : rows) {
+      populateGeneratedValuesBeforeCreate(row, now);
+      batch[i++] = parameterSourceBuilder.buildParameterSource(row);
+    }
+
+    try {
+      SimpleJdbcInsertEx jdbcInsertEx = (SimpleJdbcInsertEx) jdbcInsert;
+      String insertedFlagClause = sqlBuilder.upsertInsertedFlagClause();
+      if (insertedFlagClause != null) {
+        return jdbcInsertEx
+            .executeBatchWithClauseReturningFlags(getUpsertClause(), insertedFlagClause, batch)
+            .stream()
+            .map(x -> x ? UpsertResult.CREATED : UpsertResult.UPDATED)
+            .toList();
+      }
+
+      int[] affectedRows = jdbcInsertEx.executeBatchWithClause(getUpsertClause(), batch);
+      return Arrays.stream(affectedRows).mapToObj(this::affectedRowsToUpsertResult).toList();
+    } catch (Throwable t) {
+      daoExceptionTranslator.translateAndThrowIfApplicable(t);
+      throw t;
+    }
+  }
+
+  /**
+   * MySQL reports 1 affected row for inserted row, 2 for updated row and 0 for existing row which
+   * values didn't change. But unless "useAffectedRows" is set, it reports 1 for the latter case
+   * too, so 1 is ambiguous
+   */
+  protected UpsertResult affectedRowsToUpsertResult(int affectedRows) {
+    return switch (affectedRows) {
+      case 0, 2 -> UpsertResult.UPDATED;
+      default -> UpsertResult.UNKNOWN;
+    };
+  }
+
+  protected String getUpsertClause() {
+    if (upsertClause == null) {
+      // NOTE: Columns to update are same as for regular update, so createdAt and createdBy (if
+      // applicable) are preserved on conflict
+      upsertClause =
+          sqlBuilder.upsertClause(
+              QueryToSqlMySqlImpl.snakeCase(HasId.FN_ID), jdbcUpdate.getUpdatingColumns());
+    }
+    return upsertClause;
+  }
+
+  @Override
+  public List<TRow> findByIdsForUpdate(Collection<TId> ids) {
+    Preconditions.checkArgument(ids != null, "ids required");
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+
+    // NOTE: Using primary jdbc, locks can't be acquired on read replica
+    QueryData queryData = sqlBuilder.selectByIdsForUpdate(tableName, ids);
+    return jdbc.query(queryData.getSql(), queryData.getParams(), rowMapper);
+  }
+
   @Override
   public TRow findById(TId id) {
     QueryData queryData = sqlBuilder.findById(tableName, id);
 
     try {
-      return jdbc.queryForObject(queryData.getSql(), queryData.getParams(), rowMapper);
+      return readJdbc.queryForObject(queryData.getSql(), queryData.getParams(), rowMapper);
     } catch (EmptyResultDataAccessException e) {
       // not logging exception because method is findXXX - hence by convention we just return null
       // result - this is by design
@@ -277,12 +596,14 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
 
   @Override
   public int delete(TId id) {
+    onWrite();
     QueryData queryData = sqlBuilder.deleteById(tableName, id);
     return jdbc.update(queryData.getSql(), queryData.getParams());
   }
 
   @Override
   public int delete(TId id, long modifiedAt) {
+    onWrite();
     QueryData queryData = sqlBuilder.deleteByIdOptimistic(tableName, id, modifiedAt);
 
     int affectedRows = jdbc.update(queryData.getSql(), queryData.getParams());
@@ -302,7 +623,7 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
     QueryData queryData = sqlBuilder.selectSingleRow(tableName, query);
 
     try {
-      return jdbc.queryForObject(queryData.getSql(), queryData.getParams(), rowMapper);
+      return readJdbc.queryForObject(queryData.getSql(), queryData.getParams(), rowMapper);
     } catch (EmptyResultDataAccessException e) {
       // not logging exception because method is findXXX - hence by convention we just return null
       // result - this is by design
@@ -312,49 +633,413 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
 
   @Override
   public int deleteByQuery(Query<TId, TRow> query) {
+    onWrite();
     QueryData queryData = sqlBuilder.deleteByQuery(tableName, query);
     return jdbc.update(queryData.getSql(), queryData.getParams());
   }
 
+  @Override
+  public List<TId> deleteByIds(Collection<TId> ids) {
+    Preconditions.checkArgument(ids != null, "ids required");
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    onWrite();
+
+    List<Object> deletedIds;
+    QueryData deleteReturning = sqlBuilder.deleteByIdsReturningIds(tableName, ids);
+    if (deleteReturning != null) {
+      deletedIds =
+          jdbc.queryForList(deleteReturning.getSql(), deleteReturning.getParams(), Object.class);
+    } else {
+      QueryData lock = sqlBuilder.selectIdsForUpdate(tableName, ids);
+      deletedIds = jdbc.queryForList(lock.getSql(), lock.getParams(), Object.class);
+      if (deletedIds.isEmpty()) {
+        return List.of();
+      }
+      // NOTE: Deleting only locked rows, so we know for sure which rows were deleted
+      QueryData delete = sqlBuilder.deleteByIds(tableName, deletedIds);
+      jdbc.update(delete.getSql(), delete.getParams());
+    }
+
+    // NOTE: Driver might yield ids of different type (i.e. Integer instead of Long), so we're
+    // matching them by string representation
+    Set<String> deleted = new HashSet<>();
+    deletedIds.forEach(x -> deleted.add(String.valueOf(x)));
+    return ids.stream().filter(x -> deleted.contains(String.valueOf(x))).toList();
+  }
+
   @Override
   public PaginatedList<TRow> query(
       PagerParams pagerParams, Query<TId, TRow> optionalQuery, OrderBy... orderBy) {
+    if (pagerParams instanceof KeysetPagerParams keysetPagerParams) {
+      return queryKeyset(keysetPagerParams, optionalQuery, orderBy);
+    }
 
-    boolean countQueryNeeded = isCountQueryNeeded(pagerParams);
+    FieldCondition oversizedIn = findOversizedInCondition(pagerParams, optionalQuery, orderBy);
+    if (oversizedIn != null) {
+      List<TRow> list = queryChunked(optionalQuery, oversizedIn);
+      PaginatedList<TRow> ret = new PaginatedList<>(pagerParams, list, list.size());
+      ret.setCountStrategy(CountStrategy.NONE);
+      return ret;
+    }
 
+    CountStrategy countStrategy = resolveCountStrategy(pagerParams);
     FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(tableName, optionalQuery);
+    PaginatedList<TRow> ret =
+        switch (countStrategy) {
+          case EXACT_WINDOW ->
+              queryWithWindowCount(pagerParams, optionalQuery, orderBy, fromAndWhere);
+          case HAS_MORE -> queryHasMore(pagerParams, optionalQuery, orderBy, fromAndWhere);
+          default ->
+              queryAndCount(countStrategy, pagerParams, optionalQuery, orderBy, fromAndWhere);
+        };
+    if (ret.getCountStrategy() == null) {
+      ret.setCountStrategy(countStrategy);
+    }
+    return ret;
+  }
+
+  /**
+   * Count is never needed for {@link Top} and {@link PagerParams#ALL}. Otherwise strategy specified
+   * in {@link PagerParams} takes precedence over the default one, see {@link
+   * #setCountStrategy(CountStrategy)}
+   */
+  protected CountStrategy resolveCountStrategy(PagerParams pagerParams) {
+    if (!isCountQueryNeeded(pagerParams)) {
+      return CountStrategy.NONE;
+    }
+    return pagerParams.getCountStrategy() != null ? pagerParams.getCountStrategy() : countStrategy;
+  }
+
+  /** Handles strategies which require (if any) separate count statement */
+  protected PaginatedList<TRow> queryAndCount(
+      CountStrategy countStrategy,
+      PagerParams pagerParams,
+      Query<TId, TRow> optionalQuery,
+      OrderBy[] orderBy,
+      FromAndWhere fromAndWhere) {
+    // NOTE: Cache key must be built before select, because select adds pagination params
+    String cachedCountKey =
+        countStrategy == CountStrategy.CACHED ? buildCachedCountKey(fromAndWhere) : null;
+
     QueryData dataQuery =
         sqlBuilder.select(
-            rowClass, fromAndWhere, optionalQuery, pagerParams, orderBy, countQueryNeeded);
+            rowClass,
+            fromAndWhere,
+            optionalQuery,
+            pagerParams,
+            orderBy,
+            countStrategy == CountStrategy.EXACT);
+    if (countStrategy == CountStrategy.EXACT) {
+      // NOTE: Count query might depend on the data query executed on the same connection (i.e.
+      // MySQL's FOUND_ROWS()), so both are executed on a single connection, which also means same
+      // replica (if any) is used for both
+      return onSingleConnection(
+          jdbcOnConnection -> {
+            List<TRow> list =
+                jdbcOnConnection.query(dataQuery.getSql(), dataQuery.getParams(), rowMapper);
+            long totalResults = pagerParams.getOffset() + list.size();
+            if (!isLastPage(pagerParams, list)) {
+              QueryData countQuery = sqlBuilder.queryForCountAfterPagedSelect(fromAndWhere);
+              totalResults =
+                  jdbcOnConnection.queryForLong(countQuery.getSql(), countQuery.getParams());
+            }
+            return new PaginatedList<>(pagerParams, list, totalResults);
+          });
+    }
+
+    List<TRow> list = readJdbc.query(dataQuery.getSql(), dataQuery.getParams(), rowMapper);
+    long totalResults;
+    if (countStrategy == CountStrategy.NONE) {
+      totalResults = pagerParams.getOffset() + list.size();
+    } else if (isLastPage(pagerParams, list)) {
+      // NOTE: Total is known precisely here, so it is reported as exact even if estimate or cached
+      // count was requested
+      PaginatedList<TRow> ret =
+          new PaginatedList<>(pagerParams, list, pagerParams.getOffset() + list.size());
+      ret.setCountStrategy(CountStrategy.EXACT);
+      return ret;
+    } else {
+      totalResults =
+          switch (countStrategy) {
+            case CACHED -> countCached(cachedCountKey, fromAndWhere);
+            case APPROXIMATE ->
+                Math.max(pagerParams.getOffset() + list.size(), countApproximately(fromAndWhere));
+            default ->
+                throw new IllegalArgumentException("Unexpected count strategy: " + countStrategy);
+          };
+    }
+
+    return new PaginatedList<>(pagerParams, list, totalResults);
+  }
+
+  /**
+   * Execute given call using single connection obtained from {@link #readJdbc}. Within transaction
+   * it's the transaction's connection, otherwise connection is held till the call completes
+   *
+   * @param call call which receives template bound to that connection
+   * @return result of the call
+   */
+  protected <T> T onSingleConnection(Function<NamedParameterJdbcTemplateEx, T> call) {
+    return readJdbc
+        .getJdbcOperations()
+        .execute(
+            (ConnectionCallback<T>)
+                con -> {
+                  NamedParameterJdbcTemplateEx ret =
+                      new NamedParameterJdbcTemplateEx(new SingleConnectionDataSource(con, true));
+                  return call.apply(slowQueryRecorder == null ? ret : slowQueryRecorder.wrap(ret));
+                });
+  }
+
+  /**
+   * If page is not full then we know total number of results without querying for it. Except for
+   * the case when page is empty, because it could be that requested offset is beyond last row
+   */
+  protected boolean isLastPage(PagerParams pagerParams, List<TRow> list) {
+    return list.size() < pagerParams.getMax() && (pagerParams.getOffset() == 0 || !list.isEmpty());
+  }
+
+  protected String buildCachedCountKey(FromAndWhere fromAndWhere) {
+    return fromAndWhere.getSql() + "|" + new TreeMap<>(fromAndWhere.getParams().getValues());
+  }
+
+  protected long countCached(String cachedCountKey, FromAndWhere fromAndWhere) {
+    Long ret = cachedCounts.getIfPresent(cachedCountKey);
+    if (ret == null) {
+      QueryData countQuery = sqlBuilder.countForSimpleSelect(fromAndWhere);
+      ret = readJdbc.queryForLong(countQuery.getSql(), countQuery.getParams());
+      cachedCounts.put(cachedCountKey, ret);
+    }
+    return ret;
+  }
 
-    List<TRow> list = jdbc.query(dataQuery.getSql(), dataQuery.getParams(), rowMapper);
+  protected long countApproximately(FromAndWhere fromAndWhere) {
+    QueryData countQuery = sqlBuilder.approximateCount(fromAndWhere);
+    Long ret =
+        readJdbc.query(
+            countQuery.getSql(), countQuery.getParams(), sqlBuilder.approximateCountExtractor());
+    return ret == null ? 0 : ret;
+  }
 
-    int totalResultsCount;
-    if (countQueryNeeded) {
-      QueryData countQuery = sqlBuilder.queryForCountAfterPagedSelect(fromAndWhere);
-      totalResultsCount = jdbc.queryForInt(countQuery.getSql(), countQuery.getParams());
+  protected PaginatedList<TRow> queryWithWindowCount(
+      PagerParams pagerParams,
+      Query<TId, TRow> optionalQuery,
+      OrderBy[] orderBy,
+      FromAndWhere fromAndWhere) {
+    QueryData dataQuery =
+        sqlBuilder.selectWithWindowCount(
+            rowClass, fromAndWhere, optionalQuery, pagerParams, orderBy);
+
+    long[] windowCount = {-1};
+    List<TRow> list =
+        readJdbc.query(
+            dataQuery.getSql(),
+            dataQuery.getParams(),
+            (rs, rowNum) -> {
+              if (rowNum == 0) {
+                windowCount[0] = rs.getLong(SqlBuilder.COLUMN_WINDOW_COUNT);
+              }
+              return rowMapper.mapRow(rs, rowNum);
+            });
+
+    long totalResults;
+    if (windowCount[0] >= 0) {
+      totalResults = windowCount[0];
+    } else if (pagerParams.getOffset() == 0) {
+      totalResults = 0;
     } else {
-      totalResultsCount = list.size();
+      // NOTE: Requested page is beyond last row, so window function had nothing to report
+      QueryData countQuery = sqlBuilder.countForSimpleSelect(fromAndWhere);
+      totalResults = readJdbc.queryForLong(countQuery.getSql(), countQuery.getParams());
+    }
+    return new PaginatedList<>(pagerParams, list, totalResults);
+  }
+
+  /**
+   * Request one extra row to find out if there is a next page. {@link
+   * PaginatedList#getTotalResults()} will contain number of rows up to and including current page
+   */
+  protected PaginatedList<TRow> queryHasMore(
+      PagerParams pagerParams,
+      Query<TId, TRow> optionalQuery,
+      OrderBy[] orderBy,
+      FromAndWhere fromAndWhere) {
+    PagerParams oneMore = new PagerParams(pagerParams.getOffset(), pagerParams.getMax() + 1);
+    QueryData dataQuery =
+        sqlBuilder.select(rowClass, fromAndWhere, optionalQuery, oneMore, orderBy, false);
+    List<TRow> list = readJdbc.query(dataQuery.getSql(), dataQuery.getParams(), rowMapper);
+
+    boolean hasMore = list.size() > pagerParams.getMax();
+    if (hasMore) {
+      list = new ArrayList<>(list.subList(0, (int) pagerParams.getMax()));
+    }
+
+    PaginatedList<TRow> ret =
+        new PaginatedList<>(pagerParams, list, pagerParams.getOffset() + list.size());
+    ret.setHasMore(hasMore);
+    return ret;
+  }
+
+  /**
+   * Keyset pagination does not use count query. Instead, we request one extra row to find out if
+   * there is a next page. Thus {@link PaginatedList#getTotalResults()} will contain number of items
+   * on the page, while {@link PaginatedList#getNextPageCursor()} will be null if there are no more
+   * pages
+   */
+  protected PaginatedList<TRow> queryKeyset(
+      KeysetPagerParams pagerParams, Query<TId, TRow> optionalQuery, OrderBy[] orderBy) {
+    OrderBy[] keysetOrderBy = buildKeysetOrderBy(orderBy);
+    KeysetPagerParams oneMore =
+        new KeysetPagerParams(pagerParams.getMax() + 1, pagerParams.getAfter());
+
+    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(tableName, optionalQuery);
+    QueryData dataQuery =
+        sqlBuilder.select(rowClass, fromAndWhere, optionalQuery, oneMore, keysetOrderBy, false);
+    List<TRow> list = readJdbc.query(dataQuery.getSql(), dataQuery.getParams(), rowMapper);
+
+    String nextPageCursor = null;
+    if (list.size() > pagerParams.getMax()) {
+      list = new ArrayList<>(list.subList(0, (int) pagerParams.getMax()));
+      TRow lastRow = list.get(list.size() - 1);
+      nextPageCursor = KeysetPagerParams.encodeCursor(getSortKeyValues(lastRow, keysetOrderBy));
     }
 
-    return new PaginatedList<>(pagerParams, list, totalResultsCount);
+    PaginatedList<TRow> ret = new PaginatedList<>(pagerParams, list, list.size());
+    ret.setNextPageCursor(nextPageCursor);
+    ret.setCountStrategy(CountStrategy.HAS_MORE);
+    ret.setHasMore(nextPageCursor != null);
+    return ret;
+  }
+
+  /**
+   * Keyset pagination requires combination of sort keys to be unique. To guarantee that, we're
+   * adding id as a tie-breaker unless it's already present
+   */
+  protected OrderBy[] buildKeysetOrderBy(OrderBy[] orderBy) {
+    if (orderBy != null) {
+      orderBy = Arrays.stream(orderBy).filter(Objects::nonNull).toArray(OrderBy[]::new);
+    }
+    if (orderBy == null || orderBy.length == 0) {
+      return new OrderBy[] {OrderBy.Asc(HasId.FN_ID)};
+    }
+    if (Arrays.stream(orderBy).anyMatch(x -> HasId.FN_ID.equals(x.getFieldName()))) {
+      return orderBy;
+    }
+
+    OrderBy[] ret = Arrays.copyOf(orderBy, orderBy.length + 1);
+    ret[orderBy.length] =
+        OrderBy.ORDER_DESC.equalsIgnoreCase(orderBy[orderBy.length - 1].getDirection())
+            ? OrderBy.Desc(HasId.FN_ID)
+            : OrderBy.Asc(HasId.FN_ID);
+    return ret;
+  }
+
+  protected List<Object> getSortKeyValues(TRow row, OrderBy[] orderBy) {
+    BeanWrapper beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+    List<Object> ret = new ArrayList<>(orderBy.length);
+    for (OrderBy item : orderBy) {
+      ret.add(beanWrapper.getPropertyValue(item.getFieldName()));
+    }
+    return ret;
   }
 
   @Override
   public List<TRow> queryPage(
       PagerParams pagerParams, Query<TId, TRow> optionalQuery, OrderBy[] orderBy) {
+    if (pagerParams instanceof KeysetPagerParams) {
+      orderBy = buildKeysetOrderBy(orderBy);
+    }
+    FieldCondition oversizedIn = findOversizedInCondition(pagerParams, optionalQuery, orderBy);
+    if (oversizedIn != null) {
+      return queryChunked(optionalQuery, oversizedIn);
+    }
     FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(tableName, optionalQuery);
     QueryData dataQuery =
         sqlBuilder.select(rowClass, fromAndWhere, optionalQuery, pagerParams, orderBy, false);
 
-    return jdbc.query(dataQuery.getSql(), dataQuery.getParams(), rowMapper);
+    return readJdbc.query(dataQuery.getSql(), dataQuery.getParams(), rowMapper);
+  }
+
+  /**
+   * Find top-level {@link In} condition which has more than {@link #maxInListSize} values. Only
+   * unpaged and unordered queries are considered, because otherwise results of the chunks cannot be
+   * simply concatenated
+   *
+   * @return condition or null if query doesn't need to be split into chunks
+   */
+  protected FieldCondition findOversizedInCondition(
+      PagerParams pagerParams, Query<TId, TRow> optionalQuery, OrderBy[] orderBy) {
+    if (maxInListSize <= 0
+        || optionalQuery == null
+        || !PagerParams.ALL.equals(pagerParams)
+        || (orderBy != null && orderBy.length > 0)) {
+      return null;
+    }
+
+    FieldCondition ret = null;
+    for (Condition condition : optionalQuery.getConditions()) {
+      if (condition instanceof FieldCondition fieldCondition
+          && fieldCondition.getRestriction() instanceof In in
+          && !in.isNot()
+          && in.getValues().size() > maxInListSize
+          && (ret == null
+              || in.getValues().size() > ((In) ret.getRestriction()).getValues().size())) {
+        ret = fieldCondition;
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Execute query once per chunk of values of the given {@link In} condition and concatenate
+   * results. Since each row matches exactly one chunk, there are no duplicates. Chunks are executed
+   * sequentially, because they must run within the same connection (and transaction) as the caller
+   */
+  protected List<TRow> queryChunked(Query<TId, TRow> query, FieldCondition oversizedIn) {
+    List<TRow> ret = new ArrayList<>();
+    Set<?> values = ((In) oversizedIn.getRestriction()).getValues();
+    for (List<?> chunk : Iterables.partition(values, maxInListSize)) {
+      Query<TId, TRow> chunkQuery = buildChunkQuery(query, oversizedIn, chunk);
+      FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(tableName, chunkQuery);
+      QueryData dataQuery =
+          sqlBuilder.select(rowClass, fromAndWhere, chunkQuery, PagerParams.ALL, null, false);
+      ret.addAll(readJdbc.query(dataQuery.getSql(), dataQuery.getParams(), rowMapper));
+    }
+    return ret;
+  }
+
+  protected Query<TId, TRow> buildChunkQuery(
+      Query<TId, TRow> query, FieldCondition oversizedIn, List<?> chunk) {
+    Query<TId, TRow> ret =
+        query.getAlias() == null
+            ? new Query<>(query.getService())
+            : new Query<>(query.getService(), query.getAlias());
+    for (Condition condition : query.getConditions()) {
+      ret.add(
+          condition == oversizedIn
+              ? new FieldCondition(oversizedIn.getFieldName(), new In(chunk))
+              : condition);
+    }
+    return ret;
+  }
+
+  @Override
+  public Stream<TRow> stream(Query<TId, TRow> optionalQuery, OrderBy[] orderBy) {
+    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(tableName, optionalQuery);
+    QueryData dataQuery =
+        sqlBuilder.select(rowClass, fromAndWhere, optionalQuery, PagerParams.ALL, orderBy, false);
+
+    return readJdbc.queryForStream(
+        dataQuery.getSql(), dataQuery.getParams(), rowMapper, streamFetchSize);
   }
 
   @Override
   public int count(Query<TId, TRow> optionalQuery) {
     FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(tableName, optionalQuery);
     QueryData countQuery = sqlBuilder.countForSimpleSelect(fromAndWhere);
-    return jdbc.queryForInt(countQuery.getSql(), countQuery.getParams());
+    return readJdbc.queryForInt(countQuery.getSql(), countQuery.getParams());
   }
 
   protected static boolean isCountQueryNeeded(PagerParams pagerParams) {
@@ -391,8 +1076,7 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
   }
 
   /**
-   * Set {@link RowMapper}. Optional. if nothing set, then {@link BeanPropertyRowMapper} will be
-   * used
+   * Set {@link RowMapper}. Optional. if nothing set, then {@link GeneratedRowMapper} will be used
    *
    * @param rowMapper rowMapper
    */
@@ -514,8 +1198,138 @@ public class EasyCrudDaoSqlImpl<TId extends Comparable<TId>, TRow extends HasId<
     return sqlBuilder;
   }
 
+  /**
+   * Notify {@link #readReplicaRouter} that primary is about to be modified, so that subsequent
+   * reads could be routed to primary too
+   */
+  protected void onWrite() {
+    if (readReplicaRouter != null) {
+      readReplicaRouter.onWrite();
+    }
+  }
+
+  public ReadReplicaRouter getReadReplicaRouter() {
+    return readReplicaRouter;
+  }
+
+  /**
+   * @param readReplicaRouter optional router, when provided read operations are routed to read
+   *     replicas. Must be set before {@link #afterPropertiesSet()}
+   */
+  @Autowired(required = false)
+  public void setReadReplicaRouter(ReadReplicaRouter readReplicaRouter) {
+    this.readReplicaRouter = readReplicaRouter;
+  }
+
+  public EasyCrudMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * @param metrics optional metrics sink, when provided time spent on building SQL and mapping rows
+   *     is attributed to the current operation. Must be set before {@link #afterPropertiesSet()}
+   */
+  @Autowired(required = false)
+  public void setMetrics(EasyCrudMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  public SlowQueryRecorder getSlowQueryRecorder() {
+    return slowQueryRecorder;
+  }
+
+  /**
+   * @param slowQueryRecorder optional recorder, when provided statements executed by this DAO are
+   *     recorded. Must be set before {@link #afterPropertiesSet()}
+   */
+  @Autowired(required = false)
+  public void setSlowQueryRecorder(SlowQueryRecorder slowQueryRecorder) {
+    this.slowQueryRecorder = slowQueryRecorder;
+  }
+
+  public TableMetadataValidator getTableMetadataValidator() {
+    return tableMetadataValidator;
+  }
+
+  /**
+   * @param tableMetadataValidator optional validator which is invoked upon initialization
+   */
+  @Autowired(required = false)
+  public void setTableMetadataValidator(TableMetadataValidator tableMetadataValidator) {
+    this.tableMetadataValidator = tableMetadataValidator;
+  }
+
   @Autowired(required = false)
   public void setSqlBuilder(SqlBuilder sqlBuilder) {
     this.sqlBuilder = sqlBuilder;
   }
+
+  public int getStreamFetchSize() {
+    return streamFetchSize;
+  }
+
+  /**
+   * Set fetch size which is used by {@link #stream(Query, OrderBy[])}. Default is {@link
+   * #DEFAULT_STREAM_FETCH_SIZE} which works for MariaDB and Postgres drivers. In case you're using
+   * MySQL Connector/J, you'll need to either set it to {@link Integer#MIN_VALUE} (row-by-row
+   * streaming) or add useCursorFetch=true to connection string.
+   *
+   * @param streamFetchSize fetch size, 0 means driver default (which usually means whole result set
+   *     is read into memory)
+   */
+  public void setStreamFetchSize(int streamFetchSize) {
+    this.streamFetchSize = streamFetchSize;
+  }
+
+  public Integer getMaxInListSize() {
+    return maxInListSize;
+  }
+
+  /**
+   * Set max amount of values in a single IN condition. If unpaged and unordered query has an IN
+   * condition with more values, it is executed in several chunks and results are concatenated. By
+   * default it is taken from {@link SqlBuilder#getMaxInListSize()}, so chunking is enabled only for
+   * dialects which bind each value as a separate parameter (i.e. MySQL)
+   *
+   * @param maxInListSize max amount of values, zero or negative value disables chunking
+   */
+  public void setMaxInListSize(Integer maxInListSize) {
+    this.maxInListSize = maxInListSize;
+  }
+
+  public CountStrategy getCountStrategy() {
+    return countStrategy;
+  }
+
+  /**
+   * Set default count strategy for {@link #query(PagerParams, Query, OrderBy...)}. It can be
+   * overridden per call using {@link PagerParams#setCountStrategy(CountStrategy)}. Default is
+   * {@link CountStrategy#EXACT}.
+   *
+   * <p>NOTE: {@link CountStrategy#EXACT_WINDOW} requires window functions support (MySQL 8+,
+   * MariaDB 10.2+, Postgres)
+   *
+   * @param countStrategy count strategy
+   */
+  public void setCountStrategy(CountStrategy countStrategy) {
+    Preconditions.checkArgument(countStrategy != null, "countStrategy required");
+    this.countStrategy = countStrategy;
+  }
+
+  public Duration getCachedCountsTtl() {
+    return cachedCountsTtl;
+  }
+
+  /**
+   * Set for how long counts are cached when {@link CountStrategy#CACHED} is used. Cached counts are
+   * not invalidated upon modifications, they only expire. Must be set before {@link
+   * #afterPropertiesSet()}. Default is {@link #DEFAULT_CACHED_COUNTS_TTL}
+   *
+   * @param cachedCountsTtl time to live for cached counts
+   */
+  public void setCachedCountsTtl(Duration cachedCountsTtl) {
+    Preconditions.checkArgument(
+        cachedCountsTtl != null && !cachedCountsTtl.isNegative(), "cachedCountsTtl required");
+    this.cachedCountsTtl = cachedCountsTtl;
+  }
 }
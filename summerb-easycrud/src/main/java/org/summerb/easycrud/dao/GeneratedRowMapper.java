@@ -0,0 +1,433 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+import com.google.common.base.Preconditions;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.loading.MultipleParentClassLoader;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+import org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl;
+
+/**
+ * {@link RowMapper} which is a faster alternative to Spring's {@link
+ * org.springframework.jdbc.core.BeanPropertyRowMapper} (and {@link BeanPropertyRowMapperEx}).
+ *
+ * <p>Column naming rules are the same as for {@link BeanPropertyRowMapperEx}, but all the heavy
+ * lifting is done upfront:
+ *
+ * <ul>
+ *   <li>Setters are invoked by {@link PropertyWriter}s which are generated using ByteBuddy, so
+ *       there is neither reflection nor {@link org.springframework.beans.BeanWrapper} involved
+ *   <li>Column-to-property resolution is done once per result set (and cached per result set
+ *       shape), not for each row
+ *   <li>Values are extracted using typed getters (i.e. {@link ResultSet#getLong(int)}) for simple
+ *       types. {@link ConversionService} is used only for types which cannot be read directly, or
+ *       for types which have {@link SqlTypeOverride} (i.e. enums are stored as strings)
+ * </ul>
+ *
+ * <p>In case setter or constructor is not accessible from generated code (i.e. class is not
+ * public), impl will fall back to reflection for such members.
+ *
+ * @param <T> the target class
+ * @author sergey.karpushin
+ */
+public class GeneratedRowMapper<T> implements RowMapper<T> {
+  protected static final Map<Class<?>, ColumnReader> TYPED_READERS = buildTypedReaders();
+
+  protected final Log logger = LogFactory.getLog(getClass());
+
+  protected final Class<T> mappedClass;
+  protected final ConversionService conversionService;
+  protected final SqlTypeOverrides sqlTypeOverrides;
+
+  /**
+   * Whether {@code NULL} database values should be ignored for primitive properties in the target
+   * class. Same semantics as in {@link BeanPropertyRowMapperEx}
+   */
+  protected boolean primitivesDefaultedForNullValue = false;
+
+  protected Supplier<T> instantiator;
+
+  /** Properties we provide mapping for, keyed by lower-cased and underscored names */
+  protected Map<String, PropertyMapping> mappedProperties;
+
+  /** Resolved columns keyed by result set shape (comma-separated list of column names) */
+  protected final Map<String, ColumnMapping[]> columnsByShape = new ConcurrentHashMap<>();
+
+  /** Columns resolved for the result set which is being currently mapped */
+  protected volatile ResultSetColumns lastResultSetColumns;
+
+  public GeneratedRowMapper(Class<T> mappedClass) {
+    this(mappedClass, null, null);
+  }
+
+  /**
+   * @param mappedClass the class that each row should be mapped to
+   * @param conversionService conversion service to use for values that cannot be read using typed
+   *     getters. If null, {@link DefaultConversionService#getSharedInstance()} will be used
+   * @param sqlTypeOverrides optional, types which have overrides will always be converted using
+   *     conversionService
+   */
+  public GeneratedRowMapper(
+      Class<T> mappedClass,
+      ConversionService conversionService,
+      SqlTypeOverrides sqlTypeOverrides) {
+    Preconditions.checkArgument(mappedClass != null, "mappedClass required");
+    this.mappedClass = mappedClass;
+    this.conversionService =
+        conversionService != null
+            ? conversionService
+            : DefaultConversionService.getSharedInstance();
+    this.sqlTypeOverrides = sqlTypeOverrides;
+    initialize();
+  }
+
+  protected void initialize() {
+    instantiator = buildInstantiator();
+
+    mappedProperties = new HashMap<>();
+    for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(mappedClass)) {
+      if (pd.getWriteMethod() == null) {
+        continue;
+      }
+
+      PropertyMapping propertyMapping =
+          new PropertyMapping(
+              pd.getName(),
+              pd.getPropertyType(),
+              buildPropertyWriter(pd),
+              buildColumnReader(pd.getPropertyType()));
+      mappedProperties.put(lowerCaseName(pd.getName()), propertyMapping);
+      mappedProperties.put(underscoreName(pd.getName()), propertyMapping);
+    }
+  }
+
+  @Override
+  public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+    ColumnMapping[] columns = resolveColumns(rs);
+
+    T ret = instantiator.get();
+    for (ColumnMapping column : columns) {
+      PropertyMapping property = column.property;
+      Object value = property.reader.read(rs, column.index);
+      if (value == null && property.type.isPrimitive()) {
+        if (primitivesDefaultedForNullValue) {
+          continue;
+        }
+        throw new TypeMismatchException(
+            new PropertyChangeEvent(ret, property.name, null, null), property.type);
+      }
+
+      try {
+        property.writer.write(ret, value);
+      } catch (ClassCastException e) {
+        throw new DataRetrievalFailureException(
+            "Unable to map column '" + column.name + "' to property '" + property.name + "'", e);
+      }
+    }
+    return ret;
+  }
+
+  protected ColumnMapping[] resolveColumns(ResultSet rs) throws SQLException {
+    ResultSetColumns resultSetColumns = lastResultSetColumns;
+    if (resultSetColumns != null && resultSetColumns.resultSet.get() == rs) {
+      return resultSetColumns.columns;
+    }
+
+    ResultSetMetaData rsmd = rs.getMetaData();
+    String[] columnNames = new String[rsmd.getColumnCount()];
+    for (int i = 0; i < columnNames.length; i++) {
+      columnNames[i] = JdbcUtils.lookupColumnName(rsmd, i + 1);
+    }
+
+    ColumnMapping[] ret =
+        columnsByShape.computeIfAbsent(
+            String.join(",", columnNames), shape -> buildColumnMappings(columnNames));
+    lastResultSetColumns = new ResultSetColumns(rs, ret);
+    return ret;
+  }
+
+  protected ColumnMapping[] buildColumnMappings(String[] columnNames) {
+    List<ColumnMapping> ret = new ArrayList<>(columnNames.length);
+    for (int i = 0; i < columnNames.length; i++) {
+      String column = columnNames[i];
+      PropertyMapping property =
+          mappedProperties.get(lowerCaseName(StringUtils.delete(column, " ")));
+      if (property == null) {
+        continue;
+      }
+
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "Mapping column '"
+                + column
+                + "' to property '"
+                + property.name
+                + "' of type '"
+                + ClassUtils.getQualifiedName(property.type)
+                + "'");
+      }
+      ret.add(new ColumnMapping(column, i + 1, property));
+    }
+    return ret.toArray(new ColumnMapping[0]);
+  }
+
+  protected ColumnReader buildColumnReader(Class<?> propertyType) {
+    if (sqlTypeOverrides != null && sqlTypeOverrides.findOverrideForClass(propertyType) != null) {
+      return (rs, index) -> convertIfNeeded(JdbcUtils.getResultSetValue(rs, index), propertyType);
+    }
+
+    ColumnReader ret = TYPED_READERS.get(propertyType);
+    if (ret != null) {
+      return ret;
+    }
+
+    return (rs, index) ->
+        convertIfNeeded(JdbcUtils.getResultSetValue(rs, index, propertyType), propertyType);
+  }
+
+  protected Object convertIfNeeded(Object value, Class<?> propertyType) {
+    if (value == null || ClassUtils.isAssignableValue(propertyType, value)) {
+      return value;
+    }
+
+    if (conversionService.canConvert(value.getClass(), propertyType)) {
+      return conversionService.convert(value, propertyType);
+    }
+
+    // NOTE: This is the last resort -- property editors, same as BeanWrapper would do
+    SimpleTypeConverter typeConverter = new SimpleTypeConverter();
+    typeConverter.setConversionService(conversionService);
+    return typeConverter.convertIfNecessary(value, propertyType);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected Supplier<T> buildInstantiator() {
+    Constructor<T> constructor;
+    try {
+      constructor = mappedClass.getDeclaredConstructor();
+    } catch (NoSuchMethodException e) {
+      throw new IllegalArgumentException(
+          "Class " + mappedClass + " must have no-args constructor", e);
+    }
+
+    if (!isAccessibleFromGeneratedCode(constructor)) {
+      return () -> BeanUtils.instantiateClass(constructor);
+    }
+
+    try {
+      return new ByteBuddy()
+          .subclass(Supplier.class)
+          .method(ElementMatchers.named("get"))
+          .intercept(MethodCall.construct(constructor))
+          .make()
+          .load(buildClassLoader(Supplier.class), ClassLoadingStrategy.Default.WRAPPER)
+          .getLoaded()
+          .getDeclaredConstructor()
+          .newInstance();
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to generate instantiator for " + mappedClass, e);
+    }
+  }
+
+  protected PropertyWriter buildPropertyWriter(PropertyDescriptor pd) {
+    Method setter = pd.getWriteMethod();
+    if (!isAccessibleFromGeneratedCode(setter)) {
+      ReflectionUtils.makeAccessible(setter);
+      return (bean, value) -> ReflectionUtils.invokeMethod(setter, bean, value);
+    }
+
+    try {
+      return new ByteBuddy()
+          .subclass(PropertyWriter.class)
+          .method(ElementMatchers.named("write"))
+          .intercept(
+              MethodCall.invoke(setter)
+                  .onArgument(0)
+                  .withArgument(1)
+                  .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC))
+          .make()
+          .load(buildClassLoader(PropertyWriter.class), ClassLoadingStrategy.Default.WRAPPER)
+          .getLoaded()
+          .getDeclaredConstructor()
+          .newInstance();
+    } catch (Exception e) {
+      throw new RuntimeException(
+          "Failed to generate property writer for " + mappedClass + "::" + pd.getName(), e);
+    }
+  }
+
+  protected ClassLoader buildClassLoader(Class<?> generatedInterface) {
+    // NOTE: Generated class must see both our interface and the mapped class, which might be
+    // loaded by different class loaders
+    return new MultipleParentClassLoader.Builder().append(generatedInterface, mappedClass).build();
+  }
+
+  protected boolean isAccessibleFromGeneratedCode(Member member) {
+    return Modifier.isPublic(member.getModifiers())
+        && Modifier.isPublic(member.getDeclaringClass().getModifiers())
+        && Modifier.isPublic(mappedClass.getModifiers());
+  }
+
+  protected String lowerCaseName(String name) {
+    return name.toLowerCase(Locale.US);
+  }
+
+  protected String underscoreName(String name) {
+    return QueryToSqlMySqlImpl.snakeCase(name);
+  }
+
+  protected static Map<Class<?>, ColumnReader> buildTypedReaders() {
+    Map<Class<?>, ColumnReader> ret = new HashMap<>();
+    ret.put(String.class, ResultSet::getString);
+
+    ColumnReader longReader =
+        (rs, index) -> {
+          long value = rs.getLong(index);
+          return value == 0 && rs.wasNull() ? null : value;
+        };
+    ret.put(long.class, longReader);
+    ret.put(Long.class, longReader);
+
+    ColumnReader intReader =
+        (rs, index) -> {
+          int value = rs.getInt(index);
+          return value == 0 && rs.wasNull() ? null : value;
+        };
+    ret.put(int.class, intReader);
+    ret.put(Integer.class, intReader);
+
+    ColumnReader shortReader =
+        (rs, index) -> {
+          short value = rs.getShort(index);
+          return value == 0 && rs.wasNull() ? null : value;
+        };
+    ret.put(short.class, shortReader);
+    ret.put(Short.class, shortReader);
+
+    ColumnReader byteReader =
+        (rs, index) -> {
+          byte value = rs.getByte(index);
+          return value == 0 && rs.wasNull() ? null : value;
+        };
+    ret.put(byte.class, byteReader);
+    ret.put(Byte.class, byteReader);
+
+    ColumnReader booleanReader =
+        (rs, index) -> {
+          boolean value = rs.getBoolean(index);
+          return !value && rs.wasNull() ? null : value;
+        };
+    ret.put(boolean.class, booleanReader);
+    ret.put(Boolean.class, booleanReader);
+
+    ColumnReader doubleReader =
+        (rs, index) -> {
+          double value = rs.getDouble(index);
+          return value == 0 && rs.wasNull() ? null : value;
+        };
+    ret.put(double.class, doubleReader);
+    ret.put(Double.class, doubleReader);
+
+    ColumnReader floatReader =
+        (rs, index) -> {
+          float value = rs.getFloat(index);
+          return value == 0 && rs.wasNull() ? null : value;
+        };
+    ret.put(float.class, floatReader);
+    ret.put(Float.class, floatReader);
+
+    ret.put(BigDecimal.class, ResultSet::getBigDecimal);
+    ret.put(byte[].class, ResultSet::getBytes);
+    ret.put(Timestamp.class, ResultSet::getTimestamp);
+    ret.put(java.sql.Date.class, ResultSet::getDate);
+    ret.put(Time.class, ResultSet::getTime);
+    return ret;
+  }
+
+  public boolean isPrimitivesDefaultedForNullValue() {
+    return primitivesDefaultedForNullValue;
+  }
+
+  /**
+   * @param primitivesDefaultedForNullValue whether to leave default values for primitives when
+   *     database value is null. If false, {@link TypeMismatchException} will be thrown
+   */
+  public void setPrimitivesDefaultedForNullValue(boolean primitivesDefaultedForNullValue) {
+    this.primitivesDefaultedForNullValue = primitivesDefaultedForNullValue;
+  }
+
+  public Class<T> getMappedClass() {
+    return mappedClass;
+  }
+
+  /** Extracts value of a single column from the current row of a result set */
+  @FunctionalInterface
+  protected interface ColumnReader {
+    Object read(ResultSet rs, int index) throws SQLException;
+  }
+
+  protected record PropertyMapping(
+      String name, Class<?> type, PropertyWriter writer, ColumnReader reader) {}
+
+  protected record ColumnMapping(String name, int index, PropertyMapping property) {}
+
+  protected static class ResultSetColumns {
+    protected final WeakReference<ResultSet> resultSet;
+    protected final ColumnMapping[] columns;
+
+    protected ResultSetColumns(ResultSet resultSet, ColumnMapping[] columns) {
+      this.resultSet = new WeakReference<>(resultSet);
+      this.columns = columns;
+    }
+  }
+}
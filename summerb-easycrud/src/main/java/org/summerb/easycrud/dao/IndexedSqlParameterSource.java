@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * {@link SqlParameterSource} which parameters can also be accessed by index. Statements with a
+ * fixed list of columns (see {@link SimpleJdbcInsertEx} and {@link
+ * org.summerb.easycrud.dao.SimpleJdbcUpdate.SimpleJdbcUpdate}) resolve columns to indexes once (see
+ * {@link ParameterIndexes}) and then read values by index, skipping name lookups for each row.
+ *
+ * @author sergey.karpushin
+ */
+public interface IndexedSqlParameterSource extends SqlParameterSource {
+
+  /**
+   * @return key which identifies the way parameter names are resolved to indexes. Sources which
+   *     return the same key (by identity) must resolve same names to same indexes
+   */
+  Object getParameterIndexKey();
+
+  /**
+   * @param paramName name of the parameter or column, same rules as for {@link #hasValue(String)}
+   * @return index of the parameter, or -1 if there is no such parameter
+   */
+  int getParameterIndex(String paramName);
+
+  /**
+   * @param parameterIndex index as returned by {@link #getParameterIndex(String)}
+   * @return value of the parameter, wrapped in {@link SqlParameterValue} in case SQL type is known
+   *     (same as {@link
+   *     org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils#getTypedValue(SqlParameterSource,
+   *     String)} does)
+   */
+  Object getTypedValue(int parameterIndex);
+}
@@ -15,9 +15,13 @@
  ******************************************************************************/
 package org.summerb.easycrud.dao;
 
+import java.sql.PreparedStatement;
 import java.util.Map;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
@@ -55,4 +59,29 @@ public class NamedParameterJdbcTemplateEx extends NamedParameterJdbcTemplate {
     Long ret = queryForObject(sql, hashMap, Long.class);
     return ret == null ? 0 : ret;
   }
+
+  /**
+   * Same as {@link #queryForStream(String, SqlParameterSource, RowMapper)}, but allows to specify
+   * fetch size for this particular statement, so that JDBC driver will use forward-only cursor
+   * instead of reading whole result set into memory.
+   *
+   * <p>Returned stream holds JDBC connection and must be closed after use (i.e. use
+   * try-with-resources)
+   *
+   * @param fetchSize fetch size hint for the JDBC driver, ignored if 0
+   */
+  public <T> Stream<T> queryForStream(
+      String sql, SqlParameterSource params, RowMapper<T> rowMapper, int fetchSize) {
+    PreparedStatementCreator psc = getPreparedStatementCreator(sql, params);
+    return getJdbcOperations()
+        .queryForStream(
+            con -> {
+              PreparedStatement ps = psc.createPreparedStatement(con);
+              if (fetchSize != 0) {
+                ps.setFetchSize(fetchSize);
+              }
+              return ps;
+            },
+            rowMapper);
+  }
 }
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Indexes of parameters of {@link IndexedSqlParameterSource} which correspond to a fixed list of
+ * statement columns. Resolved once and then reused for all parameter sources which have the same
+ * {@link IndexedSqlParameterSource#getParameterIndexKey()}
+ *
+ * @author sergey.karpushin
+ */
+public class ParameterIndexes {
+  protected final Object key;
+  protected final int[] indexes;
+
+  public ParameterIndexes(Object key, int[] indexes) {
+    Preconditions.checkArgument(key != null, "key required");
+    Preconditions.checkArgument(indexes != null, "indexes required");
+    this.key = key;
+    this.indexes = indexes;
+  }
+
+  /**
+   * Resolves indexes using the same matching rules (exact, lower case, camel case, case-insensitive
+   * names) which statement would use to match parameter values with its columns. To do so matcher
+   * is invoked once with a probe parameter source which returns parameter index as a value
+   *
+   * @param parameterSource parameter source to resolve indexes with
+   * @param matcher function which matches parameter values with statement columns, i.e. {@link
+   *     org.springframework.jdbc.core.simple.AbstractJdbcInsert#matchInParameterValuesWithInsertColumns(SqlParameterSource)}
+   * @return indexes of parameters in the order of statement columns, -1 for columns which have no
+   *     parameter
+   */
+  public static ParameterIndexes resolve(
+      IndexedSqlParameterSource parameterSource,
+      Function<SqlParameterSource, List<Object>> matcher) {
+    List<Object> matched = matcher.apply(new IndexProbe(parameterSource));
+    int[] indexes = new int[matched.size()];
+    for (int i = 0; i < indexes.length; i++) {
+      Object index = matched.get(i);
+      indexes[i] = index == null ? -1 : (Integer) index;
+    }
+    return new ParameterIndexes(parameterSource.getParameterIndexKey(), indexes);
+  }
+
+  /**
+   * @param parameterSource parameter source
+   * @return true if these indexes can be used to read values from given parameter source
+   */
+  public boolean isApplicableTo(IndexedSqlParameterSource parameterSource) {
+    return key == parameterSource.getParameterIndexKey();
+  }
+
+  /**
+   * @param parameterSource parameter source to read values from, must be applicable (see {@link
+   *     #isApplicableTo(IndexedSqlParameterSource)})
+   * @return typed values in the order of columns, null for columns which have no parameter
+   */
+  public Object[] getTypedValues(IndexedSqlParameterSource parameterSource) {
+    Object[] ret = new Object[indexes.length];
+    for (int i = 0; i < indexes.length; i++) {
+      int index = indexes[i];
+      if (index >= 0) {
+        ret[i] = parameterSource.getTypedValue(index);
+      }
+    }
+    return ret;
+  }
+
+  public int[] getIndexes() {
+    return indexes;
+  }
+
+  /** Parameter source which returns parameter indexes instead of values */
+  protected static class IndexProbe extends AbstractSqlParameterSource {
+    protected final IndexedSqlParameterSource parameterSource;
+
+    public IndexProbe(IndexedSqlParameterSource parameterSource) {
+      this.parameterSource = parameterSource;
+    }
+
+    @Override
+    public boolean hasValue(String paramName) {
+      return parameterSource.getParameterIndex(paramName) >= 0;
+    }
+
+    @Override
+    public Object getValue(String paramName) {
+      int ret = parameterSource.getParameterIndex(paramName);
+      return ret < 0 ? null : ret;
+    }
+
+    @Override
+    public String[] getParameterNames() {
+      return parameterSource.getParameterNames();
+    }
+  }
+}
@@ -20,6 +20,8 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.LambdaMetafactory;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -40,7 +42,10 @@ import org.springframework.util.StringUtils;
  * <p>2. Support SqlTypeOverride for fields that needs this
  *
  * <p>3. And last but not least - heavily optimized compared to Spring's default implementation,
- * which spends too much time again and again to resolve same data. So here we're using caches a lot
+ * which spends too much time again and again to resolve same data. So here we're using caches a
+ * lot. Property values are read using {@link PropertyReader}s which are built once per property
+ * using {@link LambdaMetafactory}, so there is no reflection involved when building parameters for
+ * a row
  *
  * @param <TRow> row type
  * @author sergey.karpushin
@@ -59,6 +64,9 @@ public class ParameterSourceBuilderBeanPropImpl<TRow> implements ParameterSource
   protected LoadingCache<String, String> columnNameToFieldNameCache;
   protected LoadingCache<String, SqlTypeOverride> fieldNameToOverrideCache;
   protected String[] propertyNames;
+  protected PropertyReader[] propertyReaders;
+  protected SqlTypeOverride[] propertyOverrides;
+  protected LoadingCache<String, Integer> columnNameToPropertyIndexCache;
 
   public ParameterSourceBuilderBeanPropImpl(SqlTypeOverrides overrides, Class<TRow> rowClazz) {
     Preconditions.checkNotNull(rowClazz, "rowClazz required");
@@ -74,6 +82,33 @@ public class ParameterSourceBuilderBeanPropImpl<TRow> implements ParameterSource
     mapLowerCaseToPropertyName =
         readableProperties.stream().collect(Collectors.toMap(String::toLowerCase, v -> v));
     propertyNames = StringUtils.toStringArray(readableProperties);
+    propertyReaders = buildPropertyReaders(propertyNames);
+    propertyOverrides = buildPropertyOverrides(propertyNames);
+    columnNameToPropertyIndexCache = buildColumnNameToPropertyIndexCache();
+  }
+
+  protected SqlTypeOverride[] buildPropertyOverrides(String[] propertyNames) {
+    SqlTypeOverride[] ret = new SqlTypeOverride[propertyNames.length];
+    for (int i = 0; i < propertyNames.length; i++) {
+      ret[i] = fieldNameToOverrideCache.getUnchecked(propertyNames[i]);
+    }
+    return ret;
+  }
+
+  protected PropertyReader[] buildPropertyReaders(String[] propertyNames) {
+    PropertyReader[] ret = new PropertyReader[propertyNames.length];
+    for (int i = 0; i < propertyNames.length; i++) {
+      ret[i] = buildPropertyReader(beanWrapper.getPropertyDescriptor(propertyNames[i]));
+    }
+    return ret;
+  }
+
+  /**
+   * Build reader which invokes getter directly, see {@link PropertyReaders#forProperty(Class,
+   * PropertyDescriptor)}
+   */
+  protected PropertyReader buildPropertyReader(PropertyDescriptor pd) {
+    return PropertyReaders.forProperty(rowClazz, pd);
   }
 
   protected BeanWrapper buildBeanWrapper(Class<TRow> rowClazz) {
@@ -101,6 +136,23 @@ public class ParameterSourceBuilderBeanPropImpl<TRow> implements ParameterSource
     return CacheBuilder.newBuilder().build(buildColumnNameToFieldNameCacheLoader());
   }
 
+  protected LoadingCache<String, Integer> buildColumnNameToPropertyIndexCache() {
+    Map<String, Integer> propertyIndexes = new HashMap<>();
+    for (int i = 0; i < propertyNames.length; i++) {
+      propertyIndexes.put(propertyNames[i], i);
+    }
+
+    return CacheBuilder.newBuilder()
+        .build(
+            new CacheLoader<>() {
+              @Override
+              public Integer load(String column) {
+                String fieldName = columnNameToFieldNameCache.getUnchecked(column);
+                return propertyIndexes.getOrDefault(fieldName, -1);
+              }
+            });
+  }
+
   protected LoadingCache<String, SqlTypeOverride> buildFieldNameToOverrideCache() {
     return CacheBuilder.newBuilder().build(buildFieldNameToOverrideCacheLoader());
   }
@@ -108,7 +160,7 @@ public class ParameterSourceBuilderBeanPropImpl<TRow> implements ParameterSource
   @Override
   public SqlParameterSource buildParameterSource(TRow row) {
     return new BeanPropertySqlParameterSourceEx<>(
-        row, columnNameToFieldNameCache, fieldNameToOverrideCache, propertyNames);
+        row, propertyNames, propertyReaders, propertyOverrides, columnNameToPropertyIndexCache);
   }
 
   protected CacheLoader<? super String, String> buildColumnNameToFieldNameCacheLoader() {
@@ -169,6 +221,9 @@ public class ParameterSourceBuilderBeanPropImpl<TRow> implements ParameterSource
   }
 
   public void setOverrides(SqlTypeOverrides overrides) {
+    Preconditions.checkNotNull(overrides, "overrides required");
     this.overrides = overrides;
+    fieldNameToOverrideCache = buildFieldNameToOverrideCache();
+    propertyOverrides = buildPropertyOverrides(propertyNames);
   }
 }
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+/**
+ * Reads value of a single bean property. Implementations are built once per property by {@link
+ * PropertyReaders} so that getter is invoked directly, without reflection.
+ *
+ * @author sergey.karpushin
+ */
+public interface PropertyReader {
+
+  /**
+   * @param bean bean which property needs to be read
+   * @return value of the property, primitives are boxed
+   */
+  Object read(Object bean);
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+import com.google.common.base.Preconditions;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Builds {@link PropertyReader}s which invoke getters directly using {@link LambdaMetafactory}.
+ * Readers are meant to be built once per property and then reused for every bean of that class.
+ *
+ * @author sergey.karpushin
+ */
+public class PropertyReaders {
+  protected static final Logger log = LoggerFactory.getLogger(PropertyReaders.class);
+
+  protected PropertyReaders() {}
+
+  /**
+   * Build reader which invokes getter directly. Falls back to reflection in case getter is not
+   * accessible for {@link LambdaMetafactory} (i.e. bean class is loaded by a different class loader
+   * or is in a module which is not open)
+   *
+   * @param beanClass class of the beans which property will be read
+   * @param pd descriptor of the readable property
+   * @return reader for the property
+   */
+  public static PropertyReader forProperty(Class<?> beanClass, PropertyDescriptor pd) {
+    Method getter = pd.getReadMethod();
+    Preconditions.checkArgument(getter != null, "Property %s is not readable", pd.getName());
+    try {
+      MethodHandles.Lookup lookup =
+          MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup());
+      MethodHandle getterHandle = lookup.unreflect(getter);
+      CallSite callSite =
+          LambdaMetafactory.metafactory(
+              lookup,
+              "read",
+              MethodType.methodType(PropertyReader.class),
+              MethodType.methodType(Object.class, Object.class),
+              getterHandle,
+              MethodType.methodType(getter.getReturnType(), beanClass).wrap());
+      return (PropertyReader) callSite.getTarget().invoke();
+    } catch (Throwable t) {
+      log.debug("Falling back to reflection for {}::{}", beanClass, pd.getName(), t);
+      ReflectionUtils.makeAccessible(getter);
+      return bean -> ReflectionUtils.invokeMethod(getter, bean);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+/**
+ * Writes value of a single bean property. Implementations are generated at runtime by {@link
+ * GeneratedRowMapper} so that setter is invoked directly, without reflection.
+ *
+ * @author sergey.karpushin
+ */
+public interface PropertyWriter {
+
+  /**
+   * @param bean bean which property needs to be set
+   * @param value value of the property. Must be either null or of the property type (or boxed
+   *     counterpart of the primitive type)
+   */
+  void write(Object bean, Object value);
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.summerb.security.api.CurrentUserUuidResolver;
+
+/**
+ * Routes read operations to read replicas. Register instance of this class as a bean and it will be
+ * picked up by {@link EasyCrudDaoSqlImpl} and {@link
+ * org.summerb.easycrud.join_query.impl.SelectFactoryImpl}.
+ *
+ * <p>Reads are routed to replicas (round-robin) unless:
+ *
+ * <ul>
+ *   <li>there is an active transaction (including read-only one) - replicas are accessed using
+ *       plain templates which are not bound to the transaction, so routing transactional reads to
+ *       them would break transaction's snapshot consistency and cursor-based streaming, which
+ *       requires auto-commit to be off
+ *   <li>call is pinned to primary, see {@link #onPrimary(Supplier)}
+ *   <li>same user or same thread performed a write within {@link #getReadYourWritesWindow()}
+ *       (disabled by default), so that replication lag does not make just written data invisible
+ * </ul>
+ *
+ * <p>NOTE: Writes always go to the primary {@link DataSource}
+ *
+ * @author sergey.karpushin
+ */
+public class ReadReplicaRouter {
+  protected static final ThreadLocal<Integer> PINNED_TO_PRIMARY = ThreadLocal.withInitial(() -> 0);
+  protected static final ThreadLocal<Long> LAST_WRITE_AT = new ThreadLocal<>();
+
+  protected final List<JdbcOperations> replicas;
+  protected final AtomicInteger nextReplica = new AtomicInteger();
+
+  protected Duration readYourWritesWindow = Duration.ZERO;
+  protected Cache<String, Long> lastWriteAtByUser;
+  protected CurrentUserUuidResolver currentUserUuidResolver;
+
+  /**
+   * @param replicas data sources of read replicas
+   */
+  public ReadReplicaRouter(List<DataSource> replicas) {
+    Preconditions.checkArgument(replicas != null, "replicas required");
+    this.replicas = replicas.stream().map(x -> (JdbcOperations) new JdbcTemplate(x)).toList();
+  }
+
+  /**
+   * Execute given call (and all EasyCrud reads within it) using primary data source
+   *
+   * @param call call to execute
+   * @return result of the call
+   * @param <T> type of result
+   */
+  public static <T> T onPrimary(Supplier<T> call) {
+    PINNED_TO_PRIMARY.set(PINNED_TO_PRIMARY.get() + 1);
+    try {
+      return call.get();
+    } finally {
+      PINNED_TO_PRIMARY.set(PINNED_TO_PRIMARY.get() - 1);
+    }
+  }
+
+  public static void onPrimary(Runnable call) {
+    onPrimary(
+        () -> {
+          call.run();
+          return null;
+        });
+  }
+
+  /**
+   * @param primary template bound to the primary data source, used for reads only
+   * @return template which routes each statement either to the primary or to a replica
+   */
+  public NamedParameterJdbcTemplateEx wrap(NamedParameterJdbcTemplateEx primary) {
+    Preconditions.checkArgument(primary != null, "primary required");
+    return new ReadReplicaRoutingJdbcTemplate(primary.getJdbcOperations(), this);
+  }
+
+  /**
+   * @param primary operations bound to the primary data source
+   * @return operations to use for the read statement which is about to be executed
+   */
+  public JdbcOperations route(JdbcOperations primary) {
+    if (!isReplicaAllowed()) {
+      return primary;
+    }
+    return replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+  }
+
+  public boolean isReplicaAllowed() {
+    if (replicas.isEmpty() || PINNED_TO_PRIMARY.get() > 0) {
+      return false;
+    }
+
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return false;
+    }
+
+    return !isWithinReadYourWritesWindow();
+  }
+
+  protected boolean isWithinReadYourWritesWindow() {
+    if (lastWriteAtByUser == null) {
+      return false;
+    }
+
+    long threshold = System.currentTimeMillis() - readYourWritesWindow.toMillis();
+    Long lastWriteAt = LAST_WRITE_AT.get();
+    if (lastWriteAt != null && lastWriteAt > threshold) {
+      return true;
+    }
+
+    String userUuid = findCurrentUserUuid();
+    if (userUuid == null) {
+      return false;
+    }
+    lastWriteAt = lastWriteAtByUser.getIfPresent(userUuid);
+    return lastWriteAt != null && lastWriteAt > threshold;
+  }
+
+  /** Must be called by DAO whenever it writes to the primary */
+  public void onWrite() {
+    if (lastWriteAtByUser == null) {
+      return;
+    }
+
+    long now = System.currentTimeMillis();
+    LAST_WRITE_AT.set(now);
+    String userUuid = findCurrentUserUuid();
+    if (userUuid != null) {
+      lastWriteAtByUser.put(userUuid, now);
+    }
+  }
+
+  protected String findCurrentUserUuid() {
+    if (currentUserUuidResolver == null) {
+      return null;
+    }
+    try {
+      return currentUserUuidResolver.getUserUuid();
+    } catch (Exception e) {
+      // NOTE: that's normal for anonymous and background calls
+      return null;
+    }
+  }
+
+  public List<JdbcOperations> getReplicas() {
+    return replicas;
+  }
+
+  public Duration getReadYourWritesWindow() {
+    return readYourWritesWindow;
+  }
+
+  /**
+   * Enable "read your writes": after a write, reads of the same user (see {@link
+   * CurrentUserUuidResolver}) and same thread go to the primary for the given period of time. It is
+   * supposed to be a bit longer than typical replication lag
+   *
+   * @param readYourWritesWindow window duration, zero to disable (default)
+   */
+  public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+    Preconditions.checkArgument(
+        readYourWritesWindow != null && !readYourWritesWindow.isNegative(),
+        "readYourWritesWindow required");
+    this.readYourWritesWindow = readYourWritesWindow;
+    this.lastWriteAtByUser =
+        readYourWritesWindow.isZero()
+            ? null
+            : CacheBuilder.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+  }
+
+  public CurrentUserUuidResolver getCurrentUserUuidResolver() {
+    return currentUserUuidResolver;
+  }
+
+  @Autowired(required = false)
+  public void setCurrentUserUuidResolver(CurrentUserUuidResolver currentUserUuidResolver) {
+    this.currentUserUuidResolver = currentUserUuidResolver;
+  }
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+import com.google.common.base.Preconditions;
+import org.springframework.jdbc.core.JdbcOperations;
+
+/**
+ * Template which decides on each statement whether to use primary or a replica, see {@link
+ * ReadReplicaRouter}. Supposed to be used for read statements only
+ *
+ * @author sergey.karpushin
+ */
+public class ReadReplicaRoutingJdbcTemplate extends NamedParameterJdbcTemplateEx {
+  protected final ReadReplicaRouter readReplicaRouter;
+
+  public ReadReplicaRoutingJdbcTemplate(
+      JdbcOperations primary, ReadReplicaRouter readReplicaRouter) {
+    super(primary);
+    Preconditions.checkArgument(readReplicaRouter != null, "readReplicaRouter required");
+    this.readReplicaRouter = readReplicaRouter;
+  }
+
+  @Override
+  public JdbcOperations getJdbcOperations() {
+    return readReplicaRouter.route(super.getJdbcOperations());
+  }
+}
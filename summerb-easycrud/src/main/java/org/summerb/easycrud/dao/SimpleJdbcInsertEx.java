@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+import com.google.common.base.Preconditions;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.util.StringUtils;
+
+/**
+ * Extension of Spring's {@link SimpleJdbcInsert} which adds ability to execute a single JDBC batch
+ * and retrieve generated keys for each of the inserted rows. Vanilla {@link SimpleJdbcInsert} can
+ * either execute batch or retrieve generated key for a single row, but not both.
+ *
+ * <p>It also can execute "insert or update" statements, which are built by appending
+ * dialect-specific clause to the insert statement.
+ *
+ * <p>For {@link IndexedSqlParameterSource}s insert columns are resolved to parameter indexes once,
+ * then values are read by index, without name lookups for each row.
+ *
+ * @author sergey.karpushin
+ */
+public class SimpleJdbcInsertEx extends SimpleJdbcInsert {
+  /** Indexes of parameters for insert columns, resolved for the last used parameter source kind */
+  protected volatile ParameterIndexes insertParameterIndexes;
+
+  public SimpleJdbcInsertEx(DataSource dataSource) {
+    super(dataSource);
+  }
+
+  @Override
+  protected void onCompileInternal() {
+    insertParameterIndexes = null;
+  }
+
+  @Override
+  protected List<Object> matchInParameterValuesWithInsertColumns(
+      SqlParameterSource parameterSource) {
+    if (!(parameterSource instanceof IndexedSqlParameterSource indexedParameterSource)) {
+      return super.matchInParameterValuesWithInsertColumns(parameterSource);
+    }
+
+    ParameterIndexes indexes = insertParameterIndexes;
+    if (indexes == null || !indexes.isApplicableTo(indexedParameterSource)) {
+      indexes =
+          ParameterIndexes.resolve(
+              indexedParameterSource, super::matchInParameterValuesWithInsertColumns);
+      insertParameterIndexes = indexes;
+    }
+    return Arrays.asList(indexes.getTypedValues(indexedParameterSource));
+  }
+
+  /**
+   * Execute insert of all given rows as a single JDBC batch and return generated keys
+   *
+   * @param batch parameter sources, one per row
+   * @return generated keys in the same order as rows were provided
+   */
+  public List<Number> executeBatchAndReturnKeys(SqlParameterSource... batch) {
+    Preconditions.checkArgument(batch != null, "batch required");
+    checkCompiled();
+    Preconditions.checkState(
+        getGeneratedKeyNames().length > 0,
+        "Generated key column names must be set in order to retrieve generated keys");
+
+    if (batch.length == 0) {
+      return List.of();
+    }
+
+    List<List<Object>> batchValues = new ArrayList<>(batch.length);
+    for (SqlParameterSource parameterSource : batch) {
+      batchValues.add(matchInParameterValuesWithInsertColumns(parameterSource));
+    }
+
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Executing batch of " + batch.length + " inserts with statement: " + getInsertString());
+    }
+
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+    String[] keyColumnNames = getGeneratedKeyNames();
+    int[] insertTypes = getInsertTypes();
+    getJdbcTemplate()
+        .batchUpdate(
+            con -> con.prepareStatement(getInsertString(), keyColumnNames),
+            new BatchPreparedStatementSetter() {
+              @Override
+              public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setParameterValues(ps, batchValues.get(i), insertTypes);
+              }
+
+              @Override
+              public int getBatchSize() {
+                return batchValues.size();
+              }
+            },
+            keyHolder);
+
+    List<Map<String, Object>> keyList = keyHolder.getKeyList();
+    if (keyList.size() != batch.length) {
+      throw new DataRetrievalFailureException(
+          "Expected "
+              + batch.length
+              + " generated keys, but JDBC driver returned "
+              + keyList.size());
+    }
+
+    List<Number> ret = new ArrayList<>(keyList.size());
+    for (Map<String, Object> keys : keyList) {
+      ret.add(extractKey(keys));
+    }
+    return ret;
+  }
+
+  /**
+   * Execute insert statement with the given clause appended to it. Intended for "insert or update"
+   * statements, i.e. "ON DUPLICATE KEY UPDATE ..." or "ON CONFLICT ... DO UPDATE ..."
+   *
+   * @param clause clause to append to the insert statement. Must not introduce any parameters
+   * @param params parameter source for the row
+   * @return number of affected rows as reported by JDBC driver
+   */
+  public int executeWithClause(String clause, SqlParameterSource params) {
+    Preconditions.checkArgument(params != null, "params required");
+    return executeBatchWithClause(clause, params)[0];
+  }
+
+  /**
+   * Execute insert statement with the given clause appended to it as a single JDBC batch
+   *
+   * @param clause clause to append to the insert statement. Must not introduce any parameters
+   * @param batch parameter sources, one per row
+   * @return number of affected rows for each row as reported by JDBC driver
+   */
+  public int[] executeBatchWithClause(String clause, SqlParameterSource... batch) {
+    Preconditions.checkArgument(StringUtils.hasText(clause), "clause required");
+    Preconditions.checkArgument(batch != null, "batch required");
+    checkCompiled();
+
+    if (batch.length == 0) {
+      return new int[0];
+    }
+
+    List<List<Object>> batchValues = new ArrayList<>(batch.length);
+    for (SqlParameterSource parameterSource : batch) {
+      batchValues.add(matchInParameterValuesWithInsertColumns(parameterSource));
+    }
+
+    String sql = getInsertString() + clause;
+    if (logger.isDebugEnabled()) {
+      logger.debug("Executing batch of " + batch.length + " statements: " + sql);
+    }
+
+    int[] insertTypes = getInsertTypes();
+    return getJdbcTemplate()
+        .batchUpdate(
+            sql,
+            new BatchPreparedStatementSetter() {
+              @Override
+              public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setParameterValues(ps, batchValues.get(i), insertTypes);
+              }
+
+              @Override
+              public int getBatchSize() {
+                return batchValues.size();
+              }
+            });
+  }
+
+  /**
+   * Execute insert statement with the given clauses appended to it as a single JDBC batch. Second
+   * clause must make statement yield single boolean column, i.e. "RETURNING (xmax = 0) AS inserted"
+   *
+   * @param clause clause to append to the insert statement. Must not introduce any parameters
+   * @param returningClause clause which makes statement yield boolean flag for each row
+   * @param batch parameter sources, one per row
+   * @return flags yielded by the statement, in the same order as rows were provided
+   */
+  public List<Boolean> executeBatchWithClauseReturningFlags(
+      String clause, String returningClause, SqlParameterSource... batch) {
+    Preconditions.checkArgument(StringUtils.hasText(clause), "clause required");
+    Preconditions.checkArgument(StringUtils.hasText(returningClause), "returningClause required");
+    Preconditions.checkArgument(batch != null, "batch required");
+    checkCompiled();
+
+    if (batch.length == 0) {
+      return List.of();
+    }
+
+    List<List<Object>> batchValues = new ArrayList<>(batch.length);
+    for (SqlParameterSource parameterSource : batch) {
+      batchValues.add(matchInParameterValuesWithInsertColumns(parameterSource));
+    }
+
+    String sql = getInsertString() + clause + returningClause;
+    if (logger.isDebugEnabled()) {
+      logger.debug("Executing batch of " + batch.length + " statements: " + sql);
+    }
+
+    // NOTE: Statement already has RETURNING clause, so driver yields its result as generated keys
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+    int[] insertTypes = getInsertTypes();
+    getJdbcTemplate()
+        .batchUpdate(
+            con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+              @Override
+              public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setParameterValues(ps, batchValues.get(i), insertTypes);
+              }
+
+              @Override
+              public int getBatchSize() {
+                return batchValues.size();
+              }
+            },
+            keyHolder);
+
+    List<Map<String, Object>> keyList = keyHolder.getKeyList();
+    if (keyList.size() != batch.length) {
+      throw new DataRetrievalFailureException(
+          "Expected " + batch.length + " rows, but JDBC driver returned " + keyList.size());
+    }
+
+    List<Boolean> ret = new ArrayList<>(keyList.size());
+    for (Map<String, Object> row : keyList) {
+      Preconditions.checkState(row.size() == 1, "Expected single column, got %s", row.keySet());
+      ret.add((Boolean) row.values().iterator().next());
+    }
+    return ret;
+  }
+
+  protected Number extractKey(Map<String, Object> keys) {
+    // NOTE: Drivers are not consistent in naming of the generated key column (i.e. MySQL uses
+    // GENERATED_KEY, while Postgres uses actual column name), so we just take the first numeric one
+    for (Object value : keys.values()) {
+      if (value instanceof Number number) {
+        return number;
+      }
+    }
+    throw new DataRetrievalFailureException("Generated key is not a number: " + keys);
+  }
+
+  protected void setParameterValues(PreparedStatement ps, List<?> values, int[] columnTypes)
+      throws SQLException {
+    int colIndex = 0;
+    for (Object value : values) {
+      colIndex++;
+      int sqlType =
+          columnTypes == null || columnTypes.length < colIndex
+              ? SqlTypeValue.TYPE_UNKNOWN
+              : columnTypes[colIndex - 1];
+      StatementCreatorUtils.setParameterValue(ps, colIndex, sqlType, value);
+    }
+  }
+}
@@ -16,6 +16,7 @@
 package org.summerb.easycrud.dao.SimpleJdbcUpdate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,6 +30,8 @@ import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.util.Assert;
+import org.summerb.easycrud.dao.IndexedSqlParameterSource;
+import org.summerb.easycrud.dao.ParameterIndexes;
 
 /**
  * Abstract class to provide base functionality for easy updates based on configuration options and
@@ -69,6 +72,9 @@ public abstract class AbstractJdbcUpdate {
   /** Strategy for enlisting columns for update */
   protected UpdateColumnsEnlisterStrategy updateColumnsEnlisterStrategy;
 
+  /** Indexes of parameters for updating columns, see {@link IndexedSqlParameterSource} */
+  protected volatile ParameterIndexes updatingParameterIndexes;
+
   /**
    * Constructor for subclasses to delegate to for setting the DataSource.
    *
@@ -153,6 +159,15 @@ public abstract class AbstractJdbcUpdate {
     this.declaredUpdatingColumns.addAll(declaredNames);
   }
 
+  /**
+   * @return the names of the columns which are actually updated by this statement. Triggers
+   *     compilation if it wasn't compiled yet
+   */
+  public List<String> getUpdatingColumns() {
+    checkCompiled();
+    return Collections.unmodifiableList(this.reconciledUpdatingColumns);
+  }
+
   /**
    * @return the names of 'where' columns
    */
@@ -265,6 +280,7 @@ public abstract class AbstractJdbcUpdate {
     columns.addAll(restrictingColumns.keySet());
 
     columnTypes = tableMetaDataContext.createColumnTypes(columns);
+    updatingParameterIndexes = null;
 
     if (logger.isDebugEnabled()) {
       logger.debug("Compiled JdbcUpdate. Update string is [{}]", getUpdateString());
@@ -353,6 +369,55 @@ public abstract class AbstractJdbcUpdate {
     return executeUpdateInternal(values);
   }
 
+  /**
+   * Method that provides execution of the batch update using the passed in arrays of {@link
+   * SqlParameterSource}. Both arrays must be of the same length, items at the same index describe
+   * the same row
+   *
+   * @param updatingValues parameter names and values to be used in update, one per row
+   * @param restrictingValues PK column values, one per row
+   * @return number of rows affected by each statement in the batch
+   */
+  protected int[] doExecuteBatch(
+      SqlParameterSource[] updatingValues, SqlParameterSource[] restrictingValues) {
+    Assert.isTrue(
+        updatingValues.length == restrictingValues.length,
+        "Updating and restricting values must be of the same length");
+    checkCompiled();
+    List<String> restrictingColumnNames = new ArrayList<>(restrictingColumns.keySet());
+    List<Object[]> batchValues = new ArrayList<>(updatingValues.length);
+    for (int i = 0; i < updatingValues.length; i++) {
+      List<Object> updating =
+          matchInParameterValuesWithUpdateColumns(updatingValues[i], reconciledUpdatingColumns);
+      List<Object> restricting =
+          matchInParameterValuesWithUpdateColumns(restrictingValues[i], restrictingColumnNames);
+      Object[] values = new Object[updating.size() + restricting.size()];
+      int idx = 0;
+      for (Object value : updating) {
+        values[idx++] = value;
+      }
+      for (Object value : restricting) {
+        values[idx++] = value;
+      }
+      batchValues.add(values);
+    }
+    return executeBatchInternal(batchValues);
+  }
+
+  /**
+   * Internal method to execute the batch update.
+   *
+   * @param batchValues values to be used in update, one array per row
+   * @return number of rows affected by each statement in the batch
+   */
+  protected int[] executeBatchInternal(List<Object[]> batchValues) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Executing batch of {} updates with statement: {}", batchValues.size(), updateString);
+    }
+    return jdbcTemplate.batchUpdate(updateString, batchValues, columnTypes);
+  }
+
   /**
    * Internal method to execute the update.
    *
@@ -390,6 +455,18 @@ public abstract class AbstractJdbcUpdate {
    */
   protected List<Object> matchInParameterValuesWithUpdateColumns(
       SqlParameterSource parameterSource, List<String> columns) {
+    if (columns == reconciledUpdatingColumns
+        && parameterSource instanceof IndexedSqlParameterSource indexedParameterSource) {
+      ParameterIndexes indexes = updatingParameterIndexes;
+      if (indexes == null || !indexes.isApplicableTo(indexedParameterSource)) {
+        indexes =
+            ParameterIndexes.resolve(
+                indexedParameterSource,
+                x -> tableMetaDataContext.sortAndTypeInParameter(x, columns));
+        updatingParameterIndexes = indexes;
+      }
+      return Arrays.asList(indexes.getTypedValues(indexedParameterSource));
+    }
     return tableMetaDataContext.sortAndTypeInParameter(parameterSource, columns);
   }
 
@@ -124,4 +124,10 @@ public class SimpleJdbcUpdate extends AbstractJdbcUpdate implements SimpleJdbcUp
   public int execute(SqlParameterSource updatingValues, SqlParameterSource restrictingValues) {
     return doExecute(updatingValues, restrictingValues);
   }
+
+  @Override
+  public int[] executeBatch(
+      SqlParameterSource[] updatingValues, SqlParameterSource[] restrictingValues) {
+    return doExecuteBatch(updatingValues, restrictingValues);
+  }
 }
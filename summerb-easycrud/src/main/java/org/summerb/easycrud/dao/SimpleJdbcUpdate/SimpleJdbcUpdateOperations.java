@@ -115,4 +115,14 @@ public interface SimpleJdbcUpdateOperations {
    * @return the number of rows affected as returned by the JDBC driver
    */
   int execute(SqlParameterSource updatingValues, SqlParameterSource restrictingValues);
+
+  /**
+   * Execute the batch update using the values passed in. Items at the same index of both arrays
+   * describe the same row
+   *
+   * @param updatingValues SqlParameterSources containing values to use for update, one per row
+   * @param restrictingValues SqlParameterSources containing PK column values, one per row
+   * @return the number of rows affected by each statement as returned by the JDBC driver
+   */
+  int[] executeBatch(SqlParameterSource[] updatingValues, SqlParameterSource[] restrictingValues);
 }
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+import javax.sql.DataSource;
+
+/**
+ * Validates table metadata (i.e. presence of indexes) against expectations implied by the row class
+ * configuration. Invoked by {@link EasyCrudDaoSqlImpl} upon initialization. Impls are expected to
+ * report problems (i.e. log warnings) rather than throw exceptions
+ *
+ * @author sergey.karpushin
+ */
+public interface TableMetadataValidator {
+  void validate(DataSource dataSource, String tableName, Class<?> rowClass);
+}
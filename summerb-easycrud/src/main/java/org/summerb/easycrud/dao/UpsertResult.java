@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+/**
+ * Outcome of "insert or update" of a single row as reported by the database
+ *
+ * @author sergey.karpushin
+ */
+public enum UpsertResult {
+  CREATED,
+  UPDATED,
+
+  /**
+   * Database or JDBC driver didn't report whether row was inserted or updated (i.e. MySQL reports 1
+   * affected row for both insert and update that didn't change values, or batch was rewritten and
+   * reported {@link java.sql.Statement#SUCCESS_NO_INFO})
+   */
+  UNKNOWN
+}
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.data_loader;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.easycrud.tools.RowCloner;
+import org.summerb.easycrud.tools.RowClonerGeneratedImpl;
+
+/**
+ * Loader which coalesces lookups by id into batched IN queries and memoizes results for the rest of
+ * its scope (see {@link EasyCrudDataLoaderScope}).
+ *
+ * <p>Ids can be registered upfront using {@link #load(Comparable)} or {@link #prime(Collection)}.
+ * They will be resolved all together (deduplicated, already loaded ids are skipped) using {@link
+ * EasyCrudService#getByIds(Collection)} as soon as any of them is actually needed, or when {@link
+ * #dispatch()} is called explicitly. Since rows are loaded using {@link
+ * EasyCrudService#getByIds(Collection)}, wire taps are invoked once per batch (i.e. {@link
+ * org.summerb.easycrud.wireTaps.EasyCrudWireTap#afterRead(List)}), and are not invoked again for
+ * memoized rows.
+ *
+ * <p>If batch fails (i.e. one of the rows is not allowed to be read by current user), ids of this
+ * batch are resolved one by one using {@link EasyCrudService#findById(Comparable)} when they're
+ * actually requested. So failure is reported (translated by the service exception strategy) only to
+ * callers which request offending id, same as if there was no batching.
+ *
+ * <p>Memoized rows are kept as they were loaded, each caller receives its own copy made by {@link
+ * RowCloner} (same as {@link EasyCrudService} does), so it's safe to modify returned rows. Ids that
+ * were not found are memoized too.
+ *
+ * <p>This class is not thread-safe, it's supposed to be used within a single request or
+ * transaction.
+ *
+ * @author sergey.karpushin
+ * @param <TId> type of id
+ * @param <TRow> type of row
+ */
+public class EasyCrudDataLoader<TId extends Comparable<TId>, TRow extends HasId<TId>> {
+  public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
+  protected final Logger log = LoggerFactory.getLogger(getClass());
+
+  protected final EasyCrudService<TId, TRow> service;
+  protected final int maxBatchSize;
+  protected final RowCloner rowCloner;
+
+  /** Loaded rows. Value is null for ids that were not found */
+  protected final Map<TId, TRow> loaded = new HashMap<>();
+
+  protected final Set<TId> pending = new LinkedHashSet<>();
+
+  /** Ids of failed batches. They're loaded one by one when requested */
+  protected final Set<TId> failed = new HashSet<>();
+
+  protected int batchesDispatched;
+
+  public EasyCrudDataLoader(EasyCrudService<TId, TRow> service) {
+    this(service, DEFAULT_MAX_BATCH_SIZE);
+  }
+
+  /**
+   * @param service service which will be used to load rows
+   * @param maxBatchSize max number of ids in a single IN query. Bigger batches are split
+   */
+  public EasyCrudDataLoader(EasyCrudService<TId, TRow> service, int maxBatchSize) {
+    this(service, maxBatchSize, new RowClonerGeneratedImpl());
+  }
+
+  /**
+   * @param service service which will be used to load rows
+   * @param maxBatchSize max number of ids in a single IN query. Bigger batches are split
+   * @param rowCloner cloner used to give each caller its own copy of memoized row
+   */
+  public EasyCrudDataLoader(
+      EasyCrudService<TId, TRow> service, int maxBatchSize, RowCloner rowCloner) {
+    Preconditions.checkArgument(service != null, "service required");
+    Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+    Preconditions.checkArgument(rowCloner != null, "rowCloner required");
+    this.service = service;
+    this.maxBatchSize = maxBatchSize;
+    this.rowCloner = rowCloner;
+  }
+
+  /**
+   * Register id to be loaded with the next batch
+   *
+   * @param id id of the row
+   * @return supplier which resolves row (or null if not found). First call to it will dispatch all
+   *     pending ids if row is not loaded yet
+   */
+  public Supplier<TRow> load(TId id) {
+    prime(List.of(id));
+    return () -> findById(id);
+  }
+
+  /**
+   * Register ids to be loaded with the next batch
+   *
+   * @param ids ids of rows
+   */
+  public void prime(Collection<TId> ids) {
+    for (TId id : ids) {
+      Preconditions.checkArgument(id != null, "id required");
+      if (!isKnown(id)) {
+        pending.add(id);
+      }
+    }
+  }
+
+  protected boolean isKnown(TId id) {
+    return loaded.containsKey(id) || failed.contains(id);
+  }
+
+  /**
+   * Find row by id. If row is not loaded yet, it is loaded along with all pending ids
+   *
+   * @param id id of the row
+   * @return row or null if not found
+   */
+  public TRow findById(TId id) {
+    Preconditions.checkArgument(id != null, "id required");
+    if (!isKnown(id)) {
+      pending.add(id);
+      dispatch();
+    }
+    return copy(getLoaded(id));
+  }
+
+  /**
+   * Find rows by ids. Rows that are not loaded yet are loaded along with all pending ids
+   *
+   * @param ids ids of rows
+   * @return map of found rows in order of given ids
+   */
+  public Map<TId, TRow> findByIds(Collection<TId> ids) {
+    prime(ids);
+    dispatch();
+
+    Map<TId, TRow> ret = new LinkedHashMap<>();
+    for (TId id : ids) {
+      TRow row = getLoaded(id);
+      if (row != null) {
+        ret.put(id, copy(row));
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * @return memoized row. If id belongs to failed batch, it is loaded individually
+   */
+  protected TRow getLoaded(TId id) {
+    if (failed.contains(id)) {
+      TRow row = service.findById(id);
+      failed.remove(id);
+      loaded.put(id, row);
+      return row;
+    }
+    return loaded.get(id);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected TRow copy(TRow row) {
+    return row == null ? null : (TRow) rowCloner.clone(row);
+  }
+
+  /** Load all pending ids */
+  public void dispatch() {
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    List<TId> ids = new ArrayList<>(pending);
+    pending.clear();
+    for (List<TId> batch : Iterables.partition(ids, maxBatchSize)) {
+      batchesDispatched++;
+      List<TRow> rows;
+      try {
+        rows = service.getByIds(batch);
+      } catch (RuntimeException e) {
+        log.debug("Batch of {} ids failed, they will be loaded one by one", batch.size(), e);
+        failed.addAll(batch);
+        continue;
+      }
+      batch.forEach(x -> loaded.put(x, null));
+      rows.forEach(x -> loaded.put(x.getId(), x));
+    }
+  }
+
+  /**
+   * Forget memoized rows so that they will be loaded again next time they're requested
+   *
+   * @param ids ids of rows
+   */
+  public void invalidate(Collection<TId> ids) {
+    ids.forEach(loaded::remove);
+    ids.forEach(failed::remove);
+  }
+
+  public void invalidateAll() {
+    loaded.clear();
+    failed.clear();
+  }
+
+  public EasyCrudService<TId, TRow> getService() {
+    return service;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public RowCloner getRowCloner() {
+    return rowCloner;
+  }
+
+  /**
+   * @return number of queries executed by this loader so far
+   */
+  public int getBatchesDispatched() {
+    return batchesDispatched;
+  }
+}
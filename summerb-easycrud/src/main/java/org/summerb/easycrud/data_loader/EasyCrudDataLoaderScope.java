@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.data_loader;
+
+import com.google.common.base.Preconditions;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.row.HasId;
+
+/**
+ * Scope of {@link EasyCrudDataLoader} instances. There is at most one loader per service within a
+ * scope.
+ *
+ * <p>Scope can be opened explicitly for the duration of a request (i.e. in a servlet filter or
+ * {@code HandlerInterceptor}) using {@link #open()} in try-with-resources block. Nested calls to
+ * {@link #open()} join already opened scope. If scope is not opened explicitly, but there is an
+ * active transaction, then scope is bound to that transaction and discarded when transaction
+ * completes. Otherwise there is no current scope and lookups are not batched or memoized.
+ *
+ * @author sergey.karpushin
+ */
+public class EasyCrudDataLoaderScope implements AutoCloseable {
+  protected static final ThreadLocal<EasyCrudDataLoaderScope> CURRENT = new ThreadLocal<>();
+  protected static final Object TRANSACTION_RESOURCE_KEY =
+      EasyCrudDataLoaderScope.class.getName() + ".TRANSACTION_RESOURCE_KEY";
+
+  protected final Map<EasyCrudService<?, ?>, EasyCrudDataLoader<?, ?>> loaders =
+      new IdentityHashMap<>();
+  protected int depth;
+
+  protected EasyCrudDataLoaderScope() {}
+
+  /**
+   * Open scope bound to current thread or join already opened one. Must be closed by the same
+   * thread.
+   *
+   * @return scope which must be closed when request is processed
+   */
+  public static EasyCrudDataLoaderScope open() {
+    EasyCrudDataLoaderScope ret = CURRENT.get();
+    if (ret == null) {
+      ret = new EasyCrudDataLoaderScope();
+      CURRENT.set(ret);
+    }
+    ret.depth++;
+    return ret;
+  }
+
+  /**
+   * @return current scope (thread-bound if opened, otherwise transaction-bound which is created if
+   *     needed) or null if there is neither opened scope nor active transaction
+   */
+  public static EasyCrudDataLoaderScope current() {
+    EasyCrudDataLoaderScope ret = find();
+    if (ret != null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+      return ret;
+    }
+
+    EasyCrudDataLoaderScope scope = new EasyCrudDataLoaderScope();
+    TransactionSynchronizationManager.bindResource(TRANSACTION_RESOURCE_KEY, scope);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_RESOURCE_KEY);
+          }
+        });
+    return scope;
+  }
+
+  /**
+   * @return current scope or null if there is none. Unlike {@link #current()} it never creates
+   *     transaction-bound scope
+   */
+  public static EasyCrudDataLoaderScope find() {
+    EasyCrudDataLoaderScope ret = CURRENT.get();
+    if (ret != null) {
+      return ret;
+    }
+    return (EasyCrudDataLoaderScope)
+        TransactionSynchronizationManager.getResource(TRANSACTION_RESOURCE_KEY);
+  }
+
+  /**
+   * @param service service which loader is needed for
+   * @param loaderFactory factory which is used if loader is not yet created within this scope
+   * @return loader for the given service
+   */
+  @SuppressWarnings("unchecked")
+  public <TId extends Comparable<TId>, TRow extends HasId<TId>>
+      EasyCrudDataLoader<TId, TRow> getLoader(
+          EasyCrudService<TId, TRow> service,
+          Supplier<EasyCrudDataLoader<TId, TRow>> loaderFactory) {
+    Preconditions.checkArgument(service != null, "service required");
+    return (EasyCrudDataLoader<TId, TRow>)
+        loaders.computeIfAbsent(service, x -> loaderFactory.get());
+  }
+
+  /**
+   * @param service service which loader is needed for
+   * @return loader for the given service or null if it wasn't created within this scope
+   */
+  @SuppressWarnings("unchecked")
+  public <TId extends Comparable<TId>, TRow extends HasId<TId>>
+      EasyCrudDataLoader<TId, TRow> findLoader(EasyCrudService<TId, TRow> service) {
+    return (EasyCrudDataLoader<TId, TRow>) loaders.get(service);
+  }
+
+  @Override
+  public void close() {
+    Preconditions.checkState(depth > 0, "Scope is not opened");
+    Preconditions.checkState(CURRENT.get() == this, "Scope must be closed by the same thread");
+    if (--depth == 0) {
+      loaders.clear();
+      CURRENT.remove();
+    }
+  }
+}
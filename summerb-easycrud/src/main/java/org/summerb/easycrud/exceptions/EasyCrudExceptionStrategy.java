@@ -15,6 +15,7 @@
  ******************************************************************************/
 package org.summerb.easycrud.exceptions;
 
+import java.util.List;
 import org.springframework.jdbc.JdbcUpdateAffectedIncorrectNumberOfRowsException;
 import org.summerb.easycrud.EasyCrudService;
 import org.summerb.easycrud.query.Query;
@@ -39,6 +40,22 @@ public interface EasyCrudExceptionStrategy<TId extends Comparable<TId>, TRow ext
 
   RuntimeException exceptionAtCreate(Throwable t, TRow row);
 
+  /**
+   * Translate exception happened during batch creation of rows. Default implementation delegates to
+   * {@link #exceptionAtCreate(Throwable, HasId)} with first row of the batch
+   */
+  default RuntimeException exceptionAtCreateAll(Throwable t, List<TRow> rows) {
+    return exceptionAtCreate(t, rows == null || rows.isEmpty() ? null : rows.get(0));
+  }
+
+  /**
+   * Translate exception happened during "insert or update" of rows. Default implementation
+   * delegates to {@link #exceptionAtCreateAll(Throwable, List)}
+   */
+  default RuntimeException exceptionAtUpsert(Throwable t, List<TRow> rows) {
+    return exceptionAtCreateAll(t, rows);
+  }
+
   RuntimeException exceptionAtDelete(Throwable t, TId id, TRow rowOptional);
 
   RuntimeException affectedIncorrectNumberOfRowsOnDelete(
@@ -46,6 +63,14 @@ public interface EasyCrudExceptionStrategy<TId extends Comparable<TId>, TRow ext
 
   RuntimeException exceptionAtUpdate(Throwable t, TRow row);
 
+  /**
+   * Translate exception happened during batch update of rows. Default implementation delegates to
+   * {@link #exceptionAtUpdate(Throwable, HasId)} with first row of the batch
+   */
+  default RuntimeException exceptionAtUpdateAll(Throwable t, List<TRow> rows) {
+    return exceptionAtUpdate(t, rows == null || rows.isEmpty() ? null : rows.get(0));
+  }
+
   RuntimeException affectedIncorrectNumberOfRowsOnUpdate(
       JdbcUpdateAffectedIncorrectNumberOfRowsException t, TRow rowOptional);
 
@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.impl;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.springframework.util.CollectionUtils;
+import org.summerb.easycrud.exceptions.EntityNotFoundException;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.easycrud.tools.EasyCrudDtoUtils;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTap;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTapCacheInvalidationImpl;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTapDelegatingImpl;
+import org.summerb.security.api.exceptions.NotAuthorizedException;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+import org.summerb.utils.jmx.GuavaCacheMXBeanImpl;
+import org.summerb.utils.tx.TransactionBoundCache;
+
+/**
+ * Read-through caching decorator for {@link EasyCrudServiceImpl}. It serves lookups by id ({@link
+ * #findById(Comparable)}, {@link #getById(Comparable)}, {@link #getByIds(Collection)}, {@link
+ * #getMapByIds(Collection)} and their variants) from a bounded cache, all other calls are delegated
+ * to the actual service.
+ *
+ * <p>Cache misses of batch lookups are loaded using single IN query. Cache is an instance of {@link
+ * TransactionBoundCache}, so changes made within transaction are not visible to other threads until
+ * transaction is committed. Cache statistics (including hit ratio) is exposed via JMX using {@link
+ * GuavaCacheMXBeanImpl} under name "EasyCrudCache_&lt;rowMessageCode&gt;".
+ *
+ * <p>Cache holds rows as they were read from DB. Wire taps {@link EasyCrudWireTap#beforeRead()} and
+ * {@link EasyCrudWireTap#afterRead(Object)} are still invoked on every call (including cache hits)
+ * so authorization checks are not bypassed. Each caller receives its own copy of the row, so it's
+ * safe to modify it.
+ *
+ * <p>Invalidation is done by the {@link EasyCrudWireTapCacheInvalidationImpl} which is appended to
+ * the wire tap of the actual service upon construction. It does not require rows to be loaded
+ * before update or delete. Deletes by id made through this wrapper invalidate only the deleted id,
+ * other deletes (by query or directly via actual service) invalidate the whole cache. Changes made
+ * to the table bypassing the actual service (i.e. direct SQL or other application nodes) will not
+ * be noticed, so consider {@link CacheBuilder#expireAfterWrite(long, TimeUnit)} if that is the
+ * case.
+ *
+ * @author sergey.karpushin
+ * @param <TId> type of id
+ * @param <TRow> type of row
+ */
+public class EasyCrudServiceCachingImpl<TId extends Comparable<TId>, TRow extends HasId<TId>>
+    extends EasyCrudServiceWrapper<TId, TRow, EasyCrudServiceImpl<TId, TRow, ?>> {
+  public static final String CACHE_NAME_PREFIX = "EasyCrudCache_";
+
+  protected LoadingCache<TId, Optional<TRow>> cache;
+  protected final ThreadLocal<DeleteByIdContext<TId>> deleteByIdContext = new ThreadLocal<>();
+
+  /**
+   * @param actual actual service. Must be fully initialized at this point, because wire tap for
+   *     cache invalidation will be appended to its wire tap
+   */
+  public EasyCrudServiceCachingImpl(EasyCrudServiceImpl<TId, TRow, ?> actual) {
+    this(actual, buildDefaultCacheBuilder());
+  }
+
+  /**
+   * @param actual actual service. Must be fully initialized at this point, because wire tap for
+   *     cache invalidation will be appended to its wire tap
+   * @param cacheBuilder cache builder, make sure to enable {@link CacheBuilder#recordStats()} if
+   *     you want to see cache statistics via JMX
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public EasyCrudServiceCachingImpl(
+      EasyCrudServiceImpl<TId, TRow, ?> actual, CacheBuilder cacheBuilder) {
+    super(actual);
+    Preconditions.checkArgument(cacheBuilder != null, "cacheBuilder required");
+    Preconditions.checkState(
+        actual.getDao() != null && actual.getWireTap() != null,
+        "Actual service must be initialized before caching wrapper is created");
+
+    cache =
+        new TransactionBoundCache<>(
+            CACHE_NAME_PREFIX + actual.getRowMessageCode(), cacheBuilder, buildCacheLoader());
+
+    List<EasyCrudWireTap<TRow>> chain = new ArrayList<>();
+    chain.add(actual.getWireTap());
+    chain.add(buildCacheInvalidationWireTap());
+    actual.setWireTap(new EasyCrudWireTapDelegatingImpl<>(chain));
+  }
+
+  protected EasyCrudWireTap<TRow> buildCacheInvalidationWireTap() {
+    return new EasyCrudWireTapCacheInvalidationImpl<>(cache) {
+      @Override
+      protected void invalidateUnknown() {
+        DeleteByIdContext<TId> context = deleteByIdContext.get();
+        // NOTE: Only first unknown delete within deleteById call can be attributed to its id. If
+        // there are more (i.e. other wire taps deleted rows too), we can't tell which ids were
+        // deleted
+        if (context != null && context.unknownDeletes++ == 0) {
+          cache.invalidate(context.id);
+        } else {
+          cache.invalidateAll();
+        }
+      }
+    };
+  }
+
+  public static CacheBuilder<Object, Object> buildDefaultCacheBuilder() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(10000)
+        .expireAfterWrite(10, TimeUnit.MINUTES)
+        .recordStats();
+  }
+
+  protected CacheLoader<TId, Optional<TRow>> buildCacheLoader() {
+    return new CacheLoader<>() {
+      @Override
+      public Optional<TRow> load(TId key) {
+        return Optional.ofNullable(actual.getDao().findById(key));
+      }
+
+      @Override
+      public Map<TId, Optional<TRow>> loadAll(Iterable<? extends TId> keys) {
+        Map<TId, Optional<TRow>> ret = new LinkedHashMap<>();
+        keys.forEach(x -> ret.put(x, Optional.empty()));
+        List<TRow> rows =
+            actual
+                .getDao()
+                .queryPage(PagerParams.ALL, actual.query().in(HasId.FN_ID, ret.keySet()), null);
+        rows.forEach(x -> ret.put(x.getId(), Optional.of(x)));
+        return ret;
+      }
+    };
+  }
+
+  @Override
+  public TRow findById(TId id) throws NotAuthorizedException {
+    try {
+      Preconditions.checkArgument(id != null);
+      EasyCrudWireTap<TRow> wireTap = actual.getWireTap();
+      boolean requiresOnRead = wireTap.requiresOnRead();
+      if (requiresOnRead) {
+        wireTap.beforeRead();
+      }
+
+      TRow ret = cache.get(id).map(this::copy).orElse(null);
+      if (ret != null && requiresOnRead) {
+        wireTap.afterRead(ret);
+      }
+      return ret;
+    } catch (Throwable t) {
+      throw actual.getExceptionStrategy().exceptionAtFind(unwrap(t), id);
+    }
+  }
+
+  @Override
+  public TRow getById(TId id) {
+    TRow ret = findById(id);
+    if (ret == null) {
+      throw new EntityNotFoundException(getRowMessageCode(), id);
+    }
+    return ret;
+  }
+
+  @Override
+  public List<TRow> getByIds(Collection<TId> ids) {
+    if (CollectionUtils.isEmpty(ids)) {
+      return List.of();
+    }
+
+    try {
+      EasyCrudWireTap<TRow> wireTap = actual.getWireTap();
+      if (wireTap.requiresOnRead()) {
+        wireTap.beforeRead();
+      }
+
+      List<TRow> ret = new ArrayList<>(ids.size());
+      for (Optional<TRow> row : cache.getAll(ids).values()) {
+        row.map(this::copy).ifPresent(ret::add);
+      }
+
+      if (wireTap.requiresOnReadMultiple() && !ret.isEmpty()) {
+        wireTap.afterRead(ret);
+      }
+      return ret;
+    } catch (Throwable t) {
+      throw actual.getExceptionStrategy().exceptionAtFind(unwrap(t), ids);
+    }
+  }
+
+  @Override
+  public Map<TId, TRow> getMapByIds(Collection<TId> ids) {
+    if (CollectionUtils.isEmpty(ids)) {
+      return Map.of();
+    }
+    return EasyCrudDtoUtils.toMapById(getByIds(ids));
+  }
+
+  @Override
+  public <TSource> List<TRow> getByIds(
+      Collection<TSource> source, Function<TSource, TId> idGetter) {
+    if (CollectionUtils.isEmpty(source)) {
+      return List.of();
+    }
+    return getByIds(source.stream().map(idGetter).filter(Objects::nonNull).distinct().toList());
+  }
+
+  @Override
+  public void deleteById(TId id) throws NotAuthorizedException, EntityNotFoundException {
+    deleteById(id, () -> actual.deleteById(id));
+  }
+
+  @Override
+  public void deleteByIdOptimistic(TId id, long modifiedAt)
+      throws NotAuthorizedException, EntityNotFoundException {
+    deleteById(id, () -> actual.deleteByIdOptimistic(id, modifiedAt));
+  }
+
+  @Override
+  public void delete(TRow row) {
+    deleteById(row == null ? null : row.getId(), () -> actual.delete(row));
+  }
+
+  /**
+   * Makes id of the row being deleted known to the cache invalidation wire tap, so that only this
+   * id is invalidated instead of the whole cache
+   */
+  protected void deleteById(TId id, Runnable delete) {
+    if (id == null || deleteByIdContext.get() != null) {
+      delete.run();
+      return;
+    }
+
+    deleteByIdContext.set(new DeleteByIdContext<>(id));
+    try {
+      delete.run();
+    } finally {
+      deleteByIdContext.remove();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  protected TRow copy(TRow row) {
+    return (TRow) actual.getRowCloner().clone(row);
+  }
+
+  protected Throwable unwrap(Throwable t) {
+    if ((t instanceof ExecutionException || t instanceof UncheckedExecutionException)
+        && t.getCause() != null) {
+      return t.getCause();
+    }
+    return t;
+  }
+
+  /** Invalidate all cached rows. Use it when table was modified bypassing this service */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * @return statistics of the global (not transaction-bound) cache
+   */
+  public CacheStats getCacheStats() {
+    return cache.stats();
+  }
+
+  protected static class DeleteByIdContext<TId> {
+    protected final TId id;
+    protected int unknownDeletes;
+
+    public DeleteByIdContext(TId id) {
+      this.id = id;
+    }
+  }
+}
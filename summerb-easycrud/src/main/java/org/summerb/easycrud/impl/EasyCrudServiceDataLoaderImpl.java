@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.impl;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.util.CollectionUtils;
+import org.summerb.easycrud.data_loader.EasyCrudDataLoader;
+import org.summerb.easycrud.data_loader.EasyCrudDataLoaderScope;
+import org.summerb.easycrud.exceptions.EntityNotFoundException;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTap;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTapDataLoaderInvalidationImpl;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTapDelegatingImpl;
+import org.summerb.security.api.exceptions.NotAuthorizedException;
+
+/**
+ * Decorator for {@link EasyCrudServiceImpl} which serves lookups by id ({@link
+ * #findById(Comparable)}, {@link #getById(Comparable)}, {@link #getByIds(Collection)}, {@link
+ * #getMapByIds(Collection)} and their variants) using {@link EasyCrudDataLoader} of the current
+ * {@link EasyCrudDataLoaderScope}. If there is no current scope, calls are delegated to the actual
+ * service as is.
+ *
+ * <p>Within a scope each row is loaded at most once, and ids registered using {@link
+ * #load(Comparable)} or {@link #prime(Collection)} are loaded all together with a single IN query
+ * as soon as any of them is needed. So typical N+1 pattern (iterate over list of rows and lookup
+ * referenced row for each of them) can be turned into a single query by priming referenced ids
+ * first, without rewriting code which does lookups.
+ *
+ * <p>Invalidation is done by the {@link EasyCrudWireTapDataLoaderInvalidationImpl} which is
+ * appended to the wire tap of the actual service upon construction.
+ *
+ * @author sergey.karpushin
+ * @param <TId> type of id
+ * @param <TRow> type of row
+ */
+public class EasyCrudServiceDataLoaderImpl<TId extends Comparable<TId>, TRow extends HasId<TId>>
+    extends EasyCrudServiceWrapper<TId, TRow, EasyCrudServiceImpl<TId, TRow, ?>> {
+
+  protected int maxBatchSize = EasyCrudDataLoader.DEFAULT_MAX_BATCH_SIZE;
+
+  /**
+   * @param actual actual service. Must be fully initialized at this point, because wire tap for
+   *     invalidation will be appended to its wire tap
+   */
+  public EasyCrudServiceDataLoaderImpl(EasyCrudServiceImpl<TId, TRow, ?> actual) {
+    super(actual);
+    Preconditions.checkState(
+        actual.getWireTap() != null,
+        "Actual service must be initialized before data loader wrapper is created");
+
+    List<EasyCrudWireTap<TRow>> chain = new ArrayList<>();
+    chain.add(actual.getWireTap());
+    chain.add(new EasyCrudWireTapDataLoaderInvalidationImpl<>(actual));
+    actual.setWireTap(new EasyCrudWireTapDelegatingImpl<>(chain));
+  }
+
+  /**
+   * @return loader of the current scope or null if there is no current scope
+   */
+  protected EasyCrudDataLoader<TId, TRow> findLoader() {
+    EasyCrudDataLoaderScope scope = EasyCrudDataLoaderScope.current();
+    if (scope == null) {
+      return null;
+    }
+    return scope.getLoader(actual, this::buildLoader);
+  }
+
+  protected EasyCrudDataLoader<TId, TRow> buildLoader() {
+    return new EasyCrudDataLoader<>(actual, maxBatchSize, actual.getRowCloner());
+  }
+
+  /**
+   * Register id to be loaded with the next batch within current scope
+   *
+   * @param id id of the row
+   * @return supplier which resolves row (or null if not found)
+   */
+  public Supplier<TRow> load(TId id) {
+    Preconditions.checkArgument(id != null, "id required");
+    EasyCrudDataLoader<TId, TRow> loader = findLoader();
+    if (loader == null) {
+      return () -> actual.findById(id);
+    }
+    return loader.load(id);
+  }
+
+  /**
+   * Register ids to be loaded with the next batch within current scope. Has no effect if there is
+   * no current scope
+   *
+   * @param ids ids of rows
+   */
+  public void prime(Collection<TId> ids) {
+    EasyCrudDataLoader<TId, TRow> loader = findLoader();
+    if (loader != null && !CollectionUtils.isEmpty(ids)) {
+      loader.prime(ids);
+    }
+  }
+
+  @Override
+  public TRow findById(TId id) throws NotAuthorizedException {
+    EasyCrudDataLoader<TId, TRow> loader = findLoader();
+    if (loader == null) {
+      return actual.findById(id);
+    }
+    return loader.findById(id);
+  }
+
+  @Override
+  public TRow getById(TId id) {
+    EasyCrudDataLoader<TId, TRow> loader = findLoader();
+    if (loader == null) {
+      return actual.getById(id);
+    }
+    TRow ret = loader.findById(id);
+    if (ret == null) {
+      throw new EntityNotFoundException(getRowMessageCode(), id);
+    }
+    return ret;
+  }
+
+  @Override
+  public List<TRow> getByIds(Collection<TId> ids) {
+    if (CollectionUtils.isEmpty(ids)) {
+      return List.of();
+    }
+    EasyCrudDataLoader<TId, TRow> loader = findLoader();
+    if (loader == null) {
+      return actual.getByIds(ids);
+    }
+    return new ArrayList<>(loader.findByIds(ids).values());
+  }
+
+  @Override
+  public Map<TId, TRow> getMapByIds(Collection<TId> ids) {
+    if (CollectionUtils.isEmpty(ids)) {
+      return Map.of();
+    }
+    EasyCrudDataLoader<TId, TRow> loader = findLoader();
+    if (loader == null) {
+      return actual.getMapByIds(ids);
+    }
+    return loader.findByIds(ids);
+  }
+
+  @Override
+  public <TSource> List<TRow> getByIds(
+      Collection<TSource> source, Function<TSource, TId> idGetter) {
+    if (CollectionUtils.isEmpty(source)) {
+      return List.of();
+    }
+    return getByIds(source.stream().map(idGetter).filter(Objects::nonNull).distinct().toList());
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public void setMaxBatchSize(int maxBatchSize) {
+    Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+    this.maxBatchSize = maxBatchSize;
+  }
+}
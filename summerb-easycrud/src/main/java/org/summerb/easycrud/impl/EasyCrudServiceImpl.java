@@ -16,17 +16,48 @@
 package org.summerb.easycrud.impl;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Streams;
+import java.beans.PropertyDescriptor;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.jdbc.JdbcUpdateAffectedIncorrectNumberOfRowsException;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.EasyCrudServiceResolver;
+import org.summerb.easycrud.UpdateAllResult;
 import org.summerb.easycrud.dao.EasyCrudDao;
 import org.summerb.easycrud.dao.EasyCrudDaoInjections;
+import org.summerb.easycrud.dao.PropertyReader;
+import org.summerb.easycrud.dao.PropertyReaders;
+import org.summerb.easycrud.dao.ReadReplicaRouter;
+import org.summerb.easycrud.dao.UpsertResult;
 import org.summerb.easycrud.exceptions.EasyCrudExceptionStrategy;
 import org.summerb.easycrud.exceptions.EasyCrudExceptionStrategyDefaultImpl;
 import org.summerb.easycrud.exceptions.EasyCrudExceptionStrategyFactory;
@@ -34,9 +65,16 @@ import org.summerb.easycrud.exceptions.EasyCrudExceptionStrategyFactoryImpl;
 import org.summerb.easycrud.exceptions.EntityNotFoundException;
 import org.summerb.easycrud.join_query.JoinQuery;
 import org.summerb.easycrud.join_query.JoinQueryFactory;
+import org.summerb.easycrud.metrics.EasyCrudMetrics;
+import org.summerb.easycrud.metrics.EasyCrudWireTapMetricsImpl;
+import org.summerb.easycrud.metrics.OperationMetrics;
+import org.summerb.easycrud.metrics.RowClonerMetricsImpl;
+import org.summerb.easycrud.prefetch.Prefetch;
+import org.summerb.easycrud.prefetch.PrefetchSource;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.OrderByBuilder;
 import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.query_cache.QueryResultCache;
 import org.summerb.easycrud.row.HasAuthor;
 import org.summerb.easycrud.row.HasAutoincrementId;
 import org.summerb.easycrud.row.HasId;
@@ -44,11 +82,13 @@ import org.summerb.easycrud.row.HasTimestamps;
 import org.summerb.easycrud.row.HasUuid;
 import org.summerb.easycrud.scaffold.EasyCrudScaffold;
 import org.summerb.easycrud.sql_builder.FieldsEnlister;
+import org.summerb.easycrud.sql_builder.SqlBuilder;
 import org.summerb.easycrud.sql_builder.impl.FieldsEnlisterCachingImpl;
 import org.summerb.easycrud.sql_builder.impl.FieldsEnlisterImpl;
 import org.summerb.easycrud.sql_builder.model.FromAndWhere;
+import org.summerb.easycrud.tools.EasyCrudDtoUtils;
 import org.summerb.easycrud.tools.RowCloner;
-import org.summerb.easycrud.tools.RowClonerReflectionImpl;
+import org.summerb.easycrud.tools.RowClonerGeneratedImpl;
 import org.summerb.easycrud.tools.StringIdGenerator;
 import org.summerb.easycrud.tools.StringIdGeneratorUuidImpl;
 import org.summerb.easycrud.wireTaps.EasyCrudWireTap;
@@ -58,6 +98,7 @@ import org.summerb.methodCapturers.PropertyNameResolver;
 import org.summerb.methodCapturers.PropertyNameResolverFactory;
 import org.summerb.security.api.CurrentUserUuidResolver;
 import org.summerb.security.api.exceptions.NotAuthorizedException;
+import org.summerb.utils.easycrud.api.dto.KeysetPagerParams;
 import org.summerb.utils.easycrud.api.dto.PagerParams;
 import org.summerb.utils.easycrud.api.dto.PaginatedList;
 import org.summerb.utils.easycrud.api.dto.Top;
@@ -83,6 +124,7 @@ public class EasyCrudServiceImpl<
     implements EasyCrudService<TId, TRow>, InitializingBean {
 
   protected static final PagerParams TOP_ONE = new Top(1);
+  public static final int DEFAULT_STREAM_CHUNK_SIZE = 100;
 
   protected TDao dao;
   protected Class<TRow> rowClass;
@@ -96,7 +138,16 @@ public class EasyCrudServiceImpl<
   protected PropertyNameResolver<TRow> nameResolver;
   protected RowCloner rowCloner;
   protected JoinQueryFactory joinQueryFactory;
+  protected EasyCrudServiceResolver easyCrudServiceResolver;
   protected FieldsEnlister fieldsEnlister;
+  protected int streamChunkSize = DEFAULT_STREAM_CHUNK_SIZE;
+  protected boolean updateChangedFieldsOnly;
+  protected boolean cloneRowsOnWrite = true;
+  protected PlatformTransactionManager transactionManager;
+  protected QueryResultCache queryResultCache;
+  protected EasyCrudMetrics metrics;
+  protected String metricsTarget;
+  protected volatile Map<String, PropertyReader> changedFieldsReaders;
 
   /**
    * Constructor for cases when subclass wants to take full responsibility on instantiation process.
@@ -155,14 +206,24 @@ public class EasyCrudServiceImpl<
     if (fieldsEnlister == null) {
       fieldsEnlister = buildDefaultFieldsEnlister();
     }
+
+    if (metrics != null) {
+      if (metricsTarget == null) {
+        metricsTarget = rowClass.getSimpleName();
+      }
+      wireTap = EasyCrudWireTapMetricsImpl.wrap(wireTap);
+      if (!(rowCloner instanceof RowClonerMetricsImpl)) {
+        rowCloner = new RowClonerMetricsImpl(rowCloner);
+      }
+    }
   }
 
   protected FieldsEnlister buildDefaultFieldsEnlister() {
     return new FieldsEnlisterCachingImpl(new FieldsEnlisterImpl());
   }
 
-  protected RowClonerReflectionImpl buildDefaultRowCloner() {
-    return new RowClonerReflectionImpl();
+  protected RowCloner buildDefaultRowCloner() {
+    return new RowClonerGeneratedImpl();
   }
 
   protected String buildDefaultRowMessageCode(Class<TRow> rowClass) {
@@ -185,6 +246,7 @@ public class EasyCrudServiceImpl<
   @Override
   public TRow create(TRow row) {
     TRow ret = null;
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_CREATE);
     try {
       Preconditions.checkArgument(row != null);
 
@@ -201,6 +263,7 @@ public class EasyCrudServiceImpl<
         hasAuthor.setModifiedBy(currentUserUuid);
       }
 
+      onTableChanged();
       dao.create(ret);
 
       if (ret instanceof HasAutoincrementId) {
@@ -218,26 +281,118 @@ public class EasyCrudServiceImpl<
       if (requiresOnCreate) {
         wireTap.afterCreate(ret);
       }
+      OperationMetrics.rowsAffected(op, 1);
       return ret;
     } catch (Throwable t) {
       throw exceptionStrategy.exceptionAtCreate(t, ret == null ? row : ret);
+    } finally {
+      OperationMetrics.finish(op);
+    }
+  }
+
+  @Override
+  public List<TRow> createAll(Collection<TRow> rows) {
+    List<TRow> ret = null;
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_CREATE);
+    try {
+      Preconditions.checkArgument(rows != null, "rows required");
+      Preconditions.checkArgument(
+          rows.stream().noneMatch(Objects::isNull), "rows must not contain nulls");
+
+      ret = new ArrayList<>(rows.size());
+      for (TRow row : rows) {
+        ret.add(copyDto(row));
+      }
+      if (ret.isEmpty()) {
+        return ret;
+      }
+
+      boolean requiresOnCreate = wireTap.requiresOnCreate();
+      if (requiresOnCreate) {
+        wireTap.beforeCreate(ret);
+      }
+
+      if (ret.get(0) instanceof HasAuthor) {
+        String currentUserUuid = currentUserUuidResolver.getUserUuid();
+        for (TRow row : ret) {
+          HasAuthor hasAuthor = (HasAuthor) row;
+          hasAuthor.setCreatedBy(currentUserUuid);
+          hasAuthor.setModifiedBy(currentUserUuid);
+        }
+      }
+
+      onTableChanged();
+      dao.createAll(ret);
+
+      for (TRow row : ret) {
+        if (row instanceof HasAutoincrementId) {
+          Preconditions.checkState(
+              ((HasAutoincrementId) row).getId() != null,
+              "For DTO with HasAutoincrementId id field expected to be filled after creation");
+        }
+
+        if (row instanceof HasUuid) {
+          Preconditions.checkState(
+              stringIdGenerator.isValidId(((HasUuid) row).getId()),
+              "For DTO with HasUuid id field expected to be filled after creation");
+        }
+      }
+
+      if (requiresOnCreate) {
+        wireTap.afterCreate(ret);
+      }
+      OperationMetrics.rowsAffected(op, ret.size());
+      return ret;
+    } catch (Throwable t) {
+      throw exceptionStrategy.exceptionAtCreateAll(t, ret);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
+  /**
+   * Makes a copy of the row passed to write operation, so that caller's instance is not modified
+   *
+   * @param row row passed by caller
+   * @return copy of the row, or the same instance if {@link #isCloneRowsOnWrite()} is false
+   */
   @SuppressWarnings("unchecked")
   protected TRow copyDto(TRow row) {
+    if (!cloneRowsOnWrite) {
+      return row;
+    }
     return (TRow) rowCloner.clone(row);
   }
 
   @Override
   public TRow update(TRow newVersion) {
+    return doUpdate(newVersion, null);
+  }
+
+  @Override
+  public TRow updateFields(TRow newVersion, Collection<String> fieldNames) {
+    Preconditions.checkArgument(!CollectionUtils.isEmpty(fieldNames), "fieldNames required");
+    fieldNames.forEach(this::validateFieldName);
+    return doUpdate(newVersion, fieldNames);
+  }
+
+  /**
+   * @param newVersion new version of the row
+   * @param optionalFieldNames fields to update. If null, then either all fields or only changed
+   *     fields (see {@link #setUpdateChangedFieldsOnly(boolean)}) will be updated
+   * @return updated row
+   */
+  protected TRow doUpdate(TRow newVersion, Collection<String> optionalFieldNames) {
     TRow ret = null;
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_UPDATE);
     try {
       Preconditions.checkArgument(newVersion != null);
 
       TRow currentVersion = null;
       EasyCrudWireTapMode requiresOnUpdate = wireTap.requiresOnUpdate();
-      if (requiresOnUpdate == EasyCrudWireTapMode.FULL_DTO_AND_CURRENT_VERSION_NEEDED) {
+      boolean findChangedFields = optionalFieldNames == null && updateChangedFieldsOnly;
+      if (requiresOnUpdate == EasyCrudWireTapMode.FULL_DTO_AND_CURRENT_VERSION_NEEDED
+          || findChangedFields) {
         currentVersion = dao.findById(newVersion.getId());
         if (currentVersion == null) {
           throw exceptionStrategy.buildNotFoundException(newVersion.getId());
@@ -255,7 +410,19 @@ public class EasyCrudServiceImpl<
         hasAuthor.setModifiedBy(currentUserUuidResolver.getUserUuid());
       }
 
-      dao.update(ret);
+      Collection<String> fieldNames =
+          findChangedFields ? findChangedFields(currentVersion, ret) : optionalFieldNames;
+      if (fieldNames == null) {
+        onTableChanged();
+        dao.update(ret);
+      } else if (!fieldNames.isEmpty()
+          || ret instanceof HasTimestamps
+          || ret instanceof HasAuthor) {
+        onTableChanged();
+        dao.update(ret, fieldNames);
+      }
+      // NOTE: Otherwise nothing has changed, and since there are no timestamps, there is nothing
+      // to write
 
       if (requiresOnUpdateNeeded) {
         wireTap.afterUpdate(currentVersion, ret);
@@ -265,7 +432,355 @@ public class EasyCrudServiceImpl<
       throw exceptionStrategy.affectedIncorrectNumberOfRowsOnUpdate(t, ret);
     } catch (Throwable t) {
       throw exceptionStrategy.exceptionAtUpdate(t, ret == null ? newVersion : ret);
+    } finally {
+      OperationMetrics.finish(op);
+    }
+  }
+
+  /**
+   * Compare two versions of the row field by field
+   *
+   * @return names of the fields which values differ
+   */
+  protected List<String> findChangedFields(TRow currentVersion, TRow newVersion) {
+    List<String> ret = new ArrayList<>();
+    for (Map.Entry<String, PropertyReader> entry : getChangedFieldsReaders().entrySet()) {
+      PropertyReader reader = entry.getValue();
+      if (!Objects.deepEquals(reader.read(currentVersion), reader.read(newVersion))) {
+        ret.add(entry.getKey());
+      }
+    }
+    return ret;
+  }
+
+  protected Map<String, PropertyReader> getChangedFieldsReaders() {
+    Map<String, PropertyReader> ret = changedFieldsReaders;
+    if (ret == null) {
+      ret = buildChangedFieldsReaders();
+      changedFieldsReaders = ret;
+    }
+    return ret;
+  }
+
+  /**
+   * Readers are built once per service so that comparing versions of the row does not involve
+   * reflection on every update
+   *
+   * @return readers of the readable fields of the row, in the order of {@link FieldsEnlister}
+   */
+  protected Map<String, PropertyReader> buildChangedFieldsReaders() {
+    Map<String, PropertyReader> ret = new LinkedHashMap<>();
+    for (String fieldName : fieldsEnlister.findInClass(rowClass)) {
+      PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(rowClass, fieldName);
+      if (pd == null || pd.getReadMethod() == null) {
+        continue;
+      }
+      ret.put(fieldName, PropertyReaders.forProperty(rowClass, pd));
+    }
+    return Collections.unmodifiableMap(ret);
+  }
+
+  @Override
+  public UpdateAllResult<TId, TRow> updateAll(Collection<TRow> rows) {
+    List<TRow> ret = null;
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_UPDATE);
+    try {
+      Preconditions.checkArgument(rows != null, "rows required");
+      Preconditions.checkArgument(
+          rows.stream().allMatch(x -> x != null && x.getId() != null),
+          "rows must not contain nulls and all rows must have id");
+
+      List<TRow> source = new ArrayList<>(rows);
+      if (source.isEmpty()) {
+        return new UpdateAllResult<>(List.of(), List.of());
+      }
+
+      List<TRow> notUpdated = new ArrayList<>();
+      EasyCrudWireTapMode requiresOnUpdate = wireTap.requiresOnUpdate();
+      List<TRow> currentVersions = null;
+      if (requiresOnUpdate == EasyCrudWireTapMode.FULL_DTO_AND_CURRENT_VERSION_NEEDED) {
+        Map<TId, TRow> currentVersionsMap =
+            findCurrentVersions(source.stream().map(HasId::getId).distinct().toList());
+        currentVersions = new ArrayList<>(source.size());
+        for (Iterator<TRow> iter = source.iterator(); iter.hasNext(); ) {
+          TRow row = iter.next();
+          TRow currentVersion = currentVersionsMap.get(row.getId());
+          if (currentVersion == null) {
+            // NOTE: Row was deleted, there is nothing to update
+            notUpdated.add(row);
+            iter.remove();
+          } else {
+            currentVersions.add(currentVersion);
+          }
+        }
+      }
+
+      ret = new ArrayList<>(source.size());
+      for (TRow row : source) {
+        ret.add(copyDto(row));
+      }
+      if (currentVersions == null) {
+        currentVersions = Collections.nCopies(ret.size(), null);
+      }
+
+      boolean requiresOnUpdateNeeded = requiresOnUpdate.isNeeded();
+      if (requiresOnUpdateNeeded && !ret.isEmpty()) {
+        wireTap.beforeUpdate(currentVersions, ret);
+      }
+
+      if (!ret.isEmpty() && ret.get(0) instanceof HasAuthor) {
+        String currentUserUuid = currentUserUuidResolver.getUserUuid();
+        for (TRow row : ret) {
+          ((HasAuthor) row).setModifiedBy(currentUserUuid);
+        }
+      }
+
+      onTableChanged();
+      int[] affectedRows = ret.isEmpty() ? new int[0] : dao.updateAll(ret);
+
+      List<TRow> updated = new ArrayList<>(ret.size());
+      List<TRow> unknown = new ArrayList<>();
+      // NOTE: Rows with unknown outcome were most likely updated, so wire taps are notified about
+      // them too (i.e. so that caches are invalidated)
+      List<TRow> touched = new ArrayList<>(ret.size());
+      List<TRow> touchedCurrentVersions = new ArrayList<>(ret.size());
+      for (int i = 0; i < affectedRows.length; i++) {
+        if (affectedRows[i] == 0) {
+          notUpdated.add(source.get(i));
+          continue;
+        }
+
+        if (affectedRows[i] == Statement.SUCCESS_NO_INFO) {
+          unknown.add(ret.get(i));
+        } else {
+          updated.add(ret.get(i));
+        }
+        touched.add(ret.get(i));
+        touchedCurrentVersions.add(currentVersions.get(i));
+      }
+
+      if (requiresOnUpdateNeeded && !touched.isEmpty()) {
+        wireTap.afterUpdate(touchedCurrentVersions, touched);
+      }
+      OperationMetrics.rowsAffected(op, touched.size());
+      return new UpdateAllResult<>(updated, notUpdated, unknown);
+    } catch (Throwable t) {
+      throw exceptionStrategy.exceptionAtUpdateAll(t, ret);
+    } finally {
+      OperationMetrics.finish(op);
+    }
+  }
+
+  /**
+   * Find current versions of rows using single query
+   *
+   * @param ids ids of rows to find
+   * @return map of current versions by id, rows that do not exist are not present in the map
+   */
+  protected Map<TId, TRow> findCurrentVersions(List<TId> ids) {
+    Query<TId, TRow> query = query().in(HasId::getId, ids);
+    return EasyCrudDtoUtils.toMapById(dao.query(PagerParams.ALL, query).getItems());
+  }
+
+  @Override
+  public TRow upsert(TRow row) {
+    List<TRow> ret = null;
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_UPSERT);
+    try {
+      Preconditions.checkArgument(row != null);
+
+      ret = List.of(copyDto(row));
+      upsertCopies(ret);
+      OperationMetrics.rowsAffected(op, 1);
+      return ret.get(0);
+    } catch (Throwable t) {
+      throw exceptionStrategy.exceptionAtUpsert(t, ret == null ? List.of(row) : ret);
+    } finally {
+      OperationMetrics.finish(op);
+    }
+  }
+
+  @Override
+  public List<TRow> upsertAll(Collection<TRow> rows) {
+    List<TRow> ret = null;
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_UPSERT);
+    try {
+      Preconditions.checkArgument(rows != null, "rows required");
+      Preconditions.checkArgument(
+          rows.stream().noneMatch(Objects::isNull), "rows must not contain nulls");
+      List<TId> ids = rows.stream().map(HasId::getId).filter(Objects::nonNull).toList();
+      Preconditions.checkArgument(
+          ids.size() == ids.stream().distinct().count(), "rows must have distinct ids");
+
+      ret = new ArrayList<>(rows.size());
+      for (TRow row : rows) {
+        ret.add(copyDto(row));
+      }
+      if (!ret.isEmpty()) {
+        upsertCopies(ret);
+      }
+      OperationMetrics.rowsAffected(op, ret.size());
+      return ret;
+    } catch (Throwable t) {
+      throw exceptionStrategy.exceptionAtUpsert(t, ret);
+    } finally {
+      OperationMetrics.finish(op);
+    }
+  }
+
+  /**
+   * Find current versions of rows using single query and lock them till the end of transaction, so
+   * they can't be changed or deleted concurrently
+   *
+   * @param ids ids of rows to find
+   * @return map of current versions by id, rows that do not exist are not present in the map
+   */
+  protected Map<TId, TRow> lockCurrentVersions(List<TId> ids) {
+    return EasyCrudDtoUtils.toMapById(dao.findByIdsForUpdate(ids));
+  }
+
+  /**
+   * Insert or update given rows and invoke wire taps. In order to figure out which rows are going
+   * to be created and which are going to be updated, current versions are loaded and locked using
+   * single query, but only if needed.
+   *
+   * <p>Row which didn't exist at that moment might still be inserted by concurrent transaction
+   * before our write (locks do not prevent that in Postgres and in MySQL with READ COMMITTED
+   * isolation). Such row would be updated while it was authorized and validated as created, so
+   * outcome reported by the database is verified and {@link ConcurrencyFailureException} is thrown
+   * in case of mismatch, rolling back the transaction
+   *
+   * @param rows copies of the rows provided by the caller, they will be modified in place
+   */
+  protected void upsertCopies(List<TRow> rows) {
+    boolean requiresOnCreate = wireTap.requiresOnCreate();
+    EasyCrudWireTapMode requiresOnUpdate = wireTap.requiresOnUpdate();
+    boolean requiresOnUpdateNeeded = requiresOnUpdate.isNeeded();
+    boolean hasCreationFields =
+        HasTimestamps.class.isAssignableFrom(rowClass)
+            || HasAuthor.class.isAssignableFrom(rowClass);
+
+    Map<TId, TRow> currentVersionsMap = Map.of();
+    if (requiresOnCreate || requiresOnUpdateNeeded || hasCreationFields) {
+      List<TId> ids = rows.stream().map(HasId::getId).filter(this::isIdProvided).toList();
+      if (!ids.isEmpty()) {
+        currentVersionsMap = lockCurrentVersions(ids);
+      }
+    }
+    boolean classified = requiresOnCreate || requiresOnUpdateNeeded || hasCreationFields;
+
+    List<TRow> created = new ArrayList<>(rows.size());
+    List<TRow> updated = new ArrayList<>(currentVersionsMap.size());
+    List<TRow> currentVersions = new ArrayList<>(currentVersionsMap.size());
+    for (TRow row : rows) {
+      TRow currentVersion = row.getId() == null ? null : currentVersionsMap.get(row.getId());
+      if (currentVersion == null) {
+        created.add(row);
+      } else {
+        updated.add(row);
+        currentVersions.add(currentVersion);
+      }
+    }
+
+    List<TRow> wireTapCurrentVersions =
+        requiresOnUpdate == EasyCrudWireTapMode.FULL_DTO_AND_CURRENT_VERSION_NEEDED
+            ? currentVersions
+            : Collections.nCopies(updated.size(), null);
+    if (requiresOnCreate && !created.isEmpty()) {
+      wireTap.beforeCreate(created);
+    }
+    if (requiresOnUpdateNeeded && !updated.isEmpty()) {
+      wireTap.beforeUpdate(wireTapCurrentVersions, updated);
+    }
+
+    if (rows.get(0) instanceof HasAuthor) {
+      String currentUserUuid = currentUserUuidResolver.getUserUuid();
+      for (TRow row : rows) {
+        HasAuthor hasAuthor = (HasAuthor) row;
+        hasAuthor.setCreatedBy(currentUserUuid);
+        hasAuthor.setModifiedBy(currentUserUuid);
+      }
+    }
+
+    onTableChanged();
+    List<UpsertResult> results =
+        rows.size() == 1 ? List.of(dao.upsert(rows.get(0))) : dao.upsertAll(rows);
+    if (classified) {
+      assertUpsertResultsMatch(rows, currentVersionsMap, results);
+    }
+
+    // NOTE: createdAt and createdBy are not updated on conflict, so we reflect that in the result
+    for (int i = 0; i < updated.size(); i++) {
+      TRow row = updated.get(i);
+      TRow currentVersion = currentVersions.get(i);
+      if (row instanceof HasTimestamps hasTimestamps) {
+        hasTimestamps.setCreatedAt(((HasTimestamps) currentVersion).getCreatedAt());
+      }
+      if (row instanceof HasAuthor hasAuthor) {
+        hasAuthor.setCreatedBy(((HasAuthor) currentVersion).getCreatedBy());
+      }
+    }
+
+    for (TRow row : created) {
+      if (row instanceof HasUuid) {
+        Preconditions.checkState(
+            stringIdGenerator.isValidId(((HasUuid) row).getId()),
+            "For DTO with HasUuid id field expected to be filled after creation");
+      }
+    }
+
+    if (requiresOnCreate && !created.isEmpty()) {
+      wireTap.afterCreate(created);
+    }
+    if (requiresOnUpdateNeeded && !updated.isEmpty()) {
+      wireTap.afterUpdate(wireTapCurrentVersions, updated);
+    }
+  }
+
+  /**
+   * Make sure rows were created or updated as expected when wire taps were invoked
+   *
+   * @param rows rows which were written
+   * @param currentVersionsMap rows which existed before write
+   * @param results results reported by the database, in the same order as rows
+   * @throws ConcurrencyFailureException if row was created or deleted concurrently
+   */
+  protected void assertUpsertResultsMatch(
+      List<TRow> rows, Map<TId, TRow> currentVersionsMap, List<UpsertResult> results) {
+    Preconditions.checkState(
+        results != null && results.size() == rows.size(),
+        "Expected upsert results for each of %s rows",
+        rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      TRow row = rows.get(i);
+      UpsertResult expected =
+          row.getId() != null && currentVersionsMap.containsKey(row.getId())
+              ? UpsertResult.UPDATED
+              : UpsertResult.CREATED;
+      UpsertResult actual = results.get(i);
+      if (actual != UpsertResult.UNKNOWN && actual != expected) {
+        throw new ConcurrencyFailureException(
+            rowClass.getSimpleName()
+                + " with id "
+                + row.getId()
+                + " was expected to be "
+                + expected
+                + ", but it was "
+                + actual
+                + " due to concurrent modification");
+      }
+    }
+  }
+
+  /**
+   * @return true if id was provided by the caller and therefore row might already exist. Otherwise
+   *     id will be generated by DAO and row will be created
+   */
+  protected boolean isIdProvided(TId id) {
+    if (id == null) {
+      return false;
     }
+    return !HasUuid.class.isAssignableFrom(rowClass) || stringIdGenerator.isValidId((String) id);
   }
 
   @Override
@@ -283,6 +798,7 @@ public class EasyCrudServiceImpl<
   @Override
   public void deleteById(TId id) throws NotAuthorizedException, EntityNotFoundException {
     TRow existing = null;
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_DELETE);
     try {
       Preconditions.checkArgument(id != null);
 
@@ -299,7 +815,9 @@ public class EasyCrudServiceImpl<
         wireTap.beforeDelete(existing);
       }
 
+      onTableChanged();
       int affected = dao.delete(id);
+      OperationMetrics.rowsAffected(op, affected);
       if (affected != 1) {
         throw exceptionStrategy.buildNotFoundException(id);
       }
@@ -309,6 +827,8 @@ public class EasyCrudServiceImpl<
       }
     } catch (Throwable t) {
       throw exceptionStrategy.exceptionAtDelete(t, id, existing);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
@@ -316,6 +836,7 @@ public class EasyCrudServiceImpl<
   public void deleteByIdOptimistic(TId id, long modifiedAt)
       throws NotAuthorizedException, EntityNotFoundException {
     TRow existing = null;
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_DELETE);
     try {
       Preconditions.checkArgument(id != null);
       Preconditions.checkState(
@@ -334,6 +855,7 @@ public class EasyCrudServiceImpl<
         wireTap.beforeDelete(existing);
       }
 
+      onTableChanged();
       dao.delete(id, modifiedAt);
 
       if (requiresOnDeleteNeeded) {
@@ -343,11 +865,14 @@ public class EasyCrudServiceImpl<
       throw exceptionStrategy.affectedIncorrectNumberOfRowsOnDelete(t, existing);
     } catch (Throwable t) {
       throw exceptionStrategy.exceptionAtDelete(t, id, existing);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
   @Override
   public int deleteByQuery(Query<TId, TRow> query) throws NotAuthorizedException {
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_DELETE_BY_QUERY);
     try {
       Preconditions.checkArgument(query != null);
       if (query.isGuaranteedToYieldEmptyResultset()) {
@@ -356,21 +881,24 @@ public class EasyCrudServiceImpl<
 
       boolean requiresOnDeleteMultiple = wireTap.requiresOnDeleteMultiple();
       EasyCrudWireTapMode requiresOnDelete = wireTap.requiresOnDelete();
+      int ret;
       if (!requiresOnDeleteMultiple && requiresOnDelete == EasyCrudWireTapMode.NOT_APPLICABLE) {
-        return dao.deleteByQuery(query);
-      }
-
-      // NOTE: We're ignoring HasTimestamps feature here because that would require invoking the
-      // delete command for each row individually, which kinda defeats the purpose of the ability to
-      // delete the bulk of items using a query
-
-      if (wireTap.requiresOnDeleteMultiple()) {
-        return deleteByQueryWireTapBatch(query);
+        onTableChanged();
+        ret = dao.deleteByQuery(query);
+      } else if (requiresOnDeleteMultiple) {
+        // NOTE: We're ignoring HasTimestamps feature here because that would require invoking the
+        // delete command for each row individually, which kinda defeats the purpose of the ability
+        // to delete the bulk of items using a query
+        ret = deleteByQueryWireTapBatch(query);
       } else {
-        return deleteByQueryWireTapIterative(query, requiresOnDelete);
+        ret = deleteByQueryWireTapIterative(query, requiresOnDelete);
       }
+      OperationMetrics.rowsAffected(op, ret);
+      return ret;
     } catch (Throwable t) {
       throw exceptionStrategy.exceptionAtDeleteByQuery(t, query);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
@@ -382,6 +910,7 @@ public class EasyCrudServiceImpl<
 
     wireTap.beforeDelete(toDelete);
 
+    onTableChanged();
     int ret = dao.deleteByQuery(query);
 
     // NOTE: There is a slight amount of uncertainty in this place. Technically, race condition is
@@ -397,6 +926,7 @@ public class EasyCrudServiceImpl<
 
     if (requiresOnDelete == EasyCrudWireTapMode.ONLY_INVOKE_WIRETAP) {
       wireTap.beforeDelete((TRow) null);
+      onTableChanged();
       int ret = dao.deleteByQuery(query);
       wireTap.afterDelete((TRow) null);
       return ret;
@@ -409,6 +939,7 @@ public class EasyCrudServiceImpl<
 
     toDelete.forEach(wireTap::beforeDelete);
 
+    onTableChanged();
     int ret = dao.deleteByQuery(query);
 
     // NOTE: There is a slight amount of uncertainty in this place. Technically, race condition is
@@ -420,8 +951,116 @@ public class EasyCrudServiceImpl<
     return ret;
   }
 
+  @Override
+  public int deleteByQueryChunked(Query<TId, TRow> query, int chunkSize, boolean commitPerChunk)
+      throws NotAuthorizedException {
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_DELETE_BY_QUERY);
+    try {
+      Preconditions.checkArgument(query != null);
+      Preconditions.checkArgument(chunkSize > 0, "chunkSize must be positive");
+      // NOTE: Without transaction rows are not locked between chunk read and deletion
+      Preconditions.checkState(
+          transactionManager != null,
+          "transactionManager is required for chunked deletion of %s",
+          rowMessageCode);
+      if (query.isGuaranteedToYieldEmptyResultset()) {
+        return 0;
+      }
+
+      int ret;
+      if (commitPerChunk) {
+        TransactionTemplate perChunk = new TransactionTemplate(transactionManager);
+        perChunk.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ret = doDeleteByQueryChunked(query, chunkSize, perChunk);
+      } else {
+        Integer deleted =
+            new TransactionTemplate(transactionManager)
+                .execute(status -> doDeleteByQueryChunked(query, chunkSize, null));
+        ret = deleted == null ? 0 : deleted;
+      }
+      OperationMetrics.rowsAffected(op, ret);
+      return ret;
+    } catch (Throwable t) {
+      throw exceptionStrategy.exceptionAtDeleteByQuery(t, query);
+    } finally {
+      OperationMetrics.finish(op);
+    }
+  }
+
+  /**
+   * @param perChunk transaction template to run each chunk with, or null to run all of them in the
+   *     current transaction
+   */
+  protected int doDeleteByQueryChunked(
+      Query<TId, TRow> query, int chunkSize, TransactionTemplate perChunk) {
+    OrderBy[] orderBy = new OrderBy[] {OrderBy.Asc(HasId.FN_ID)};
+    KeysetPagerParams pagerParams = new KeysetPagerParams(chunkSize);
+    int ret = 0;
+    while (true) {
+      KeysetPagerParams chunkPagerParams = pagerParams;
+      List<TRow> chunk = new ArrayList<>(chunkSize);
+      Integer deleted =
+          perChunk == null
+              ? deleteChunk(query, chunkPagerParams, orderBy, chunk)
+              : perChunk.execute(status -> deleteChunk(query, chunkPagerParams, orderBy, chunk));
+      ret += deleted == null ? 0 : deleted;
+
+      if (chunk.size() < chunkSize) {
+        return ret;
+      }
+      pagerParams = new KeysetPagerParams(chunkSize, List.of(chunk.get(chunk.size() - 1).getId()));
+    }
+  }
+
+  /**
+   * @param loaded collection to put loaded rows to, used to determine position of the next chunk
+   * @return number of rows which were actually deleted
+   */
+  protected int deleteChunk(
+      Query<TId, TRow> query, KeysetPagerParams pagerParams, OrderBy[] orderBy, List<TRow> loaded) {
+    // NOTE: Chunk is read from primary, replica might return rows which are already deleted or miss
+    // rows which must be deleted
+    loaded.addAll(ReadReplicaRouter.onPrimary(() -> dao.queryPage(pagerParams, query, orderBy)));
+    if (loaded.isEmpty()) {
+      return 0;
+    }
+
+    boolean requiresOnDeleteMultiple = wireTap.requiresOnDeleteMultiple();
+    EasyCrudWireTapMode requiresOnDelete = wireTap.requiresOnDelete();
+    if (requiresOnDeleteMultiple) {
+      wireTap.beforeDelete(loaded);
+    } else if (requiresOnDelete.isDtoNeeded()) {
+      loaded.forEach(wireTap::beforeDelete);
+    } else if (requiresOnDelete.isNeeded()) {
+      wireTap.beforeDelete((TRow) null);
+    }
+
+    onTableChanged();
+    List<TId> deletedIds = dao.deleteByIds(loaded.stream().map(HasId::getId).toList());
+    if (deletedIds.isEmpty()) {
+      return 0;
+    }
+
+    // NOTE: Rows which were deleted concurrently by someone else are not reported to wire taps
+    List<TRow> deleted = loaded;
+    if (deletedIds.size() < loaded.size()) {
+      Set<TId> deletedIdsSet = new HashSet<>(deletedIds);
+      deleted = loaded.stream().filter(x -> deletedIdsSet.contains(x.getId())).toList();
+    }
+
+    if (requiresOnDeleteMultiple) {
+      wireTap.afterDelete(deleted);
+    } else if (requiresOnDelete.isDtoNeeded()) {
+      deleted.forEach(wireTap::afterDelete);
+    } else if (requiresOnDelete.isNeeded()) {
+      wireTap.afterDelete((TRow) null);
+    }
+    return deletedIds.size();
+  }
+
   @Override
   public TRow findById(TId id) throws NotAuthorizedException {
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_FIND_BY_ID);
     try {
       Preconditions.checkArgument(id != null);
       boolean requiresOnRead = wireTap.requiresOnRead();
@@ -430,12 +1069,15 @@ public class EasyCrudServiceImpl<
       }
 
       TRow ret = dao.findById(id);
+      OperationMetrics.rowsReturned(op, ret == null ? 0 : 1);
       if (ret != null && requiresOnRead) {
         wireTap.afterRead(ret);
       }
       return ret;
     } catch (Throwable t) {
       throw exceptionStrategy.exceptionAtFind(t, id);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
@@ -450,6 +1092,7 @@ public class EasyCrudServiceImpl<
 
   @Override
   public TRow findOneByQuery(Query<TId, TRow> query) throws NotAuthorizedException {
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_FIND);
     try {
       Preconditions.checkArgument(query != null);
       if (query.isGuaranteedToYieldEmptyResultset()) {
@@ -462,12 +1105,15 @@ public class EasyCrudServiceImpl<
       }
 
       TRow ret = dao.findOneByQuery(query);
+      OperationMetrics.rowsReturned(op, ret == null ? 0 : 1);
       if (ret != null && requiresOnRead) {
         wireTap.afterRead(ret);
       }
       return ret;
     } catch (Throwable t) {
       throw exceptionStrategy.exceptionAtFind(t, query);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
@@ -500,6 +1146,7 @@ public class EasyCrudServiceImpl<
   public PaginatedList<TRow> find(
       PagerParams pagerParams, Query<TId, TRow> optionalQuery, OrderBy... orderBy)
       throws NotAuthorizedException {
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_FIND);
     try {
       Preconditions.checkArgument(pagerParams != null, "PagerParams is a must");
       if (optionalQuery != null && optionalQuery.isGuaranteedToYieldEmptyResultset()) {
@@ -511,20 +1158,35 @@ public class EasyCrudServiceImpl<
         wireTap.beforeRead();
       }
 
-      PaginatedList<TRow> ret = dao.query(pagerParams, optionalQuery, orderBy);
+      String cacheKey = buildQueryResultCacheKey("find", pagerParams, optionalQuery, orderBy);
+      PaginatedList<TRow> cached = cacheKey == null ? null : queryResultCache.get(cacheKey);
+      PaginatedList<TRow> ret;
+      if (cached != null) {
+        ret = clonePaginatedList(cached);
+      } else {
+        ret = dao.query(pagerParams, optionalQuery, orderBy);
+        if (cacheKey != null) {
+          // NOTE: Cloning since wire taps might modify rows
+          queryResultCache.put(cacheKey, clonePaginatedList(ret));
+        }
+      }
 
+      OperationMetrics.rowsReturned(op, ret.getItems().size());
       if (wireTap.requiresOnReadMultiple() && ret.getHasItems()) {
         wireTap.afterRead(ret.getItems());
       }
       return ret;
     } catch (Throwable t) {
       throw exceptionStrategy.exceptionAtFind(t, optionalQuery);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
   @Override
   public List<TRow> findPage(
       PagerParams pagerParams, Query<TId, TRow> optionalQuery, OrderBy... orderBy) {
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_FIND);
     try {
       Preconditions.checkArgument(pagerParams != null, "PagerParams is a must");
       if (optionalQuery != null && optionalQuery.isGuaranteedToYieldEmptyResultset()) {
@@ -536,14 +1198,27 @@ public class EasyCrudServiceImpl<
         wireTap.beforeRead();
       }
 
-      List<TRow> ret = dao.queryPage(pagerParams, optionalQuery, orderBy);
+      String cacheKey = buildQueryResultCacheKey("findPage", pagerParams, optionalQuery, orderBy);
+      List<TRow> cached = cacheKey == null ? null : queryResultCache.get(cacheKey);
+      List<TRow> ret;
+      if (cached != null) {
+        ret = cloneRows(cached);
+      } else {
+        ret = dao.queryPage(pagerParams, optionalQuery, orderBy);
+        if (cacheKey != null) {
+          queryResultCache.put(cacheKey, cloneRows(ret));
+        }
+      }
 
+      OperationMetrics.rowsReturned(op, ret.size());
       if (wireTap.requiresOnReadMultiple() && !ret.isEmpty()) {
         wireTap.afterRead(ret);
       }
       return ret;
     } catch (Throwable t) {
       throw exceptionStrategy.exceptionAtFind(t, optionalQuery);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
@@ -557,6 +1232,109 @@ public class EasyCrudServiceImpl<
     return find(PagerParams.ALL, null, orderBy).getItems();
   }
 
+  @Override
+  public Stream<TRow> stream(Query<TId, TRow> optionalQuery, OrderBy... orderBy) {
+    // NOTE: Operation covers only preparation of the stream. Rows are consumed after this method
+    // returns (possibly on other thread), so rows returned are recorded when stream is closed
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_FIND);
+    try {
+      if (optionalQuery != null && optionalQuery.isGuaranteedToYieldEmptyResultset()) {
+        return Stream.empty();
+      }
+
+      boolean requiresOnRead = wireTap.requiresOnRead();
+      if (requiresOnRead) {
+        wireTap.beforeRead();
+      }
+
+      Stream<TRow> ret = dao.stream(optionalQuery, orderBy);
+      Iterator<TRow> rows = translateExceptionsOnStreamedRead(ret.iterator(), optionalQuery);
+      if (!wireTap.requiresOnReadMultiple()) {
+        return recordRowsReturnedOnClose(Streams.stream(rows).onClose(ret::close));
+      }
+
+      // NOTE: Wire taps are invoked in chunks so that batch-friendly wire taps (i.e. the ones which
+      // resolve references) do not have to make a round-trip per row
+      Iterator<List<TRow>> chunks = Iterators.partition(rows, streamChunkSize);
+      return recordRowsReturnedOnClose(
+          Streams.stream(chunks)
+              .peek(chunk -> invokeAfterReadOnStreamedChunk(chunk, optionalQuery))
+              .flatMap(List::stream)
+              .onClose(ret::close));
+    } catch (Throwable t) {
+      throw exceptionStrategy.exceptionAtFind(t, optionalQuery);
+    } finally {
+      OperationMetrics.finish(op);
+    }
+  }
+
+  /**
+   * Count rows consumed from the streamed result and record them as {@link
+   * EasyCrudMetrics#ROWS_RETURNED} of {@link EasyCrudMetrics#OP_FIND} once the stream is closed
+   */
+  protected Stream<TRow> recordRowsReturnedOnClose(Stream<TRow> stream) {
+    if (metrics == null) {
+      return stream;
+    }
+
+    AtomicLong rowsReturned = new AtomicLong();
+    return stream
+        .peek(row -> rowsReturned.incrementAndGet())
+        .onClose(
+            () ->
+                metrics.recordRows(
+                    metricsTarget,
+                    EasyCrudMetrics.OP_FIND,
+                    EasyCrudMetrics.ROWS_RETURNED,
+                    rowsReturned.get()));
+  }
+
+  /**
+   * Rows are read lazily, while stream is consumed, so exceptions thrown by the underlying DAO
+   * iterator must be translated here, same as {@link #stream(Query, OrderBy...)} does for
+   * exceptions thrown before stream is returned
+   */
+  protected Iterator<TRow> translateExceptionsOnStreamedRead(
+      Iterator<TRow> iterator, Query<TId, TRow> optionalQuery) {
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        try {
+          return iterator.hasNext();
+        } catch (Throwable t) {
+          throw exceptionStrategy.exceptionAtFind(t, optionalQuery);
+        }
+      }
+
+      @Override
+      public TRow next() {
+        try {
+          return iterator.next();
+        } catch (Throwable t) {
+          throw exceptionStrategy.exceptionAtFind(t, optionalQuery);
+        }
+      }
+    };
+  }
+
+  /** Same as {@link #translateExceptionsOnStreamedRead(Iterator, Query)}, but for wire taps */
+  protected void invokeAfterReadOnStreamedChunk(List<TRow> chunk, Query<TId, TRow> optionalQuery) {
+    try {
+      wireTap.afterRead(chunk);
+    } catch (Throwable t) {
+      throw exceptionStrategy.exceptionAtFind(t, optionalQuery);
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void forEach(Query<TId, TRow> optionalQuery, Consumer<TRow> consumer, OrderBy... orderBy) {
+    Preconditions.checkArgument(consumer != null, "consumer required");
+    try (Stream<TRow> stream = stream(optionalQuery, orderBy)) {
+      stream.forEach(consumer);
+    }
+  }
+
   @Override
   public TRow findFirstByQuery(Query<TId, TRow> query, OrderBy... orderBy) {
     PaginatedList<TRow> results = find(TOP_ONE, query, orderBy);
@@ -605,6 +1383,12 @@ public class EasyCrudServiceImpl<
     return joinQueryFactory.build(query);
   }
 
+  @Override
+  public Prefetch<TId, TRow> buildPrefetch(PrefetchSource<TRow> source) {
+    Preconditions.checkArgument(source != null, "source required");
+    return new Prefetch<>(this, easyCrudServiceResolver, source);
+  }
+
   @Override
   public int count() {
     return count(null);
@@ -616,7 +1400,129 @@ public class EasyCrudServiceImpl<
       return 0;
     }
 
-    return dao.count(optionalQuery);
+    OperationMetrics op = startOperation(EasyCrudMetrics.OP_COUNT);
+    try {
+      String cacheKey = buildQueryResultCacheKey("count", null, optionalQuery, null);
+      Integer cached = cacheKey == null ? null : queryResultCache.get(cacheKey);
+      if (cached != null) {
+        return cached;
+      }
+
+      int ret = dao.count(optionalQuery);
+      if (cacheKey != null) {
+        queryResultCache.put(cacheKey, ret);
+      }
+      return ret;
+    } finally {
+      OperationMetrics.finish(op);
+    }
+  }
+
+  /**
+   * @return started operation or null if metrics are not collected, see {@link
+   *     #setMetrics(EasyCrudMetrics)}
+   */
+  protected OperationMetrics startOperation(String operation) {
+    return OperationMetrics.start(metrics, metricsTarget, operation);
+  }
+
+  /**
+   * Must be invoked whenever this service modifies the table, so that cached query results are not
+   * used anymore
+   */
+  protected void onTableChanged() {
+    if (queryResultCache != null && dao instanceof EasyCrudDaoInjections<?, ?> daoInjections) {
+      queryResultCache.onTableChanged(daoInjections.getTableName());
+    }
+  }
+
+  /**
+   * @return key for {@link #queryResultCache} or null if result must not be cached
+   */
+  protected String buildQueryResultCacheKey(
+      String operation,
+      PagerParams pagerParams,
+      Query<TId, TRow> optionalQuery,
+      OrderBy[] orderBy) {
+    if (queryResultCache == null || !queryResultCache.isApplicable()) {
+      return null;
+    }
+    if (!(dao instanceof EasyCrudDaoInjections<?, ?> daoInjections)
+        || daoInjections.getSqlBuilder() == null) {
+      return null;
+    }
+
+    String fingerprint =
+        buildQueryFingerprint(
+            daoInjections.getSqlBuilder(),
+            daoInjections.getTableName(),
+            operation,
+            pagerParams,
+            optionalQuery,
+            orderBy);
+    return queryResultCache.buildKey(daoInjections.getTableName(), fingerprint);
+  }
+
+  /**
+   * Build canonical representation of the query. Filter is represented by the SQL (which is the
+   * same for structurally equal queries) and sorted parameter values
+   */
+  protected String buildQueryFingerprint(
+      SqlBuilder sqlBuilder,
+      String tableName,
+      String operation,
+      PagerParams pagerParams,
+      Query<TId, TRow> optionalQuery,
+      OrderBy[] orderBy) {
+    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(tableName, optionalQuery);
+
+    StringBuilder ret = new StringBuilder(operation);
+    ret.append('|').append(fromAndWhere.getSql()).append('|');
+    Map<String, Object> params = new TreeMap<>(fromAndWhere.getParams().getValues());
+    for (Map.Entry<String, Object> entry : params.entrySet()) {
+      ret.append(entry.getKey()).append('=');
+      appendParamValue(entry.getValue(), ret);
+      ret.append(';');
+    }
+    ret.append('|').append(pagerParams);
+    if (orderBy != null) {
+      for (OrderBy item : orderBy) {
+        ret.append('|').append(item == null ? null : item.format());
+      }
+    }
+    return ret.toString();
+  }
+
+  protected void appendParamValue(Object value, StringBuilder ret) {
+    if (value instanceof SqlParameterValue sqlParameterValue) {
+      ret.append(sqlParameterValue.getSqlType()).append(':');
+      appendParamValue(sqlParameterValue.getValue(), ret);
+    } else if (value instanceof Object[] array) {
+      ret.append(Arrays.deepToString(array));
+    } else {
+      ret.append(value == null ? null : value.getClass().getSimpleName()).append(':').append(value);
+    }
+  }
+
+  protected PaginatedList<TRow> clonePaginatedList(PaginatedList<TRow> src) {
+    PaginatedList<TRow> ret =
+        new PaginatedList<>(src.getPagerParams(), cloneRows(src.getItems()), src.getTotalResults());
+    ret.setNextPageCursor(src.getNextPageCursor());
+    ret.setCountStrategy(src.getCountStrategy());
+    ret.setHasMore(src.getHasMore());
+    return ret;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<TRow> cloneRows(List<TRow> rows) {
+    if (rows == null) {
+      return null;
+    }
+    List<TRow> ret = new ArrayList<>(rows.size());
+    for (TRow row : rows) {
+      ret.add((TRow) rowCloner.clone(row));
+    }
+    return ret;
   }
 
   @Override
@@ -693,6 +1599,15 @@ public class EasyCrudServiceImpl<
     this.joinQueryFactory = joinQueryFactory;
   }
 
+  public EasyCrudServiceResolver getEasyCrudServiceResolver() {
+    return easyCrudServiceResolver;
+  }
+
+  @Autowired(required = false)
+  public void setEasyCrudServiceResolver(EasyCrudServiceResolver easyCrudServiceResolver) {
+    this.easyCrudServiceResolver = easyCrudServiceResolver;
+  }
+
   public FieldsEnlister getFieldsEnlister() {
     return fieldsEnlister;
   }
@@ -700,6 +1615,7 @@ public class EasyCrudServiceImpl<
   @Autowired(required = false)
   public void setFieldsEnlister(FieldsEnlister fieldsEnlister) {
     this.fieldsEnlister = fieldsEnlister;
+    this.changedFieldsReaders = null;
   }
 
   public TDao getDao() {
@@ -812,4 +1728,123 @@ public class EasyCrudServiceImpl<
       PropertyNameResolverFactory propertyNameResolverFactory) {
     this.propertyNameResolverFactory = propertyNameResolverFactory;
   }
+
+  public PlatformTransactionManager getTransactionManager() {
+    return transactionManager;
+  }
+
+  /**
+   * @param transactionManager transaction manager used by {@link #deleteByQueryChunked(Query, int,
+   *     boolean)} to run chunks within transaction(s). Chunked deletion fails if it is not set
+   */
+  public void setTransactionManager(PlatformTransactionManager transactionManager) {
+    this.transactionManager = transactionManager;
+  }
+
+  /**
+   * Picks transaction manager automatically, but only if it's unique (or primary), so that this
+   * does not fail when there are several of them in the context
+   */
+  @Autowired(required = false)
+  public void setTransactionManagerProvider(
+      ObjectProvider<PlatformTransactionManager> transactionManagerProvider) {
+    if (transactionManager == null) {
+      transactionManager = transactionManagerProvider.getIfUnique();
+    }
+  }
+
+  public QueryResultCache getQueryResultCache() {
+    return queryResultCache;
+  }
+
+  /**
+   * Enable caching of results of find, findPage and count. Disabled by default. Intended for
+   * rarely-changing tables which are queried often. Cache is bypassed inside read-write
+   * transactions. Wire taps are invoked for cached results same way as for regular ones (so
+   * authorization is still enforced)
+   *
+   * @param queryResultCache cache (usually shared by all services), or null to disable
+   */
+  public void setQueryResultCache(QueryResultCache queryResultCache) {
+    this.queryResultCache = queryResultCache;
+  }
+
+  public EasyCrudMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Enable collection of per-operation latency and volume metrics. Must be set before {@link
+   * #afterPropertiesSet()} since wire tap and row cloner are decorated there
+   *
+   * @param metrics metrics sink, or null to disable
+   */
+  @Autowired(required = false)
+  public void setMetrics(EasyCrudMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  public String getMetricsTarget() {
+    return metricsTarget;
+  }
+
+  /**
+   * @param metricsTarget name of this service in metrics. Default is simple name of the row class
+   */
+  public void setMetricsTarget(String metricsTarget) {
+    this.metricsTarget = metricsTarget;
+  }
+
+  public int getStreamChunkSize() {
+    return streamChunkSize;
+  }
+
+  /**
+   * Set size of chunks in which {@link EasyCrudWireTap#afterRead(List)} is invoked when rows are
+   * streamed using {@link #stream(Query, OrderBy...)}. Default is {@link
+   * #DEFAULT_STREAM_CHUNK_SIZE}
+   *
+   * @param streamChunkSize chunk size, must be positive
+   */
+  public void setStreamChunkSize(int streamChunkSize) {
+    Preconditions.checkArgument(streamChunkSize > 0, "streamChunkSize must be positive");
+    this.streamChunkSize = streamChunkSize;
+  }
+
+  public boolean isUpdateChangedFieldsOnly() {
+    return updateChangedFieldsOnly;
+  }
+
+  /**
+   * Set to true to make {@link #update(HasId)} write only those columns which values differ from
+   * current version of the row. Current version is loaded before update (unless it was already
+   * loaded because wire tap required {@link
+   * EasyCrudWireTapMode#FULL_DTO_AND_CURRENT_VERSION_NEEDED}), so it is worth it mostly for wide
+   * rows with large columns, where rewriting all columns is expensive. Default is false
+   *
+   * @param updateChangedFieldsOnly true to update only changed columns
+   */
+  public void setUpdateChangedFieldsOnly(boolean updateChangedFieldsOnly) {
+    this.updateChangedFieldsOnly = updateChangedFieldsOnly;
+  }
+
+  public boolean isCloneRowsOnWrite() {
+    return cloneRowsOnWrite;
+  }
+
+  /**
+   * By default rows passed to create, update and upsert methods are cloned before being modified
+   * (id, timestamps, authorship, changes made by {@link EasyCrudWireTap}) and the clone is
+   * returned. Set to false to skip cloning and use (and return) caller's instances instead, which
+   * saves an allocation and property copying per row on bulk writes.
+   *
+   * <p>Only do that when caller gives up ownership of passed rows (does not use them after the
+   * call) and you're fine with wire taps changes being visible on those instances even if operation
+   * fails. Default is true
+   *
+   * @param cloneRowsOnWrite false to skip cloning of rows passed to write operations
+   */
+  public void setCloneRowsOnWrite(boolean cloneRowsOnWrite) {
+    this.cloneRowsOnWrite = cloneRowsOnWrite;
+  }
 }
@@ -16,12 +16,18 @@
 package org.summerb.easycrud.impl;
 
 import com.google.common.base.Preconditions;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.UpdateAllResult;
 import org.summerb.easycrud.exceptions.EasyCrudExceptionStrategy;
 import org.summerb.easycrud.exceptions.EntityNotFoundException;
 import org.summerb.easycrud.join_query.JoinQuery;
+import org.summerb.easycrud.prefetch.Prefetch;
+import org.summerb.easycrud.prefetch.PrefetchSource;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.OrderByBuilder;
 import org.summerb.easycrud.query.Query;
@@ -49,11 +55,36 @@ public class EasyCrudServiceWrapper<
     return actual.create(row);
   }
 
+  @Override
+  public List<TRow> createAll(Collection<TRow> rows) {
+    return actual.createAll(rows);
+  }
+
   @Override
   public TRow update(TRow row) {
     return actual.update(row);
   }
 
+  @Override
+  public TRow updateFields(TRow row, Collection<String> fieldNames) {
+    return actual.updateFields(row, fieldNames);
+  }
+
+  @Override
+  public UpdateAllResult<TId, TRow> updateAll(Collection<TRow> rows) {
+    return actual.updateAll(rows);
+  }
+
+  @Override
+  public TRow upsert(TRow row) {
+    return actual.upsert(row);
+  }
+
+  @Override
+  public List<TRow> upsertAll(Collection<TRow> rows) {
+    return actual.upsertAll(rows);
+  }
+
   @Override
   public TRow findById(TId id) throws NotAuthorizedException {
     return actual.findById(id);
@@ -93,6 +124,12 @@ public class EasyCrudServiceWrapper<
     return actual.deleteByQuery(query);
   }
 
+  @Override
+  public int deleteByQueryChunked(Query<TId, TRow> query, int chunkSize, boolean commitPerChunk)
+      throws NotAuthorizedException {
+    return actual.deleteByQueryChunked(query, chunkSize, commitPerChunk);
+  }
+
   @Override
   public Class<TRow> getRowClass() {
     return actual.getRowClass();
@@ -118,6 +155,11 @@ public class EasyCrudServiceWrapper<
     return actual.buildJoinQuery(query);
   }
 
+  @Override
+  public Prefetch<TId, TRow> buildPrefetch(PrefetchSource<TRow> source) {
+    return actual.buildPrefetch(source);
+  }
+
   @Override
   public PropertyNameResolver<TRow> getNameResolver() {
     return actual.getNameResolver();
@@ -205,4 +247,14 @@ public class EasyCrudServiceWrapper<
   public TRow getOneByQuery(Query<TId, TRow> query) {
     return actual.getOneByQuery(query);
   }
+
+  @Override
+  public Stream<TRow> stream(Query<TId, TRow> optionalQuery, OrderBy... orderBy) {
+    return actual.stream(optionalQuery, orderBy);
+  }
+
+  @Override
+  public void forEach(Query<TId, TRow> optionalQuery, Consumer<TRow> consumer, OrderBy... orderBy) {
+    actual.forEach(optionalQuery, consumer, orderBy);
+  }
 }
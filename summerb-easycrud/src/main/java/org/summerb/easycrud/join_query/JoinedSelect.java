@@ -1,6 +1,8 @@
 package org.summerb.easycrud.join_query;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.summerb.easycrud.join_query.model.JoinedRow;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.utils.easycrud.api.dto.PagerParams;
@@ -25,4 +27,25 @@ public interface JoinedSelect {
   List<JoinedRow> getAll(OrderBy... orderBy);
 
   int count();
+
+  /**
+   * Stream all joined rows without materializing them all in memory at once. Rows are read using
+   * forward-only cursor, mapped rows are not retained and wire taps are applied in chunks.
+   *
+   * <p>Returned stream holds JDBC connection and MUST be closed after use (i.e. use
+   * try-with-resources). Some databases (i.e. Postgres) will only use cursor if stream is consumed
+   * within transaction
+   *
+   * @param orderBy optional orderBy, might be missing/null
+   * @return stream of joined rows, might be empty, but never null
+   */
+  Stream<JoinedRow> stream(OrderBy... orderBy);
+
+  /**
+   * Same as {@link #stream(OrderBy...)}, but takes care of closing the stream
+   *
+   * @param consumer consumer of joined rows
+   * @param orderBy optional orderBy, might be missing/null
+   */
+  void forEach(Consumer<JoinedRow> consumer, OrderBy... orderBy);
 }
@@ -1,6 +1,10 @@
 package org.summerb.easycrud.join_query;
 
 import java.util.List;
+import java.util.function.Function;
+import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.prefetch.Prefetch;
+import org.summerb.easycrud.prefetch.PrefetchSource;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.row.HasId;
 import org.summerb.utils.easycrud.api.dto.PagerParams;
@@ -12,7 +16,8 @@ import org.summerb.utils.easycrud.api.dto.PaginatedList;
  * @param <TId> type of row ID
  * @param <TRow> type of row
  */
-public interface Select<TId extends Comparable<TId>, TRow extends HasId<TId>> {
+public interface Select<TId extends Comparable<TId>, TRow extends HasId<TId>>
+    extends PrefetchSource<TRow> {
   TRow findOne();
 
   TRow getOne();
@@ -30,4 +35,22 @@ public interface Select<TId extends Comparable<TId>, TRow extends HasId<TId>> {
   List<TRow> getAll(OrderBy... orderBy);
 
   int count();
+
+  /**
+   * Declare many-to-one relation to be loaded along with selected rows. Referenced rows are loaded
+   * using one IN query per relation (see {@link Prefetch} for details)
+   *
+   * @param fkGetter getter of the foreign key field
+   * @param target service of the referenced rows
+   * @return prefetch API, use it to declare more relations and then retrieve data
+   */
+  <TRefId extends Comparable<TRefId>, TRef extends HasId<TRefId>> Prefetch<TId, TRow> prefetch(
+      Function<TRow, TRefId> fkGetter, EasyCrudService<TRefId, TRef> target);
+
+  /**
+   * Same as {@link #prefetch(Function, EasyCrudService)}, but target service is resolved by row
+   * class using {@link org.summerb.easycrud.EasyCrudServiceResolver}
+   */
+  <TRefId extends Comparable<TRefId>, TRef extends HasId<TRefId>> Prefetch<TId, TRow> prefetch(
+      Function<TRow, TRefId> fkGetter, Class<TRef> targetRowClass);
 }
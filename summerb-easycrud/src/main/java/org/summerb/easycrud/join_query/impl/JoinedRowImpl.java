@@ -1,46 +1,75 @@
 package org.summerb.easycrud.join_query.impl;
 
 import com.google.common.base.Preconditions;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import org.summerb.easycrud.join_query.model.JoinedRow;
 import org.summerb.easycrud.query.Query;
 import org.summerb.easycrud.row.HasId;
 
+/**
+ * Parts are kept in plain arrays instead of maps. Number of parts is small, so linear search is
+ * cheaper than hashing, especially since {@link Query#hashCode()} is computed from all conditions
+ */
 @SuppressWarnings("unchecked")
 public class JoinedRowImpl implements JoinedRow {
   public static final int INITIAL_CAPACITY = 3;
 
-  protected Map<Query<?, ?>, Object> partsByQuery;
-  protected Map<Class<?>, Object> partsByRowClass;
+  protected Query<?, ?>[] queries;
+  protected Object[] parts;
+  protected int size;
 
   public JoinedRowImpl() {
-    partsByQuery = new HashMap<>(INITIAL_CAPACITY);
-    partsByRowClass = new HashMap<>(INITIAL_CAPACITY);
+    this(INITIAL_CAPACITY);
   }
 
   public JoinedRowImpl(int size) {
-    partsByQuery = new HashMap<>(size);
-    partsByRowClass = new HashMap<>(size);
+    queries = new Query<?, ?>[Math.max(size, 1)];
+    parts = new Object[queries.length];
   }
 
   public void put(Query<?, ?> query, Object row) {
-    partsByQuery.put(query, row);
+    int idx = indexOf(query);
+    if (idx < 0) {
+      if (size == queries.length) {
+        queries = Arrays.copyOf(queries, size * 2);
+        parts = Arrays.copyOf(parts, size * 2);
+      }
+      idx = size++;
+      queries[idx] = query;
+    }
+    parts[idx] = row;
+  }
 
-    if (row != null) {
-      partsByRowClass.put(row.getClass(), row);
+  protected int indexOf(Query<?, ?> query) {
+    for (int i = 0; i < size; i++) {
+      if (queries[i] == query) {
+        return i;
+      }
     }
+    for (int i = 0; i < size; i++) {
+      if (queries[i].equals(query)) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   @Override
   public <TId extends Comparable<TId>, TRow extends HasId<TId>> TRow get(Query<TId, TRow> query) {
     Preconditions.checkArgument(query != null, "query is required");
-    return (TRow) partsByQuery.get(query);
+    int idx = indexOf(query);
+    return idx < 0 ? null : (TRow) parts[idx];
   }
 
   @Override
   public <TId extends Comparable<TId>, TRow extends HasId<TId>> TRow get(Class<TRow> rowClass) {
     Preconditions.checkArgument(rowClass != null, "rowClass is required");
-    return (TRow) partsByRowClass.get(rowClass);
+    // NOTE: Iterating backwards, so that the last put row wins, same as it would be with map
+    for (int i = size - 1; i >= 0; i--) {
+      if (parts[i] != null && parts[i].getClass() == rowClass) {
+        return (TRow) parts[i];
+      }
+    }
+    return null;
   }
 }
@@ -1,20 +1,32 @@
 package org.summerb.easycrud.join_query.impl;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Streams;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.util.CollectionUtils;
+import org.summerb.easycrud.dao.EasyCrudDaoSqlImpl;
 import org.summerb.easycrud.dao.NamedParameterJdbcTemplateEx;
 import org.summerb.easycrud.exceptions.EasyCrudExceptionStrategy;
 import org.summerb.easycrud.exceptions.EntityNotFoundException;
+import org.summerb.easycrud.impl.EasyCrudServiceImpl;
 import org.summerb.easycrud.join_query.JoinQuery;
 import org.summerb.easycrud.join_query.JoinedSelect;
 import org.summerb.easycrud.join_query.QuerySpecificsResolver;
 import org.summerb.easycrud.join_query.model.JoinedRow;
+import org.summerb.easycrud.metrics.OperationMetrics;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.Query;
 import org.summerb.easycrud.row.HasId;
@@ -32,6 +44,9 @@ import org.summerb.utils.easycrud.api.dto.Top;
 public class JoinedSelectImpl extends SelectTemplate implements JoinedSelect {
   protected List<Query<?, ?>> entitiesToSelect;
 
+  protected int streamFetchSize = EasyCrudDaoSqlImpl.DEFAULT_STREAM_FETCH_SIZE;
+  protected int streamChunkSize = EasyCrudServiceImpl.DEFAULT_STREAM_CHUNK_SIZE;
+
   protected record PageLoadResults(
       FromAndWhere fromAndWhere,
       ResultSetExtractorJoinedQueryImpl mappingContext,
@@ -100,6 +115,7 @@ public class JoinedSelectImpl extends SelectTemplate implements JoinedSelect {
 
   @Override
   public PaginatedList<JoinedRow> find(PagerParams pagerParams, OrderBy... orderBy) {
+    OperationMetrics op = startOperation();
     try {
       Preconditions.checkArgument(pagerParams != null, "PagerParams is a must");
       if (isGuaranteedToYieldEmptyResultset()) {
@@ -131,6 +147,8 @@ public class JoinedSelectImpl extends SelectTemplate implements JoinedSelect {
       EasyCrudExceptionStrategy<?, ?> exceptionStrategy =
           querySpecificsResolver.getExceptionStrategy(joinQuery.getPrimaryQuery());
       throw exceptionStrategy.exceptionAtFind(t, joinQuery);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
@@ -176,6 +194,7 @@ public class JoinedSelectImpl extends SelectTemplate implements JoinedSelect {
 
   @Override
   public List<JoinedRow> findPage(PagerParams pagerParams, OrderBy... orderBy) {
+    OperationMetrics op = startOperation();
     try {
       if (isGuaranteedToYieldEmptyResultset()) {
         return List.of();
@@ -208,6 +227,8 @@ public class JoinedSelectImpl extends SelectTemplate implements JoinedSelect {
       EasyCrudExceptionStrategy<?, ?> exceptionStrategy =
           querySpecificsResolver.getExceptionStrategy(joinQuery.getPrimaryQuery());
       throw exceptionStrategy.exceptionAtFind(t, joinQuery);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
@@ -239,12 +260,126 @@ public class JoinedSelectImpl extends SelectTemplate implements JoinedSelect {
 
   @Override
   public int count() {
-    if (isGuaranteedToYieldEmptyResultset()) {
-      return 0;
+    OperationMetrics op = startOperation();
+    try {
+      if (isGuaranteedToYieldEmptyResultset()) {
+        return 0;
+      }
+      FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(joinQuery);
+      QueryData countQueryData = sqlBuilder.countForJoinedQuery(fromAndWhere, joinQuery);
+      return jdbc.queryForInt(countQueryData.getSql(), countQueryData.getParams());
+    } finally {
+      OperationMetrics.finish(op);
     }
-    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(joinQuery);
-    QueryData countQueryData = sqlBuilder.countForJoinedQuery(fromAndWhere, joinQuery);
-    return jdbc.queryForInt(countQueryData.getSql(), countQueryData.getParams());
+  }
+
+  @Override
+  public Stream<JoinedRow> stream(OrderBy... orderByInput) {
+    try {
+      if (isGuaranteedToYieldEmptyResultset()) {
+        return Stream.empty();
+      }
+
+      // Before query wiretaps
+      Map<Query<?, ?>, EasyCrudWireTap> wireTaps = findWireTapsOnRead();
+      wireTaps.values().forEach(EasyCrudWireTap::beforeRead);
+
+      // Query itself
+      OrderBy[] orderBy = ensureOrderByReferenceRegisteredQueries(orderByInput);
+      FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(joinQuery);
+      QueryData queryData =
+          sqlBuilder.joinedSelect(
+              joinQuery, entitiesToSelect, PagerParams.ALL, orderBy, fromAndWhere);
+      RowMapper<JoinedRow> rowMapper =
+          buildResultSetExtractor(entitiesToSelect, queryData).asStreamingRowMapper();
+      Stream<JoinedRow> ret =
+          jdbc.queryForStream(
+              queryData.getSql(), queryData.getParams(), rowMapper, streamFetchSize);
+
+      // After query wiretaps
+      wireTaps.values().removeIf(x -> !x.requiresOnReadMultiple());
+      if (wireTaps.isEmpty()) {
+        return ret;
+      }
+
+      // NOTE: Each wire tap receives distinct entities of its query collected from a chunk of
+      // joined
+      // rows, same as with list queries, rather than being invoked for every joined row
+      Iterator<List<JoinedRow>> chunks = Iterators.partition(ret.iterator(), streamChunkSize);
+      return Streams.stream(chunks)
+          .peek(chunk -> invokeAfterReadOnStreamedChunk(wireTaps, chunk))
+          .flatMap(List::stream)
+          .onClose(ret::close);
+    } catch (Throwable t) {
+      EasyCrudExceptionStrategy<?, ?> exceptionStrategy =
+          querySpecificsResolver.getExceptionStrategy(joinQuery.getPrimaryQuery());
+      throw exceptionStrategy.exceptionAtFind(t, joinQuery);
+    }
+  }
+
+  /**
+   * Wire taps are invoked lazily, while stream is consumed, so exceptions must be translated here,
+   * same as {@link #stream(OrderBy...)} does for exceptions thrown before stream is returned
+   */
+  protected void invokeAfterReadOnStreamedChunk(
+      Map<Query<?, ?>, EasyCrudWireTap> wireTaps, List<JoinedRow> chunk) {
+    try {
+      invokeAfterRead(wireTaps, chunk);
+    } catch (Throwable t) {
+      EasyCrudExceptionStrategy<?, ?> exceptionStrategy =
+          querySpecificsResolver.getExceptionStrategy(joinQuery.getPrimaryQuery());
+      throw exceptionStrategy.exceptionAtFind(t, joinQuery);
+    }
+  }
+
+  protected void invokeAfterRead(
+      Map<Query<?, ?>, EasyCrudWireTap> wireTaps, List<JoinedRow> chunk) {
+    for (Map.Entry<Query<?, ?>, EasyCrudWireTap> entry : wireTaps.entrySet()) {
+      // NOTE: Same entity might be present in several joined rows, but wire tap should see it once
+      Set<Object> rows = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (JoinedRow joinedRow : chunk) {
+        Object row = joinedRow.get((Query) entry.getKey());
+        if (row != null) {
+          rows.add(row);
+        }
+      }
+
+      if (!rows.isEmpty()) {
+        entry.getValue().afterRead(new ArrayList<>(rows));
+      }
+    }
+  }
+
+  @Override
+  public void forEach(Consumer<JoinedRow> consumer, OrderBy... orderBy) {
+    Preconditions.checkArgument(consumer != null, "consumer is required");
+    try (Stream<JoinedRow> stream = stream(orderBy)) {
+      stream.forEach(consumer);
+    }
+  }
+
+  public int getStreamFetchSize() {
+    return streamFetchSize;
+  }
+
+  /**
+   * @param streamFetchSize fetch size which is used by {@link #stream(OrderBy...)}, see {@link
+   *     EasyCrudDaoSqlImpl#setStreamFetchSize(int)}
+   */
+  public void setStreamFetchSize(int streamFetchSize) {
+    this.streamFetchSize = streamFetchSize;
+  }
+
+  public int getStreamChunkSize() {
+    return streamChunkSize;
+  }
+
+  /**
+   * @param streamChunkSize number of joined rows passed to wire taps at once when streaming
+   */
+  public void setStreamChunkSize(int streamChunkSize) {
+    Preconditions.checkArgument(streamChunkSize > 0, "streamChunkSize must be positive");
+    this.streamChunkSize = streamChunkSize;
   }
 
   protected EntityNotFoundException buildEntityNotFound() {
@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
 import org.summerb.easycrud.join_query.QuerySpecificsResolver;
 import org.summerb.easycrud.join_query.model.JoinedRow;
 import org.summerb.easycrud.query.Query;
@@ -19,9 +20,12 @@ import org.summerb.easycrud.sql_builder.model.ColumnsSelection;
  * This class is intended to extract results of a joined query (when all columns from more than 1
  * table are retrieved using a single query)
  *
- * <p>NOTE: This is intended to be instantiated every time another query is executed.
+ * <p>It can be used either as {@link ResultSetExtractor}, in which case all rows are collected into
+ * the list, or as {@link RowMapper} for streaming (see {@link #asStreamingRowMapper()}), in which
+ * case rows are not retained.
  *
- * <p>TBD: Consider if it is possible to make at least some part of it reusable
+ * <p>NOTE: This is intended to be instantiated every time another query is executed. Column index
+ * tables which are expensive to build are cached by {@link RowMappingAdapter}
  */
 @SuppressWarnings("resource")
 public class ResultSetExtractorJoinedQueryImpl implements ResultSetExtractor<List<JoinedRow>> {
@@ -35,6 +39,9 @@ public class ResultSetExtractorJoinedQueryImpl implements ResultSetExtractor<Lis
 
   protected int totalResultsCount;
 
+  /** Result set for which mapping adapters were prepared */
+  protected ResultSet preparedResultSet;
+
   public ResultSetExtractorJoinedQueryImpl(
       List<Query<?, ?>> selectedTables,
       List<ColumnsSelection> columnSelections,
@@ -75,6 +82,33 @@ public class ResultSetExtractorJoinedQueryImpl implements ResultSetExtractor<Lis
 
   @Override
   public List<JoinedRow> extractData(ResultSet rs) throws SQLException, DataAccessException {
+    prepareResultSet(rs);
+
+    int rowNum = 0;
+    while (rs.next()) {
+      rows.add(mapRow(rowNum++));
+    }
+    return rows;
+  }
+
+  /**
+   * Row-by-row mapping which is used for streaming. In this mode neither joined rows nor mapped
+   * rows are retained (so {@link #getMappedRows(Query)} will be empty), so memory consumption does
+   * not depend on the size of the result set
+   */
+  public RowMapper<JoinedRow> asStreamingRowMapper() {
+    for (RowMappingAdapter x : mappingAdapters) {
+      x.setRetainMappedRows(false);
+    }
+    return (rs, rowNum) -> {
+      if (preparedResultSet != rs) {
+        prepareResultSet(rs);
+      }
+      return mapRow(rowNum);
+    };
+  }
+
+  protected void prepareResultSet(ResultSet rs) throws SQLException {
     ResultSetMetaData rsmd = rs.getMetaData();
 
     List<String> columnNames = buildColumnsList(rsmd);
@@ -82,17 +116,13 @@ public class ResultSetExtractorJoinedQueryImpl implements ResultSetExtractor<Lis
     for (RowMappingAdapter x : mappingAdapters) {
       x.setResultSet(rs, rsmd, columnNames);
     }
-
-    int rowNum = 0;
-    while (rs.next()) {
-      rows.add(mapRow(rowNum++));
-    }
-    return rows;
+    preparedResultSet = rs;
   }
 
   protected List<String> buildColumnsList(ResultSetMetaData rsmd) throws SQLException {
-    List<String> columnNames = new ArrayList<>(rsmd.getColumnCount());
-    for (int i = 1; i <= rsmd.getColumnCount(); i++) {
+    int columnCount = rsmd.getColumnCount();
+    List<String> columnNames = new ArrayList<>(columnCount);
+    for (int i = 1; i <= columnCount; i++) {
       columnNames.add(rsmd.getColumnLabel(i));
     }
     return columnNames;
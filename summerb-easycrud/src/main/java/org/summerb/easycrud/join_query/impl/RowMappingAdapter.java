@@ -1,6 +1,10 @@
 package org.summerb.easycrud.join_query.impl;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -24,6 +28,7 @@ import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.util.CollectionUtils;
 import org.summerb.easycrud.query.Query;
@@ -39,20 +44,49 @@ import org.summerb.easycrud.sql_builder.model.SelectedColumn;
  */
 @SuppressWarnings("deprecation")
 public class RowMappingAdapter implements ResultSet, ResultSetMetaData {
+  public static final int DEFAULT_INDEX_TABLES_CACHE_SIZE = 1000;
+
+  /**
+   * Column index tables are cached per shape (result set column labels plus columns selection), so
+   * that they are built once per distinct query and not for every execution
+   */
+  protected static final Cache<String, ColumnIndexTable> INDEX_TABLES =
+      CacheBuilder.newBuilder().maximumSize(DEFAULT_INDEX_TABLES_CACHE_SIZE).build();
+
   protected Query<?, ?> query;
   protected ColumnsSelection columnsSelection;
   protected RowMapper<?> rowMapper;
 
   protected ResultSet rs;
   protected ResultSetMetaData rsmd;
-  protected List<String> physicalColumnLabels;
+  protected ColumnIndexTable indexTable;
 
-  protected Map<Integer, Integer> logicalColumnIdToPhysical = new HashMap<>();
-  protected Map<Integer, String> logicalColumnIdToLogicalName = new HashMap<>();
-  protected Map<String, String> logicalColumnNameToPhysicalLabel = new HashMap<>();
-  protected Map<String, Integer> logicalNameToLogicalId = new HashMap<>();
+  /**
+   * When true (default) all mapped rows are kept in {@link #mapIdToRow} so that same entity is
+   * mapped only once per result set. When false only the last mapped row is kept, so memory
+   * consumption does not depend on result set size
+   */
+  protected boolean retainMappedRows = true;
 
   protected Map<Object, HasId<?>> mapIdToRow = new HashMap<>();
+  protected Object lastMappedId;
+  protected Object lastMappedRow;
+
+  /**
+   * Precomputed mapping of logical columns (the ones row mapper sees) to physical columns (the ones
+   * in the actual result set). Logical indexes are 1-based, so element 0 of the arrays is not used.
+   * Immutable, safe to share between executions.
+   *
+   * @param logicalToPhysical physical column index by logical column index, 0 if not mapped
+   * @param logicalNames logical column name by logical column index
+   * @param logicalNameToLogicalIndex logical column index by logical column name
+   * @param idPhysicalIndex physical index of the "id" column, 0 if not selected
+   */
+  protected record ColumnIndexTable(
+      int[] logicalToPhysical,
+      String[] logicalNames,
+      Map<String, Integer> logicalNameToLogicalIndex,
+      int idPhysicalIndex) {}
 
   public RowMappingAdapter(ColumnsSelection columnsSelection, RowMapper<?> rowMapper) {
     Preconditions.checkArgument(columnsSelection != null, "columnsSelection is required");
@@ -73,52 +107,105 @@ public class RowMappingAdapter implements ResultSet, ResultSetMetaData {
       throws SQLException {
     this.rs = rs;
     this.rsmd = rsmd;
-    this.physicalColumnLabels = columnLabels;
-    buildMappingData();
+    try {
+      indexTable =
+          INDEX_TABLES.get(buildIndexTableKey(columnLabels), () -> buildIndexTable(columnLabels));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new SQLException("Failed to build column index table", e.getCause());
+    }
+  }
+
+  protected String buildIndexTableKey(List<String> columnLabels) {
+    StringBuilder ret = new StringBuilder();
+    for (String columnLabel : columnLabels) {
+      ret.append(columnLabel).append(',');
+    }
+    if (columnsSelection.isWildcardAdded()) {
+      return ret.append("|*").toString();
+    }
+    ret.append('|');
+    for (SelectedColumn selectedColumn : columnsSelection.getColumns()) {
+      ret.append(selectedColumn.getColumnName())
+          .append('=')
+          .append(selectedColumn.getColumnLabel())
+          .append(',');
+    }
+    return ret.toString();
   }
 
-  protected void buildMappingData() {
+  protected ColumnIndexTable buildIndexTable(List<String> physicalColumnLabels) {
     if (columnsSelection.isWildcardAdded()) {
-      buildMappingDataForWildcardSelection();
+      return buildIndexTableForWildcardSelection(physicalColumnLabels);
     } else {
-      buildMappingDataForExplicitlySelectedColumns();
+      return buildIndexTableForExplicitlySelectedColumns(physicalColumnLabels);
     }
   }
 
-  protected void buildMappingDataForWildcardSelection() {
+  protected ColumnIndexTable buildIndexTableForWildcardSelection(
+      List<String> physicalColumnLabels) {
+    int[] logicalToPhysical = new int[physicalColumnLabels.size() + 1];
+    String[] logicalNames = new String[physicalColumnLabels.size() + 1];
+    Map<String, Integer> logicalNameToLogicalIndex = new HashMap<>();
     for (int i = 0; i < physicalColumnLabels.size(); i++) {
       String physicalColumnLabel = physicalColumnLabels.get(i);
 
       if (physicalColumnLabel != null) {
-        logicalColumnIdToPhysical.put(i + 1, i + 1);
-        logicalColumnIdToLogicalName.put(i + 1, physicalColumnLabel);
-        logicalColumnNameToPhysicalLabel.put(physicalColumnLabel, physicalColumnLabel);
-        logicalNameToLogicalId.put(physicalColumnLabel, i + 1);
+        logicalToPhysical[i + 1] = i + 1;
+        logicalNames[i + 1] = physicalColumnLabel;
+        // NOTE: In case of duplicate labels the first one wins, same as JDBC does
+        logicalNameToLogicalIndex.putIfAbsent(physicalColumnLabel, i + 1);
       }
     }
+    return buildIndexTable(logicalToPhysical, logicalNames, logicalNameToLogicalIndex);
   }
 
-  protected void buildMappingDataForExplicitlySelectedColumns() {
+  protected ColumnIndexTable buildIndexTableForExplicitlySelectedColumns(
+      List<String> physicalColumnLabels) {
     List<SelectedColumn> selectedColumns = columnsSelection.getColumns();
+    int[] logicalToPhysical = new int[selectedColumns.size() + 1];
+    String[] logicalNames = new String[selectedColumns.size() + 1];
+    Map<String, Integer> logicalNameToLogicalIndex = new HashMap<>();
     for (int i = 0; i < selectedColumns.size(); i++) {
       SelectedColumn selectedColumn = selectedColumns.get(i);
       int physicalIndex = physicalColumnLabels.indexOf(selectedColumn.getColumnLabel()) + 1;
       Preconditions.checkState(
           physicalIndex >= 1, "Column not found in resultset: " + selectedColumn.getColumnLabel());
-      logicalColumnIdToPhysical.put(i + 1, physicalIndex);
-      String logicalColumnName = selectedColumn.getColumnName();
-      logicalColumnIdToLogicalName.put(i + 1, logicalColumnName);
-      logicalColumnNameToPhysicalLabel.put(logicalColumnName, selectedColumn.getColumnLabel());
-      logicalNameToLogicalId.put(logicalColumnName, i + 1);
+      logicalToPhysical[i + 1] = physicalIndex;
+      logicalNames[i + 1] = selectedColumn.getColumnName();
+      logicalNameToLogicalIndex.put(selectedColumn.getColumnName(), i + 1);
     }
+    return buildIndexTable(logicalToPhysical, logicalNames, logicalNameToLogicalIndex);
+  }
+
+  protected ColumnIndexTable buildIndexTable(
+      int[] logicalToPhysical,
+      String[] logicalNames,
+      Map<String, Integer> logicalNameToLogicalIndex) {
+    Integer idLogicalIndex = logicalNameToLogicalIndex.get(HasId.FN_ID);
+    int idPhysicalIndex = idLogicalIndex == null ? 0 : logicalToPhysical[idLogicalIndex];
+    return new ColumnIndexTable(
+        logicalToPhysical, logicalNames, Map.copyOf(logicalNameToLogicalIndex), idPhysicalIndex);
   }
 
   public Object mapRow(int rowNum) throws SQLException {
-    Object id = getObject("id");
+    int idPhysicalIndex = indexTable.idPhysicalIndex();
+    Object id = idPhysicalIndex > 0 ? rs.getObject(idPhysicalIndex) : getObject(HasId.FN_ID);
     if (id == null) {
       return null;
     }
 
+    if (!retainMappedRows) {
+      // NOTE: Still handling the most common case when same entity is repeated in adjacent rows
+      if (id.equals(lastMappedId)) {
+        return lastMappedRow;
+      }
+      Object ret = rowMapper.mapRow(this, rowNum);
+      lastMappedId = id;
+      lastMappedRow = ret;
+      return ret;
+    }
+
     Object existing = mapIdToRow.get(id);
     if (existing != null) {
       return existing;
@@ -131,20 +218,34 @@ public class RowMappingAdapter implements ResultSet, ResultSetMetaData {
     return ret;
   }
 
+  public boolean isRetainMappedRows() {
+    return retainMappedRows;
+  }
+
+  public void setRetainMappedRows(boolean retainMappedRows) {
+    this.retainMappedRows = retainMappedRows;
+  }
+
   protected int toPhysical(int logicalColumnIndex) throws SQLException {
-    Integer physicalIndex = logicalColumnIdToPhysical.get(logicalColumnIndex);
-    if (physicalIndex == null) {
+    int[] logicalToPhysical = indexTable.logicalToPhysical();
+    if (logicalColumnIndex < 1
+        || logicalColumnIndex >= logicalToPhysical.length
+        || logicalToPhysical[logicalColumnIndex] == 0) {
       throw new SQLException("Invalid column index: " + logicalColumnIndex);
     }
-    return physicalIndex;
+    return logicalToPhysical[logicalColumnIndex];
   }
 
-  protected String toPhysical(String logicalColumnName) throws SQLException {
-    String physicalColumnLabel = logicalColumnNameToPhysicalLabel.get(logicalColumnName);
-    if (physicalColumnLabel == null) {
+  /**
+   * @return physical column index. Access by index is used since it is usually cheaper than access
+   *     by label
+   */
+  protected int toPhysical(String logicalColumnName) throws SQLException {
+    Integer logicalIndex = indexTable.logicalNameToLogicalIndex().get(logicalColumnName);
+    if (logicalIndex == null) {
       throw new SQLException("Invalid column label: " + logicalColumnName);
     }
-    return physicalColumnLabel;
+    return indexTable.logicalToPhysical()[logicalIndex];
   }
 
   // ===== ResultSet methods
@@ -356,7 +457,7 @@ public class RowMappingAdapter implements ResultSet, ResultSetMetaData {
   @Override
   public int findColumn(String columnLabel) throws SQLException {
     // Return the logical column index for the given logical column label
-    Integer logicalIndex = logicalNameToLogicalId.get(columnLabel);
+    Integer logicalIndex = indexTable.logicalNameToLogicalIndex().get(columnLabel);
     if (logicalIndex == null) {
       throw new SQLException("Column not found: " + columnLabel);
     }
@@ -1119,7 +1220,7 @@ public class RowMappingAdapter implements ResultSet, ResultSetMetaData {
   // ===== ResultSetMetaData methods
   @Override
   public int getColumnCount() throws SQLException {
-    return logicalColumnIdToPhysical.size();
+    return indexTable.logicalToPhysical().length - 1;
   }
 
   @Override
@@ -1160,13 +1261,13 @@ public class RowMappingAdapter implements ResultSet, ResultSetMetaData {
   @Override
   public String getColumnLabel(int column) throws SQLException {
     // Return the logical column label (field name in snake_case)
-    return logicalColumnIdToLogicalName.get(column);
+    return indexTable.logicalNames()[column];
   }
 
   @Override
   public String getColumnName(int column) throws SQLException {
     // Return the logical column name (field name in snake_case)
-    return logicalColumnIdToLogicalName.get(column);
+    return indexTable.logicalNames()[column];
   }
 
   @Override
@@ -2,14 +2,19 @@ package org.summerb.easycrud.join_query.impl;
 
 import com.google.common.base.Preconditions;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.summerb.easycrud.dao.NamedParameterJdbcTemplateEx;
+import org.summerb.easycrud.dao.ReadReplicaRouter;
 import org.summerb.easycrud.join_query.JoinQuery;
 import org.summerb.easycrud.join_query.JoinedSelect;
 import org.summerb.easycrud.join_query.QuerySpecificsResolver;
 import org.summerb.easycrud.join_query.Select;
 import org.summerb.easycrud.join_query.SelectFactory;
+import org.summerb.easycrud.metrics.EasyCrudMetrics;
+import org.summerb.easycrud.metrics.SqlBuilderMetricsImpl;
 import org.summerb.easycrud.query.Query;
 import org.summerb.easycrud.row.HasId;
+import org.summerb.easycrud.slow_query.SlowQueryRecorder;
 import org.summerb.easycrud.sql_builder.FieldsEnlister;
 import org.summerb.easycrud.sql_builder.SqlBuilder;
 
@@ -18,6 +23,12 @@ public class SelectFactoryImpl implements SelectFactory {
   protected NamedParameterJdbcTemplateEx jdbc;
   protected SqlBuilder sqlBuilder;
   protected FieldsEnlister fieldsEnlister;
+  protected EasyCrudMetrics metrics;
+  protected ReadReplicaRouter readReplicaRouter;
+  protected SlowQueryRecorder slowQueryRecorder;
+
+  /** Template used for selects, might route statements to read replicas */
+  protected NamedParameterJdbcTemplateEx readJdbc;
 
   public SelectFactoryImpl(
       QuerySpecificsResolver querySpecificsResolver,
@@ -31,21 +42,74 @@ public class SelectFactoryImpl implements SelectFactory {
     Preconditions.checkArgument(fieldsEnlister != null, "fieldsEnlister is required");
 
     this.jdbc = jdbc;
+    this.readJdbc = jdbc;
     this.querySpecificsResolver = querySpecificsResolver;
     this.sqlBuilder = sqlBuilder;
     this.fieldsEnlister = fieldsEnlister;
   }
 
+  /**
+   * @param metrics optional metrics sink, when provided joined selects are measured as {@link
+   *     EasyCrudMetrics#OP_JOINED_SELECT}
+   */
+  @Autowired(required = false)
+  public void setMetrics(EasyCrudMetrics metrics) {
+    this.metrics = metrics;
+    if (metrics != null && !(sqlBuilder instanceof SqlBuilderMetricsImpl)) {
+      sqlBuilder = new SqlBuilderMetricsImpl(sqlBuilder);
+    }
+  }
+
   @Override
   public <TRow extends HasId<TId>, TId extends Comparable<TId>> Select<TId, TRow> build(
       JoinQuery<?, ?> joinQuery, Query<TId, TRow> entityToSelect) {
-    return new SelectImpl<>(
-        joinQuery, entityToSelect, jdbc, querySpecificsResolver, sqlBuilder, fieldsEnlister);
+    SelectImpl<TId, TRow> ret =
+        new SelectImpl<>(
+            joinQuery,
+            entityToSelect,
+            readJdbc,
+            querySpecificsResolver,
+            sqlBuilder,
+            fieldsEnlister);
+    ret.setMetrics(metrics);
+    return ret;
   }
 
   @Override
   public JoinedSelect build(JoinQuery<?, ?> joinQuery, List<Query<?, ?>> entitiesToSelect) {
-    return new JoinedSelectImpl(
-        joinQuery, entitiesToSelect, jdbc, querySpecificsResolver, sqlBuilder, fieldsEnlister);
+    JoinedSelectImpl ret =
+        new JoinedSelectImpl(
+            joinQuery,
+            entitiesToSelect,
+            readJdbc,
+            querySpecificsResolver,
+            sqlBuilder,
+            fieldsEnlister);
+    ret.setMetrics(metrics);
+    return ret;
+  }
+
+  /**
+   * @param readReplicaRouter optional router, when provided selects are routed to read replicas
+   */
+  @Autowired(required = false)
+  public void setReadReplicaRouter(ReadReplicaRouter readReplicaRouter) {
+    this.readReplicaRouter = readReplicaRouter;
+    this.readJdbc = buildReadJdbc();
+  }
+
+  /**
+   * @param slowQueryRecorder optional recorder, when provided selects are recorded
+   */
+  @Autowired(required = false)
+  public void setSlowQueryRecorder(SlowQueryRecorder slowQueryRecorder) {
+    this.slowQueryRecorder = slowQueryRecorder;
+    this.readJdbc = buildReadJdbc();
+  }
+
+  protected NamedParameterJdbcTemplateEx buildReadJdbc() {
+    NamedParameterJdbcTemplateEx ret =
+        readReplicaRouter == null ? jdbc : readReplicaRouter.wrap(jdbc);
+    return slowQueryRecorder == null ? ret : slowQueryRecorder.wrap(ret);
   }
 }
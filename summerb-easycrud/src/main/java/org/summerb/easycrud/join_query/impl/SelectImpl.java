@@ -3,9 +3,11 @@ package org.summerb.easycrud.join_query.impl;
 import com.google.common.base.Preconditions;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.util.CollectionUtils;
+import org.summerb.easycrud.EasyCrudService;
 import org.summerb.easycrud.dao.NamedParameterJdbcTemplateEx;
 import org.summerb.easycrud.exceptions.EasyCrudExceptionStrategy;
 import org.summerb.easycrud.exceptions.EntityNotFoundException;
@@ -13,6 +15,8 @@ import org.summerb.easycrud.join_query.JoinQuery;
 import org.summerb.easycrud.join_query.QuerySpecificsResolver;
 import org.summerb.easycrud.join_query.Select;
 import org.summerb.easycrud.join_query.model.JoinedRow;
+import org.summerb.easycrud.metrics.OperationMetrics;
+import org.summerb.easycrud.prefetch.Prefetch;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.Query;
 import org.summerb.easycrud.row.HasId;
@@ -78,6 +82,7 @@ public class SelectImpl<TId extends Comparable<TId>, TRow extends HasId<TId>> ex
 
   @Override
   public PaginatedList<TRow> find(PagerParams pagerParams, OrderBy... orderBy) {
+    OperationMetrics op = startOperation();
     try {
       Preconditions.checkArgument(pagerParams != null, "PagerParams is a must");
       if (isGuaranteedToYieldEmptyResultset()) {
@@ -103,6 +108,8 @@ public class SelectImpl<TId extends Comparable<TId>, TRow extends HasId<TId>> ex
       EasyCrudExceptionStrategy<TId, TRow> exceptionStrategy =
           querySpecificsResolver.getExceptionStrategy(entityToSelect);
       throw exceptionStrategy.exceptionAtFind(t, joinQuery);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
@@ -166,6 +173,7 @@ public class SelectImpl<TId extends Comparable<TId>, TRow extends HasId<TId>> ex
 
   @Override
   public List<TRow> findPage(PagerParams pagerParams, OrderBy... orderBy) {
+    OperationMetrics op = startOperation();
     try {
       if (isGuaranteedToYieldEmptyResultset()) {
         return List.of();
@@ -189,18 +197,38 @@ public class SelectImpl<TId extends Comparable<TId>, TRow extends HasId<TId>> ex
       EasyCrudExceptionStrategy<TId, TRow> exceptionStrategy =
           querySpecificsResolver.getExceptionStrategy(entityToSelect);
       throw exceptionStrategy.exceptionAtFind(t, joinQuery);
+    } finally {
+      OperationMetrics.finish(op);
     }
   }
 
   @Override
   public int count() {
-    if (isGuaranteedToYieldEmptyResultset()) {
-      return 0;
+    OperationMetrics op = startOperation();
+    try {
+      if (isGuaranteedToYieldEmptyResultset()) {
+        return 0;
+      }
+
+      FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(joinQuery);
+      QueryData countQueryData = sqlBuilder.countForJoinedQuery(fromAndWhere, joinQuery);
+      return jdbc.queryForInt(countQueryData.getSql(), countQueryData.getParams());
+    } finally {
+      OperationMetrics.finish(op);
     }
+  }
 
-    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere(joinQuery);
-    QueryData countQueryData = sqlBuilder.countForJoinedQuery(fromAndWhere, joinQuery);
-    return jdbc.queryForInt(countQueryData.getSql(), countQueryData.getParams());
+  @Override
+  public <TRefId extends Comparable<TRefId>, TRef extends HasId<TRefId>>
+      Prefetch<TId, TRow> prefetch(
+          Function<TRow, TRefId> fkGetter, EasyCrudService<TRefId, TRef> target) {
+    return entityToSelect.getService().buildPrefetch(this).prefetch(fkGetter, target);
+  }
+
+  @Override
+  public <TRefId extends Comparable<TRefId>, TRef extends HasId<TRefId>>
+      Prefetch<TId, TRow> prefetch(Function<TRow, TRefId> fkGetter, Class<TRef> targetRowClass) {
+    return entityToSelect.getService().buildPrefetch(this).prefetch(fkGetter, targetRowClass);
   }
 
   @Override
@@ -6,6 +6,8 @@ import org.summerb.easycrud.dao.NamedParameterJdbcTemplateEx;
 import org.summerb.easycrud.join_query.JoinQuery;
 import org.summerb.easycrud.join_query.QuerySpecificsResolver;
 import org.summerb.easycrud.join_query.model.JoinType;
+import org.summerb.easycrud.metrics.EasyCrudMetrics;
+import org.summerb.easycrud.metrics.OperationMetrics;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.OrderByQueryResolver;
 import org.summerb.easycrud.query.Query;
@@ -24,6 +26,7 @@ public class SelectTemplate {
   protected QuerySpecificsResolver querySpecificsResolver;
   protected NamedParameterJdbcTemplateEx jdbc;
   protected FieldsEnlister fieldsEnlister;
+  protected EasyCrudMetrics metrics;
 
   public SelectTemplate(
       NamedParameterJdbcTemplateEx jdbc,
@@ -45,6 +48,17 @@ public class SelectTemplate {
     this.fieldsEnlister = fieldsEnlister;
   }
 
+  /**
+   * @return started operation or null if metrics are not collected
+   */
+  protected OperationMetrics startOperation() {
+    if (metrics == null) {
+      return null;
+    }
+    String target = joinQuery.getPrimaryQuery().getService().getRowClass().getSimpleName();
+    return OperationMetrics.start(metrics, target, EasyCrudMetrics.OP_JOINED_SELECT);
+  }
+
   /**
    * Make sure all given orderBy are referencing queries from our JoinQuery. And if that is not the
    * case, then we copy-paste them and attempt to mix and match based on aliases and field names. If
@@ -147,4 +161,12 @@ public class SelectTemplate {
     return new ResultSetExtractorJoinedQueryImpl(
         entitiesToSelect, queryData.getSelectedColumns(), querySpecificsResolver);
   }
+
+  public EasyCrudMetrics getMetrics() {
+    return metrics;
+  }
+
+  public void setMetrics(EasyCrudMetrics metrics) {
+    this.metrics = metrics;
+  }
 }
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.metrics;
+
+/**
+ * Sink for EasyCrud performance metrics. Metrics are collected only when instance of this interface
+ * is injected into services, DAOs and {@link org.summerb.easycrud.join_query.SelectFactory}, see
+ * {@link org.summerb.easycrud.config.EasyCrudConfigMetrics}. Otherwise instrumentation is not
+ * installed at all.
+ *
+ * <p>Each operation (i.e. "find" on a service of some row) is broken down into phases, see {@link
+ * OperationMetrics}
+ *
+ * @author sergey.karpushin
+ */
+public interface EasyCrudMetrics {
+  String OP_CREATE = "create";
+  String OP_UPDATE = "update";
+  String OP_UPSERT = "upsert";
+  String OP_DELETE = "delete";
+  String OP_FIND_BY_ID = "findById";
+  String OP_FIND = "find";
+  String OP_COUNT = "count";
+  String OP_DELETE_BY_QUERY = "deleteByQuery";
+  String OP_JOINED_SELECT = "joinedSelect";
+
+  /** Whole operation */
+  String PHASE_TOTAL = "total";
+
+  /** Building SQL statements */
+  String PHASE_SQL_BUILD = "sql-build";
+
+  /** Time not attributed to other phases, which is mostly execution of JDBC statements */
+  String PHASE_EXECUTE = "execute";
+
+  /** Mapping result sets to rows */
+  String PHASE_MAP = "map";
+
+  /** Cloning rows, see {@link org.summerb.easycrud.tools.RowCloner} */
+  String PHASE_CLONE = "clone";
+
+  /** Prefix of the phase of wire tap invocation, followed by simple name of the wire tap class */
+  String PHASE_WIRE_TAP_PREFIX = "wire-tap:";
+
+  String ROWS_RETURNED = "returned";
+  String ROWS_AFFECTED = "affected";
+
+  /**
+   * @param target name of the service, usually simple name of the row class
+   * @param operation operation, i.e. {@link #OP_FIND}
+   * @param phase phase, i.e. {@link #PHASE_TOTAL}
+   * @param nanos time spent
+   */
+  void recordLatency(String target, String operation, String phase, long nanos);
+
+  /**
+   * @param target name of the service, usually simple name of the row class
+   * @param operation operation, i.e. {@link #OP_FIND}
+   * @param kind either {@link #ROWS_RETURNED} or {@link #ROWS_AFFECTED}
+   * @param rows number of rows
+   */
+  void recordRows(String target, String operation, String kind, long rows);
+}
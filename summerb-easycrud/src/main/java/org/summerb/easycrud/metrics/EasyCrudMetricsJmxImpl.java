@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fallback for the cases when Micrometer is not available. Exposes statistics via JMX as {@link
+ * EasyCrudOperationMXBean}, one per service and operation, same way as other beans in {@link
+ * org.summerb.utils.jmx}
+ *
+ * @author sergey.karpushin
+ */
+public class EasyCrudMetricsJmxImpl implements EasyCrudMetrics {
+  protected static final Logger log = LoggerFactory.getLogger(EasyCrudMetricsJmxImpl.class);
+
+  public static final String DOMAIN = "org.summerb.easycrud";
+
+  protected final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+  @Override
+  public void recordLatency(String target, String operation, String phase, long nanos) {
+    getOperationStats(target, operation).recordLatency(phase, nanos);
+  }
+
+  @Override
+  public void recordRows(String target, String operation, String kind, long rows) {
+    getOperationStats(target, operation).recordRows(kind, rows);
+  }
+
+  protected OperationStats getOperationStats(String target, String operation) {
+    return operations.computeIfAbsent(
+        target + "|" + operation, k -> register(target, operation, new OperationStats()));
+  }
+
+  protected OperationStats register(String target, String operation, OperationStats stats) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name =
+          new ObjectName(
+              DOMAIN
+                  + ":type=EasyCrudMetrics,service="
+                  + ObjectName.quote(target)
+                  + ",operation="
+                  + ObjectName.quote(operation));
+      if (!server.isRegistered(name)) {
+        server.registerMBean(stats, name);
+      }
+    } catch (Throwable t) {
+      log.error("Failed to init jmx bean for {} {}", target, operation, t);
+    }
+    return stats;
+  }
+
+  public Map<String, OperationStats> getOperations() {
+    return operations;
+  }
+
+  /** Statistics of the operation */
+  public static class OperationStats implements EasyCrudOperationMXBean {
+    /** Upper bounds of histogram buckets in milliseconds, last bucket is unbounded */
+    protected static final long[] BUCKETS_MILLIS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 5000};
+
+    protected final Map<String, PhaseStats> phases = new ConcurrentHashMap<>();
+    protected final Map<String, LongAdder> rows = new ConcurrentHashMap<>();
+    protected final AtomicLongArray histogram = new AtomicLongArray(BUCKETS_MILLIS.length + 1);
+
+    public void recordLatency(String phase, long nanos) {
+      phases.computeIfAbsent(phase, k -> new PhaseStats()).record(nanos);
+      if (PHASE_TOTAL.equals(phase)) {
+        histogram.incrementAndGet(findBucket(nanos / 1_000_000));
+      }
+    }
+
+    protected int findBucket(long millis) {
+      for (int i = 0; i < BUCKETS_MILLIS.length; i++) {
+        if (millis <= BUCKETS_MILLIS[i]) {
+          return i;
+        }
+      }
+      return BUCKETS_MILLIS.length;
+    }
+
+    public void recordRows(String kind, long count) {
+      rows.computeIfAbsent(kind, k -> new LongAdder()).add(count);
+    }
+
+    @Override
+    public long getCount() {
+      PhaseStats total = phases.get(PHASE_TOTAL);
+      return total == null ? 0 : total.count.sum();
+    }
+
+    @Override
+    public Map<String, Double> getTotalMillisByPhase() {
+      Map<String, Double> ret = new TreeMap<>();
+      phases.forEach((k, v) -> ret.put(k, v.nanos.sum() / 1_000_000d));
+      return ret;
+    }
+
+    @Override
+    public Map<String, Double> getMeanMillisByPhase() {
+      Map<String, Double> ret = new TreeMap<>();
+      phases.forEach(
+          (k, v) -> {
+            long count = v.count.sum();
+            ret.put(k, count == 0 ? 0 : v.nanos.sum() / 1_000_000d / count);
+          });
+      return ret;
+    }
+
+    @Override
+    public Map<String, Double> getMaxMillisByPhase() {
+      Map<String, Double> ret = new TreeMap<>();
+      phases.forEach((k, v) -> ret.put(k, v.maxNanos.get() / 1_000_000d));
+      return ret;
+    }
+
+    @Override
+    public Map<String, Long> getLatencyHistogram() {
+      Map<String, Long> ret = new TreeMap<>();
+      for (int i = 0; i < histogram.length(); i++) {
+        String bucket =
+            i < BUCKETS_MILLIS.length ? String.format("%05d", BUCKETS_MILLIS[i]) : "inf";
+        ret.put(bucket, histogram.get(i));
+      }
+      return ret;
+    }
+
+    @Override
+    public Map<String, Long> getRows() {
+      Map<String, Long> ret = new TreeMap<>();
+      rows.forEach((k, v) -> ret.put(k, v.sum()));
+      return ret;
+    }
+
+    @Override
+    public void reset() {
+      phases.clear();
+      rows.clear();
+      for (int i = 0; i < histogram.length(); i++) {
+        histogram.set(i, 0);
+      }
+    }
+  }
+
+  protected static class PhaseStats {
+    protected final LongAdder count = new LongAdder();
+    protected final LongAdder nanos = new LongAdder();
+    protected final AtomicLong maxNanos = new AtomicLong();
+
+    protected void record(long value) {
+      count.increment();
+      nanos.add(value);
+      maxNanos.accumulateAndGet(value, Math::max);
+    }
+  }
+}
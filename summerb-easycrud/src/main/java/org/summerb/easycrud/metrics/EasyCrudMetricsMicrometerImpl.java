@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.metrics;
+
+import com.google.common.base.Preconditions;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports metrics to Micrometer:
+ *
+ * <ul>
+ *   <li>{@link #METER_LATENCY} timer (with percentile histogram) tagged by service, operation and
+ *       phase
+ *   <li>{@link #METER_ROWS} distribution summary tagged by service, operation and kind
+ * </ul>
+ *
+ * @author sergey.karpushin
+ */
+public class EasyCrudMetricsMicrometerImpl implements EasyCrudMetrics {
+  public static final String METER_LATENCY = "easycrud.operation";
+  public static final String METER_ROWS = "easycrud.rows";
+
+  public static final String TAG_SERVICE = "service";
+  public static final String TAG_OPERATION = "operation";
+  public static final String TAG_PHASE = "phase";
+  public static final String TAG_KIND = "kind";
+
+  protected final MeterRegistry meterRegistry;
+  protected final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  protected final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+  public EasyCrudMetricsMicrometerImpl(MeterRegistry meterRegistry) {
+    Preconditions.checkArgument(meterRegistry != null, "meterRegistry required");
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void recordLatency(String target, String operation, String phase, long nanos) {
+    timers
+        .computeIfAbsent(
+            target + "|" + operation + "|" + phase, k -> buildTimer(target, operation, phase))
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  protected Timer buildTimer(String target, String operation, String phase) {
+    return Timer.builder(METER_LATENCY)
+        .description("Latency of EasyCrud operations broken down by phase")
+        .tag(TAG_SERVICE, target)
+        .tag(TAG_OPERATION, operation)
+        .tag(TAG_PHASE, phase)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void recordRows(String target, String operation, String kind, long rows) {
+    summaries
+        .computeIfAbsent(
+            target + "|" + operation + "|" + kind, k -> buildSummary(target, operation, kind))
+        .record(rows);
+  }
+
+  protected DistributionSummary buildSummary(String target, String operation, String kind) {
+    return DistributionSummary.builder(METER_ROWS)
+        .description("Number of rows returned or affected by EasyCrud operations")
+        .baseUnit("rows")
+        .tag(TAG_SERVICE, target)
+        .tag(TAG_OPERATION, operation)
+        .tag(TAG_KIND, kind)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.metrics;
+
+import java.util.Map;
+
+/**
+ * Statistics of a single operation of a single service, see {@link EasyCrudMetricsJmxImpl}
+ *
+ * @author sergey.karpushin
+ */
+public interface EasyCrudOperationMXBean {
+  long getCount();
+
+  /**
+   * @return total time in milliseconds spent per phase
+   */
+  Map<String, Double> getTotalMillisByPhase();
+
+  /**
+   * @return average time in milliseconds spent per phase
+   */
+  Map<String, Double> getMeanMillisByPhase();
+
+  /**
+   * @return max time in milliseconds spent per phase
+   */
+  Map<String, Double> getMaxMillisByPhase();
+
+  /**
+   * @return histogram of total latency. Key is the upper bound of the bucket in milliseconds, value
+   *     is the number of operations which fall into this bucket
+   */
+  Map<String, Long> getLatencyHistogram();
+
+  /**
+   * @return total number of rows, keyed by kind, see {@link EasyCrudMetrics#ROWS_RETURNED}
+   */
+  Map<String, Long> getRows();
+
+  void reset();
+}
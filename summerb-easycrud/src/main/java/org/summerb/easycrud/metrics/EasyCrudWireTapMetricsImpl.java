@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.metrics;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTap;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTapDelegatingImpl;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTapMode;
+
+/**
+ * Attributes time spent in the wire tap to the phase "wire-tap:&lt;class&gt;" (see {@link
+ * EasyCrudMetrics#PHASE_WIRE_TAP_PREFIX}) of the current operation
+ *
+ * @author sergey.karpushin
+ */
+public class EasyCrudWireTapMetricsImpl<T> implements EasyCrudWireTap<T> {
+  protected final EasyCrudWireTap<T> delegate;
+  protected final String phase;
+
+  public EasyCrudWireTapMetricsImpl(EasyCrudWireTap<T> delegate) {
+    Preconditions.checkArgument(delegate != null, "delegate required");
+    this.delegate = delegate;
+    this.phase = EasyCrudMetrics.PHASE_WIRE_TAP_PREFIX + delegate.getClass().getSimpleName();
+  }
+
+  /**
+   * Instrument wire tap. In case of {@link EasyCrudWireTapDelegatingImpl} each wire tap in the
+   * chain is instrumented individually, so time is reported per wire tap class
+   *
+   * @param wireTap wire tap to instrument
+   * @return instrumented wire tap
+   */
+  public static <T> EasyCrudWireTap<T> wrap(EasyCrudWireTap<T> wireTap) {
+    if (wireTap instanceof EasyCrudWireTapMetricsImpl) {
+      return wireTap;
+    }
+    if (wireTap instanceof EasyCrudWireTapDelegatingImpl<T> delegating) {
+      delegating.setChain(
+          delegating.getChain().stream().map(EasyCrudWireTapMetricsImpl::wrap).toList());
+      return delegating;
+    }
+    return new EasyCrudWireTapMetricsImpl<>(wireTap);
+  }
+
+  @Override
+  public void beforeCreate(T row) {
+    long started = System.nanoTime();
+    try {
+      delegate.beforeCreate(row);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void afterCreate(T row) {
+    long started = System.nanoTime();
+    try {
+      delegate.afterCreate(row);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void beforeCreate(List<T> rows) {
+    long started = System.nanoTime();
+    try {
+      delegate.beforeCreate(rows);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void afterCreate(List<T> rows) {
+    long started = System.nanoTime();
+    try {
+      delegate.afterCreate(rows);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void beforeRead() {
+    long started = System.nanoTime();
+    try {
+      delegate.beforeRead();
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void afterRead(T row) {
+    long started = System.nanoTime();
+    try {
+      delegate.afterRead(row);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void afterRead(List<T> rows) {
+    long started = System.nanoTime();
+    try {
+      delegate.afterRead(rows);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void beforeUpdate(T from, T to) {
+    long started = System.nanoTime();
+    try {
+      delegate.beforeUpdate(from, to);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void afterUpdate(T from, T to) {
+    long started = System.nanoTime();
+    try {
+      delegate.afterUpdate(from, to);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void beforeUpdate(List<T> from, List<T> to) {
+    long started = System.nanoTime();
+    try {
+      delegate.beforeUpdate(from, to);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void afterUpdate(List<T> from, List<T> to) {
+    long started = System.nanoTime();
+    try {
+      delegate.afterUpdate(from, to);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void beforeDelete(T row) {
+    long started = System.nanoTime();
+    try {
+      delegate.beforeDelete(row);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void afterDelete(T row) {
+    long started = System.nanoTime();
+    try {
+      delegate.afterDelete(row);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void beforeDelete(List<T> rows) {
+    long started = System.nanoTime();
+    try {
+      delegate.beforeDelete(rows);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public void afterDelete(List<T> rows) {
+    long started = System.nanoTime();
+    try {
+      delegate.afterDelete(rows);
+    } finally {
+      OperationMetrics.addPhase(phase, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public boolean requiresOnCreate() {
+    return delegate.requiresOnCreate();
+  }
+
+  @Override
+  public boolean requiresOnRead() {
+    return delegate.requiresOnRead();
+  }
+
+  @Override
+  public boolean requiresOnReadMultiple() {
+    return delegate.requiresOnReadMultiple();
+  }
+
+  @Override
+  public EasyCrudWireTapMode requiresOnUpdate() {
+    return delegate.requiresOnUpdate();
+  }
+
+  @Override
+  public EasyCrudWireTapMode requiresOnDelete() {
+    return delegate.requiresOnDelete();
+  }
+
+  @Override
+  public boolean requiresOnDeleteMultiple() {
+    return delegate.requiresOnDeleteMultiple();
+  }
+
+  public EasyCrudWireTap<T> getDelegate() {
+    return delegate;
+  }
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.metrics;
+
+import com.google.common.base.Preconditions;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Metrics of a single operation which is currently being executed by current thread. Decorators
+ * (see {@link SqlBuilderMetricsImpl}, {@link RowMapperMetricsImpl}, {@link RowClonerMetricsImpl},
+ * {@link EasyCrudWireTapMetricsImpl}) attribute time to phases of the current operation using
+ * {@link #addPhase(String, long)}. When operation is finished, time which was not attributed to any
+ * phase is reported as {@link EasyCrudMetrics#PHASE_EXECUTE}.
+ *
+ * <p>Operations might be nested (i.e. when wire tap invokes another service), in which case phases
+ * are attributed to the innermost one.
+ *
+ * @author sergey.karpushin
+ */
+public class OperationMetrics {
+  protected static final ThreadLocal<OperationMetrics> CURRENT = new ThreadLocal<>();
+
+  protected final EasyCrudMetrics metrics;
+  protected final String target;
+  protected final String operation;
+  protected final OperationMetrics parent;
+  protected final long startedAt;
+
+  protected Map<String, Long> phases;
+  protected long rowsReturned = -1;
+  protected long rowsAffected = -1;
+
+  protected OperationMetrics(
+      EasyCrudMetrics metrics, String target, String operation, OperationMetrics parent) {
+    this.metrics = metrics;
+    this.target = target;
+    this.operation = operation;
+    this.parent = parent;
+    this.startedAt = System.nanoTime();
+  }
+
+  /**
+   * Start operation and make it current for this thread
+   *
+   * @param metrics metrics sink, might be null in which case nothing is started
+   * @param target name of the service
+   * @param operation operation name
+   * @return started operation or null if metrics is null. Must be finished using {@link
+   *     #finish(OperationMetrics)}
+   */
+  public static OperationMetrics start(EasyCrudMetrics metrics, String target, String operation) {
+    if (metrics == null) {
+      return null;
+    }
+    Preconditions.checkArgument(target != null, "target required");
+    Preconditions.checkArgument(operation != null, "operation required");
+    OperationMetrics ret = new OperationMetrics(metrics, target, operation, CURRENT.get());
+    CURRENT.set(ret);
+    return ret;
+  }
+
+  public static OperationMetrics current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Attribute time to the phase of the current operation. Does nothing if there is no current
+   * operation
+   */
+  public static void addPhase(String phase, long nanos) {
+    OperationMetrics current = CURRENT.get();
+    if (current != null) {
+      current.phases().merge(phase, nanos, Long::sum);
+    }
+  }
+
+  public static void rowsReturned(OperationMetrics operation, long rows) {
+    if (operation != null) {
+      operation.rowsReturned = rows;
+    }
+  }
+
+  public static void rowsAffected(OperationMetrics operation, long rows) {
+    if (operation != null) {
+      operation.rowsAffected = rows;
+    }
+  }
+
+  /**
+   * Finish operation, report its metrics and restore previous current operation
+   *
+   * @param operation operation to finish, might be null in which case nothing happens
+   */
+  public static void finish(OperationMetrics operation) {
+    if (operation != null) {
+      operation.finish();
+    }
+  }
+
+  protected Map<String, Long> phases() {
+    if (phases == null) {
+      phases = new HashMap<>();
+    }
+    return phases;
+  }
+
+  protected void finish() {
+    long total = System.nanoTime() - startedAt;
+    if (parent == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(parent);
+    }
+
+    long attributed = 0;
+    if (phases != null) {
+      for (Map.Entry<String, Long> entry : phases.entrySet()) {
+        metrics.recordLatency(target, operation, entry.getKey(), entry.getValue());
+        attributed += entry.getValue();
+      }
+    }
+    metrics.recordLatency(
+        target, operation, EasyCrudMetrics.PHASE_EXECUTE, Math.max(0, total - attributed));
+    metrics.recordLatency(target, operation, EasyCrudMetrics.PHASE_TOTAL, total);
+
+    if (rowsReturned >= 0) {
+      metrics.recordRows(target, operation, EasyCrudMetrics.ROWS_RETURNED, rowsReturned);
+    }
+    if (rowsAffected >= 0) {
+      metrics.recordRows(target, operation, EasyCrudMetrics.ROWS_AFFECTED, rowsAffected);
+    }
+  }
+
+  public String getTarget() {
+    return target;
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+}
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.metrics;
+
+import com.google.common.base.Preconditions;
+import org.summerb.easycrud.tools.RowCloner;
+
+/**
+ * Attributes time spent on cloning rows to {@link EasyCrudMetrics#PHASE_CLONE} of the current
+ * operation
+ *
+ * @author sergey.karpushin
+ */
+public class RowClonerMetricsImpl implements RowCloner {
+  protected final RowCloner delegate;
+
+  public RowClonerMetricsImpl(RowCloner delegate) {
+    Preconditions.checkArgument(delegate != null, "delegate required");
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Object clone(Object row) {
+    long started = System.nanoTime();
+    try {
+      return delegate.clone(row);
+    } finally {
+      OperationMetrics.addPhase(EasyCrudMetrics.PHASE_CLONE, System.nanoTime() - started);
+    }
+  }
+
+  public RowCloner getDelegate() {
+    return delegate;
+  }
+}
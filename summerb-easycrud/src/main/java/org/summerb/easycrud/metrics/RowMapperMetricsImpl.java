@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.metrics;
+
+import com.google.common.base.Preconditions;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Attributes time spent on mapping rows to {@link EasyCrudMetrics#PHASE_MAP} of the current
+ * operation
+ *
+ * @author sergey.karpushin
+ */
+public class RowMapperMetricsImpl<T> implements RowMapper<T> {
+  protected final RowMapper<T> delegate;
+
+  public RowMapperMetricsImpl(RowMapper<T> delegate) {
+    Preconditions.checkArgument(delegate != null, "delegate required");
+    this.delegate = delegate;
+  }
+
+  @Override
+  public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+    long started = System.nanoTime();
+    try {
+      return delegate.mapRow(rs, rowNum);
+    } finally {
+      OperationMetrics.addPhase(EasyCrudMetrics.PHASE_MAP, System.nanoTime() - started);
+    }
+  }
+
+  public RowMapper<T> getDelegate() {
+    return delegate;
+  }
+}
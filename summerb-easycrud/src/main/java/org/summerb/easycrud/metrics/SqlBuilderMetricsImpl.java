@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.metrics;
+
+import com.google.common.base.Preconditions;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.summerb.easycrud.join_query.JoinQuery;
+import org.summerb.easycrud.query.OrderBy;
+import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.sql_builder.SqlBuilder;
+import org.summerb.easycrud.sql_builder.impl.ParamIdxIncrementer;
+import org.summerb.easycrud.sql_builder.model.ColumnsSelection;
+import org.summerb.easycrud.sql_builder.model.FromAndWhere;
+import org.summerb.easycrud.sql_builder.model.QueryData;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+
+/**
+ * Attributes time spent on building SQL to {@link EasyCrudMetrics#PHASE_SQL_BUILD} of the current
+ * operation
+ *
+ * @author sergey.karpushin
+ */
+public class SqlBuilderMetricsImpl implements SqlBuilder {
+  protected final SqlBuilder delegate;
+
+  public SqlBuilderMetricsImpl(SqlBuilder delegate) {
+    Preconditions.checkArgument(delegate != null, "delegate required");
+    this.delegate = delegate;
+  }
+
+  protected <T> T measure(Supplier<T> call) {
+    long started = System.nanoTime();
+    try {
+      return call.get();
+    } finally {
+      OperationMetrics.addPhase(EasyCrudMetrics.PHASE_SQL_BUILD, System.nanoTime() - started);
+    }
+  }
+
+  @Override
+  public QueryData findById(String tableName, Object id) {
+    return measure(() -> delegate.findById(tableName, id));
+  }
+
+  @Override
+  public QueryData deleteById(String tableName, Object id) {
+    return measure(() -> delegate.deleteById(tableName, id));
+  }
+
+  @Override
+  public QueryData deleteByIdOptimistic(String tableName, Object id, long modifiedAt) {
+    return measure(() -> delegate.deleteByIdOptimistic(tableName, id, modifiedAt));
+  }
+
+  @Override
+  public QueryData selectSingleRow(String tableName, Query<?, ?> query) {
+    return measure(() -> delegate.selectSingleRow(tableName, query));
+  }
+
+  @Override
+  public QueryData deleteByQuery(String tableName, Query<?, ?> query) {
+    return measure(() -> delegate.deleteByQuery(tableName, query));
+  }
+
+  @Override
+  public QueryData deleteByIdsReturningIds(String tableName, Collection<?> ids) {
+    return measure(() -> delegate.deleteByIdsReturningIds(tableName, ids));
+  }
+
+  @Override
+  public QueryData selectIdsForUpdate(String tableName, Collection<?> ids) {
+    return measure(() -> delegate.selectIdsForUpdate(tableName, ids));
+  }
+
+  @Override
+  public QueryData selectByIdsForUpdate(String tableName, Collection<?> ids) {
+    return measure(() -> delegate.selectByIdsForUpdate(tableName, ids));
+  }
+
+  @Override
+  public QueryData deleteByIds(String tableName, Collection<?> ids) {
+    return measure(() -> delegate.deleteByIds(tableName, ids));
+  }
+
+  @Override
+  public FromAndWhere fromAndWhere(String tableName, Query<?, ?> optionalQuery) {
+    return measure(() -> delegate.fromAndWhere(tableName, optionalQuery));
+  }
+
+  @Override
+  public QueryData countForSimpleSelect(FromAndWhere fromAndWhere) {
+    return measure(() -> delegate.countForSimpleSelect(fromAndWhere));
+  }
+
+  @Override
+  public QueryData select(
+      Class<?> rowClass,
+      FromAndWhere fromAndWhere,
+      Query<?, ?> optionalQuery,
+      PagerParams pagerParams,
+      OrderBy[] orderBy,
+      boolean countQueryWillFollow) {
+    return measure(
+        () ->
+            delegate.select(
+                rowClass, fromAndWhere, optionalQuery, pagerParams, orderBy, countQueryWillFollow));
+  }
+
+  @Override
+  public QueryData queryForCountAfterPagedSelect(FromAndWhere fromAndWhere) {
+    return measure(() -> delegate.queryForCountAfterPagedSelect(fromAndWhere));
+  }
+
+  @Override
+  public QueryData selectWithWindowCount(
+      Class<?> rowClass,
+      FromAndWhere fromAndWhere,
+      Query<?, ?> optionalQuery,
+      PagerParams pagerParams,
+      OrderBy[] orderBy) {
+    return measure(
+        () ->
+            delegate.selectWithWindowCount(
+                rowClass, fromAndWhere, optionalQuery, pagerParams, orderBy));
+  }
+
+  @Override
+  public QueryData approximateCount(FromAndWhere fromAndWhere) {
+    return measure(() -> delegate.approximateCount(fromAndWhere));
+  }
+
+  @Override
+  public ResultSetExtractor<Long> approximateCountExtractor() {
+    return delegate.approximateCountExtractor();
+  }
+
+  @Override
+  public String upsertClause(String idColumn, List<String> updateColumns) {
+    return measure(() -> delegate.upsertClause(idColumn, updateColumns));
+  }
+
+  @Override
+  public String upsertInsertedFlagClause() {
+    return delegate.upsertInsertedFlagClause();
+  }
+
+  @Override
+  public int getMaxInListSize() {
+    return delegate.getMaxInListSize();
+  }
+
+  @Override
+  public void appendFromClause(
+      JoinQuery<?, ?> joinQuery,
+      StringBuilder sql,
+      MapSqlParameterSource params,
+      ParamIdxIncrementer paramIdxIncrementer) {
+    measure(
+        () -> {
+          delegate.appendFromClause(joinQuery, sql, params, paramIdxIncrementer);
+          return null;
+        });
+  }
+
+  @Override
+  public boolean appendFieldConditionsToWhereClause(
+      List<Query<?, ?>> queries,
+      StringBuilder sql,
+      MapSqlParameterSource params,
+      ParamIdxIncrementer paramIdxIncrementer) {
+    return measure(
+        () ->
+            delegate.appendFieldConditionsToWhereClause(queries, sql, params, paramIdxIncrementer));
+  }
+
+  @Override
+  public void appendOrderBy(
+      OrderBy[] orderBy,
+      JoinQuery<?, ?> joinQuery,
+      List<ColumnsSelection> columnSelections,
+      StringBuilder sql) {
+    measure(
+        () -> {
+          delegate.appendOrderBy(orderBy, joinQuery, columnSelections, sql);
+          return null;
+        });
+  }
+
+  @Override
+  public QueryData countForJoinedQuery(FromAndWhere fromAndWhere, JoinQuery<?, ?> joinQuery) {
+    return measure(() -> delegate.countForJoinedQuery(fromAndWhere, joinQuery));
+  }
+
+  @Override
+  public FromAndWhere fromAndWhere(JoinQuery<?, ?> joinQuery) {
+    return measure(() -> delegate.fromAndWhere(joinQuery));
+  }
+
+  @Override
+  public QueryData joinedSelect(
+      JoinQuery<?, ?> joinQuery,
+      List<Query<?, ?>> queries,
+      PagerParams pagerParams,
+      OrderBy[] orderBy,
+      FromAndWhere fromAndWhere) {
+    return measure(
+        () -> delegate.joinedSelect(joinQuery, queries, pagerParams, orderBy, fromAndWhere));
+  }
+
+  public SqlBuilder getDelegate() {
+    return delegate;
+  }
+}
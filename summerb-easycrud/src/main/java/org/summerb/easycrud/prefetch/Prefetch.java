@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.prefetch;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.EasyCrudServiceResolver;
+import org.summerb.easycrud.join_query.JoinQuery;
+import org.summerb.easycrud.join_query.JoinedSelect;
+import org.summerb.easycrud.join_query.model.JoinedRow;
+import org.summerb.easycrud.query.OrderBy;
+import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+import org.summerb.utils.easycrud.api.dto.PaginatedList;
+
+/**
+ * Loads rows along with rows they reference (many-to-one relations), so that there is no need to
+ * write glue code like {@code usersService.getMapByIds(rows, Row::getAuthorId)} by hand.
+ *
+ * <p>By default, main rows are loaded first, then one IN query is executed per relation ({@link
+ * EasyCrudService#getMapByIds(java.util.Collection)}), so wire taps of referenced services are
+ * applied as usual. If main rows are selected using plain {@link Query}, then {@link #usingJoin()}
+ * can be used to load everything in a single round trip using {@link JoinQuery} with LEFT JOIN per
+ * relation.
+ *
+ * <p>Instances are obtained via {@link Query#prefetch(Function, EasyCrudService)} or {@link
+ * org.summerb.easycrud.join_query.Select#prefetch(Function, EasyCrudService)} and similar methods.
+ *
+ * @author sergey.karpushin
+ * @param <TId> type of id of the main row
+ * @param <TRow> type of the main row
+ */
+public class Prefetch<TId extends Comparable<TId>, TRow extends HasId<TId>> {
+  protected record Relation<TRow>(
+      String fkFieldName, Function<TRow, ?> fkGetter, EasyCrudService<?, ?> target) {}
+
+  protected record JoinPlan(JoinedSelect select, Map<String, Query<?, ?>> relationQueries) {}
+
+  protected final EasyCrudService<TId, TRow> service;
+  protected final EasyCrudServiceResolver serviceResolver;
+  protected final PrefetchSource<TRow> source;
+  protected final List<Relation<TRow>> relations = new ArrayList<>();
+  protected boolean usingJoin;
+
+  /**
+   * @param service service of the main rows
+   * @param serviceResolver optional, needed only to resolve target services by row class
+   * @param source source of the main rows
+   */
+  public Prefetch(
+      EasyCrudService<TId, TRow> service,
+      EasyCrudServiceResolver serviceResolver,
+      PrefetchSource<TRow> source) {
+    Preconditions.checkArgument(service != null, "service required");
+    Preconditions.checkArgument(source != null, "source required");
+    this.service = service;
+    this.serviceResolver = serviceResolver;
+    this.source = source;
+  }
+
+  /**
+   * Declare relation to prefetch
+   *
+   * @param fkGetter getter of the foreign key field of the main row
+   * @param target service of the referenced rows
+   * @return self
+   */
+  public <TRefId extends Comparable<TRefId>, TRef extends HasId<TRefId>>
+      Prefetch<TId, TRow> prefetch(
+          Function<TRow, TRefId> fkGetter, EasyCrudService<TRefId, TRef> target) {
+    Preconditions.checkArgument(fkGetter != null, "fkGetter required");
+    Preconditions.checkArgument(target != null, "target required");
+    String fkFieldName = service.name(fkGetter);
+    Preconditions.checkArgument(
+        relations.stream().noneMatch(x -> x.fkFieldName().equals(fkFieldName)),
+        "Relation %s is already declared",
+        fkFieldName);
+    relations.add(new Relation<>(fkFieldName, fkGetter, target));
+    return this;
+  }
+
+  /**
+   * Declare relation to prefetch. Target service is resolved using {@link EasyCrudServiceResolver}
+   *
+   * @param fkGetter getter of the foreign key field of the main row
+   * @param targetRowClass class of the referenced rows
+   * @return self
+   */
+  @SuppressWarnings("unchecked")
+  public <TRefId extends Comparable<TRefId>, TRef extends HasId<TRefId>>
+      Prefetch<TId, TRow> prefetch(Function<TRow, TRefId> fkGetter, Class<TRef> targetRowClass) {
+    Preconditions.checkArgument(targetRowClass != null, "targetRowClass required");
+    Preconditions.checkState(
+        serviceResolver != null, "EasyCrudServiceResolver is required to resolve target service");
+    return prefetch(fkGetter, serviceResolver.resolveByRowClass(targetRowClass));
+  }
+
+  /**
+   * Load main rows and referenced rows using single query with LEFT JOIN per relation. Only
+   * applicable when main rows are selected using {@link Query}
+   *
+   * @return self
+   */
+  public Prefetch<TId, TRow> usingJoin() {
+    Preconditions.checkState(
+        source instanceof Query, "Join can be used only when main rows are selected using Query");
+    usingJoin = true;
+    return this;
+  }
+
+  public PaginatedList<PrefetchedRow<TId, TRow>> find(PagerParams pagerParams, OrderBy... orderBy) {
+    Preconditions.checkArgument(pagerParams != null, "pagerParams required");
+    if (usingJoin) {
+      JoinPlan joinPlan = buildJoinPlan();
+      PaginatedList<JoinedRow> joined = joinPlan.select().find(pagerParams, orderBy);
+      return new PaginatedList<>(
+          pagerParams, fromJoined(joinPlan, joined.getItems()), joined.getTotalResults());
+    }
+
+    PaginatedList<TRow> rows = source.find(pagerParams, orderBy);
+    return new PaginatedList<>(pagerParams, attach(rows.getItems()), rows.getTotalResults());
+  }
+
+  public List<PrefetchedRow<TId, TRow>> findPage(PagerParams pagerParams, OrderBy... orderBy) {
+    Preconditions.checkArgument(pagerParams != null, "pagerParams required");
+    if (usingJoin) {
+      JoinPlan joinPlan = buildJoinPlan();
+      return fromJoined(joinPlan, joinPlan.select().findPage(pagerParams, orderBy));
+    }
+    return attach(source.findPage(pagerParams, orderBy));
+  }
+
+  public List<PrefetchedRow<TId, TRow>> findAll(OrderBy... orderBy) {
+    return findPage(PagerParams.ALL, orderBy);
+  }
+
+  /**
+   * Load referenced rows using one IN query per relation and attach them to the given rows
+   *
+   * @param rows main rows
+   * @return rows with references attached, in the same order
+   */
+  protected List<PrefetchedRow<TId, TRow>> attach(List<TRow> rows) {
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+
+    Map<String, Map<?, ?>> referencedByFkFieldName = new HashMap<>();
+    for (Relation<TRow> relation : relations) {
+      referencedByFkFieldName.put(relation.fkFieldName(), loadReferenced(relation, rows));
+    }
+
+    List<PrefetchedRow<TId, TRow>> ret = new ArrayList<>(rows.size());
+    for (TRow row : rows) {
+      Map<String, HasId<?>> references = new HashMap<>();
+      for (Relation<TRow> relation : relations) {
+        Object fk = relation.fkGetter().apply(row);
+        Map<?, ?> referenced = referencedByFkFieldName.get(relation.fkFieldName());
+        references.put(relation.fkFieldName(), fk == null ? null : (HasId<?>) referenced.get(fk));
+      }
+      ret.add(new PrefetchedRow<>(row, references, service.getNameResolver()));
+    }
+    return ret;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  protected Map<?, ?> loadReferenced(Relation<TRow> relation, List<TRow> rows) {
+    List<?> ids =
+        rows.stream().map(relation.fkGetter()).filter(Objects::nonNull).distinct().toList();
+    if (ids.isEmpty()) {
+      return Map.of();
+    }
+    return ((EasyCrudService) relation.target()).getMapByIds(ids);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  protected JoinPlan buildJoinPlan() {
+    Preconditions.checkState(!relations.isEmpty(), "At least one relation must be declared");
+    Query<TId, TRow> query = (Query<TId, TRow>) source;
+    JoinQuery<TId, TRow> joinQuery = query.getService().buildJoinQuery(query);
+    Map<String, Query<?, ?>> relationQueries = new HashMap<>();
+    for (Relation<TRow> relation : relations) {
+      Query relationQuery = buildRelationQuery(relation);
+      joinQuery.leftJoin(relationQuery, (Function) relation.fkGetter());
+      relationQueries.put(relation.fkFieldName(), relationQuery);
+    }
+    return new JoinPlan(joinQuery.selectAll(), relationQueries);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  protected Query<?, ?> buildRelationQuery(Relation<TRow> relation) {
+    // NOTE: alias is needed because same table might be referenced by several relations
+    return new Query(relation.target(), relation.fkFieldName());
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  protected List<PrefetchedRow<TId, TRow>> fromJoined(
+      JoinPlan joinPlan, List<JoinedRow> joinedRows) {
+    Query<TId, TRow> query = (Query<TId, TRow>) source;
+    List<PrefetchedRow<TId, TRow>> ret = new ArrayList<>(joinedRows.size());
+    for (JoinedRow joinedRow : joinedRows) {
+      Map<String, HasId<?>> references = new HashMap<>();
+      for (Map.Entry<String, Query<?, ?>> entry : joinPlan.relationQueries().entrySet()) {
+        references.put(entry.getKey(), (HasId<?>) joinedRow.get((Query) entry.getValue()));
+      }
+      ret.add(new PrefetchedRow<>(joinedRow.get(query), references, service.getNameResolver()));
+    }
+    return ret;
+  }
+}
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.prefetch;
+
+import java.util.List;
+import org.summerb.easycrud.query.OrderBy;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+import org.summerb.utils.easycrud.api.dto.PaginatedList;
+
+/**
+ * Source of the main rows for the {@link Prefetch}. Implemented by {@link
+ * org.summerb.easycrud.query.Query} and {@link org.summerb.easycrud.join_query.Select}
+ *
+ * @param <TRow> type of row
+ */
+public interface PrefetchSource<TRow> {
+  PaginatedList<TRow> find(PagerParams pagerParams, OrderBy... orderBy);
+
+  List<TRow> findPage(PagerParams pagerParams, OrderBy... orderBy);
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.prefetch;
+
+import com.google.common.base.Preconditions;
+import java.util.Map;
+import java.util.function.Function;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.methodCapturers.PropertyNameResolver;
+
+/**
+ * Row along with rows it references, as loaded by {@link Prefetch}. Referenced rows are keyed by
+ * the name of the foreign key field of the main row.
+ *
+ * @author sergey.karpushin
+ * @param <TId> type of id of the main row
+ * @param <TRow> type of the main row
+ */
+public class PrefetchedRow<TId extends Comparable<TId>, TRow extends HasId<TId>> {
+  protected final TRow row;
+  protected final Map<String, HasId<?>> references;
+  protected final PropertyNameResolver<TRow> nameResolver;
+
+  public PrefetchedRow(
+      TRow row, Map<String, HasId<?>> references, PropertyNameResolver<TRow> nameResolver) {
+    Preconditions.checkArgument(row != null, "row required");
+    Preconditions.checkArgument(references != null, "references required");
+    this.row = row;
+    this.references = references;
+    this.nameResolver = nameResolver;
+  }
+
+  public TRow getRow() {
+    return row;
+  }
+
+  /**
+   * @param fkGetter getter of the foreign key field, same as was used to declare prefetch
+   * @return referenced row or null if foreign key is null or referenced row was not found
+   * @param <TRef> type of the referenced row
+   * @throws IllegalArgumentException if such relation was not prefetched
+   */
+  public <TRef extends HasId<?>> TRef get(Function<TRow, ?> fkGetter) {
+    Preconditions.checkState(nameResolver != null, "nameResolver is required for this method");
+    return get(nameResolver.resolve(fkGetter));
+  }
+
+  /**
+   * @param fkFieldName name of the foreign key field, same as was used to declare prefetch
+   * @return referenced row or null if foreign key is null or referenced row was not found
+   * @param <TRef> type of the referenced row
+   * @throws IllegalArgumentException if such relation was not prefetched
+   */
+  @SuppressWarnings("unchecked")
+  public <TRef extends HasId<?>> TRef get(String fkFieldName) {
+    Preconditions.checkArgument(
+        references.containsKey(fkFieldName), "Relation %s was not prefetched", fkFieldName);
+    return (TRef) references.get(fkFieldName);
+  }
+
+  public Map<String, HasId<?>> getReferences() {
+    return references;
+  }
+
+  @Override
+  public String toString() {
+    return "PrefetchedRow{row=" + row + ", references=" + references + "}";
+  }
+}
@@ -16,6 +16,8 @@
 package org.summerb.easycrud.query;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.summerb.easycrud.EasyCrudService;
 import org.summerb.easycrud.exceptions.EntityNotFoundException;
 import org.summerb.easycrud.row.HasId;
@@ -100,4 +102,31 @@ public interface EasyCrudServiceQueryApi<TId extends Comparable<TId>, TRow exten
    *     nothing found
    */
   List<TRow> getAll(Query<TId, TRow> optionalQuery, OrderBy... orderBy);
+
+  /**
+   * Stream all rows matching query without materializing them all in memory at once. Rows are read
+   * using forward-only cursor and wire taps are applied in chunks.
+   *
+   * <p>Returned stream holds JDBC connection and MUST be closed after use (i.e. use
+   * try-with-resources). Some databases (i.e. Postgres) will only use cursor if stream is consumed
+   * within transaction, consider using {@link #forEach(Query, Consumer, OrderBy...)} which takes
+   * care of both
+   *
+   * @param optionalQuery optional {@link Query}. If null, then all rows will be streamed
+   * @param orderBy optional orderBy, might be missing/null
+   * @return stream of rows, might be empty, but never null
+   * @throws NotAuthorizedException if user is not authorized to perform this operation
+   */
+  Stream<TRow> stream(Query<TId, TRow> optionalQuery, OrderBy... orderBy);
+
+  /**
+   * Same as {@link #stream(Query, OrderBy...)}, but stream is consumed within transaction and
+   * closed automatically
+   *
+   * @param optionalQuery optional {@link Query}. If null, then all rows will be processed
+   * @param consumer consumer which will be invoked for each row
+   * @param orderBy optional orderBy, might be missing/null
+   * @throws NotAuthorizedException if user is not authorized to perform this operation
+   */
+  void forEach(Query<TId, TRow> optionalQuery, Consumer<TRow> consumer, OrderBy... orderBy);
 }
@@ -8,11 +8,15 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.summerb.easycrud.EasyCrudService;
 import org.summerb.easycrud.join_query.JoinQuery;
+import org.summerb.easycrud.prefetch.Prefetch;
+import org.summerb.easycrud.prefetch.PrefetchSource;
 import org.summerb.easycrud.query.restrictions.Between;
 import org.summerb.easycrud.query.restrictions.Empty;
 import org.summerb.easycrud.query.restrictions.Equals;
@@ -48,7 +52,8 @@ import org.summerb.utils.easycrud.api.dto.PaginatedList;
  * @author Sergey Karpushin
  * @param <TRow> type of Row for which this query is being built
  */
-public class Query<TId extends Comparable<TId>, TRow extends HasId<TId>> {
+public class Query<TId extends Comparable<TId>, TRow extends HasId<TId>>
+    implements PrefetchSource<TRow> {
   protected final EasyCrudService<TId, TRow> service;
 
   /**
@@ -95,10 +100,12 @@ public class Query<TId extends Comparable<TId>, TRow extends HasId<TId>> {
     return service.findFirstByQuery(this, orderBy);
   }
 
+  @Override
   public PaginatedList<TRow> find(PagerParams pagerParams, OrderBy... orderBy) {
     return service.find(pagerParams, this, orderBy);
   }
 
+  @Override
   public List<TRow> findPage(PagerParams pagerParams, OrderBy... orderBy) {
     return service.findPage(pagerParams, this, orderBy);
   }
@@ -111,6 +118,18 @@ public class Query<TId extends Comparable<TId>, TRow extends HasId<TId>> {
     return service.getAll(this, orderBy);
   }
 
+  /**
+   * Stream rows matching this query. Returned stream MUST be closed after use. See {@link
+   * EasyCrudService#stream(Query, OrderBy...)} for details
+   */
+  public Stream<TRow> stream(OrderBy... orderBy) {
+    return service.stream(this, orderBy);
+  }
+
+  public void forEach(Consumer<TRow> consumer, OrderBy... orderBy) {
+    service.forEach(this, consumer, orderBy);
+  }
+
   public List<Condition> getConditions() {
     return conditions;
   }
@@ -638,6 +657,29 @@ public class Query<TId extends Comparable<TId>, TRow extends HasId<TId>> {
     return service.buildJoinQuery(this);
   }
 
+  /**
+   * Declare many-to-one relation to be loaded along with rows selected by this query. Referenced
+   * rows are loaded using one IN query per relation (see {@link Prefetch} for details)
+   *
+   * @param fkGetter getter of the foreign key field
+   * @param target service of the referenced rows
+   * @return prefetch API, use it to declare more relations and then retrieve data
+   */
+  public <TRefId extends Comparable<TRefId>, TRef extends HasId<TRefId>>
+      Prefetch<TId, TRow> prefetch(
+          Function<TRow, TRefId> fkGetter, EasyCrudService<TRefId, TRef> target) {
+    return service.buildPrefetch(this).prefetch(fkGetter, target);
+  }
+
+  /**
+   * Same as {@link #prefetch(Function, EasyCrudService)}, but target service is resolved by row
+   * class using {@link org.summerb.easycrud.EasyCrudServiceResolver}
+   */
+  public <TRefId extends Comparable<TRefId>, TRef extends HasId<TRefId>>
+      Prefetch<TId, TRow> prefetch(Function<TRow, TRefId> fkGetter, Class<TRef> targetRowClass) {
+    return service.buildPrefetch(this).prefetch(fkGetter, targetRowClass);
+  }
+
   /**
    * @return OrderByBuilder instance for ordering by columns, represented by this query. You must
    *     use this way of constructing {@link OrderBy} when sorting data retrieved by {@link
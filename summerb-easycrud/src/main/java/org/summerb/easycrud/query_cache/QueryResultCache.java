@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.query_cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.summerb.utils.easycrud.api.dto.PaginatedList;
+import org.summerb.utils.jmx.GuavaPlainCacheMXBeanImpl;
+
+/**
+ * Cache of query results (i.e. results of find, findAll, count) for rarely-changing tables. It is
+ * supposed to be a single bean shared by all services which opted in, see {@link
+ * org.summerb.easycrud.impl.EasyCrudServiceImpl#setQueryResultCache(QueryResultCache)}.
+ *
+ * <p>Each table has a version counter which is a part of the cache key. Service bumps it whenever
+ * it changes the table, so all previously cached results of that table become unreachable at once
+ * (and eventually evicted). Version is bumped both immediately and after transaction completion, so
+ * that results read by concurrent transactions before commit are not reused afterward.
+ *
+ * <p>NOTE: Only changes made through the services are tracked. Changes made directly in the DB or
+ * by other nodes of the cluster are not visible to this cache, that's what {@link #getTtl()} is for
+ *
+ * <p>Size of the cache is limited by total number of rows in cached results (all tables combined),
+ * so that few big results can't take as much memory as lots of small ones. Count results weigh as a
+ * single row.
+ *
+ * <p>Hit/miss statistics are exposed via JMX, see {@link GuavaPlainCacheMXBeanImpl}
+ *
+ * @author sergey.karpushin
+ */
+public class QueryResultCache {
+  public static final long DEFAULT_MAXIMUM_ROWS = 100_000;
+  public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+  protected final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+  protected final Duration ttl;
+  protected final Cache<String, Object> cache;
+
+  public QueryResultCache() {
+    this(DEFAULT_MAXIMUM_ROWS, DEFAULT_TTL);
+  }
+
+  /**
+   * @param maximumRows max total number of rows in cached results (all tables combined)
+   * @param ttl max time to keep result in cache
+   */
+  public QueryResultCache(long maximumRows, Duration ttl) {
+    Preconditions.checkArgument(maximumRows > 0, "maximumRows must be positive");
+    Preconditions.checkArgument(ttl != null && !ttl.isNegative(), "ttl required");
+    this.ttl = ttl;
+    cache =
+        new GuavaPlainCacheMXBeanImpl<>(
+            "EasyCrudQueryResults",
+            CacheBuilder.newBuilder()
+                .maximumWeight(maximumRows)
+                .weigher(QueryResultCache::weigh)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+  }
+
+  /**
+   * @return number of rows in the result, but at least 1
+   */
+  protected static int weigh(String key, Object value) {
+    if (value instanceof Collection<?> rows) {
+      return Math.max(1, rows.size());
+    }
+    if (value instanceof PaginatedList<?> page && page.getItems() != null) {
+      return Math.max(1, page.getItems().size());
+    }
+    return 1;
+  }
+
+  /**
+   * @return true if cache can be used in current context. Inside read-write transaction results
+   *     might depend on uncommitted changes, so cache is bypassed
+   */
+  public boolean isApplicable() {
+    return !TransactionSynchronizationManager.isActualTransactionActive()
+        || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+  }
+
+  /**
+   * @param tableName table name
+   * @param fingerprint canonical representation of the query, see {@link
+   *     org.summerb.easycrud.impl.EasyCrudServiceImpl#buildQueryFingerprint}
+   * @return key which includes current version of the table
+   */
+  public String buildKey(String tableName, String fingerprint) {
+    return tableName + "#" + getTableVersion(tableName) + "#" + fingerprint;
+  }
+
+  public long getTableVersion(String tableName) {
+    return tableVersions.computeIfAbsent(tableName, x -> new AtomicLong()).get();
+  }
+
+  /**
+   * Invalidate all cached results of the table
+   *
+   * @param tableName table name
+   */
+  public void onTableChanged(String tableName) {
+    AtomicLong version = tableVersions.computeIfAbsent(tableName, x -> new AtomicLong());
+    version.incrementAndGet();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              version.incrementAndGet();
+            }
+          });
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T get(String key) {
+    return (T) cache.getIfPresent(key);
+  }
+
+  public void put(String key, Object value) {
+    cache.put(key, value);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public Duration getTtl() {
+    return ttl;
+  }
+}
@@ -15,6 +15,7 @@
  ******************************************************************************/
 package org.summerb.easycrud.relations;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -51,4 +52,31 @@ public interface EasyCrudM2mService<
   ManyToManyRow<T1Id, T2Id> addReferencee(T1Id referencerId, T2Id referenceeId);
 
   void removeReferencee(T1Id referencerId, T2Id referenceeId);
+
+  /**
+   * Add several references at once using JDBC batch
+   *
+   * @param referencerId referencer id
+   * @param referenceeIds ids of referencees to add, duplicates are ignored
+   * @return created m2m pairs
+   */
+  List<ManyToManyRow<T1Id, T2Id>> addReferencees(T1Id referencerId, Collection<T2Id> referenceeIds);
+
+  /**
+   * Remove several references at once using single statement
+   *
+   * @param referencerId referencer id
+   * @param referenceeIds ids of referencees to remove
+   * @return number of removed m2m pairs
+   */
+  int removeReferencees(T1Id referencerId, Collection<T2Id> referenceeIds);
+
+  /**
+   * Make referencer reference exactly given set of referencees. Only the difference between current
+   * and desired state is applied, pairs that stay the same are not touched
+   *
+   * @param referencerId referencer id
+   * @param referenceeIds ids of referencees that referencer must reference
+   */
+  void replaceReferencees(T1Id referencerId, Set<T2Id> referenceeIds);
 }
@@ -19,9 +19,11 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,6 +31,10 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.summerb.easycrud.EasyCrudService;
 import org.summerb.easycrud.impl.EasyCrudServiceImpl;
+import org.summerb.easycrud.join_query.JoinQuery;
+import org.summerb.easycrud.join_query.JoinQueryFactory;
+import org.summerb.easycrud.join_query.model.JoinedRow;
+import org.summerb.easycrud.query.Query;
 import org.summerb.easycrud.row.HasId;
 import org.summerb.easycrud.tools.EasyCrudDtoUtils;
 import org.summerb.security.api.exceptions.NotAuthorizedException;
@@ -40,9 +46,10 @@ import org.summerb.security.api.exceptions.NotAuthorizedException;
  * <p>IMPORTANT: By default this impl will auto generate entity type message code based on
  * referencer and referencee, like referencer.to.referencee.
  *
- * <p>IMPORTANT: Queries will result in 2 round trips to the server (find ids, retrieve rows) which
- * is not perfect in terms of the performance. In case it's critical consider using your own DAO
- * implementation that can make use of joins -OR- consider caching options.
+ * <p>Referencees are retrieved using single {@link JoinQuery} (m2m table joined with referencee
+ * table), so wire taps of both this service and referencee service are applied. If {@link
+ * JoinQueryFactory} is not available, queries will result in 2 round trips to the server (find ids,
+ * retrieve rows).
  *
  * <p>NOTE: Proposed authorization approach is to re-use (with wrapper {@link
  * M2mAuthorizationWireTapImpl}) referencer's authorization. All reads of m2m are considered as
@@ -63,6 +70,9 @@ public class EasyCrudM2mServiceImpl<
         Long, ManyToManyRow<T1Id, T2Id>, EasyCrudM2MDaoSqlImpl<T1Id, T1Dto, T2Id, T2Dto>>
     implements EasyCrudM2mService<T1Id, T1Dto, T2Id, T2Dto> {
 
+  protected record PairWithReferencee<T1Id, T2Id, T2Dto>(
+      ManyToManyRow<T1Id, T2Id> pair, T2Dto referencee) {}
+
   protected EasyCrudService<T1Id, T1Dto> serviceA;
   protected EasyCrudService<T2Id, T2Dto> serviceB;
 
@@ -98,6 +108,12 @@ public class EasyCrudM2mServiceImpl<
   public List<T2Dto> findReferenceeByReferencer(T1Id referencerId) {
     try {
       Preconditions.checkArgument(referencerId != null, "referencerId is required");
+      if (joinQueryFactory != null) {
+        return findReferenceeJoined(query().eq(ManyToManyRow.FN_SRC, referencerId)).stream()
+            .map(PairWithReferencee::referencee)
+            .toList();
+      }
+
       List<ManyToManyRow<T1Id, T2Id>> m2mPairs =
           query().eq(ManyToManyRow.FN_SRC, referencerId).findAll();
       if (m2mPairs.isEmpty()) {
@@ -116,6 +132,26 @@ public class EasyCrudM2mServiceImpl<
     }
   }
 
+  /**
+   * Find referencees along with m2m pairs using single query
+   *
+   * @param pairsQuery query for m2m pairs
+   * @return m2m pairs along with referencees
+   */
+  protected List<PairWithReferencee<T1Id, T2Id, T2Dto>> findReferenceeJoined(
+      Query<Long, ManyToManyRow<T1Id, T2Id>> pairsQuery) {
+    Query<T2Id, T2Dto> referenceeQuery = serviceB.query();
+    List<JoinedRow> rows =
+        joinQueryFactory
+            .build(pairsQuery)
+            .join(referenceeQuery, ManyToManyRow::getDst)
+            .select(pairsQuery, referenceeQuery)
+            .findAll();
+    return rows.stream()
+        .map(x -> new PairWithReferencee<>(x.get(pairsQuery), x.get(referenceeQuery)))
+        .toList();
+  }
+
   protected Set<T2Id> collectReferenceeIds(List<ManyToManyRow<T1Id, T2Id>> m2mPairs) {
     Set<T2Id> ret = new HashSet<>();
     for (ManyToManyRow<T1Id, T2Id> pair : m2mPairs) {
@@ -129,6 +165,15 @@ public class EasyCrudM2mServiceImpl<
     try {
       Preconditions.checkArgument(
           !CollectionUtils.isEmpty(referencerIds), "referencerId is required");
+      if (joinQueryFactory != null) {
+        Map<T1Id, List<T2Dto>> ret = new HashMap<>();
+        for (PairWithReferencee<T1Id, T2Id, T2Dto> row :
+            findReferenceeJoined(query().in(ManyToManyRow.FN_SRC, referencerIds))) {
+          ret.computeIfAbsent(row.pair().getSrc(), k -> new ArrayList<>()).add(row.referencee());
+        }
+        return ret;
+      }
+
       List<ManyToManyRow<T1Id, T2Id>> m2mPairs =
           query().in(ManyToManyRow.FN_SRC, referencerIds).findAll();
       if (m2mPairs.isEmpty()) {
@@ -187,14 +232,8 @@ public class EasyCrudM2mServiceImpl<
   @Transactional
   public void removeReferencee(T1Id referencerId, T2Id referenceeId) throws NotAuthorizedException {
     try {
-      ManyToManyRow<T1Id, T2Id> pair =
-          query()
-              .eq(ManyToManyRow::getSrc, referencerId)
-              .eq(ManyToManyRow::getDst, referenceeId)
-              .findOne();
-      if (pair != null) {
-        deleteById(pair.getId());
-      }
+      deleteByQuery(
+          query().eq(ManyToManyRow::getSrc, referencerId).eq(ManyToManyRow::getDst, referenceeId));
     } catch (Throwable t) {
       Throwables.throwIfInstanceOf(t, NotAuthorizedException.class);
       throw new RuntimeException(
@@ -209,4 +248,78 @@ public class EasyCrudM2mServiceImpl<
           t);
     }
   }
+
+  @Override
+  @Transactional
+  public List<ManyToManyRow<T1Id, T2Id>> addReferencees(
+      T1Id referencerId, Collection<T2Id> referenceeIds) {
+    try {
+      Preconditions.checkArgument(referencerId != null, "referencerId is required");
+      Preconditions.checkArgument(referenceeIds != null, "referenceeIds is required");
+      List<ManyToManyRow<T1Id, T2Id>> pairs = new ArrayList<>(referenceeIds.size());
+      for (T2Id referenceeId : new LinkedHashSet<>(referenceeIds)) {
+        ManyToManyRow<T1Id, T2Id> pair = new ManyToManyRow<>();
+        pair.setSrc(referencerId);
+        pair.setDst(referenceeId);
+        pairs.add(pair);
+      }
+      return createAll(pairs);
+    } catch (Throwable t) {
+      Throwables.throwIfInstanceOf(t, NotAuthorizedException.class);
+      throw new RuntimeException(
+          "Failed to add references from "
+              + serviceA.getRowMessageCode()
+              + " identified by "
+              + referencerId
+              + " to "
+              + serviceB.getRowMessageCode()
+              + " identified by "
+              + referenceeIds,
+          t);
+    }
+  }
+
+  @Override
+  @Transactional
+  public int removeReferencees(T1Id referencerId, Collection<T2Id> referenceeIds) {
+    try {
+      Preconditions.checkArgument(referencerId != null, "referencerId is required");
+      Preconditions.checkArgument(referenceeIds != null, "referenceeIds is required");
+      return deleteByQuery(
+          query().eq(ManyToManyRow::getSrc, referencerId).in(ManyToManyRow::getDst, referenceeIds));
+    } catch (Throwable t) {
+      Throwables.throwIfInstanceOf(t, NotAuthorizedException.class);
+      throw new RuntimeException(
+          "Failed to remove references from "
+              + serviceA.getRowMessageCode()
+              + " identified by "
+              + referencerId
+              + " to "
+              + serviceB.getRowMessageCode()
+              + " identified by "
+              + referenceeIds,
+          t);
+    }
+  }
+
+  @Override
+  @Transactional
+  public void replaceReferencees(T1Id referencerId, Set<T2Id> referenceeIds) {
+    Preconditions.checkArgument(referencerId != null, "referencerId is required");
+    Preconditions.checkArgument(referenceeIds != null, "referenceeIds is required");
+
+    Set<T2Id> existing =
+        collectReferenceeIds(query().eq(ManyToManyRow::getSrc, referencerId).findAll());
+
+    Set<T2Id> toRemove = new HashSet<>(existing);
+    toRemove.removeAll(referenceeIds);
+    if (!toRemove.isEmpty()) {
+      removeReferencees(referencerId, toRemove);
+    }
+
+    List<T2Id> toAdd = referenceeIds.stream().filter(x -> !existing.contains(x)).toList();
+    if (!toAdd.isEmpty()) {
+      addReferencees(referencerId, toAdd);
+    }
+  }
 }
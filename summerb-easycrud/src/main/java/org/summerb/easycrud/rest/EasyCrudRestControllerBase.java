@@ -52,6 +52,7 @@ import org.summerb.easycrud.row.HasId;
 import org.summerb.easycrud.wireTaps.EasyCrudWireTap;
 import org.summerb.easycrud.wireTaps.EasyCrudWireTapDelegatingImpl;
 import org.summerb.security.api.exceptions.NotAuthorizedException;
+import org.summerb.utils.easycrud.api.dto.KeysetPagerParams;
 import org.summerb.utils.easycrud.api.dto.PagerParams;
 import org.summerb.utils.easycrud.api.dto.PaginatedList;
 
@@ -164,7 +165,43 @@ public class EasyCrudRestControllerBase<
 
     OrderBy[] orderBy = clarifyOrderBy(optionalOrderBy);
     PagerParams pagerParams = clarifyPagerParams(optionalPagerParams);
+    return getListResult(orderBy, pagerParams, needPerms, pathVariables);
+  }
+
+  /**
+   * Same as {@link #getList(PagerParams, OrderBy, boolean, List, PathVariablesMap)}, but uses
+   * keyset pagination. It's mapped to requests which have "cursor" parameter (empty value means
+   * first page), offset of pagerParams is ignored. Response contains nextPageCursor which must be
+   * used to request next page (along with the same orderBy).
+   *
+   * @param optionalPagerParams pagerParams, only max is used
+   * @param cursor cursor for keyset pagination
+   * @param optionalOrderBy orderBy, might be empty
+   * @param needPerms provide true if needed to know permissions
+   * @param referencesToResolve references to resolve
+   * @param pathVariables path variables
+   * @return list of items
+   */
+  @GetMapping(params = "cursor")
+  public MultipleItemsResult<TId, TRow> getListByCursor(
+      @RequestParam(value = "pagerParams", required = false) PagerParams optionalPagerParams,
+      @RequestParam(value = "cursor") String cursor,
+      @RequestParam(value = "orderBy", required = false) OrderBy optionalOrderBy,
+      @RequestParam(value = "needPerms", required = false) boolean needPerms,
+      @RequestParam(value = "referencesToResolve", required = false)
+          List<String> referencesToResolve,
+      @Parameter(hidden = true) PathVariablesMap pathVariables) {
 
+    OrderBy[] orderBy = clarifyOrderBy(optionalOrderBy);
+    PagerParams pagerParams = clarifyPagerParams(optionalPagerParams, cursor);
+    return getListResult(orderBy, pagerParams, needPerms, pathVariables);
+  }
+
+  protected MultipleItemsResult<TId, TRow> getListResult(
+      OrderBy[] orderBy,
+      PagerParams pagerParams,
+      boolean needPerms,
+      PathVariablesMap pathVariables) {
     Query<TId, TRow> query = narrowQuery(null, pathVariables);
     PaginatedList<TRow> rows = queryRows(orderBy, pagerParams, query);
 
@@ -197,6 +234,14 @@ public class EasyCrudRestControllerBase<
     return optionalPagerParams;
   }
 
+  protected PagerParams clarifyPagerParams(PagerParams optionalPagerParams, String optionalCursor) {
+    PagerParams ret = clarifyPagerParams(optionalPagerParams);
+    if (optionalCursor == null) {
+      return ret;
+    }
+    return KeysetPagerParams.fromCursor(optionalCursor, ret.getMax());
+  }
+
   protected OrderBy[] clarifyOrderBy(OrderBy... optionalOrderBy) {
     if (optionalOrderBy == null || optionalOrderBy.length == 0) {
       return getDefaultOrderBy();
@@ -246,7 +291,8 @@ public class EasyCrudRestControllerBase<
       @Parameter(hidden = true) PathVariablesMap pathVariables) {
 
     OrderBy[] orderBy = clarifyOrderBy(filteringParams.getOrderBy());
-    PagerParams pagerParams = clarifyPagerParams(filteringParams.getPagerParams());
+    PagerParams pagerParams =
+        clarifyPagerParams(filteringParams.getPagerParams(), filteringParams.getCursor());
 
     Query<TId, TRow> query = buildQuery(filteringParams, pathVariables);
     PaginatedList<TRow> rows = queryRows(orderBy, pagerParams, query);
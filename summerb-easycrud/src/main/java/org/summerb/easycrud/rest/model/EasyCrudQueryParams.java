@@ -24,6 +24,20 @@ public class EasyCrudQueryParams {
   protected OrderBy[] orderBy;
   protected PagerParams pagerParams;
 
+  /**
+   * Cursor for keyset pagination. If not null (empty string means first page), then keyset
+   * pagination is used instead of offset-based pagination
+   */
+  protected String cursor;
+
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
   public PagerParams getPagerParams() {
     return pagerParams;
   }
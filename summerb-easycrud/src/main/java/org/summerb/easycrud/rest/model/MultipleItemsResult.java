@@ -27,6 +27,7 @@ public class MultipleItemsResult<TId extends Comparable<TId>, TDto extends HasId
   protected List<TDto> rows;
   protected PagerParams pagerParams;
   protected long totalResults;
+  protected String nextPageCursor;
 
   /** RowId to [permissionName to isAllowed] */
   protected Map<TId, Map<String, Boolean>> rowPermissions;
@@ -40,6 +41,7 @@ public class MultipleItemsResult<TId extends Comparable<TId>, TDto extends HasId
     this.entityMessageCode = entityMessageCode;
     this.pagerParams = list.getPagerParams();
     this.totalResults = list.getTotalResults();
+    this.nextPageCursor = list.getNextPageCursor();
     this.rows = new ArrayList<>(list.getItems());
   }
 
@@ -67,6 +69,14 @@ public class MultipleItemsResult<TId extends Comparable<TId>, TDto extends HasId
     this.totalResults = totalResults;
   }
 
+  public String getNextPageCursor() {
+    return nextPageCursor;
+  }
+
+  public void setNextPageCursor(String nextPageCursor) {
+    this.nextPageCursor = nextPageCursor;
+  }
+
   public Map<String, Boolean> getTablePermissions() {
     return tablePermissions;
   }
@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.slow_query;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.gson.GsonBuilder;
+import java.lang.management.ManagementFactory;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.summerb.easycrud.dao.NamedParameterJdbcTemplateEx;
+
+/**
+ * Opt-in recorder of statements executed by EasyCrud DAOs and joined selects. Statements are
+ * normalized to a {@link SqlFingerprint} and statistics are kept per fingerprint in a bounded table
+ * (when it's full, fingerprint with the smallest total time is evicted).
+ *
+ * <p>For statements which took longer than {@link #getThreshold()} EXPLAIN plan is captured
+ * asynchronously using the same {@link DataSource} (at most once per {@link
+ * #getExplainRefreshInterval()} for each fingerprint). EXPLAIN is executed without ANALYZE, so
+ * statements are not actually executed again.
+ *
+ * <p>Table is exposed via JMX (see {@link SlowQueryRecorderMXBean}) and as JSON ({@link #toJson()})
+ *
+ * @author sergey.karpushin
+ */
+public class SlowQueryRecorder implements SlowQueryRecorderMXBean, DisposableBean {
+  public static final Duration DEFAULT_THRESHOLD = Duration.ofMillis(500);
+  public static final Duration DEFAULT_EXPLAIN_REFRESH_INTERVAL = Duration.ofHours(1);
+  public static final int DEFAULT_MAX_ENTRIES = 200;
+  public static final int DEFAULT_TOP_SIZE = 20;
+
+  protected Logger log = LoggerFactory.getLogger(getClass());
+
+  protected final DataSource dataSource;
+  protected final Map<String, SlowQueryStats> stats = new ConcurrentHashMap<>();
+  protected final LoadingCache<String, String> fingerprints;
+
+  protected volatile long thresholdNanos = DEFAULT_THRESHOLD.toNanos();
+  protected Duration explainRefreshInterval = DEFAULT_EXPLAIN_REFRESH_INTERVAL;
+  protected int maxEntries = DEFAULT_MAX_ENTRIES;
+  protected int topSize = DEFAULT_TOP_SIZE;
+  protected String explainPrefix = "EXPLAIN ";
+
+  protected NamedParameterJdbcTemplate explainJdbc;
+  protected ExecutorService explainExecutor;
+
+  /**
+   * @param dataSource data source used to capture EXPLAIN plans, or null if plans should not be
+   *     captured
+   */
+  public SlowQueryRecorder(DataSource dataSource) {
+    this(dataSource, "default");
+  }
+
+  /**
+   * @param dataSource data source used to capture EXPLAIN plans, or null if plans should not be
+   *     captured
+   * @param name name of this recorder in JMX
+   */
+  public SlowQueryRecorder(DataSource dataSource, String name) {
+    this.dataSource = dataSource;
+    this.fingerprints =
+        CacheBuilder.newBuilder()
+            .maximumSize(10_000)
+            .build(CacheLoader.from(SqlFingerprint::normalize));
+    if (dataSource != null) {
+      explainJdbc = new NamedParameterJdbcTemplate(dataSource);
+      explainExecutor = buildDefaultExplainExecutor();
+    }
+    registerMBean(name);
+  }
+
+  protected ExecutorService buildDefaultExplainExecutor() {
+    return new ThreadPoolExecutor(
+        1,
+        1,
+        0,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(100),
+        runnable -> {
+          Thread ret = new Thread(runnable, "easycrud-explain");
+          ret.setDaemon(true);
+          return ret;
+        });
+  }
+
+  protected void registerMBean(String name) {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      ObjectName objectName =
+          new ObjectName("org.summerb.easycrud:type=SlowQueryRecorder,name=" + name);
+      if (!server.isRegistered(objectName)) {
+        server.registerMBean(this, objectName);
+      }
+    } catch (Throwable t) {
+      log.error("Failed to init jmx bean for slow query recorder {}", name, t);
+    }
+  }
+
+  /**
+   * @param jdbc template to record statements of
+   * @return template which records statements to this recorder
+   */
+  public NamedParameterJdbcTemplateEx wrap(NamedParameterJdbcTemplateEx jdbc) {
+    Preconditions.checkArgument(jdbc != null, "jdbc required");
+    if (jdbc instanceof SlowQueryRecordingJdbcTemplate) {
+      return jdbc;
+    }
+    return new SlowQueryRecordingJdbcTemplate(jdbc, this);
+  }
+
+  /**
+   * @param sql executed statement, either with named parameters or with JDBC placeholders
+   * @param params parameters of the statement, might be null if not known
+   * @param nanos time it took to execute statement
+   */
+  public void record(String sql, SqlParameterSource params, long nanos) {
+    if (sql == null) {
+      return;
+    }
+
+    String fingerprint = fingerprints.getUnchecked(sql);
+    SlowQueryStats entry = stats.get(fingerprint);
+    if (entry == null) {
+      if (stats.size() >= maxEntries) {
+        evictSmallest();
+      }
+      entry = stats.computeIfAbsent(fingerprint, SlowQueryStats::new);
+    }
+    entry.record(sql, nanos);
+
+    if (nanos >= thresholdNanos && isExplainable(sql, params)) {
+      captureExplainAsync(entry, sql, params);
+    }
+  }
+
+  protected void evictSmallest() {
+    stats.values().stream()
+        .min(Comparator.comparingLong(SlowQueryStats::getTotalNanos))
+        .ifPresent(x -> stats.remove(x.getFingerprint(), x));
+  }
+
+  protected boolean isExplainable(String sql, SqlParameterSource params) {
+    if (explainExecutor == null || (params == null && sql.indexOf('?') >= 0)) {
+      return false;
+    }
+    String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+    return statement.startsWith("select")
+        || statement.startsWith("with")
+        || statement.startsWith("update")
+        || statement.startsWith("delete");
+  }
+
+  protected void captureExplainAsync(SlowQueryStats entry, String sql, SqlParameterSource params) {
+    if (!entry.tryStartExplain(explainRefreshInterval.toMillis())) {
+      return;
+    }
+
+    try {
+      explainExecutor.execute(() -> entry.setExplainPlan(explain(sql, params)));
+    } catch (RejectedExecutionException e) {
+      // NOTE: Queue is full. That's fine, plan will be captured next time
+      entry.cancelExplain();
+    }
+  }
+
+  protected String explain(String sql, SqlParameterSource params) {
+    try {
+      return explainJdbc.query(
+          explainPrefix + sql,
+          params == null ? EmptySqlParameterSource.INSTANCE : params,
+          this::formatExplainResults);
+    } catch (Throwable t) {
+      log.debug("Failed to capture EXPLAIN for {}", sql, t);
+      return "Failed to capture EXPLAIN: " + t.getMessage();
+    }
+  }
+
+  protected String formatExplainResults(ResultSet rs) throws SQLException {
+    ResultSetMetaData metaData = rs.getMetaData();
+    StringBuilder ret = new StringBuilder();
+    while (rs.next()) {
+      if (!ret.isEmpty()) {
+        ret.append("\n");
+      }
+      for (int i = 1; i <= metaData.getColumnCount(); i++) {
+        if (i > 1) {
+          ret.append(" | ");
+        }
+        ret.append(rs.getString(i));
+      }
+    }
+    return ret.toString();
+  }
+
+  /**
+   * @return recorded fingerprints ordered by total time descending
+   */
+  public List<SlowQueryStats> getTopByTotalTime(int limit) {
+    return getTop(Comparator.comparingLong(SlowQueryStats::getTotalNanos).reversed(), limit);
+  }
+
+  /**
+   * @return recorded fingerprints ordered by approximate 99th percentile descending
+   */
+  public List<SlowQueryStats> getTopByP99(int limit) {
+    return getTop(
+        Comparator.comparingLong(SlowQueryStats::getP99Millis)
+            .thenComparingLong(SlowQueryStats::getTotalNanos)
+            .reversed(),
+        limit);
+  }
+
+  protected List<SlowQueryStats> getTop(Comparator<SlowQueryStats> comparator, int limit) {
+    return stats.values().stream().sorted(comparator).limit(limit).toList();
+  }
+
+  @Override
+  public String[] getTopByTotalTime() {
+    return getTopByTotalTime(topSize).stream().map(this::formatLine).toArray(String[]::new);
+  }
+
+  @Override
+  public String[] getTopByP99() {
+    return getTopByP99(topSize).stream().map(this::formatLine).toArray(String[]::new);
+  }
+
+  protected String formatLine(SlowQueryStats x) {
+    return String.format(
+        Locale.ROOT,
+        "total=%dms count=%d mean=%.2fms p99=%dms max=%dms%s | %s",
+        x.getTotalMillis(),
+        x.getCount(),
+        x.getMeanMillis(),
+        x.getP99Millis(),
+        x.getMaxMillis(),
+        x.getExplainPlan() == null ? "" : " explained",
+        x.getFingerprint());
+  }
+
+  /**
+   * @return all recorded fingerprints ordered by total time descending, along with captured EXPLAIN
+   *     plans
+   */
+  public String toJson() {
+    List<Map<String, Object>> ret = new ArrayList<>();
+    for (SlowQueryStats x : getTopByTotalTime(Integer.MAX_VALUE)) {
+      Map<String, Object> entry = new LinkedHashMap<>();
+      entry.put("fingerprint", x.getFingerprint());
+      entry.put("sql", x.getSql());
+      entry.put("count", x.getCount());
+      entry.put("totalMillis", x.getTotalMillis());
+      entry.put("meanMillis", x.getMeanMillis());
+      entry.put("p99Millis", x.getP99Millis());
+      entry.put("maxMillis", x.getMaxMillis());
+      if (x.getExplainPlan() != null) {
+        entry.put("explain", x.getExplainPlan());
+        entry.put("explainCapturedAt", Instant.ofEpochMilli(x.getExplainCapturedAt()).toString());
+      }
+      ret.add(entry);
+    }
+    return new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create().toJson(ret);
+  }
+
+  @Override
+  public String getJson() {
+    return toJson();
+  }
+
+  @Override
+  public void reset() {
+    stats.clear();
+  }
+
+  @Override
+  public int getFingerprintsCount() {
+    return stats.size();
+  }
+
+  @Override
+  public void destroy() {
+    if (explainExecutor != null) {
+      explainExecutor.shutdownNow();
+    }
+  }
+
+  public Duration getThreshold() {
+    return Duration.ofNanos(thresholdNanos);
+  }
+
+  /**
+   * @param threshold statements which took longer than that are EXPLAINed. Default is {@link
+   *     #DEFAULT_THRESHOLD}
+   */
+  public void setThreshold(Duration threshold) {
+    Preconditions.checkArgument(threshold != null, "threshold required");
+    this.thresholdNanos = threshold.toNanos();
+  }
+
+  @Override
+  public long getThresholdMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+  }
+
+  @Override
+  public void setThresholdMillis(long thresholdMillis) {
+    setThreshold(Duration.ofMillis(thresholdMillis));
+  }
+
+  public Duration getExplainRefreshInterval() {
+    return explainRefreshInterval;
+  }
+
+  /**
+   * @param explainRefreshInterval how often EXPLAIN plan is re-captured for the same fingerprint.
+   *     Default is {@link #DEFAULT_EXPLAIN_REFRESH_INTERVAL}
+   */
+  public void setExplainRefreshInterval(Duration explainRefreshInterval) {
+    Preconditions.checkArgument(explainRefreshInterval != null, "explainRefreshInterval required");
+    this.explainRefreshInterval = explainRefreshInterval;
+  }
+
+  @Override
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * @param maxEntries max amount of fingerprints to keep. Default is {@link #DEFAULT_MAX_ENTRIES}
+   */
+  public void setMaxEntries(int maxEntries) {
+    Preconditions.checkArgument(maxEntries > 0, "maxEntries must be positive");
+    this.maxEntries = maxEntries;
+  }
+
+  public int getTopSize() {
+    return topSize;
+  }
+
+  /**
+   * @param topSize amount of lines returned by {@link #getTopByTotalTime()} and {@link
+   *     #getTopByP99()}. Default is {@link #DEFAULT_TOP_SIZE}
+   */
+  public void setTopSize(int topSize) {
+    Preconditions.checkArgument(topSize > 0, "topSize must be positive");
+    this.topSize = topSize;
+  }
+
+  public String getExplainPrefix() {
+    return explainPrefix;
+  }
+
+  /**
+   * @param explainPrefix prefix which turns statement into EXPLAIN statement. Default is "EXPLAIN
+   *     ", which works for both MySQL/MariaDB and Postgres
+   */
+  public void setExplainPrefix(String explainPrefix) {
+    Preconditions.checkArgument(explainPrefix != null, "explainPrefix required");
+    this.explainPrefix = explainPrefix;
+  }
+}
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.slow_query;
+
+/**
+ * JMX view of the {@link SlowQueryRecorder}
+ *
+ * @author sergey.karpushin
+ */
+public interface SlowQueryRecorderMXBean {
+  long getThresholdMillis();
+
+  void setThresholdMillis(long thresholdMillis);
+
+  int getMaxEntries();
+
+  int getFingerprintsCount();
+
+  /**
+   * @return one line per fingerprint, ordered by total time descending
+   */
+  String[] getTopByTotalTime();
+
+  /**
+   * @return one line per fingerprint, ordered by approximate 99th percentile descending
+   */
+  String[] getTopByP99();
+
+  /**
+   * @return all recorded fingerprints along with captured EXPLAIN plans as JSON
+   */
+  String getJson();
+
+  void reset();
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.slow_query;
+
+import com.google.common.base.Preconditions;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.ParameterDisposer;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.summerb.easycrud.dao.NamedParameterJdbcTemplateEx;
+
+/**
+ * Template which measures each statement and reports it to {@link SlowQueryRecorder}. Statements
+ * are executed by the target template's {@link JdbcOperations}, which is resolved for each
+ * statement, so this composes with templates which route statements dynamically (i.e. {@link
+ * org.summerb.easycrud.dao.ReadReplicaRoutingJdbcTemplate}).
+ *
+ * <p>Statements are recorded with named parameters and original parameter values, so that they
+ * could be EXPLAINed later. Streams are measured only until they're opened.
+ *
+ * @author sergey.karpushin
+ */
+public class SlowQueryRecordingJdbcTemplate extends NamedParameterJdbcTemplateEx {
+  protected final NamedParameterJdbcTemplateEx target;
+  protected final SlowQueryRecorder recorder;
+
+  public SlowQueryRecordingJdbcTemplate(
+      NamedParameterJdbcTemplateEx target, SlowQueryRecorder recorder) {
+    super(buildRecordingProxy(target, recorder));
+    this.target = target;
+    this.recorder = recorder;
+  }
+
+  protected static JdbcOperations buildRecordingProxy(
+      NamedParameterJdbcTemplateEx target, SlowQueryRecorder recorder) {
+    Preconditions.checkArgument(target != null, "target required");
+    Preconditions.checkArgument(recorder != null, "recorder required");
+    return (JdbcOperations)
+        Proxy.newProxyInstance(
+            SlowQueryRecordingJdbcTemplate.class.getClassLoader(),
+            new Class<?>[] {JdbcOperations.class},
+            new RecordingInvocationHandler(target, recorder));
+  }
+
+  @Override
+  protected PreparedStatementCreator getPreparedStatementCreator(
+      String sql,
+      SqlParameterSource paramSource,
+      Consumer<PreparedStatementCreatorFactory> customizer) {
+    return new RecordedStatementCreator(
+        super.getPreparedStatementCreator(sql, paramSource, customizer), sql, paramSource);
+  }
+
+  public NamedParameterJdbcTemplateEx getTarget() {
+    return target;
+  }
+
+  /** Keeps original SQL and parameters along with the statement creator */
+  protected static class RecordedStatementCreator
+      implements PreparedStatementCreator, SqlProvider, ParameterDisposer {
+    protected final PreparedStatementCreator delegate;
+    protected final String sql;
+    protected final SqlParameterSource params;
+
+    public RecordedStatementCreator(
+        PreparedStatementCreator delegate, String sql, SqlParameterSource params) {
+      this.delegate = delegate;
+      this.sql = sql;
+      this.params = params;
+    }
+
+    @Override
+    public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+      return delegate.createPreparedStatement(con);
+    }
+
+    @Override
+    public String getSql() {
+      return delegate instanceof SqlProvider sqlProvider ? sqlProvider.getSql() : sql;
+    }
+
+    @Override
+    public void cleanupParameters() {
+      if (delegate instanceof ParameterDisposer parameterDisposer) {
+        parameterDisposer.cleanupParameters();
+      }
+    }
+  }
+
+  protected static class RecordingInvocationHandler implements InvocationHandler {
+    protected final NamedParameterJdbcTemplateEx target;
+    protected final SlowQueryRecorder recorder;
+
+    public RecordingInvocationHandler(
+        NamedParameterJdbcTemplateEx target, SlowQueryRecorder recorder) {
+      this.target = target;
+      this.recorder = recorder;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      JdbcOperations jdbcOperations = target.getJdbcOperations();
+      if (args == null || args.length == 0) {
+        return invoke(jdbcOperations, method, args);
+      }
+
+      String sql;
+      SqlParameterSource params = null;
+      if (args[0] instanceof RecordedStatementCreator statement) {
+        sql = statement.sql;
+        params = statement.params;
+      } else if (args[0] instanceof String str) {
+        sql = str;
+      } else {
+        return invoke(jdbcOperations, method, args);
+      }
+
+      long started = System.nanoTime();
+      try {
+        return invoke(jdbcOperations, method, args);
+      } finally {
+        recorder.record(sql, params, System.nanoTime() - started);
+      }
+    }
+
+    protected Object invoke(JdbcOperations jdbcOperations, Method method, Object[] args)
+        throws Throwable {
+      try {
+        return method.invoke(jdbcOperations, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.slow_query;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution statistics of statements which share the same {@link SqlFingerprint}
+ *
+ * @author sergey.karpushin
+ */
+public class SlowQueryStats {
+  /** Upper bounds of histogram buckets, in milliseconds. Used to approximate percentiles */
+  protected static final long[] BUCKETS_MILLIS = {
+    1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000
+  };
+
+  protected final String fingerprint;
+  protected final LongAdder count = new LongAdder();
+  protected final LongAdder totalNanos = new LongAdder();
+  protected final AtomicLong maxNanos = new AtomicLong();
+  protected final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_MILLIS.length + 1);
+  protected final AtomicBoolean explainInProgress = new AtomicBoolean();
+
+  protected volatile String sql;
+  protected volatile String explainPlan;
+  protected volatile long explainCapturedAt;
+
+  public SlowQueryStats(String fingerprint) {
+    this.fingerprint = fingerprint;
+  }
+
+  public void record(String sql, long nanos) {
+    this.sql = sql;
+    count.increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulateAndGet(nanos, Math::max);
+    buckets.incrementAndGet(findBucket(TimeUnit.NANOSECONDS.toMillis(nanos)));
+  }
+
+  protected int findBucket(long millis) {
+    for (int i = 0; i < BUCKETS_MILLIS.length; i++) {
+      if (millis <= BUCKETS_MILLIS[i]) {
+        return i;
+      }
+    }
+    return BUCKETS_MILLIS.length;
+  }
+
+  /**
+   * @return approximate 99th percentile, which is upper bound of the histogram bucket (or max time
+   *     in case it's smaller or it's the last bucket)
+   */
+  public long getP99Millis() {
+    long total = count.sum();
+    if (total == 0) {
+      return 0;
+    }
+    long threshold = (long) Math.ceil(total * 0.99);
+    long cumulative = 0;
+    for (int i = 0; i < BUCKETS_MILLIS.length; i++) {
+      cumulative += buckets.get(i);
+      if (cumulative >= threshold) {
+        return Math.min(BUCKETS_MILLIS[i], getMaxMillis());
+      }
+    }
+    return getMaxMillis();
+  }
+
+  /**
+   * Try to take responsibility for capturing EXPLAIN plan
+   *
+   * @return true if caller must capture plan and then call {@link #setExplainPlan(String)}
+   */
+  protected boolean tryStartExplain(long refreshIntervalMillis) {
+    if (explainPlan != null
+        && System.currentTimeMillis() - explainCapturedAt < refreshIntervalMillis) {
+      return false;
+    }
+    return explainInProgress.compareAndSet(false, true);
+  }
+
+  protected void cancelExplain() {
+    explainInProgress.set(false);
+  }
+
+  protected void setExplainPlan(String explainPlan) {
+    this.explainPlan = explainPlan;
+    this.explainCapturedAt = System.currentTimeMillis();
+    explainInProgress.set(false);
+  }
+
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * @return the most recent statement with this fingerprint
+   */
+  public String getSql() {
+    return sql;
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getTotalMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+  }
+
+  public long getTotalNanos() {
+    return totalNanos.sum();
+  }
+
+  public long getMaxMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+  }
+
+  public double getMeanMillis() {
+    long total = count.sum();
+    return total == 0 ? 0 : totalNanos.sum() / 1_000_000d / total;
+  }
+
+  public String getExplainPlan() {
+    return explainPlan;
+  }
+
+  /**
+   * @return time when {@link #getExplainPlan()} was captured, epoch millis, or 0 if not captured
+   */
+  public long getExplainCapturedAt() {
+    return explainCapturedAt;
+  }
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.slow_query;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes SQL statement to a fingerprint, so that statements which differ only by literal
+ * values, parameter names or amount of items in IN lists are accounted as the same statement
+ *
+ * @author sergey.karpushin
+ */
+public class SqlFingerprint {
+  protected static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  protected static final Pattern NAMED_PARAMETER = Pattern.compile("(?<![:\\w]):[a-zA-Z_]\\w*");
+  protected static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+  protected static final Pattern PLACEHOLDERS_LIST =
+      Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+  protected static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private SqlFingerprint() {}
+
+  /**
+   * @param sql SQL statement, either with named parameters or with JDBC placeholders
+   * @return normalized statement where all literals and parameters are replaced with "?"
+   */
+  public static String normalize(String sql) {
+    if (sql == null) {
+      return null;
+    }
+    String ret = STRING_LITERAL.matcher(sql).replaceAll("?");
+    ret = NAMED_PARAMETER.matcher(ret).replaceAll("?");
+    ret = NUMBER_LITERAL.matcher(ret).replaceAll("?");
+    ret = PLACEHOLDERS_LIST.matcher(ret).replaceAll("(?)");
+    return WHITESPACE.matcher(ret).replaceAll(" ").trim();
+  }
+}
@@ -41,4 +41,24 @@ public interface QueryToSql {
       String alias,
       StringBuilder sql,
       ParamIdxIncrementer paramIdxIncrementer);
+
+  /**
+   * Append structural fingerprint of the query (fields, restriction types, negations, etc.) -- in
+   * other words everything that affects SQL text produced by {@link #buildFilter(Query,
+   * MapSqlParameterSource)}, but not the parameter values. Queries with same fingerprint will yield
+   * same SQL text
+   *
+   * @param query query
+   * @param shape target for the fingerprint
+   */
+  void appendShape(Query query, StringBuilder shape);
+
+  /**
+   * Add parameters to params exactly the same way {@link #buildFilter(Query,
+   * MapSqlParameterSource)} does, but without building SQL text.
+   *
+   * @param query query
+   * @param params parameters
+   */
+  void bindParams(Query query, MapSqlParameterSource params);
 }
@@ -1,6 +1,8 @@
 package org.summerb.easycrud.sql_builder;
 
+import java.util.Collection;
 import java.util.List;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.summerb.easycrud.join_query.JoinQuery;
 import org.summerb.easycrud.query.OrderBy;
@@ -15,6 +17,15 @@ import org.summerb.utils.easycrud.api.dto.PagerParams;
  * This is an encapsulation of reusable methods for building joined selects SQL components/clauses
  */
 public interface SqlBuilder {
+  /**
+   * Name of the column which holds total number of matching rows in the result of {@link
+   * #selectWithWindowCount(Class, FromAndWhere, Query, PagerParams, OrderBy[])}
+   */
+  String COLUMN_WINDOW_COUNT = "easycrud_window_count";
+
+  /** Name of the column which is yielded by {@link #upsertInsertedFlagClause()} */
+  String COLUMN_UPSERT_INSERTED = "easycrud_inserted";
+
   QueryData findById(String tableName, Object id);
 
   QueryData deleteById(String tableName, Object id);
@@ -25,6 +36,27 @@ public interface SqlBuilder {
 
   QueryData deleteByQuery(String tableName, Query<?, ?> query);
 
+  /**
+   * Build statement which deletes rows by ids and yields ids of rows which were actually deleted
+   *
+   * @return statement or null if dialect cannot return ids of deleted rows. In such case {@link
+   *     #selectIdsForUpdate(String, Collection)} followed by {@link #deleteByIds(String,
+   *     Collection)} is used instead
+   */
+  QueryData deleteByIdsReturningIds(String tableName, Collection<?> ids);
+
+  /**
+   * Build statement which selects ids of existing rows and locks these rows till end of transaction
+   */
+  QueryData selectIdsForUpdate(String tableName, Collection<?> ids);
+
+  /**
+   * Build statement which selects existing rows by ids and locks these rows till end of transaction
+   */
+  QueryData selectByIdsForUpdate(String tableName, Collection<?> ids);
+
+  QueryData deleteByIds(String tableName, Collection<?> ids);
+
   FromAndWhere fromAndWhere(String tableName, Query<?, ?> optionalQuery);
 
   QueryData countForSimpleSelect(FromAndWhere fromAndWhere);
@@ -39,6 +71,58 @@ public interface SqlBuilder {
 
   QueryData queryForCountAfterPagedSelect(FromAndWhere fromAndWhere);
 
+  /**
+   * Same as {@link #select(Class, FromAndWhere, Query, PagerParams, OrderBy[], boolean)}, but each
+   * row will also contain total number of matching rows in the column {@link #COLUMN_WINDOW_COUNT}
+   * (computed using "COUNT(*) OVER()"). NOTE: If requested page is beyond last row, result set will
+   * be empty and count will not be known
+   */
+  QueryData selectWithWindowCount(
+      Class<?> rowClass,
+      FromAndWhere fromAndWhere,
+      Query<?, ?> optionalQuery,
+      PagerParams pagerParams,
+      OrderBy[] orderBy);
+
+  /**
+   * Build statement which will be used to estimate number of matching rows. Result must be
+   * extracted using {@link #approximateCountExtractor()}
+   */
+  QueryData approximateCount(FromAndWhere fromAndWhere);
+
+  /**
+   * @return extractor of the estimated number of rows from the result of {@link
+   *     #approximateCount(FromAndWhere)}
+   */
+  ResultSetExtractor<Long> approximateCountExtractor();
+
+  /**
+   * Build dialect-specific clause which is appended to the INSERT statement to turn it into "insert
+   * or update" (upsert) statement. Clause must reference only column names, it must not introduce
+   * any additional parameters
+   *
+   * @param idColumn name of the primary key column
+   * @param updateColumns columns to update in case row with same primary key already exists
+   * @return clause to append to the INSERT statement
+   */
+  String upsertClause(String idColumn, List<String> updateColumns);
+
+  /**
+   * Build clause which is appended after {@link #upsertClause(String, List)} to make statement
+   * yield single boolean column for each row: true if row was inserted and false if it was updated
+   *
+   * @return clause or null if dialect cannot tell that. In such case affected rows count reported
+   *     by JDBC driver is used to figure that out, when possible
+   */
+  String upsertInsertedFlagClause();
+
+  /**
+   * @return max amount of values that can be passed within single IN condition. Queries with more
+   *     values are executed in several chunks. Zero means that dialect does not limit amount of
+   *     values (i.e. they're bound as a single array parameter), so chunking is not needed
+   */
+  int getMaxInListSize();
+
   void appendFromClause(
       JoinQuery<?, ?> joinQuery,
       StringBuilder sql,
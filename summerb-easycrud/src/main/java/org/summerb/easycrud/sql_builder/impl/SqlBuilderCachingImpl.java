@@ -0,0 +1,422 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.sql_builder.impl;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import org.summerb.easycrud.join_query.JoinQuery;
+import org.summerb.easycrud.query.OrderBy;
+import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.sql_builder.QueryToSql;
+import org.summerb.easycrud.sql_builder.SqlBuilder;
+import org.summerb.easycrud.sql_builder.model.ColumnsSelection;
+import org.summerb.easycrud.sql_builder.model.FromAndWhere;
+import org.summerb.easycrud.sql_builder.model.QueryData;
+import org.summerb.utils.easycrud.api.dto.KeysetPagerParams;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+import org.summerb.utils.jmx.GuavaPlainCacheMXBeanImpl;
+
+/**
+ * Caching decorator for {@link SqlBuilder}. Usually there is just a few dozens of distinct query
+ * shapes, but SQL text is built for each and every request. This impl computes structural
+ * fingerprint of the {@link Query} (see {@link QueryToSql#appendShape(Query, StringBuilder)}),
+ * caches generated SQL per fingerprint and only binds parameter values when SQL is taken from
+ * cache.
+ *
+ * <p>Only single-table queries are cached. Joined queries are passed to the delegate as is.
+ *
+ * <p>NOTE: This impl relies on parameter naming conventions of {@link SqlBuilderCommonImpl}, so it
+ * is intended to be used only with it and its subclasses.
+ *
+ * <p>Hit/miss statistics are exposed via JMX, see {@link GuavaPlainCacheMXBeanImpl}
+ *
+ * @author sergey.karpushin
+ */
+public class SqlBuilderCachingImpl implements SqlBuilder {
+  public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+  protected final SqlBuilder delegate;
+  protected final QueryToSql queryToSql;
+
+  /**
+   * True if delegate builds different select SQL depending on countQueryWillFollow, see {@link
+   * SqlBuilderCommonImpl#isSelectDependsOnCountQueryWillFollow()}. Otherwise, this flag is not a
+   * part of the cache key, so that same SQL is not cached twice
+   */
+  protected final boolean selectDependsOnCountQueryWillFollow;
+
+  /** SQL statements which depend only on table name and query shape */
+  protected Cache<String, String> cacheSql;
+
+  /** Select statements, see {@link #buildSelectKey} */
+  protected Cache<String, CachedSelect> cacheSelects;
+
+  public SqlBuilderCachingImpl(SqlBuilder delegate, QueryToSql queryToSql) {
+    this(delegate, queryToSql, DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * @param delegate actual SqlBuilder
+   * @param queryToSql same instance that is used by the delegate. Used to compute query shapes and
+   *     to bind parameters
+   * @param maximumSize maximum number of query shapes to keep in each of the caches
+   */
+  public SqlBuilderCachingImpl(SqlBuilder delegate, QueryToSql queryToSql, int maximumSize) {
+    Preconditions.checkNotNull(delegate, "delegate is required");
+    Preconditions.checkNotNull(queryToSql, "queryToSql is required");
+    Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive");
+    this.delegate = delegate;
+    this.queryToSql = queryToSql;
+    selectDependsOnCountQueryWillFollow =
+        !(delegate instanceof SqlBuilderCommonImpl common)
+            || common.isSelectDependsOnCountQueryWillFollow();
+
+    cacheSql =
+        new GuavaPlainCacheMXBeanImpl<>(
+            "SqlBuilderSql",
+            CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build());
+    cacheSelects =
+        new GuavaPlainCacheMXBeanImpl<>(
+            "SqlBuilderSelects",
+            CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build());
+  }
+
+  @Override
+  public QueryData findById(String tableName, Object id) {
+    return delegate.findById(tableName, id);
+  }
+
+  @Override
+  public QueryData deleteById(String tableName, Object id) {
+    return delegate.deleteById(tableName, id);
+  }
+
+  @Override
+  public QueryData deleteByIdOptimistic(String tableName, Object id, long modifiedAt) {
+    return delegate.deleteByIdOptimistic(tableName, id, modifiedAt);
+  }
+
+  @Override
+  public QueryData selectSingleRow(String tableName, Query<?, ?> query) {
+    Preconditions.checkArgument(
+        query != null && !CollectionUtils.isEmpty(query.getConditions()), "query is required");
+
+    String key = buildKey("selectSingleRow", tableName, query);
+    String sql = cacheSql.getIfPresent(key);
+    if (sql != null) {
+      return new QueryData(sql, bindParams(query));
+    }
+
+    QueryData ret = delegate.selectSingleRow(tableName, query);
+    cacheSql.put(key, ret.getSql());
+    return ret;
+  }
+
+  @Override
+  public QueryData deleteByQuery(String tableName, Query<?, ?> query) {
+    Preconditions.checkArgument(
+        query != null && !CollectionUtils.isEmpty(query.getConditions()), "query is required");
+
+    String key = buildKey("deleteByQuery", tableName, query);
+    String sql = cacheSql.getIfPresent(key);
+    if (sql != null) {
+      return new QueryData(sql, bindParams(query));
+    }
+
+    QueryData ret = delegate.deleteByQuery(tableName, query);
+    cacheSql.put(key, ret.getSql());
+    return ret;
+  }
+
+  @Override
+  public QueryData deleteByIdsReturningIds(String tableName, Collection<?> ids) {
+    return delegate.deleteByIdsReturningIds(tableName, ids);
+  }
+
+  @Override
+  public QueryData selectIdsForUpdate(String tableName, Collection<?> ids) {
+    return delegate.selectIdsForUpdate(tableName, ids);
+  }
+
+  @Override
+  public QueryData selectByIdsForUpdate(String tableName, Collection<?> ids) {
+    return delegate.selectByIdsForUpdate(tableName, ids);
+  }
+
+  @Override
+  public QueryData deleteByIds(String tableName, Collection<?> ids) {
+    return delegate.deleteByIds(tableName, ids);
+  }
+
+  @Override
+  public FromAndWhere fromAndWhere(String tableName, Query<?, ?> optionalQuery) {
+    Preconditions.checkArgument(StringUtils.hasText(tableName), "tableName is required");
+
+    String key = buildKey("fromAndWhere", tableName, optionalQuery);
+    String sql = cacheSql.getIfPresent(key);
+    if (sql != null) {
+      return new FromAndWhere(sql, bindParams(optionalQuery), tableName);
+    }
+
+    FromAndWhere ret = delegate.fromAndWhere(tableName, optionalQuery);
+    cacheSql.put(key, ret.getSql());
+    return ret;
+  }
+
+  protected String buildKey(String statement, String tableName, Query<?, ?> optionalQuery) {
+    StringBuilder ret = new StringBuilder(statement).append('|').append(tableName).append('|');
+    if (optionalQuery != null && !optionalQuery.isEmpty()) {
+      queryToSql.appendShape(optionalQuery, ret);
+    }
+    return ret.toString();
+  }
+
+  protected MapSqlParameterSource bindParams(Query<?, ?> optionalQuery) {
+    MapSqlParameterSource ret = new MapSqlParameterSource();
+    if (optionalQuery != null && !optionalQuery.isEmpty()) {
+      queryToSql.bindParams(optionalQuery, ret);
+    }
+    return ret;
+  }
+
+  @Override
+  public QueryData countForSimpleSelect(FromAndWhere fromAndWhere) {
+    return delegate.countForSimpleSelect(fromAndWhere);
+  }
+
+  @Override
+  public QueryData select(
+      Class<?> rowClass,
+      FromAndWhere fromAndWhere,
+      Query<?, ?> optionalQuery,
+      PagerParams pagerParams,
+      OrderBy[] orderBy,
+      boolean countQueryWillFollow) {
+    Preconditions.checkNotNull(fromAndWhere, "fromAndWhere is required");
+
+    String key = buildSelectKey(rowClass, fromAndWhere, pagerParams, orderBy, countQueryWillFollow);
+    CachedSelect cached = cacheSelects.getIfPresent(key);
+    if (cached == null) {
+      QueryData ret =
+          delegate.select(
+              rowClass, fromAndWhere, optionalQuery, pagerParams, orderBy, countQueryWillFollow);
+      cacheSelects.put(
+          key,
+          new CachedSelect(ret.getSql(), copyColumnSelections(ret.getSelectedColumns(), null)));
+      return ret;
+    }
+
+    return bindSelect(cached, fromAndWhere, optionalQuery, pagerParams);
+  }
+
+  @Override
+  public QueryData selectWithWindowCount(
+      Class<?> rowClass,
+      FromAndWhere fromAndWhere,
+      Query<?, ?> optionalQuery,
+      PagerParams pagerParams,
+      OrderBy[] orderBy) {
+    Preconditions.checkNotNull(fromAndWhere, "fromAndWhere is required");
+
+    String key = "window|" + buildSelectKey(rowClass, fromAndWhere, pagerParams, orderBy, false);
+    CachedSelect cached = cacheSelects.getIfPresent(key);
+    if (cached == null) {
+      QueryData ret =
+          delegate.selectWithWindowCount(
+              rowClass, fromAndWhere, optionalQuery, pagerParams, orderBy);
+      cacheSelects.put(
+          key,
+          new CachedSelect(ret.getSql(), copyColumnSelections(ret.getSelectedColumns(), null)));
+      return ret;
+    }
+
+    return bindSelect(cached, fromAndWhere, optionalQuery, pagerParams);
+  }
+
+  protected QueryData bindSelect(
+      CachedSelect cached,
+      FromAndWhere fromAndWhere,
+      Query<?, ?> optionalQuery,
+      PagerParams pagerParams) {
+    MapSqlParameterSource params = fromAndWhere.getParams();
+    params.addValue(PagerParams.FIELD_OFFSET, pagerParams.getOffset());
+    params.addValue(PagerParams.FIELD_MAX, pagerParams.getMax());
+    if (pagerParams instanceof KeysetPagerParams keysetPagerParams
+        && !keysetPagerParams.isFirstPage()) {
+      List<Object> after = keysetPagerParams.getAfter();
+      for (int i = 0; i < after.size(); i++) {
+        params.addValue(SqlBuilderCommonImpl.KEYSET_PARAM_PREFIX + i, after.get(i));
+      }
+    }
+
+    QueryData ret = new QueryData(cached.sql, params);
+    ret.setSelectedColumns(copyColumnSelections(cached.columnSelections, optionalQuery));
+    return ret;
+  }
+
+  /**
+   * NOTE: fromAndWhere SQL already reflects the query shape, so we don't need to compute it again
+   */
+  protected String buildSelectKey(
+      Class<?> rowClass,
+      FromAndWhere fromAndWhere,
+      PagerParams pagerParams,
+      OrderBy[] orderBy,
+      boolean countQueryWillFollow) {
+    StringBuilder ret = new StringBuilder();
+    ret.append(rowClass == null ? null : rowClass.getName()).append('|');
+    ret.append(fromAndWhere.getSql()).append('|');
+    ret.append(PagerParams.ALL.equals(pagerParams) ? "all" : "page");
+    if (pagerParams instanceof KeysetPagerParams keysetPagerParams) {
+      ret.append(keysetPagerParams.isFirstPage() ? ",keyset" : ",keyset-after");
+    }
+    ret.append(countQueryWillFollow && selectDependsOnCountQueryWillFollow ? "|count|" : "|");
+    if (orderBy != null) {
+      for (OrderBy item : orderBy) {
+        appendOrderByShape(item, ret);
+      }
+    }
+    return ret.toString();
+  }
+
+  protected void appendOrderByShape(OrderBy orderBy, StringBuilder shape) {
+    if (orderBy == null) {
+      shape.append("null;");
+      return;
+    }
+    shape
+        .append(orderBy.getFieldName())
+        .append(',')
+        .append(orderBy.getDirection())
+        .append(',')
+        .append(orderBy.getCollate())
+        .append(',')
+        .append(orderBy.getNullsLast())
+        .append(';');
+  }
+
+  @Override
+  public QueryData queryForCountAfterPagedSelect(FromAndWhere fromAndWhere) {
+    return delegate.queryForCountAfterPagedSelect(fromAndWhere);
+  }
+
+  @Override
+  public QueryData approximateCount(FromAndWhere fromAndWhere) {
+    return delegate.approximateCount(fromAndWhere);
+  }
+
+  @Override
+  public ResultSetExtractor<Long> approximateCountExtractor() {
+    return delegate.approximateCountExtractor();
+  }
+
+  @Override
+  public String upsertClause(String idColumn, List<String> updateColumns) {
+    return delegate.upsertClause(idColumn, updateColumns);
+  }
+
+  @Override
+  public String upsertInsertedFlagClause() {
+    return delegate.upsertInsertedFlagClause();
+  }
+
+  @Override
+  public int getMaxInListSize() {
+    return delegate.getMaxInListSize();
+  }
+
+  @Override
+  public void appendFromClause(
+      JoinQuery<?, ?> joinQuery,
+      StringBuilder sql,
+      MapSqlParameterSource params,
+      ParamIdxIncrementer paramIdxIncrementer) {
+    delegate.appendFromClause(joinQuery, sql, params, paramIdxIncrementer);
+  }
+
+  @Override
+  public boolean appendFieldConditionsToWhereClause(
+      List<Query<?, ?>> queries,
+      StringBuilder sql,
+      MapSqlParameterSource params,
+      ParamIdxIncrementer paramIdxIncrementer) {
+    return delegate.appendFieldConditionsToWhereClause(queries, sql, params, paramIdxIncrementer);
+  }
+
+  @Override
+  public void appendOrderBy(
+      OrderBy[] orderBy,
+      JoinQuery<?, ?> joinQuery,
+      List<ColumnsSelection> columnSelections,
+      StringBuilder sql) {
+    delegate.appendOrderBy(orderBy, joinQuery, columnSelections, sql);
+  }
+
+  @Override
+  public QueryData countForJoinedQuery(FromAndWhere fromAndWhere, JoinQuery<?, ?> joinQuery) {
+    return delegate.countForJoinedQuery(fromAndWhere, joinQuery);
+  }
+
+  @Override
+  public FromAndWhere fromAndWhere(JoinQuery<?, ?> joinQuery) {
+    return delegate.fromAndWhere(joinQuery);
+  }
+
+  @Override
+  public QueryData joinedSelect(
+      JoinQuery<?, ?> joinQuery,
+      List<Query<?, ?>> queries,
+      PagerParams pagerParams,
+      OrderBy[] orderBy,
+      FromAndWhere fromAndWhere) {
+    return delegate.joinedSelect(joinQuery, queries, pagerParams, orderBy, fromAndWhere);
+  }
+
+  public SqlBuilder getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * NOTE: For single-table selects column selections can only reference the query which was used to
+   * build the statement, so when taking them from cache we replace it with the current query
+   */
+  protected List<ColumnsSelection> copyColumnSelections(
+      List<ColumnsSelection> columnSelections, Query<?, ?> optionalQuery) {
+    if (columnSelections == null) {
+      return null;
+    }
+
+    List<ColumnsSelection> ret = new ArrayList<>(columnSelections.size());
+    for (ColumnsSelection columnSelection : columnSelections) {
+      ColumnsSelection copy = new ColumnsSelection();
+      copy.setQuery(optionalQuery);
+      copy.setWildcardAdded(columnSelection.isWildcardAdded());
+      copy.setColumns(columnSelection.getColumns());
+      ret.add(copy);
+    }
+    return ret;
+  }
+
+  protected record CachedSelect(String sql, List<ColumnsSelection> columnSelections) {}
+}
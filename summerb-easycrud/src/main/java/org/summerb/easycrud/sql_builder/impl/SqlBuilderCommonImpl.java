@@ -5,12 +5,14 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -34,10 +36,13 @@ import org.summerb.easycrud.sql_builder.model.FromAndWhere;
 import org.summerb.easycrud.sql_builder.model.QueryData;
 import org.summerb.easycrud.sql_builder.model.SelectedColumn;
 import org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl;
+import org.summerb.utils.easycrud.api.dto.KeysetPagerParams;
 import org.summerb.utils.easycrud.api.dto.PagerParams;
 
 public class SqlBuilderCommonImpl implements SqlBuilder {
   public static final OrderBy[] ORDER_EMPTY_ARRAY = new OrderBy[0];
+  public static final String KEYSET_PARAM_PREFIX = "keyset";
+  public static final String PARAM_IDS = "ids";
 
   protected final Logger log = LoggerFactory.getLogger(getClass());
   protected QuerySpecificsResolver querySpecificsResolver;
@@ -119,6 +124,45 @@ public class SqlBuilderCommonImpl implements SqlBuilder {
     return new QueryData(sql, params);
   }
 
+  /** Returns null since there is no portable way to do that */
+  @Override
+  public QueryData deleteByIdsReturningIds(String tableName, Collection<?> ids) {
+    return null;
+  }
+
+  @Override
+  public QueryData selectIdsForUpdate(String tableName, Collection<?> ids) {
+    Preconditions.checkArgument(StringUtils.hasText(tableName), "tableName is required");
+    Preconditions.checkArgument(!CollectionUtils.isEmpty(ids), "ids are required");
+
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    params.addValue(PARAM_IDS, ids);
+    String sql = "SELECT id FROM " + tableName + " WHERE id IN (:" + PARAM_IDS + ") FOR UPDATE";
+    return new QueryData(sql, params);
+  }
+
+  @Override
+  public QueryData selectByIdsForUpdate(String tableName, Collection<?> ids) {
+    Preconditions.checkArgument(StringUtils.hasText(tableName), "tableName is required");
+    Preconditions.checkArgument(!CollectionUtils.isEmpty(ids), "ids are required");
+
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    params.addValue(PARAM_IDS, ids);
+    String sql = "SELECT * FROM " + tableName + " WHERE id IN (:" + PARAM_IDS + ") FOR UPDATE";
+    return new QueryData(sql, params);
+  }
+
+  @Override
+  public QueryData deleteByIds(String tableName, Collection<?> ids) {
+    Preconditions.checkArgument(StringUtils.hasText(tableName), "tableName is required");
+    Preconditions.checkArgument(!CollectionUtils.isEmpty(ids), "ids are required");
+
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    params.addValue(PARAM_IDS, ids);
+    String sql = "DELETE FROM " + tableName + " WHERE id IN (:" + PARAM_IDS + ")";
+    return new QueryData(sql, params);
+  }
+
   @Override
   public FromAndWhere fromAndWhere(String tableName, Query<?, ?> optionalQuery) {
     Preconditions.checkArgument(StringUtils.hasText(tableName), "tableName is required");
@@ -129,7 +173,7 @@ public class SqlBuilderCommonImpl implements SqlBuilder {
             ? ""
             : "\nWHERE " + queryToSql.buildFilter(optionalQuery, params);
     String sql = "\nFROM " + tableName + whereClause;
-    return new FromAndWhere(sql, params);
+    return new FromAndWhere(sql, params, tableName);
   }
 
   @Override
@@ -146,6 +190,36 @@ public class SqlBuilderCommonImpl implements SqlBuilder {
       PagerParams pagerParams,
       OrderBy[] orderBy,
       boolean countQueryWillFollow) {
+    // NOTE: Count is done by a separate self-sufficient query, so select itself is the same
+    return buildSelect(rowClass, fromAndWhere, optionalQuery, pagerParams, orderBy, false);
+  }
+
+  /**
+   * @return true if SQL built by {@link #select(Class, FromAndWhere, Query, PagerParams, OrderBy[],
+   *     boolean)} depends on its countQueryWillFollow parameter. Subclasses which prepare select
+   *     for the follow-up count query must return true
+   */
+  public boolean isSelectDependsOnCountQueryWillFollow() {
+    return false;
+  }
+
+  @Override
+  public QueryData selectWithWindowCount(
+      Class<?> rowClass,
+      FromAndWhere fromAndWhere,
+      Query<?, ?> optionalQuery,
+      PagerParams pagerParams,
+      OrderBy[] orderBy) {
+    return buildSelect(rowClass, fromAndWhere, optionalQuery, pagerParams, orderBy, true);
+  }
+
+  protected QueryData buildSelect(
+      Class<?> rowClass,
+      FromAndWhere fromAndWhere,
+      Query<?, ?> optionalQuery,
+      PagerParams pagerParams,
+      OrderBy[] orderBy,
+      boolean withWindowCount) {
     Preconditions.checkNotNull(fromAndWhere, "fromAndWhere is required");
 
     fromAndWhere.getParams().addValue(PagerParams.FIELD_OFFSET, pagerParams.getOffset());
@@ -158,8 +232,12 @@ public class SqlBuilderCommonImpl implements SqlBuilder {
         rowClass, null, optionalQuery, orderBy, true, false, false, sql, columnSelections);
     appendAdditionalColumnsSelectionIfNeeded(
         rowClass, null, optionalQuery, orderBy, true, false, false, sql, columnSelections);
+    if (withWindowCount) {
+      sql.append(", COUNT(*) OVER() AS ").append(COLUMN_WINDOW_COUNT);
+    }
 
     sql.append(fromAndWhere.getSql());
+    appendKeysetPredicateIfNeeded(optionalQuery, pagerParams, orderBy, fromAndWhere, sql);
     sql.append(orderByToSql.buildOrderBySubclause(orderBy));
 
     if (!PagerParams.ALL.equals(pagerParams)) {
@@ -171,6 +249,100 @@ public class SqlBuilderCommonImpl implements SqlBuilder {
     return ret;
   }
 
+  /**
+   * In case of {@link KeysetPagerParams} we need to narrow results to rows that go after the last
+   * row of the previous page. NOTE: Predicate is added only to the data query, {@link FromAndWhere}
+   * itself is not changed, so count query (if any) will still count all rows matching the query
+   */
+  protected void appendKeysetPredicateIfNeeded(
+      Query<?, ?> optionalQuery,
+      PagerParams pagerParams,
+      OrderBy[] orderBy,
+      FromAndWhere fromAndWhere,
+      StringBuilder sql) {
+    if (!(pagerParams instanceof KeysetPagerParams keysetPagerParams)
+        || keysetPagerParams.isFirstPage()) {
+      return;
+    }
+
+    boolean whereAlreadyPresent = optionalQuery != null && !optionalQuery.isEmpty();
+    sql.append(whereAlreadyPresent ? " AND " : "\nWHERE ");
+    sql.append(
+        buildKeysetPredicate(
+            orderBy,
+            keysetPagerParams.getAfter(),
+            fromAndWhere.getTableAlias(),
+            fromAndWhere.getParams()));
+  }
+
+  /**
+   * Build predicate which will select rows that go after given sort key values. When all order by
+   * items have same direction, row value comparison is used, i.e. {@code (a, b) > (:a, :b)} which
+   * is friendly to composite indexes. Otherwise, expanded form is used: {@code (a > :a) OR (a = :a
+   * AND b < :b)}
+   *
+   * @param tableAlias alias to qualify columns with, so that they're not confused with other
+   *     columns of the same name (i.e. selected by subqueries). Might be null
+   */
+  protected String buildKeysetPredicate(
+      OrderBy[] orderBy, List<Object> after, String tableAlias, MapSqlParameterSource params) {
+    Preconditions.checkArgument(
+        orderBy != null && orderBy.length > 0, "orderBy is required for keyset pagination");
+    Preconditions.checkArgument(
+        orderBy.length == after.size(),
+        "Keyset pagination cursor contains %s values, while there are %s order by items",
+        after.size(),
+        orderBy.length);
+
+    String columnPrefix = StringUtils.hasText(tableAlias) ? tableAlias + "." : "";
+    List<String> columns = new ArrayList<>(orderBy.length);
+    List<String> paramNames = new ArrayList<>(orderBy.length);
+    for (int i = 0; i < orderBy.length; i++) {
+      OrderBy item = orderBy[i];
+      Preconditions.checkArgument(
+          item != null && StringUtils.hasText(item.getFieldName()), "valid orderBy required");
+      Preconditions.checkArgument(
+          !StringUtils.hasText(item.getCollate()),
+          "Collation is not supported for keyset pagination");
+      columns.add(columnPrefix + QueryToSqlMySqlImpl.snakeCase(item.getFieldName()));
+      String paramName = KEYSET_PARAM_PREFIX + i;
+      paramNames.add(paramName);
+      params.addValue(paramName, after.get(i));
+    }
+
+    boolean allDescending = Arrays.stream(orderBy).allMatch(SqlBuilderCommonImpl::isDescending);
+    boolean allAscending = Arrays.stream(orderBy).noneMatch(SqlBuilderCommonImpl::isDescending);
+    if (allAscending || allDescending) {
+      return "("
+          + String.join(", ", columns)
+          + ") "
+          + (allDescending ? "<" : ">")
+          + " (:"
+          + String.join(", :", paramNames)
+          + ")";
+    }
+
+    StringBuilder ret = new StringBuilder("(");
+    for (int i = 0; i < orderBy.length; i++) {
+      if (i > 0) {
+        ret.append(" OR ");
+      }
+      ret.append("(");
+      for (int j = 0; j < i; j++) {
+        ret.append(columns.get(j)).append(" = :").append(paramNames.get(j)).append(" AND ");
+      }
+      ret.append(columns.get(i))
+          .append(isDescending(orderBy[i]) ? " < :" : " > :")
+          .append(paramNames.get(i))
+          .append(")");
+    }
+    return ret.append(")").toString();
+  }
+
+  protected static boolean isDescending(OrderBy orderBy) {
+    return OrderBy.ORDER_DESC.equalsIgnoreCase(orderBy.getDirection());
+  }
+
   /** Subclass can override this to add some other columns after all selection columns are added */
   protected <TId extends Comparable<TId>, TRow extends HasId<TId>>
       void appendAdditionalColumnsSelectionIfNeeded(
@@ -276,6 +448,36 @@ public class SqlBuilderCommonImpl implements SqlBuilder {
     return new QueryData(sql, fromAndWhere.getParams());
   }
 
+  /**
+   * There is no common way to get an estimate, so this impl performs exact count. Dialect-specific
+   * subclasses are expected to override it
+   */
+  @Override
+  public QueryData approximateCount(FromAndWhere fromAndWhere) {
+    return countForSimpleSelect(fromAndWhere);
+  }
+
+  @Override
+  public ResultSetExtractor<Long> approximateCountExtractor() {
+    return rs -> rs.next() ? rs.getLong(1) : 0L;
+  }
+
+  @Override
+  public String upsertClause(String idColumn, List<String> updateColumns) {
+    throw new UnsupportedOperationException("Upsert is not supported by " + getClass().getName());
+  }
+
+  /** Returns null since there is no portable way to do that */
+  @Override
+  public String upsertInsertedFlagClause() {
+    return null;
+  }
+
+  @Override
+  public int getMaxInListSize() {
+    return 0;
+  }
+
   protected void logQuery(QueryData ret) {
     if (log.isDebugEnabled()) {
       log.debug("Query: {}", ret.getSql());
@@ -6,11 +6,22 @@ public class FromAndWhere {
   protected String sql;
   protected MapSqlParameterSource params;
 
+  /**
+   * Name (or alias) of the table rows are selected from. Used to qualify columns in predicates
+   * appended to this clause. Null if not applicable, i.e. in case of joined queries
+   */
+  protected String tableAlias;
+
   public FromAndWhere(String sql, MapSqlParameterSource params) {
     this.sql = sql;
     this.params = params;
   }
 
+  public FromAndWhere(String sql, MapSqlParameterSource params, String tableAlias) {
+    this(sql, params);
+    this.tableAlias = tableAlias;
+  }
+
   public MapSqlParameterSource getParams() {
     return params;
   }
@@ -26,4 +37,12 @@ public class FromAndWhere {
   public void setSql(String sql) {
     this.sql = sql;
   }
+
+  public String getTableAlias() {
+    return tableAlias;
+  }
+
+  public void setTableAlias(String tableAlias) {
+    this.tableAlias = tableAlias;
+  }
 }
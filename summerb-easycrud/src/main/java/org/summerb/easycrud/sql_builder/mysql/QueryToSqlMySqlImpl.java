@@ -114,7 +114,7 @@ public class QueryToSqlMySqlImpl implements QueryToSql {
       }
 
       if (r instanceof FieldCondition) {
-        sb.append(buildCondition((FieldCondition) r, params, paramIdx, alias));
+        sb.append(buildCondition(query, (FieldCondition) r, params, paramIdx, alias));
       } else if (r instanceof DisjunctionCondition dc) {
         sb.append("(");
         boolean added = false;
@@ -145,19 +145,96 @@ public class QueryToSqlMySqlImpl implements QueryToSql {
     }
   }
 
-  @SuppressWarnings({"rawtypes", "unchecked"})
   protected String buildCondition(
       FieldCondition c, MapSqlParameterSource params, Supplier<Integer> paramIdx, String alias) {
+    return buildCondition(null, c, params, paramIdx, alias);
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  protected String buildCondition(
+      Query query,
+      FieldCondition c,
+      MapSqlParameterSource params,
+      Supplier<Integer> paramIdx,
+      String alias) {
     String underscoredFieldName =
         alias == null ? snakeCase(c.getFieldName()) : alias + "." + snakeCase(c.getFieldName());
 
+    RestrictionToNativeSql converter = findConverter(query, c);
+    return converter.convert(
+        c.getRestriction(), params, paramIdx, underscoredFieldName, sqlTypeOverrides);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void appendShape(Query query, StringBuilder shape) {
+    List<Condition> rr = query.getConditions();
+    for (int i = 0; i < rr.size(); i++) {
+      Condition r = rr.get(i);
+      if (i > 0) {
+        shape.append(',');
+      }
+
+      if (r instanceof FieldCondition fc) {
+        shape.append(fc.getFieldName()).append(':');
+        findConverter(query, fc).appendShape(fc.getRestriction(), shape);
+      } else if (r instanceof DisjunctionCondition dc) {
+        shape.append("or(");
+        for (int j = 0; j < dc.getQueries().size(); j++) {
+          Query orQuery = (Query) dc.getQueries().get(j);
+          shape.append('(');
+          if (orQuery.isGuaranteedToYieldEmptyResultset()) {
+            shape.append('-');
+          } else {
+            appendShape(orQuery, shape);
+          }
+          shape.append(')');
+        }
+        shape.append(')');
+      } else {
+        throw new IllegalStateException("Unsupported condition: " + r);
+      }
+    }
+  }
+
+  @Override
+  public void bindParams(Query query, MapSqlParameterSource params) {
+    bindParams(query, params, new ParamIdxIncrementer());
+  }
+
+  @SuppressWarnings("unchecked")
+  protected void bindParams(Query query, MapSqlParameterSource params, Supplier<Integer> paramIdx) {
+    for (Object r : query.getConditions()) {
+      if (r instanceof FieldCondition fc) {
+        findConverter(query, fc).bind(fc.getRestriction(), params, paramIdx, sqlTypeOverrides);
+      } else if (r instanceof DisjunctionCondition dc) {
+        for (Object orQuery : dc.getQueries()) {
+          if (!((Query) orQuery).isGuaranteedToYieldEmptyResultset()) {
+            bindParams((Query) orQuery, params, paramIdx);
+          }
+        }
+      } else {
+        throw new IllegalStateException("Unsupported condition: " + r);
+      }
+    }
+  }
+
+  /**
+   * @param query query which contains the condition, might be null
+   * @param c condition
+   * @return converter for the condition. Subclasses may override it to pick converter depending on
+   *     the row class of the query
+   */
+  protected RestrictionToNativeSql findConverter(Query query, FieldCondition c) {
+    return findConverter(c);
+  }
+
+  protected RestrictionToNativeSql findConverter(FieldCondition c) {
     RestrictionToNativeSql converter = converters.get(c.getRestriction().getClass());
     if (converter == null) {
       throw new IllegalStateException("Unsupported restriction: " + c);
     }
-
-    return converter.convert(
-        c.getRestriction(), params, paramIdx, underscoredFieldName, sqlTypeOverrides);
+    return converter;
   }
 
   public static String buildNextParamName(Supplier<Integer> nextParameterIndex) {
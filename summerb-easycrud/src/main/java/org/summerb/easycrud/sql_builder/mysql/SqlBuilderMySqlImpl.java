@@ -1,6 +1,9 @@
 package org.summerb.easycrud.sql_builder.mysql;
 
 import com.google.common.base.Preconditions;
+import java.util.List;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.util.StringUtils;
 import org.summerb.easycrud.join_query.QuerySpecificsResolver;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.Query;
@@ -13,6 +16,19 @@ import org.summerb.easycrud.sql_builder.model.QueryData;
 import org.summerb.utils.easycrud.api.dto.PagerParams;
 
 public class SqlBuilderMySqlImpl extends SqlBuilderCommonImpl {
+  /** Alias of the row being inserted, used in upsert clause to refer to new values */
+  public static final String UPSERT_ROW_ALIAS = "new";
+
+  public static final int DEFAULT_MAX_IN_LIST_SIZE = 10_000;
+
+  /**
+   * Whether to use row alias ("INSERT ... AS new ON DUPLICATE KEY UPDATE col = new.col") in upsert
+   * clause, which is supported only by MySQL since 8.0.19. Otherwise "col = VALUES(col)" form is
+   * used, which works for all versions of MySQL (though deprecated since 8.0.20) and for MariaDB
+   */
+  protected boolean upsertRowAliasSupported;
+
+  protected int maxInListSize = DEFAULT_MAX_IN_LIST_SIZE;
 
   public SqlBuilderMySqlImpl(
       QuerySpecificsResolver querySpecificsResolver,
@@ -50,8 +66,98 @@ public class SqlBuilderMySqlImpl extends SqlBuilderCommonImpl {
     return new QueryData(sql, fromAndWhere.getParams());
   }
 
+  /** Select uses SQL_CALC_FOUND_ROWS when count query will follow */
+  @Override
+  public boolean isSelectDependsOnCountQueryWillFollow() {
+    return true;
+  }
+
   @Override
   public QueryData queryForCountAfterPagedSelect(FromAndWhere fromAndWhere) {
     return new QueryData("SELECT FOUND_ROWS()", fromAndWhere.getParams());
   }
+
+  /**
+   * Uses EXPLAIN. Estimate is taken from the first row of the plan as "rows" multiplied by
+   * "filtered" percentage
+   */
+  @Override
+  public QueryData approximateCount(FromAndWhere fromAndWhere) {
+    Preconditions.checkNotNull(fromAndWhere, "fromAndWhere is required");
+    return new QueryData("EXPLAIN SELECT 1" + fromAndWhere.getSql(), fromAndWhere.getParams());
+  }
+
+  @Override
+  public ResultSetExtractor<Long> approximateCountExtractor() {
+    return rs -> {
+      if (!rs.next()) {
+        return 0L;
+      }
+      long rows = rs.getLong("rows");
+      double filtered = rs.getDouble("filtered");
+      if (rs.wasNull()) {
+        return rows;
+      }
+      return Math.round(rows * filtered / 100);
+    };
+  }
+
+  /**
+   * Uses "ON DUPLICATE KEY UPDATE". Note that in MySQL this clause is triggered by conflict on any
+   * unique key, not only the primary key. See {@link #setUpsertRowAliasSupported(boolean)}
+   */
+  @Override
+  public String upsertClause(String idColumn, List<String> updateColumns) {
+    Preconditions.checkArgument(StringUtils.hasText(idColumn), "idColumn required");
+    Preconditions.checkArgument(updateColumns != null, "updateColumns required");
+
+    StringBuilder ret = new StringBuilder();
+    if (upsertRowAliasSupported) {
+      ret.append(" AS ").append(UPSERT_ROW_ALIAS);
+    }
+    ret.append(" ON DUPLICATE KEY UPDATE ");
+    if (updateColumns.isEmpty()) {
+      // NOTE: MySQL does not have "DO NOTHING", so this is a common way to achieve the same
+      return ret.append(idColumn).append(" = ").append(idColumn).toString();
+    }
+    for (int i = 0; i < updateColumns.size(); i++) {
+      String column = updateColumns.get(i);
+      if (i > 0) {
+        ret.append(", ");
+      }
+      if (upsertRowAliasSupported) {
+        ret.append(column).append(" = ").append(UPSERT_ROW_ALIAS).append(".").append(column);
+      } else {
+        ret.append(column).append(" = VALUES(").append(column).append(")");
+      }
+    }
+    return ret.toString();
+  }
+
+  public boolean isUpsertRowAliasSupported() {
+    return upsertRowAliasSupported;
+  }
+
+  /**
+   * @param upsertRowAliasSupported set to true for MySQL 8.0.19 or newer to use row alias instead
+   *     of deprecated "col = VALUES(col)" form in upsert clause. Must not be enabled for MariaDB.
+   *     Default is false
+   */
+  public void setUpsertRowAliasSupported(boolean upsertRowAliasSupported) {
+    this.upsertRowAliasSupported = upsertRowAliasSupported;
+  }
+
+  /** Each value of IN condition is a separate bind parameter, so large lists need to be chunked */
+  @Override
+  public int getMaxInListSize() {
+    return maxInListSize;
+  }
+
+  /**
+   * @param maxInListSize max amount of values in a single IN condition, zero or negative value
+   *     disables chunking. Default is {@link #DEFAULT_MAX_IN_LIST_SIZE}
+   */
+  public void setMaxInListSize(int maxInListSize) {
+    this.maxInListSize = maxInListSize;
+  }
 }
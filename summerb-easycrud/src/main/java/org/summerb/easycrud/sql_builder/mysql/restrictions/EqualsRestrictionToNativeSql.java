@@ -19,4 +19,13 @@ public class EqualsRestrictionToNativeSql extends RestrictionToNativeSqlTemplate
 
     return underscoredFieldName + (restriction.isNot() ? " != " : " = ") + ":" + pn;
   }
+
+  @Override
+  public void bind(
+      Equals restriction,
+      MapSqlParameterSource params,
+      Supplier<Integer> nextParameterIndex,
+      SqlTypeOverrides sqlTypeOverrides) {
+    addValue(params, nextParameterIndex, restriction.getValue(), sqlTypeOverrides);
+  }
 }
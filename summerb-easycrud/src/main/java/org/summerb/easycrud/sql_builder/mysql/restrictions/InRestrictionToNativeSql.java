@@ -1,11 +1,28 @@
 package org.summerb.easycrud.sql_builder.mysql.restrictions;
 
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.summerb.easycrud.dao.SqlTypeOverrides;
 import org.summerb.easycrud.query.restrictions.In;
 
+/**
+ * Converts {@link In} restriction to {@code IN (:param)}.
+ *
+ * <p>Since list parameter is expanded into one placeholder per value, each distinct list size
+ * yields distinct SQL statement, which defeats statement caches on both driver and DB sides. To
+ * keep number of distinct statements small, list of values is padded (by repeating last value) up
+ * to the next bucket size: next power of two for sizes up to {@link #maxBucketSize} and next
+ * multiple of {@link #maxBucketSize} for bigger ones. Duplicates do not affect the result of IN
+ * predicate.
+ */
 public class InRestrictionToNativeSql extends RestrictionToNativeSqlTemplate<In> {
+  public static final int DEFAULT_MAX_BUCKET_SIZE = 1024;
+
+  protected int maxBucketSize = DEFAULT_MAX_BUCKET_SIZE;
 
   @Override
   public String convert(
@@ -15,7 +32,66 @@ public class InRestrictionToNativeSql extends RestrictionToNativeSqlTemplate<In>
       String underscoredFieldName,
       SqlTypeOverrides sqlTypeOverrides) {
 
-    String pn = addValues(params, nextParameterIndex, restriction.getValues(), sqlTypeOverrides);
+    String pn =
+        addValues(params, nextParameterIndex, pad(restriction.getValues()), sqlTypeOverrides);
     return underscoredFieldName + (restriction.isNot() ? " NOT IN " : " IN ") + "(:" + pn + ")";
   }
+
+  @Override
+  public void bind(
+      In restriction,
+      MapSqlParameterSource params,
+      Supplier<Integer> nextParameterIndex,
+      SqlTypeOverrides sqlTypeOverrides) {
+    addValues(params, nextParameterIndex, pad(restriction.getValues()), sqlTypeOverrides);
+  }
+
+  /**
+   * @param values values of IN restriction
+   * @return values padded up to the bucket size, see {@link #getBucketSize(int, int)}
+   */
+  protected <T> Collection<T> pad(Collection<T> values) {
+    int bucketSize = getBucketSize(values.size(), maxBucketSize);
+    if (bucketSize == values.size()) {
+      return values;
+    }
+
+    List<T> ret = new ArrayList<>(bucketSize);
+    ret.addAll(values);
+    T last = ret.get(ret.size() - 1);
+    while (ret.size() < bucketSize) {
+      ret.add(last);
+    }
+    return ret;
+  }
+
+  /**
+   * @param size actual amount of values
+   * @param maxBucketSize max bucket size, must be power of two. Zero or negative value disables
+   *     padding
+   * @return size of the list after padding
+   */
+  public static int getBucketSize(int size, int maxBucketSize) {
+    if (size <= 1 || maxBucketSize <= 0) {
+      return size;
+    }
+    if (size > maxBucketSize) {
+      return ((size + maxBucketSize - 1) / maxBucketSize) * maxBucketSize;
+    }
+    return Integer.highestOneBit(size - 1) << 1;
+  }
+
+  public int getMaxBucketSize() {
+    return maxBucketSize;
+  }
+
+  /**
+   * @param maxBucketSize power of two, or zero to disable padding
+   */
+  public void setMaxBucketSize(int maxBucketSize) {
+    Preconditions.checkArgument(
+        maxBucketSize <= 0 || Integer.bitCount(maxBucketSize) == 1,
+        "maxBucketSize must be power of two or zero");
+    this.maxBucketSize = maxBucketSize;
+  }
 }
@@ -31,4 +31,19 @@ public class LessRestrictionToNativeSql extends RestrictionToNativeSqlTemplate<L
       }
     }
   }
+
+  @Override
+  public void appendShape(Less restriction, StringBuilder shape) {
+    super.appendShape(restriction, shape);
+    shape.append(restriction.isIncludeBoundary() ? "=" : "");
+  }
+
+  @Override
+  public void bind(
+      Less restriction,
+      MapSqlParameterSource params,
+      Supplier<Integer> nextParameterIndex,
+      SqlTypeOverrides sqlTypeOverrides) {
+    addValue(params, nextParameterIndex, restriction.getValue(), sqlTypeOverrides);
+  }
 }
@@ -3,6 +3,7 @@ package org.summerb.easycrud.sql_builder.mysql.restrictions;
 import java.util.function.Supplier;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.summerb.easycrud.dao.SqlTypeOverrides;
+import org.summerb.easycrud.query.restrictions.base.NegateableRestriction;
 import org.summerb.easycrud.query.restrictions.base.Restriction;
 
 public interface RestrictionToNativeSql<T extends Restriction> {
@@ -23,4 +24,38 @@ public interface RestrictionToNativeSql<T extends Restriction> {
       Supplier<Integer> nextParameterIndex,
       String underscoredFieldName,
       SqlTypeOverrides sqlTypeOverrides);
+
+  /**
+   * Append structural fingerprint of the restriction, i.e. everything that affects SQL text
+   * produced by {@link #convert}, but not the values of the parameters. Used to cache generated SQL
+   *
+   * @param restriction restriction
+   * @param shape target for the fingerprint
+   */
+  default void appendShape(T restriction, StringBuilder shape) {
+    shape.append(restriction.getClass().getSimpleName());
+    if (restriction instanceof NegateableRestriction<?> negateable && negateable.isNot()) {
+      shape.append('!');
+    }
+  }
+
+  /**
+   * Add parameters to params exactly the same way {@link #convert} does, but without building SQL.
+   * Used when SQL text was taken from cache.
+   *
+   * <p>Default impl simply delegates to {@link #convert} and ignores the result. Subclasses may
+   * override it to avoid building SQL
+   *
+   * @param restriction restriction
+   * @param params parameters
+   * @param nextParameterIndex next parameter index supplier
+   * @param sqlTypeOverrides SQL type overrides
+   */
+  default void bind(
+      T restriction,
+      MapSqlParameterSource params,
+      Supplier<Integer> nextParameterIndex,
+      SqlTypeOverrides sqlTypeOverrides) {
+    convert(restriction, params, nextParameterIndex, "", sqlTypeOverrides);
+  }
 }
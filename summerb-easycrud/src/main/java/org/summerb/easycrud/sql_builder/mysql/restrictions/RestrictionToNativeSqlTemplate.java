@@ -2,10 +2,9 @@ package org.summerb.easycrud.sql_builder.mysql.restrictions;
 
 import static org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl.buildNextParamName;
 
+import java.util.Collection;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.summerb.easycrud.dao.SqlTypeOverride;
 import org.summerb.easycrud.dao.SqlTypeOverrides;
@@ -35,7 +34,7 @@ public abstract class RestrictionToNativeSqlTemplate<T extends Restriction>
   protected String addValues(
       MapSqlParameterSource params,
       Supplier<Integer> nextParameterIndex,
-      Set<?> values,
+      Collection<?> values,
       SqlTypeOverrides sqlTypeOverrides) {
 
     String parameterName = buildNextParamName(nextParameterIndex);
@@ -51,7 +50,7 @@ public abstract class RestrictionToNativeSqlTemplate<T extends Restriction>
       } else {
         params.addValue(
             parameterName,
-            values.stream().map(sqlTypeOverride::convert).collect(Collectors.toSet()),
+            values.stream().map(sqlTypeOverride::convert).toList(),
             sqlTypeOverride.getSqlType());
       }
     }
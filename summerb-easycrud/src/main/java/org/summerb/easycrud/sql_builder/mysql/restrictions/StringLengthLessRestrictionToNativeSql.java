@@ -32,4 +32,10 @@ public class StringLengthLessRestrictionToNativeSql
       }
     }
   }
+
+  @Override
+  public void appendShape(StringLengthLess restriction, StringBuilder shape) {
+    super.appendShape(restriction, shape);
+    shape.append(restriction.isIncludeBoundary() ? "=" : "");
+  }
 }
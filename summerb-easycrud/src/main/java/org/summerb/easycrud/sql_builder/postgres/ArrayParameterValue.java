@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.sql_builder.postgres;
+
+import java.util.Arrays;
+import java.util.Objects;
+import org.springframework.jdbc.support.SqlArrayValue;
+
+/**
+ * {@link SqlArrayValue} which is comparable by value, so that parameters built for the cached SQL
+ * are the same as parameters built without cache
+ *
+ * @author sergey.karpushin
+ */
+public class ArrayParameterValue extends SqlArrayValue {
+  protected final String typeName;
+  protected final Object[] elements;
+
+  /**
+   * @param typeName SQL name of the array element type, i.e. "bigint"
+   * @param elements array elements
+   */
+  public ArrayParameterValue(String typeName, Object... elements) {
+    super(typeName, elements);
+    this.typeName = typeName;
+    this.elements = elements;
+  }
+
+  public String getTypeName() {
+    return typeName;
+  }
+
+  public Object[] getElements() {
+    return elements;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ArrayParameterValue that)) {
+      return false;
+    }
+    return typeName.equals(that.typeName) && Arrays.equals(elements, that.elements);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(typeName, Arrays.hashCode(elements));
+  }
+
+  @Override
+  public String toString() {
+    return typeName + Arrays.toString(elements);
+  }
+}
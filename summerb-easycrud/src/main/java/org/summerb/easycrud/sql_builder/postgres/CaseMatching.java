@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.sql_builder.postgres;
+
+/**
+ * Defines how string values are matched by equality-like restrictions (Equals, In, Like) on
+ * Postgres
+ *
+ * @author sergey.karpushin
+ */
+public enum CaseMatching {
+  /**
+   * Case-sensitive, column is compared as is: {@code col = :p}. Plain B-tree index on the column
+   * can be used
+   */
+  EXACT,
+
+  /**
+   * Case-insensitive, both sides are lower-cased: {@code lower(col) = :p}. Requires expression
+   * index {@code CREATE INDEX ... (lower(col))}, otherwise it results in sequential scan. This is
+   * the default behavior
+   */
+  LOWER,
+
+  /**
+   * Case-insensitive, column is expected to be of type {@code citext}: {@code col = CAST(:p AS
+   * citext)}. Plain B-tree index on the column can be used
+   */
+  CITEXT
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.sql_builder.postgres;
+
+import static org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl.snakeCase;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.summerb.easycrud.dao.TableMetadataValidator;
+
+/**
+ * Warns at startup when field configured for case-insensitive matching ({@link CaseMatching#LOWER}
+ * or {@link CaseMatching#CITEXT}) does not have an index which Postgres can use for such matching,
+ * which means each lookup by such field results in sequential scan.
+ *
+ * <p>Only fields with explicitly configured {@link CaseMatching} are validated (see {@link
+ * CaseMatchingResolver})
+ *
+ * @author sergey.karpushin
+ */
+public class CaseMatchingIndexValidator implements TableMetadataValidator {
+  protected Logger log = LoggerFactory.getLogger(getClass());
+
+  protected CaseMatchingResolver caseMatchingResolver;
+
+  public CaseMatchingIndexValidator(CaseMatchingResolver caseMatchingResolver) {
+    Preconditions.checkArgument(caseMatchingResolver != null, "caseMatchingResolver required");
+    this.caseMatchingResolver = caseMatchingResolver;
+  }
+
+  @Override
+  public void validate(DataSource dataSource, String tableName, Class<?> rowClass) {
+    Map<String, CaseMatching> fields = caseMatchingResolver.findAll(rowClass);
+    if (fields.values().stream().allMatch(CaseMatching.EXACT::equals)) {
+      return;
+    }
+
+    try {
+      JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+      List<String> indexDefinitions = findIndexDefinitions(jdbc, tableName);
+      for (Entry<String, CaseMatching> entry : fields.entrySet()) {
+        CaseMatching caseMatching = entry.getValue();
+        if (caseMatching == CaseMatching.EXACT) {
+          continue;
+        }
+
+        String column = snakeCase(entry.getKey());
+        if (caseMatching == CaseMatching.CITEXT
+            && !"citext".equals(findColumnType(jdbc, tableName, column))) {
+          log.warn(
+              "Field {}.{} is configured for {} case matching, but column {}.{} is not of citext type",
+              rowClass.getSimpleName(),
+              entry.getKey(),
+              caseMatching,
+              tableName,
+              column);
+        }
+
+        if (!hasMatchingIndex(indexDefinitions, column, caseMatching)) {
+          log.warn(
+              "Field {}.{} is configured for {} case matching, but there is no suitable index, each lookup will result in sequential scan. Consider: CREATE INDEX ON {} ({})",
+              rowClass.getSimpleName(),
+              entry.getKey(),
+              caseMatching,
+              tableName,
+              caseMatching == CaseMatching.LOWER ? "lower(" + column + ")" : column);
+        }
+      }
+    } catch (Exception e) {
+      log.warn("Failed to validate indexes of table " + tableName, e);
+    }
+  }
+
+  protected List<String> findIndexDefinitions(JdbcTemplate jdbc, String tableName) {
+    String[] schemaAndTable = splitTableName(tableName);
+    if (schemaAndTable[0] == null) {
+      return jdbc.queryForList(
+          "SELECT indexdef FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ?",
+          String.class,
+          schemaAndTable[1]);
+    }
+    return jdbc.queryForList(
+        "SELECT indexdef FROM pg_indexes WHERE schemaname = ? AND tablename = ?",
+        String.class,
+        schemaAndTable[0],
+        schemaAndTable[1]);
+  }
+
+  protected String findColumnType(JdbcTemplate jdbc, String tableName, String column) {
+    String[] schemaAndTable = splitTableName(tableName);
+    List<String> ret =
+        schemaAndTable[0] == null
+            ? jdbc.queryForList(
+                "SELECT udt_name FROM information_schema.columns WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?",
+                String.class,
+                schemaAndTable[1],
+                column)
+            : jdbc.queryForList(
+                "SELECT udt_name FROM information_schema.columns WHERE table_schema = ? AND table_name = ? AND column_name = ?",
+                String.class,
+                schemaAndTable[0],
+                schemaAndTable[1],
+                column);
+    return ret.isEmpty() ? null : ret.get(0);
+  }
+
+  protected String[] splitTableName(String tableName) {
+    int idx = tableName.indexOf('.');
+    if (idx < 0) {
+      return new String[] {null, tableName};
+    }
+    return new String[] {tableName.substring(0, idx), tableName.substring(idx + 1)};
+  }
+
+  /**
+   * @param indexDefinitions index definitions as reported by pg_indexes view, i.e. "CREATE INDEX
+   *     idx ON public.users USING btree (lower((email)::text))"
+   * @param column column name
+   * @param caseMatching case matching
+   * @return true if there is an index which has column (or lower(column) for {@link
+   *     CaseMatching#LOWER}) as its leading key
+   */
+  protected boolean hasMatchingIndex(
+      List<String> indexDefinitions, String column, CaseMatching caseMatching) {
+    String quotedColumn = "\"?" + Pattern.quote(column) + "\"?";
+    String key =
+        caseMatching == CaseMatching.LOWER
+            ? "lower\\(\\(?" + quotedColumn + "\\)?(::[\\w ]+)?\\)"
+            : quotedColumn;
+    Pattern pattern = Pattern.compile("USING \\w+ \\(" + key + "[\\s,)]", Pattern.CASE_INSENSITIVE);
+    return indexDefinitions.stream().anyMatch(x -> pattern.matcher(x).find());
+  }
+}
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.sql_builder.postgres;
+
+import java.util.Map;
+
+/**
+ * Resolves {@link CaseMatching} explicitly configured for fields of rows
+ *
+ * @author sergey.karpushin
+ */
+public interface CaseMatchingResolver {
+  /**
+   * @param rowClass row class, might be null
+   * @param fieldName name of the field
+   * @return case matching configured for the field or null if nothing configured, in which case
+   *     default one will be used
+   */
+  CaseMatching find(Class<?> rowClass, String fieldName);
+
+  /**
+   * @param rowClass row class
+   * @return all fields of the row class with explicitly configured case matching, never null
+   */
+  Map<String, CaseMatching> findAll(Class<?> rowClass);
+}
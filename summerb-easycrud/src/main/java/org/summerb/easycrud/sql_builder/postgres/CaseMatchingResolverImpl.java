@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.sql_builder.postgres;
+
+import com.google.common.base.Preconditions;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * Resolves {@link CaseMatching} using {@link CaseMatchingStrategy} annotations on row classes and
+ * their fields. Annotations can be overridden programmatically using {@link #setCaseMatching(Class,
+ * CaseMatching)} and {@link #setCaseMatching(Class, String, CaseMatching)}
+ *
+ * @author sergey.karpushin
+ */
+public class CaseMatchingResolverImpl implements CaseMatchingResolver {
+  protected final Map<Class<?>, CaseMatching> rowClassOverrides = new ConcurrentHashMap<>();
+  protected final Map<Class<?>, Map<String, CaseMatching>> fieldOverrides =
+      new ConcurrentHashMap<>();
+  protected final Map<Class<?>, Map<String, CaseMatching>> resolved = new ConcurrentHashMap<>();
+
+  @Override
+  public CaseMatching find(Class<?> rowClass, String fieldName) {
+    if (rowClass == null) {
+      return null;
+    }
+    return findAll(rowClass).get(fieldName);
+  }
+
+  @Override
+  public Map<String, CaseMatching> findAll(Class<?> rowClass) {
+    Preconditions.checkArgument(rowClass != null, "rowClass required");
+    return resolved.computeIfAbsent(rowClass, this::discover);
+  }
+
+  protected Map<String, CaseMatching> discover(Class<?> rowClass) {
+    Map<String, CaseMatching> ret = new HashMap<>();
+    CaseMatching rowClassCaseMatching = rowClassOverrides.get(rowClass);
+    if (rowClassCaseMatching == null) {
+      CaseMatchingStrategy annotation = rowClass.getAnnotation(CaseMatchingStrategy.class);
+      rowClassCaseMatching = annotation == null ? null : annotation.value();
+    }
+
+    for (Class<?> clazz = rowClass; clazz != null; clazz = clazz.getSuperclass()) {
+      for (Field field : clazz.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())
+            || !CharSequence.class.isAssignableFrom(field.getType())
+            || ret.containsKey(field.getName())) {
+          continue;
+        }
+        CaseMatchingStrategy annotation = field.getAnnotation(CaseMatchingStrategy.class);
+        CaseMatching caseMatching = annotation != null ? annotation.value() : rowClassCaseMatching;
+        if (caseMatching != null) {
+          ret.put(field.getName(), caseMatching);
+        }
+      }
+    }
+
+    ret.putAll(fieldOverrides.getOrDefault(rowClass, Map.of()));
+    return Collections.unmodifiableMap(ret);
+  }
+
+  /**
+   * Set case matching for all String fields of the row class, takes precedence over annotation on
+   * the class, but not over annotations on fields
+   */
+  public void setCaseMatching(Class<?> rowClass, CaseMatching caseMatching) {
+    Preconditions.checkArgument(rowClass != null, "rowClass required");
+    Preconditions.checkArgument(caseMatching != null, "caseMatching required");
+    rowClassOverrides.put(rowClass, caseMatching);
+    resolved.remove(rowClass);
+  }
+
+  /** Set case matching for the specific field, takes precedence over annotations */
+  public void setCaseMatching(Class<?> rowClass, String fieldName, CaseMatching caseMatching) {
+    Preconditions.checkArgument(rowClass != null, "rowClass required");
+    Preconditions.checkArgument(StringUtils.hasText(fieldName), "fieldName required");
+    Preconditions.checkArgument(caseMatching != null, "caseMatching required");
+    fieldOverrides
+        .computeIfAbsent(rowClass, x -> new ConcurrentHashMap<>())
+        .put(fieldName, caseMatching);
+    resolved.remove(rowClass);
+  }
+}
@@ -16,12 +16,20 @@
 package org.summerb.easycrud.sql_builder.postgres;
 
 import com.google.common.base.Preconditions;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.summerb.easycrud.dao.SqlTypeOverrides;
+import org.summerb.easycrud.query.FieldCondition;
+import org.summerb.easycrud.query.Query;
 import org.summerb.easycrud.query.restrictions.Equals;
 import org.summerb.easycrud.query.restrictions.In;
 import org.summerb.easycrud.query.restrictions.Like;
+import org.summerb.easycrud.query.restrictions.base.Restriction;
 import org.summerb.easycrud.sql_builder.QueryToSql;
 import org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl;
+import org.summerb.easycrud.sql_builder.mysql.restrictions.RestrictionToNativeSql;
 import org.summerb.easycrud.sql_builder.postgres.restrictions.EqualsRestrictionToNativeSql;
 import org.summerb.easycrud.sql_builder.postgres.restrictions.InRestrictionToNativeSql;
 import org.summerb.easycrud.sql_builder.postgres.restrictions.LikeRestrictionToNativeSql;
@@ -29,17 +37,29 @@ import org.summerb.easycrud.sql_builder.postgres.restrictions.LikeRestrictionToN
 /**
  * Postgres specific impl of {@link QueryToSql}
  *
- * <p>WARNING!!! It is suggested to have an index "lower(string_field)" for text fields which will
- * be searched
+ * <p>WARNING!!! By default strings are matched case-insensitively using {@code lower(column)}, so
+ * it is suggested to have an index "lower(string_field)" for text fields which will be searched.
+ * Alternatively, other {@link CaseMatching} can be configured per field or per row class using
+ * {@link CaseMatchingStrategy} annotation or {@link CaseMatchingResolverImpl}, or globally using
+ * {@link #setDefaultCaseMatching(CaseMatching)}
  *
  * @author sergey.karpushin
  */
+@SuppressWarnings("rawtypes")
 public class QueryToSqlPostgresImpl extends QueryToSqlMySqlImpl {
+  protected CaseMatchingResolver caseMatchingResolver = new CaseMatchingResolverImpl();
+
+  protected final Map<
+          CaseMatching,
+          Map<Class<? extends Restriction>, RestrictionToNativeSql<? extends Restriction>>>
+      caseMatchingConverters = new EnumMap<>(CaseMatching.class);
+
   public QueryToSqlPostgresImpl() {
     super();
-    converters.put(Equals.class, new EqualsRestrictionToNativeSql());
-    converters.put(In.class, new InRestrictionToNativeSql());
-    converters.put(Like.class, new LikeRestrictionToNativeSql());
+    for (CaseMatching caseMatching : CaseMatching.values()) {
+      caseMatchingConverters.put(caseMatching, buildCaseMatchingConverters(caseMatching));
+    }
+    converters.putAll(caseMatchingConverters.get(CaseMatching.LOWER));
   }
 
   public QueryToSqlPostgresImpl(SqlTypeOverrides sqlTypeOverrides) {
@@ -47,4 +67,49 @@ public class QueryToSqlPostgresImpl extends QueryToSqlMySqlImpl {
     Preconditions.checkNotNull(sqlTypeOverrides, "sqlTypeOverrides required");
     this.sqlTypeOverrides = sqlTypeOverrides;
   }
+
+  protected Map<Class<? extends Restriction>, RestrictionToNativeSql<? extends Restriction>>
+      buildCaseMatchingConverters(CaseMatching caseMatching) {
+    Map<Class<? extends Restriction>, RestrictionToNativeSql<? extends Restriction>> ret =
+        new HashMap<>();
+    ret.put(Equals.class, new EqualsRestrictionToNativeSql(caseMatching));
+    ret.put(In.class, new InRestrictionToNativeSql(caseMatching));
+    ret.put(Like.class, new LikeRestrictionToNativeSql(caseMatching));
+    return ret;
+  }
+
+  @Override
+  protected RestrictionToNativeSql findConverter(Query query, FieldCondition c) {
+    CaseMatching caseMatching =
+        query == null
+            ? null
+            : caseMatchingResolver.find(query.getService().getRowClass(), c.getFieldName());
+    if (caseMatching != null) {
+      RestrictionToNativeSql ret =
+          caseMatchingConverters.get(caseMatching).get(c.getRestriction().getClass());
+      if (ret != null) {
+        return ret;
+      }
+    }
+    return findConverter(c);
+  }
+
+  /**
+   * Set case matching used for fields which do not have it configured explicitly. Default is {@link
+   * CaseMatching#LOWER}
+   */
+  public void setDefaultCaseMatching(CaseMatching caseMatching) {
+    Preconditions.checkArgument(caseMatching != null, "caseMatching required");
+    converters.putAll(caseMatchingConverters.get(caseMatching));
+  }
+
+  public CaseMatchingResolver getCaseMatchingResolver() {
+    return caseMatchingResolver;
+  }
+
+  @Autowired(required = false)
+  public void setCaseMatchingResolver(CaseMatchingResolver caseMatchingResolver) {
+    Preconditions.checkArgument(caseMatchingResolver != null, "caseMatchingResolver required");
+    this.caseMatchingResolver = caseMatchingResolver;
+  }
 }
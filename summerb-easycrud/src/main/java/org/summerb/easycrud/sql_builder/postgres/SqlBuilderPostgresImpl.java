@@ -2,7 +2,12 @@ package org.summerb.easycrud.sql_builder.postgres;
 
 import com.google.common.base.Preconditions;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.util.StringUtils;
 import org.summerb.easycrud.join_query.JoinQuery;
 import org.summerb.easycrud.join_query.QuerySpecificsResolver;
 import org.summerb.easycrud.query.OrderBy;
@@ -14,10 +19,13 @@ import org.summerb.easycrud.sql_builder.OrderByToSql;
 import org.summerb.easycrud.sql_builder.QueryToSql;
 import org.summerb.easycrud.sql_builder.impl.SqlBuilderCommonImpl;
 import org.summerb.easycrud.sql_builder.model.ColumnsSelection;
+import org.summerb.easycrud.sql_builder.model.FromAndWhere;
+import org.summerb.easycrud.sql_builder.model.QueryData;
 import org.summerb.easycrud.sql_builder.model.SelectedColumn;
 import org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl;
 
 public class SqlBuilderPostgresImpl extends SqlBuilderCommonImpl {
+  protected static final Pattern PLAN_ROWS = Pattern.compile(" rows=(\\d+)");
 
   public SqlBuilderPostgresImpl(
       QuerySpecificsResolver querySpecificsResolver,
@@ -193,4 +201,64 @@ public class SqlBuilderPostgresImpl extends SqlBuilderCommonImpl {
         .findFirst()
         .orElse(null);
   }
+
+  @Override
+  public QueryData deleteByIdsReturningIds(String tableName, Collection<?> ids) {
+    QueryData ret = deleteByIds(tableName, ids);
+    return new QueryData(ret.getSql() + " RETURNING id", ret.getParams());
+  }
+
+  /**
+   * Uses EXPLAIN. Estimate is taken from the top node of the plan, i.e. "Seq Scan on users
+   * (cost=0.00..35.50 rows=2550 width=4)"
+   */
+  @Override
+  public QueryData approximateCount(FromAndWhere fromAndWhere) {
+    Preconditions.checkNotNull(fromAndWhere, "fromAndWhere is required");
+    return new QueryData("EXPLAIN SELECT 1" + fromAndWhere.getSql(), fromAndWhere.getParams());
+  }
+
+  @Override
+  public ResultSetExtractor<Long> approximateCountExtractor() {
+    return rs -> {
+      if (!rs.next()) {
+        return 0L;
+      }
+      String plan = rs.getString(1);
+      Matcher matcher = PLAN_ROWS.matcher(plan == null ? "" : plan);
+      Preconditions.checkState(matcher.find(), "Failed to find rows estimate in plan: %s", plan);
+      return Long.parseLong(matcher.group(1));
+    };
+  }
+
+  @Override
+  public String upsertClause(String idColumn, List<String> updateColumns) {
+    Preconditions.checkArgument(StringUtils.hasText(idColumn), "idColumn required");
+    Preconditions.checkArgument(updateColumns != null, "updateColumns required");
+
+    StringBuilder ret = new StringBuilder(" ON CONFLICT (").append(idColumn).append(")");
+    ret.append(" DO UPDATE SET ");
+    if (updateColumns.isEmpty()) {
+      // NOTE: Not using "DO NOTHING" because then conflicting rows are not returned by
+      // upsertInsertedFlagClause
+      return ret.append(idColumn).append(" = EXCLUDED.").append(idColumn).toString();
+    }
+    for (int i = 0; i < updateColumns.size(); i++) {
+      String column = updateColumns.get(i);
+      if (i > 0) {
+        ret.append(", ");
+      }
+      ret.append(column).append(" = EXCLUDED.").append(column);
+    }
+    return ret.toString();
+  }
+
+  /**
+   * xmax is zero only for the row version which was just inserted, for rows updated by "ON CONFLICT
+   * DO UPDATE" it contains id of the current transaction
+   */
+  @Override
+  public String upsertInsertedFlagClause() {
+    return " RETURNING (xmax = 0) AS " + COLUMN_UPSERT_INSERTED;
+  }
 }
@@ -2,15 +2,31 @@ package org.summerb.easycrud.sql_builder.postgres.restrictions;
 
 import static org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl.buildNextParamName;
 
+import com.google.common.base.Preconditions;
 import java.util.function.Supplier;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.summerb.easycrud.dao.SqlTypeOverrides;
 import org.summerb.easycrud.query.restrictions.Equals;
+import org.summerb.easycrud.sql_builder.postgres.CaseMatching;
 
-/** Case-insensitive for Strings, workaround Postgres specifics */
+/**
+ * Case-insensitive for Strings, workaround Postgres specifics. Exact behavior is defined by {@link
+ * CaseMatching}
+ */
 public class EqualsRestrictionToNativeSql
     extends org.summerb.easycrud.sql_builder.mysql.restrictions.EqualsRestrictionToNativeSql {
 
+  protected final CaseMatching caseMatching;
+
+  public EqualsRestrictionToNativeSql() {
+    this(CaseMatching.LOWER);
+  }
+
+  public EqualsRestrictionToNativeSql(CaseMatching caseMatching) {
+    Preconditions.checkArgument(caseMatching != null, "caseMatching required");
+    this.caseMatching = caseMatching;
+  }
+
   @Override
   public String convert(
       Equals restriction,
@@ -19,14 +35,46 @@ public class EqualsRestrictionToNativeSql
       String underscoredFieldName,
       SqlTypeOverrides sqlTypeOverrides) {
 
-    if (!(restriction.getValue() instanceof String str)) {
+    if (!(restriction.getValue() instanceof String str) || caseMatching == CaseMatching.EXACT) {
       return super.convert(
           restriction, params, nextParameterIndex, underscoredFieldName, sqlTypeOverrides);
     }
 
     String pn = buildNextParamName(nextParameterIndex);
+    if (caseMatching == CaseMatching.CITEXT) {
+      params.addValue(pn, str);
+      return String.format(
+          "%s %s CAST(:%s AS citext)", underscoredFieldName, restriction.isNot() ? "!=" : "=", pn);
+    }
+
     params.addValue(pn, str.toLowerCase());
     return String.format(
         "lower(%s) %s :%s", underscoredFieldName, restriction.isNot() ? " != " : " = ", pn);
   }
+
+  @Override
+  public void appendShape(Equals restriction, StringBuilder shape) {
+    super.appendShape(restriction, shape);
+    shape.append(restriction.getValue() instanceof String ? "s" + caseMatching.ordinal() : "");
+  }
+
+  @Override
+  public void bind(
+      Equals restriction,
+      MapSqlParameterSource params,
+      Supplier<Integer> nextParameterIndex,
+      SqlTypeOverrides sqlTypeOverrides) {
+    if (!(restriction.getValue() instanceof String str) || caseMatching == CaseMatching.EXACT) {
+      super.bind(restriction, params, nextParameterIndex, sqlTypeOverrides);
+      return;
+    }
+
+    params.addValue(
+        buildNextParamName(nextParameterIndex),
+        caseMatching == CaseMatching.CITEXT ? str : str.toLowerCase());
+  }
+
+  public CaseMatching getCaseMatching() {
+    return caseMatching;
+  }
 }
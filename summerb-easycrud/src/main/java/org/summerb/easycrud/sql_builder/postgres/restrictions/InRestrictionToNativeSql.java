@@ -2,16 +2,54 @@ package org.summerb.easycrud.sql_builder.postgres.restrictions;
 
 import static org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl.buildNextParamName;
 
+import com.google.common.base.Preconditions;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.summerb.easycrud.dao.SqlTypeOverrides;
 import org.summerb.easycrud.query.restrictions.In;
+import org.summerb.easycrud.sql_builder.postgres.ArrayParameterValue;
+import org.summerb.easycrud.sql_builder.postgres.CaseMatching;
 
-/** Case-insensitive for Strings, workaround Postgres specifics */
+/**
+ * Case-insensitive for Strings, workaround Postgres specifics. Exact behavior is defined by {@link
+ * CaseMatching}.
+ *
+ * <p>When {@link #isUseArrays()} is true (default) and values are of well-known type, all values
+ * are bound as a single array parameter using {@code = ANY(:param)} (or {@code <> ALL(:param)} for
+ * negation), so SQL text does not depend on amount of values at all and there is no limit on the
+ * amount of bind parameters. Otherwise falls back to padded {@code IN (:param)}
+ */
 public class InRestrictionToNativeSql
     extends org.summerb.easycrud.sql_builder.mysql.restrictions.InRestrictionToNativeSql {
 
+  protected static final Map<Class<?>, String> ARRAY_ELEMENT_TYPES =
+      Map.of(
+          Long.class, "bigint",
+          Integer.class, "integer",
+          Short.class, "smallint",
+          String.class, "text",
+          UUID.class, "uuid",
+          BigDecimal.class, "numeric",
+          Boolean.class, "boolean");
+
+  protected final CaseMatching caseMatching;
+  protected boolean useArrays = true;
+
+  public InRestrictionToNativeSql() {
+    this(CaseMatching.LOWER);
+  }
+
+  public InRestrictionToNativeSql(CaseMatching caseMatching) {
+    Preconditions.checkArgument(caseMatching != null, "caseMatching required");
+    this.caseMatching = caseMatching;
+  }
+
   @Override
   public String convert(
       In restriction,
@@ -20,18 +58,126 @@ public class InRestrictionToNativeSql
       String underscoredFieldName,
       SqlTypeOverrides sqlTypeOverrides) {
 
-    if (!(restriction.getValues().iterator().next() instanceof CharSequence)) {
+    String arrayType = findArrayElementType(restriction, sqlTypeOverrides);
+    if (arrayType != null) {
+      String pn = addArray(restriction, params, nextParameterIndex, arrayType);
+      String column =
+          isLowerCased(restriction) ? "lower(" + underscoredFieldName + ")" : underscoredFieldName;
+      String param =
+          isString(restriction) && caseMatching == CaseMatching.CITEXT
+              ? "CAST(:" + pn + " AS citext[])"
+              : ":" + pn;
+      return String.format("%s %s(%s)", column, restriction.isNot() ? "<> ALL" : "= ANY", param);
+    }
+
+    // NOTE: For CITEXT we cannot cast expanded list, so falling back to lower()
+    if (!isString(restriction) || caseMatching == CaseMatching.EXACT) {
       return super.convert(
           restriction, params, nextParameterIndex, underscoredFieldName, sqlTypeOverrides);
     }
 
     String pn = buildNextParamName(nextParameterIndex);
-    params.addValue(
-        pn,
-        restriction.getValues().stream()
-            .map(x -> x.toString().toLowerCase())
-            .collect(Collectors.toList()));
+    params.addValue(pn, pad(lowerCase(restriction)));
     return String.format(
         "lower(%s) %s (:%s)", underscoredFieldName, restriction.isNot() ? " NOT IN " : " IN ", pn);
   }
+
+  @Override
+  public void appendShape(In restriction, StringBuilder shape) {
+    super.appendShape(restriction, shape);
+    shape.append(isString(restriction) ? "s" + caseMatching.ordinal() : "");
+    if (useArrays) {
+      // NOTE: Whether array is used depends on the type of values
+      Object firstValue = findFirstValue(restriction);
+      shape.append(firstValue == null ? "" : firstValue.getClass().getName());
+    }
+  }
+
+  @Override
+  public void bind(
+      In restriction,
+      MapSqlParameterSource params,
+      Supplier<Integer> nextParameterIndex,
+      SqlTypeOverrides sqlTypeOverrides) {
+    String arrayType = findArrayElementType(restriction, sqlTypeOverrides);
+    if (arrayType != null) {
+      addArray(restriction, params, nextParameterIndex, arrayType);
+      return;
+    }
+
+    if (!isString(restriction) || caseMatching == CaseMatching.EXACT) {
+      super.bind(restriction, params, nextParameterIndex, sqlTypeOverrides);
+      return;
+    }
+
+    params.addValue(buildNextParamName(nextParameterIndex), pad(lowerCase(restriction)));
+  }
+
+  protected String addArray(
+      In restriction,
+      MapSqlParameterSource params,
+      Supplier<Integer> nextParameterIndex,
+      String arrayType) {
+    String pn = buildNextParamName(nextParameterIndex);
+    Object[] elements =
+        isLowerCased(restriction)
+            ? lowerCase(restriction).toArray()
+            : restriction.getValues().toArray();
+    params.addValue(pn, new ArrayParameterValue(arrayType, elements));
+    return pn;
+  }
+
+  /**
+   * @return SQL type name of array element or null if array cannot be used for these values
+   */
+  protected String findArrayElementType(In restriction, SqlTypeOverrides sqlTypeOverrides) {
+    if (!useArrays) {
+      return null;
+    }
+    Object firstValue = findFirstValue(restriction);
+    if (firstValue == null) {
+      return null;
+    }
+    if (firstValue instanceof CharSequence) {
+      return "text";
+    }
+    if (sqlTypeOverrides != null && sqlTypeOverrides.findOverrideForValue(firstValue) != null) {
+      return null;
+    }
+    return ARRAY_ELEMENT_TYPES.get(firstValue.getClass());
+  }
+
+  protected Object findFirstValue(In restriction) {
+    return restriction.getValues().stream().filter(Objects::nonNull).findFirst().orElse(null);
+  }
+
+  protected boolean isString(In restriction) {
+    return findFirstValue(restriction) instanceof CharSequence;
+  }
+
+  protected boolean isLowerCased(In restriction) {
+    return caseMatching == CaseMatching.LOWER && isString(restriction);
+  }
+
+  protected List<String> lowerCase(In restriction) {
+    return restriction.getValues().stream()
+        .map(x -> x == null ? null : x.toString().toLowerCase())
+        .collect(Collectors.toList());
+  }
+
+  public CaseMatching getCaseMatching() {
+    return caseMatching;
+  }
+
+  public boolean isUseArrays() {
+    return useArrays;
+  }
+
+  /**
+   * @param useArrays true to bind values as a single array parameter when possible, false to always
+   *     use {@code IN (...)}
+   */
+  public void setUseArrays(boolean useArrays) {
+    this.useArrays = useArrays;
+  }
 }
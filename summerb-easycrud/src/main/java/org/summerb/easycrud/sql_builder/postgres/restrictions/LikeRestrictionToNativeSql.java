@@ -2,14 +2,28 @@ package org.summerb.easycrud.sql_builder.postgres.restrictions;
 
 import static org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl.buildNextParamName;
 
+import com.google.common.base.Preconditions;
 import java.util.function.Supplier;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.summerb.easycrud.dao.SqlTypeOverrides;
 import org.summerb.easycrud.query.restrictions.Like;
 import org.summerb.easycrud.sql_builder.mysql.restrictions.RestrictionToNativeSql;
+import org.summerb.easycrud.sql_builder.postgres.CaseMatching;
 
+/** Uses ILIKE unless {@link CaseMatching#EXACT} is requested */
 public class LikeRestrictionToNativeSql implements RestrictionToNativeSql<Like> {
 
+  protected final CaseMatching caseMatching;
+
+  public LikeRestrictionToNativeSql() {
+    this(CaseMatching.LOWER);
+  }
+
+  public LikeRestrictionToNativeSql(CaseMatching caseMatching) {
+    Preconditions.checkArgument(caseMatching != null, "caseMatching required");
+    this.caseMatching = caseMatching;
+  }
+
   @Override
   public String convert(
       Like restriction,
@@ -25,10 +39,21 @@ public class LikeRestrictionToNativeSql implements RestrictionToNativeSql<Like>
             + restriction.getSubString()
             + (restriction.isAddPostfixWildcard() ? "%" : ""));
 
+    String operator = caseMatching == CaseMatching.EXACT ? "LIKE" : "ILIKE";
     if (restriction.isNot()) {
-      return underscoredFieldName + " NOT ILIKE :" + pn;
+      return underscoredFieldName + " NOT " + operator + " :" + pn;
     } else {
-      return underscoredFieldName + " ILIKE :" + pn;
+      return underscoredFieldName + " " + operator + " :" + pn;
     }
   }
+
+  @Override
+  public void appendShape(Like restriction, StringBuilder shape) {
+    RestrictionToNativeSql.super.appendShape(restriction, shape);
+    shape.append(caseMatching.ordinal());
+  }
+
+  public CaseMatching getCaseMatching() {
+    return caseMatching;
+  }
 }
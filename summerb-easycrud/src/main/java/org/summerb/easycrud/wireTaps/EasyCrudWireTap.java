@@ -62,6 +62,31 @@ public interface EasyCrudWireTap<T> {
 
   void afterCreate(T row);
 
+  /**
+   * Called before batch creation of rows. Base implementation will call {@link
+   * #beforeCreate(Object)} for each row in the list. If you override this method to perform batch
+   * processing and you do not need such behavior, do NOT call base implementation.
+   *
+   * @param rows rows being created
+   */
+  default void beforeCreate(List<T> rows) {
+    if (requiresOnCreate()) {
+      rows.forEach(this::beforeCreate);
+    }
+  }
+
+  /**
+   * Called after batch creation of rows. Base implementation will call {@link #afterCreate(Object)}
+   * for each row in the list.
+   *
+   * @param rows rows that were created
+   */
+  default void afterCreate(List<T> rows) {
+    if (requiresOnCreate()) {
+      rows.forEach(this::afterCreate);
+    }
+  }
+
   /**
    * Impl must respond whether {@link #beforeRead()} and {@link #afterRead(Object)} must be called
    *
@@ -123,6 +148,39 @@ public interface EasyCrudWireTap<T> {
 
   void afterUpdate(T from, T to);
 
+  /**
+   * Called before batch update of rows. Base implementation will call {@link #beforeUpdate(Object,
+   * Object)} for each pair of rows. If you override this method to perform batch processing and you
+   * do not need such behavior, do NOT call base implementation.
+   *
+   * @param from original rows, in the same order as rows in "to" list. Items are null unless {@link
+   *     EasyCrudWireTapMode#FULL_DTO_AND_CURRENT_VERSION_NEEDED} was requested
+   * @param to updated rows
+   */
+  default void beforeUpdate(List<T> from, List<T> to) {
+    if (requiresOnUpdate().isNeeded()) {
+      for (int i = 0; i < to.size(); i++) {
+        beforeUpdate(from.get(i), to.get(i));
+      }
+    }
+  }
+
+  /**
+   * Called after batch update of rows. Only rows which were actually updated are provided. Base
+   * implementation will call {@link #afterUpdate(Object, Object)} for each pair of rows.
+   *
+   * @param from original rows, in the same order as rows in "to" list. Items are null unless {@link
+   *     EasyCrudWireTapMode#FULL_DTO_AND_CURRENT_VERSION_NEEDED} was requested
+   * @param to updated rows
+   */
+  default void afterUpdate(List<T> from, List<T> to) {
+    if (requiresOnUpdate().isNeeded()) {
+      for (int i = 0; i < to.size(); i++) {
+        afterUpdate(from.get(i), to.get(i));
+      }
+    }
+  }
+
   /**
    * Impl must respond whether {@link #beforeDelete(Object)} and {@link #afterDelete(Object)} must
    * be called
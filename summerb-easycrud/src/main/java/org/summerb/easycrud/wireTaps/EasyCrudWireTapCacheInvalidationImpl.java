@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.wireTaps;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import java.util.List;
+import java.util.Objects;
+import org.summerb.easycrud.impl.EasyCrudServiceCachingImpl;
+import org.summerb.easycrud.row.HasId;
+
+/**
+ * WireTap which invalidates cache entries (keyed by row id) after each modification operation. It
+ * is used by {@link EasyCrudServiceCachingImpl}, but can be used with any other id-keyed cache.
+ *
+ * <p>Invalidation on create is needed because cache might contain "negative" entries for ids that
+ * were not found. Update and delete require only {@link EasyCrudWireTapMode#ONLY_INVOKE_WIRETAP},
+ * so rows are not loaded just to invalidate the cache. Update passes new version of the row, so its
+ * id is known. Delete passes null rows, in which case {@link #invalidateUnknown()} is invoked which
+ * by default invalidates the whole cache. Subclasses that know which id is being deleted (like
+ * {@link EasyCrudServiceCachingImpl}) can invalidate just that id.
+ *
+ * @author sergey.karpushin
+ * @param <TId> type of id
+ * @param <TRow> type of row
+ */
+public class EasyCrudWireTapCacheInvalidationImpl<
+        TId extends Comparable<TId>, TRow extends HasId<TId>>
+    extends EasyCrudWireTapAbstract<TRow> {
+  protected Cache<TId, ?> cache;
+
+  public EasyCrudWireTapCacheInvalidationImpl(Cache<TId, ?> cache) {
+    Preconditions.checkArgument(cache != null, "cache required");
+    this.cache = cache;
+  }
+
+  /** For subclasses which do not keep a single cache instance, see {@link #invalidate(List)} */
+  protected EasyCrudWireTapCacheInvalidationImpl() {}
+
+  protected void invalidate(List<TId> ids) {
+    cache.invalidateAll(ids);
+  }
+
+  /** Invoked when rows were deleted, but their ids are not known to the wire tap */
+  protected void invalidateUnknown() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public boolean requiresOnCreate() {
+    return true;
+  }
+
+  @Override
+  public void afterCreate(TRow row) {
+    invalidate(List.of(row.getId()));
+  }
+
+  @Override
+  public void afterCreate(List<TRow> rows) {
+    invalidate(rows.stream().map(HasId::getId).toList());
+  }
+
+  @Override
+  public EasyCrudWireTapMode requiresOnUpdate() {
+    return EasyCrudWireTapMode.ONLY_INVOKE_WIRETAP;
+  }
+
+  @Override
+  public void afterUpdate(TRow from, TRow to) {
+    invalidate(List.of(to.getId()));
+  }
+
+  @Override
+  public void afterUpdate(List<TRow> from, List<TRow> to) {
+    invalidate(to.stream().map(HasId::getId).toList());
+  }
+
+  @Override
+  public EasyCrudWireTapMode requiresOnDelete() {
+    return EasyCrudWireTapMode.ONLY_INVOKE_WIRETAP;
+  }
+
+  @Override
+  public void afterDelete(TRow row) {
+    if (row == null) {
+      invalidateUnknown();
+    } else {
+      invalidate(List.of(row.getId()));
+    }
+  }
+
+  @Override
+  public void afterDelete(List<TRow> rows) {
+    if (rows.stream().anyMatch(Objects::isNull)) {
+      invalidateUnknown();
+    } else {
+      invalidate(rows.stream().map(HasId::getId).toList());
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.wireTaps;
+
+import com.google.common.base.Preconditions;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.data_loader.EasyCrudDataLoader;
+import org.summerb.easycrud.data_loader.EasyCrudDataLoaderScope;
+import org.summerb.easycrud.row.HasId;
+
+/**
+ * WireTap which makes {@link EasyCrudDataLoader} of the current {@link EasyCrudDataLoaderScope}
+ * forget rows that were modified, so that subsequent lookups within the same scope will not return
+ * stale data.
+ *
+ * <p>It requires only {@link EasyCrudWireTapMode#ONLY_INVOKE_WIRETAP}, so it does not make the
+ * service load rows before update or delete. Updated rows are forgotten by id. Deleted rows are
+ * forgotten by id if other wire taps in the chain made the service load them, otherwise (row is not
+ * known) the whole loader of this service is cleared, which is cheap since the loader lives only
+ * within a scope.
+ *
+ * @author sergey.karpushin
+ * @param <TId> type of id
+ * @param <TRow> type of row
+ */
+public class EasyCrudWireTapDataLoaderInvalidationImpl<
+        TId extends Comparable<TId>, TRow extends HasId<TId>>
+    extends EasyCrudWireTapAbstract<TRow> {
+  protected EasyCrudService<TId, TRow> service;
+
+  /**
+   * @param service service which is used as a key of loader within scope
+   */
+  public EasyCrudWireTapDataLoaderInvalidationImpl(EasyCrudService<TId, TRow> service) {
+    Preconditions.checkArgument(service != null, "service required");
+    this.service = service;
+  }
+
+  /**
+   * @return loader of the current scope or null if there is no current scope or if nothing was
+   *     loaded yet using given service
+   */
+  protected EasyCrudDataLoader<TId, TRow> findLoader() {
+    EasyCrudDataLoaderScope scope = EasyCrudDataLoaderScope.find();
+    if (scope == null) {
+      return null;
+    }
+    return scope.findLoader(service);
+  }
+
+  protected void invalidate(List<TRow> rows) {
+    EasyCrudDataLoader<TId, TRow> loader = findLoader();
+    if (loader == null) {
+      return;
+    }
+    if (rows.stream().anyMatch(Objects::isNull)) {
+      loader.invalidateAll();
+    } else {
+      loader.invalidate(rows.stream().map(HasId::getId).toList());
+    }
+  }
+
+  @Override
+  public boolean requiresOnCreate() {
+    return true;
+  }
+
+  /** Invalidation on create is needed because loader memoizes ids that were not found */
+  @Override
+  public void afterCreate(TRow row) {
+    invalidate(List.of(row));
+  }
+
+  @Override
+  public void afterCreate(List<TRow> rows) {
+    invalidate(rows);
+  }
+
+  @Override
+  public EasyCrudWireTapMode requiresOnUpdate() {
+    return EasyCrudWireTapMode.ONLY_INVOKE_WIRETAP;
+  }
+
+  @Override
+  public void afterUpdate(TRow from, TRow to) {
+    invalidate(List.of(to));
+  }
+
+  @Override
+  public void afterUpdate(List<TRow> from, List<TRow> to) {
+    invalidate(to);
+  }
+
+  @Override
+  public EasyCrudWireTapMode requiresOnDelete() {
+    return EasyCrudWireTapMode.ONLY_INVOKE_WIRETAP;
+  }
+
+  @Override
+  public void afterDelete(TRow row) {
+    invalidate(Collections.singletonList(row));
+  }
+
+  @Override
+  public void afterDelete(List<TRow> rows) {
+    invalidate(rows);
+  }
+}
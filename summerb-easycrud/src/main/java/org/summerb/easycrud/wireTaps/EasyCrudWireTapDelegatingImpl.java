@@ -75,6 +75,34 @@ public class EasyCrudWireTapDelegatingImpl<TRow> implements EasyCrudWireTap<TRow
     }
   }
 
+  @Override
+  public void beforeCreate(List<TRow> rows) {
+    for (EasyCrudWireTap<TRow> tap : chain) {
+      tap.beforeCreate(rows);
+    }
+  }
+
+  @Override
+  public void afterCreate(List<TRow> rows) {
+    for (EasyCrudWireTap<TRow> tap : chain) {
+      tap.afterCreate(rows);
+    }
+  }
+
+  @Override
+  public void beforeUpdate(List<TRow> from, List<TRow> to) {
+    for (EasyCrudWireTap<TRow> tap : chain) {
+      tap.beforeUpdate(from, to);
+    }
+  }
+
+  @Override
+  public void afterUpdate(List<TRow> from, List<TRow> to) {
+    for (EasyCrudWireTap<TRow> tap : chain) {
+      tap.afterUpdate(from, to);
+    }
+  }
+
   @Override
   public boolean requiresOnRead() {
     if (requiresOnRead != null && cacheEligibilityResponses) {
@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,11 +35,14 @@ import org.springframework.core.env.Environment;
 import org.springframework.transaction.annotation.Transactional;
 import org.summerb.easycrud.EasyCrudService;
 import org.summerb.easycrud.EasyCrudServiceResolver;
+import org.summerb.easycrud.UpdateAllResult;
 import org.summerb.easycrud.exceptions.EntityNotFoundException;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.Query;
+import org.summerb.utils.easycrud.api.dto.CountStrategy;
 import org.summerb.utils.easycrud.api.dto.EntityChangedEvent;
 import org.summerb.utils.easycrud.api.dto.EntityChangedEvent.ChangeType;
+import org.summerb.utils.easycrud.api.dto.KeysetPagerParams;
 import org.summerb.utils.easycrud.api.dto.PagerParams;
 import org.summerb.utils.easycrud.api.dto.PaginatedList;
 
@@ -257,6 +261,148 @@ public abstract class GenericCrudServiceTestTemplate {
     assertEquals(6, found.getDislikes());
   }
 
+  @Test
+  public void testCreateAll_expectAllRowsCreatedWithIds() {
+    List<UserRow> rows = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      UserRow dto = new UserRow();
+      dto.setName("batch" + i);
+      dto.setKarma(i);
+      rows.add(dto);
+    }
+
+    List<UserRow> result = getUserRowService().createAll(rows);
+
+    assertEquals(5, result.size());
+    for (int i = 0; i < 5; i++) {
+      assertNotNull(result.get(i).getId());
+      assertNull(rows.get(i).getId());
+      UserRow found = getUserRowService().findById(result.get(i).getId());
+      assertEquals("batch" + i, found.getName());
+      assertEquals(i, found.getKarma());
+    }
+  }
+
+  @Test
+  public void testCreateAll_expectAutoincrementIdsPopulated() {
+    List<PostRow> rows = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      PostRow dto = new PostRow();
+      dto.setTitle("batch" + i);
+      dto.setBody("body" + i);
+      dto.setAuthorId("someid");
+      dto.setLikes(i);
+      rows.add(dto);
+    }
+
+    List<PostRow> result = getPostRowServiceBasicAuth().createAll(rows);
+
+    assertEquals(3, result.size());
+    for (int i = 0; i < 3; i++) {
+      assertNotNull(result.get(i).getId());
+      PostRow found = getPostRowServiceBasicAuth().findById(result.get(i).getId());
+      assertEquals("batch" + i, found.getTitle());
+      assertEquals(i, found.getLikes());
+    }
+  }
+
+  @Test
+  public void testCreateAll_expectEmptyListForEmptyInput() {
+    assertTrue(getUserRowService().createAll(List.of()).isEmpty());
+  }
+
+  @Test
+  public void testUpsert_expectCreatedThenUpdatedWithCreatedAtPreserved() throws Exception {
+    UserRow dto = new UserRow();
+    dto.setName("upsert1");
+    dto.setKarma(1);
+
+    UserRow created = getUserRowService().upsert(dto);
+    assertNotNull(created.getId());
+    assertTrue(created.getCreatedAt() > 0);
+
+    Thread.sleep(5);
+    created.setName("upsert2");
+    created.setCreatedAt(1);
+    UserRow updated = getUserRowService().upsert(created);
+    assertEquals(created.getId(), updated.getId());
+
+    UserRow found = getUserRowService().findById(created.getId());
+    assertEquals("upsert2", found.getName());
+    assertEquals(updated.getCreatedAt(), found.getCreatedAt());
+    assertEquals(found.getModifiedAt(), updated.getModifiedAt());
+    assertTrue(found.getCreatedAt() > 1);
+    assertEquals(1, getUserRowService().query().eq(UserRow::getId, created.getId()).count());
+  }
+
+  @Test
+  public void testUpsertAll_expectExistingUpdatedAndNewCreated() {
+    UserRow existing = new UserRow();
+    existing.setName("existing");
+    existing.setKarma(1);
+    existing = getUserRowService().create(existing);
+
+    existing.setKarma(10);
+    UserRow newRow = new UserRow();
+    newRow.setName("new");
+    newRow.setKarma(2);
+
+    List<UserRow> result = getUserRowService().upsertAll(List.of(existing, newRow));
+
+    assertEquals(2, result.size());
+    assertEquals(existing.getId(), result.get(0).getId());
+    assertNotNull(result.get(1).getId());
+    assertEquals(10, getUserRowService().getById(existing.getId()).getKarma());
+    assertEquals("new", getUserRowService().getById(result.get(1).getId()).getName());
+  }
+
+  @Test
+  public void testUpsertAll_expectExistingRowsUpdatedUsingDefaultDialectClause() {
+    // NOTE: Default upsert clause must be valid for the configured DB (i.e. MariaDB does not
+    // support row alias in "ON DUPLICATE KEY UPDATE")
+    UserRow first = new UserRow();
+    first.setName("first");
+    first.setKarma(1);
+    first = getUserRowService().create(first);
+    UserRow second = new UserRow();
+    second.setName("second");
+    second.setKarma(2);
+    second = getUserRowService().create(second);
+
+    first.setAbout("about1");
+    second.setAbout("about2");
+    List<UserRow> result = getUserRowService().upsertAll(List.of(first, second));
+
+    assertEquals(2, result.size());
+    assertEquals("about1", getUserRowService().getById(first.getId()).getAbout());
+    assertEquals("about2", getUserRowService().getById(second.getId()).getAbout());
+    assertEquals(
+        2,
+        getUserRowService()
+            .query()
+            .in(UserRow::getId, List.of(first.getId(), second.getId()))
+            .count());
+  }
+
+  @Test
+  public void testUpdateFields_expectOnlyGivenFieldsUpdated() {
+    UserRow dto = new UserRow();
+    dto.setName("partial");
+    dto.setAbout("about");
+    dto.setKarma(1);
+    dto = getUserRowService().create(dto);
+
+    dto.setKarma(2);
+    dto.setAbout("not to be written");
+    UserRow updated =
+        getUserRowService().updateFields(dto, List.of(getUserRowService().name(UserRow::getKarma)));
+
+    UserRow found = getUserRowService().getById(dto.getId());
+    assertEquals(2, found.getKarma());
+    assertEquals("about", found.getAbout());
+    assertEquals(updated.getModifiedAt(), found.getModifiedAt());
+  }
+
   @Test
   public void testFindByQueryString() {
     createTestData();
@@ -692,6 +838,64 @@ public abstract class GenericCrudServiceTestTemplate {
     assertEquals(1, flag.get());
   }
 
+  @Test
+  public void testUpdateAll_expectStaleRowReportedAndOthersUpdated() {
+    List<UserRow> rows = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      UserRow dto = new UserRow();
+      dto.setName("batch" + i);
+      dto.setKarma(i);
+      rows.add(dto);
+    }
+    rows = getUserRowService().createAll(rows);
+
+    // simulate concurrent modification of the second row
+    UserRow stale = rows.get(1);
+    stale.setModifiedAt(stale.getModifiedAt() - 1);
+
+    for (UserRow row : rows) {
+      row.setKarma(row.getKarma() + 10);
+    }
+    UpdateAllResult<String, UserRow> result = getUserRowService().updateAll(rows);
+
+    assertFalse(result.isAllUpdated());
+    assertEquals(2, result.getUpdated().size());
+    assertEquals(1, result.getNotUpdated().size());
+    assertSame(stale, result.getNotUpdated().get(0));
+
+    assertEquals(10, getUserRowService().getById(rows.get(0).getId()).getKarma());
+    assertEquals(1, getUserRowService().getById(rows.get(1).getId()).getKarma());
+    assertEquals(12, getUserRowService().getById(rows.get(2).getId()).getKarma());
+  }
+
+  @Test
+  public void testUpdateAll_expectEventsForUpdatedRows() {
+    final AtomicInteger flag = new AtomicInteger(0);
+    eventBus.register(
+        new Object() {
+          @Subscribe
+          public void handle(EntityChangedEvent<UserRow> evt) {
+            if (evt.getValue().getName().startsWith("batch")
+                && evt.getChangeType() == ChangeType.UPDATED) {
+              flag.incrementAndGet();
+            }
+          }
+        });
+
+    List<UserRow> rows = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      UserRow dto = new UserRow();
+      dto.setName("batch" + i);
+      rows.add(dto);
+    }
+    rows = getUserRowServiceEb().createAll(rows);
+    rows.forEach(x -> x.setAbout("updated"));
+
+    UpdateAllResult<String, UserRow> result = getUserRowServiceEb().updateAll(rows);
+    assertTrue(result.isAllUpdated());
+    assertEquals(2, flag.get());
+  }
+
   @Test
   public void testUpdate_expectNotChangeableColumnsAreNotChanged() {
     UserRow dto = new UserRow();
@@ -880,6 +1084,121 @@ public abstract class GenericCrudServiceTestTemplate {
         });
   }
 
+  @Test
+  public void testStream_expectAllMatchingRowsInOrder() {
+    createTestData();
+
+    List<String> names;
+    try (Stream<UserRow> stream =
+        getUserRowService().query().ge(UserRow::getKarma, 5).stream(
+            getUserRowService().orderBy(UserRow::getKarma).desc())) {
+      names = stream.map(UserRow::getName).toList();
+    }
+
+    assertEquals(List.of("env-prd", "env-pilot"), names);
+  }
+
+  @Test
+  public void testForEach_expectAllRowsVisited() {
+    createTestData();
+
+    List<String> names = new ArrayList<>();
+    getUserRowService()
+        .query()
+        .forEach(x -> names.add(x.getName()), getUserRowService().orderBy(UserRow::getKarma).asc());
+
+    assertEquals(List.of("env-uat", "env-pilot", "env-prd"), names);
+  }
+
+  @Test
+  public void testFindKeyset_expectAllPagesTraversedUsingCursor() {
+    List<UserRow> rows = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      UserRow dto = new UserRow();
+      dto.setName("keyset" + i);
+      dto.setKarma(i / 2);
+      rows.add(dto);
+    }
+    getUserRowService().createAll(rows);
+
+    OrderBy orderBy = getUserRowService().orderBy(UserRow::getKarma).asc();
+    List<String> names = new ArrayList<>();
+    PagerParams pagerParams = new KeysetPagerParams(2);
+    int pages = 0;
+    while (pagerParams != null) {
+      PaginatedList<UserRow> page = getUserRowService().query().find(pagerParams, orderBy);
+      page.getItems().forEach(x -> names.add(x.getName()));
+      pages++;
+      pagerParams =
+          page.getNextPageCursor() == null
+              ? null
+              : KeysetPagerParams.fromCursor(page.getNextPageCursor(), 2);
+    }
+
+    assertEquals(3, pages);
+    assertEquals(5, names.size());
+    assertEquals(5, names.stream().distinct().count());
+  }
+
+  @Test
+  public void testFind_expectCountStrategiesProduceExpectedTotals() {
+    createTestData();
+    OrderBy orderBy = getUserRowService().orderBy(UserRow::getKarma).asc();
+
+    PaginatedList<UserRow> exact = getUserRowService().find(new PagerParams(0, 2), null, orderBy);
+    assertEquals(CountStrategy.EXACT, exact.getCountStrategy());
+    assertEquals(3, exact.getTotalResults());
+    assertTrue(exact.getHasMore());
+
+    PaginatedList<UserRow> window =
+        getUserRowService()
+            .find(
+                new PagerParams(0, 2).withCountStrategy(CountStrategy.EXACT_WINDOW), null, orderBy);
+    assertEquals(CountStrategy.EXACT_WINDOW, window.getCountStrategy());
+    assertEquals(3, window.getTotalResults());
+    assertEquals(2, window.getItems().size());
+
+    PaginatedList<UserRow> beyondLastRow =
+        getUserRowService()
+            .find(
+                new PagerParams(10, 2).withCountStrategy(CountStrategy.EXACT_WINDOW),
+                null,
+                orderBy);
+    assertEquals(3, beyondLastRow.getTotalResults());
+
+    PaginatedList<UserRow> cached =
+        getUserRowService()
+            .find(new PagerParams(0, 2).withCountStrategy(CountStrategy.CACHED), null, orderBy);
+    assertEquals(CountStrategy.CACHED, cached.getCountStrategy());
+    assertEquals(3, cached.getTotalResults());
+
+    PaginatedList<UserRow> hasMore =
+        getUserRowService()
+            .find(new PagerParams(0, 2).withCountStrategy(CountStrategy.HAS_MORE), null, orderBy);
+    assertEquals(2, hasMore.getItems().size());
+    assertTrue(hasMore.getHasMore());
+    hasMore =
+        getUserRowService()
+            .find(new PagerParams(2, 2).withCountStrategy(CountStrategy.HAS_MORE), null, orderBy);
+    assertEquals(1, hasMore.getItems().size());
+    assertFalse(hasMore.getHasMore());
+    assertEquals(3, hasMore.getTotalResults());
+
+    PaginatedList<UserRow> approximate =
+        getUserRowService()
+            .find(
+                new PagerParams(0, 2).withCountStrategy(CountStrategy.APPROXIMATE), null, orderBy);
+    assertEquals(CountStrategy.APPROXIMATE, approximate.getCountStrategy());
+    assertTrue(approximate.getTotalResults() >= 2);
+
+    PaginatedList<UserRow> lastPage =
+        getUserRowService()
+            .find(
+                new PagerParams(2, 2).withCountStrategy(CountStrategy.APPROXIMATE), null, orderBy);
+    assertEquals(CountStrategy.EXACT, lastPage.getCountStrategy());
+    assertEquals(3, lastPage.getTotalResults());
+  }
+
   private void createTestData() {
     UserRow dto = new UserRow();
     dto.setActive(true);
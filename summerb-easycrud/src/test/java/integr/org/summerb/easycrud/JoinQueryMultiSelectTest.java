@@ -15,6 +15,7 @@ import integr.org.summerb.easycrud.dtos.CommentRow;
 import integr.org.summerb.easycrud.dtos.PostRow;
 import integr.org.summerb.easycrud.dtos.UserRow;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,7 @@ import org.summerb.easycrud.exceptions.EntityNotFoundException;
 import org.summerb.easycrud.join_query.JoinQuery;
 import org.summerb.easycrud.join_query.JoinedSelect;
 import org.summerb.easycrud.join_query.model.JoinedRow;
+import org.summerb.easycrud.prefetch.PrefetchedRow;
 import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.Query;
 import org.summerb.utils.easycrud.api.dto.PagerParams;
@@ -88,6 +90,65 @@ public class JoinQueryMultiSelectTest extends JoinQueryTestAbstract {
     assertEquals("BBc", results.get(2).get(qUser).getName());
   }
 
+  @Test
+  public void expectStreamYieldsSameRowsAsFindAll() {
+    // GIVEN
+    Query<Long, CommentRow> qComment = commentRowService.query().ge(CommentRow::getId, 0L);
+    Query<Long, PostRow> qPost = postRowService.query();
+    Query<String, UserRow> qUser = userRowService.query();
+    JoinedSelect select =
+        qPost
+            .toJoin()
+            .joinBack(qComment, CommentRow::getPostId)
+            .join(qUser, PostRow::getAuthorId)
+            .select(qComment, qPost, qUser);
+    OrderBy orderBy = qComment.orderBy(CommentRow::getId).asc();
+
+    // WHEN
+    List<JoinedRow> expected = select.findAll(orderBy);
+    List<JoinedRow> results = new ArrayList<>();
+    select.forEach(results::add, orderBy);
+
+    // THEN
+    assertEquals(expected.size(), results.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).get(qComment).getId(), results.get(i).get(qComment).getId());
+      assertEquals(expected.get(i).get(qPost).getTitle(), results.get(i).get(qPost).getTitle());
+      assertEquals(expected.get(i).get(qUser).getName(), results.get(i).get(qUser).getName());
+    }
+  }
+
+  @Test
+  public void expectPrefetchAttachesSameReferencedRowsUsingInQueriesAndJoin() {
+    // GIVEN
+    Query<Long, PostRow> qPost = postRowService.query();
+
+    // WHEN
+    List<PrefetchedRow<Long, PostRow>> viaIn =
+        postRowService
+            .query()
+            .prefetch(PostRow::getAuthorId, userRowService)
+            .prefetch(PostRow::getPinnedBy, UserRow.class)
+            .findAll(postRowService.orderBy(PostRow::getLikes).desc());
+    List<PrefetchedRow<Long, PostRow>> viaJoin =
+        qPost
+            .prefetch(PostRow::getAuthorId, userRowService)
+            .prefetch(PostRow::getPinnedBy, userRowService)
+            .usingJoin()
+            .findAll(qPost.orderBy(PostRow::getLikes).desc());
+
+    // THEN
+    for (List<PrefetchedRow<Long, PostRow>> results : List.of(viaIn, viaJoin)) {
+      assertEquals(3, results.size());
+      assertEquals("env5", results.get(0).getRow().getTitle());
+      assertEquals("bba", results.get(0).<UserRow>get(PostRow::getAuthorId).getName());
+      assertEquals("BBc", results.get(0).<UserRow>get(PostRow::getPinnedBy).getName());
+      assertEquals("env3", results.get(2).getRow().getTitle());
+      assertEquals("BBc", results.get(2).<UserRow>get(PostRow::getAuthorId).getName());
+      assertNull(results.get(2).get(PostRow::getPinnedBy));
+    }
+  }
+
   @Test
   public void expectGracefulBehaviorInCaseOneOfTheQueriesCannotYieldResults() {
     // GIVEN
@@ -26,6 +26,7 @@ import integr.org.summerb.easycrud.dtos.UserRow;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase.RefreshMode;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -41,6 +42,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 import org.summerb.easycrud.EasyCrudService;
 import org.summerb.easycrud.relations.EasyCrudM2mService;
+import org.summerb.easycrud.relations.ManyToManyRow;
 import org.summerb.easycrud.tools.EasyCrudDtoUtils;
 import org.summerb.security.api.exceptions.NotAuthorizedException;
 
@@ -193,6 +195,40 @@ public class ManyToManyServiceTest {
     assertTrue(i2r.contains(d3i1.getId()));
   }
 
+  @Test
+  public void testReplaceReferenceesExpectOnlyDifferenceApplied() {
+    PostRow post = new PostRow();
+    post.setTitle("required");
+    post.setBody("required");
+    post.setAuthorId("someid");
+    post = postRowServiceBasicAuth.create(post);
+
+    List<String> userIds = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      UserRow user = new UserRow();
+      user.setName("required");
+      user.setAbout("required");
+      userIds.add(userRowService.create(user).getId());
+    }
+
+    assertEquals(2, m2mService.addReferencees(post.getId(), userIds.subList(0, 2)).size());
+    ManyToManyRow<Long, String> kept =
+        m2mService.query().eq(ManyToManyRow::getDst, userIds.get(1)).getOne();
+
+    m2mService.replaceReferencees(post.getId(), Set.of(userIds.get(1), userIds.get(2)));
+
+    Set<String> result =
+        EasyCrudDtoUtils.enumerateIds(m2mService.findReferenceeByReferencer(post.getId()));
+    assertEquals(Set.of(userIds.get(1), userIds.get(2)), result);
+    assertEquals(
+        kept.getId(),
+        m2mService.query().eq(ManyToManyRow::getDst, userIds.get(1)).getOne().getId());
+
+    assertEquals(
+        1, m2mService.removeReferencees(post.getId(), List.of(userIds.get(2), userIds.get(3))));
+    assertEquals(1, m2mService.findReferenceeByReferencer(post.getId()).size());
+  }
+
   @Test
   public void testAddReferenceeExpectNotFoundAfterDeleted() {
     PostRow d2i1 = new PostRow();
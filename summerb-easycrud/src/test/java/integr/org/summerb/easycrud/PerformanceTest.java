@@ -24,6 +24,8 @@ import integr.org.summerb.easycrud.testbeans.UserRowService;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase.RefreshMode;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,6 +52,18 @@ public class PerformanceTest {
     }
   }
 
+  @Test
+  void massiveAdditionsBatched() {
+    List<UserRow> batch = new ArrayList<>(1000);
+    for (int i = 0; i < 100000; i++) {
+      batch.add(buildRow("env" + i, i));
+      if (batch.size() == 1000) {
+        service.createAll(batch);
+        batch.clear();
+      }
+    }
+  }
+
   @Test
   void massiveUpdates() {
     UserRow row = service.create(buildRow("env", 1));
@@ -65,6 +79,22 @@ public class PerformanceTest {
     // to optimize update performance. SO for now I'm leaving it as is.
   }
 
+  @Test
+  void massiveUpdatesBatched() {
+    List<UserRow> rows = new ArrayList<>(1000);
+    for (int i = 0; i < 1000; i++) {
+      rows.add(buildRow("env" + i, i));
+    }
+    rows = service.createAll(rows);
+
+    for (int i = 0; i < 100; i++) {
+      for (UserRow row : rows) {
+        row.setKarma(row.getKarma() + 1);
+      }
+      rows = service.updateAll(rows).getUpdated();
+    }
+  }
+
   private UserRow buildRow(String env, int majorVersion) {
     UserRow ret = new UserRow();
     ret.setName(env);
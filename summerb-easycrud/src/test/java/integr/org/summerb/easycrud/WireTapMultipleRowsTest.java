@@ -89,6 +89,40 @@ public class WireTapMultipleRowsTest {
     assertEquals("env3", wireTap.afterReadIndividual.get(0).getName());
   }
 
+  @Test
+  public void testExpectAfterReadWillBeCalledInChunksWhenStreaming() {
+    // GIVEN
+    WireTapTest<UserRow> wireTap =
+        new WireTapTest<>(true) {
+          @Override
+          public boolean requiresOnReadMultiple() {
+            return true;
+          }
+
+          @Override
+          public boolean requiresOnRead() {
+            return true;
+          }
+        };
+
+    UserRowService service =
+        easyCrudScaffold.fromService(
+            UserRowService.class, UserRowService.TERM, UserRowService.TERM, wireTap);
+
+    service.create(buildRow("env1", 30));
+    service.create(buildRow("env2", 20));
+    service.create(buildRow("env3", 10));
+
+    // WHEN
+    List<UserRow> resultList = new LinkedList<>();
+    service.query().ge(UserRow::getKarma, 20).forEach(resultList::add);
+
+    // THEN
+    assertEquals(2, resultList.size());
+    assertEquals(2, wireTap.afterReadMultiple.size());
+    assertTrue(wireTap.afterReadIndividual.isEmpty());
+  }
+
   @Test
   public void testExpectAfterReadWillBeCalledSeparatelyForIndividualAndMultipleRows() {
     // GIVEN
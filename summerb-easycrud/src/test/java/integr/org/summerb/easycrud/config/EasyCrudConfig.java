@@ -14,6 +14,7 @@ import org.summerb.easycrud.sql_builder.FieldsEnlister;
 import org.summerb.easycrud.sql_builder.OrderByToSql;
 import org.summerb.easycrud.sql_builder.QueryToSql;
 import org.summerb.easycrud.sql_builder.SqlBuilder;
+import org.summerb.easycrud.sql_builder.impl.SqlBuilderCachingImpl;
 import org.summerb.easycrud.sql_builder.mysql.OrderByToSqlMySqlImpl;
 import org.summerb.easycrud.sql_builder.mysql.QueryToSqlMySqlImpl;
 import org.summerb.easycrud.sql_builder.mysql.SqlBuilderMySqlImpl;
@@ -49,10 +50,13 @@ public class EasyCrudConfig extends EasyCrudConfigAbstract {
       FieldsEnlister fieldsEnlister,
       QueryToSql queryToSql,
       OrderByToSql orderByToSql) {
-    return isPostgres()
-        ? new SqlBuilderPostgresImpl(
-            querySpecificsResolver, fieldsEnlister, queryToSql, orderByToSql)
-        : new SqlBuilderMySqlImpl(querySpecificsResolver, fieldsEnlister, queryToSql, orderByToSql);
+    SqlBuilder sqlBuilder =
+        isPostgres()
+            ? new SqlBuilderPostgresImpl(
+                querySpecificsResolver, fieldsEnlister, queryToSql, orderByToSql)
+            : new SqlBuilderMySqlImpl(
+                querySpecificsResolver, fieldsEnlister, queryToSql, orderByToSql);
+    return new SqlBuilderCachingImpl(sqlBuilder, queryToSql);
   }
 
   @Override
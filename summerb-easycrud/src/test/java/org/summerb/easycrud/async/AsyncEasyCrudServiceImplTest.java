@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.async;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.row.HasId;
+
+@SuppressWarnings("unchecked")
+public class AsyncEasyCrudServiceImplTest {
+  private final EasyCrudAsyncExecutor asyncExecutor = new EasyCrudAsyncExecutor(2);
+
+  @AfterEach
+  void tearDown() {
+    asyncExecutor.destroy();
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void findById_expectSecurityContextPropagated() {
+    SecurityContextHolder.getContext()
+        .setAuthentication(new TestingAuthenticationToken("user1", "pwd"));
+    EasyCrudService<Long, HasId<Long>> service = mock(EasyCrudService.class);
+    HasId<Long> row = mock(HasId.class);
+    when(service.findById(1L))
+        .thenAnswer(
+            x ->
+                "user1".equals(SecurityContextHolder.getContext().getAuthentication().getName())
+                    ? row
+                    : null);
+
+    AsyncEasyCrudServiceImpl<Long, HasId<Long>> f =
+        new AsyncEasyCrudServiceImpl<>(service, asyncExecutor);
+
+    assertSame(row, f.findById(1L).join());
+  }
+
+  @Test
+  void supplyAsync_expectConcurrencyBoundedAndExceptionsPropagated() {
+    EasyCrudService<Long, HasId<Long>> service = mock(EasyCrudService.class);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    when(service.getById(1L)).thenThrow(new IllegalStateException("test"));
+    AsyncEasyCrudServiceImpl<Long, HasId<Long>> f =
+        new AsyncEasyCrudServiceImpl<>(service, asyncExecutor);
+
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      // NOTE: Not using mock here, because invocations of mocks are serialized
+      futures.add(
+          f.supplyAsync(
+              x -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep();
+                running.decrementAndGet();
+                return 1;
+              }));
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+    assertEquals(2, maxRunning.get());
+    CompletionException e = assertThrows(CompletionException.class, () -> f.getById(1L).join());
+    assertInstanceOf(IllegalStateException.class, e.getCause());
+    assertEquals(2, asyncExecutor.getAvailablePermits());
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(50);
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
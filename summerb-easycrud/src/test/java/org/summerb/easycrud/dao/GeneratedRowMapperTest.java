@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.TypeMismatchException;
+
+public class GeneratedRowMapperTest {
+
+  @Test
+  public void testMapRow_expectTypedValuesMappedBySnakeCaseNames() throws Exception {
+    ResultSet rs = mockResultSet("id", "user_name", "age", "ref_id", "status", "amount");
+    when(rs.getLong(1)).thenReturn(123L);
+    when(rs.getString(2)).thenReturn("John");
+    when(rs.getInt(3)).thenReturn(42);
+    when(rs.getLong(4)).thenReturn(0L);
+    when(rs.wasNull()).thenReturn(true);
+    when(rs.getObject(5)).thenReturn("ACTIVE");
+    when(rs.getBigDecimal(6)).thenReturn(new BigDecimal("1.5"));
+
+    GeneratedRowMapper<TestRow> f =
+        new GeneratedRowMapper<>(TestRow.class, null, new SqlTypeOverridesDefaultImpl());
+    TestRow result = f.mapRow(rs, 0);
+
+    assertEquals(123L, result.getId());
+    assertEquals("John", result.getUserName());
+    assertEquals(42, result.getAge());
+    assertNull(result.getRefId());
+    assertEquals(TestStatus.ACTIVE, result.getStatus());
+    assertEquals(new BigDecimal("1.5"), result.getAmount());
+  }
+
+  @Test
+  public void testMapRow_expectColumnsResolvedOncePerResultSet() throws Exception {
+    ResultSet rs = mockResultSet("id", "user_name");
+    when(rs.getLong(1)).thenReturn(1L, 2L);
+    when(rs.getString(2)).thenReturn("a", "b");
+
+    GeneratedRowMapper<TestRow> f = new GeneratedRowMapper<>(TestRow.class);
+    assertEquals(1L, f.mapRow(rs, 0).getId());
+    assertEquals("b", f.mapRow(rs, 1).getUserName());
+
+    verify(rs, times(1)).getMetaData();
+  }
+
+  @Test
+  public void testMapRow_expectUnknownColumnsIgnored() throws Exception {
+    ResultSet rs = mockResultSet("id", "unknown_column");
+    when(rs.getLong(1)).thenReturn(1L);
+
+    TestRow result = new GeneratedRowMapper<>(TestRow.class).mapRow(rs, 0);
+
+    assertEquals(1L, result.getId());
+    verify(rs, never()).getObject(2);
+    verify(rs, never()).getString(2);
+  }
+
+  @Test
+  public void testMapRow_expectTypeMismatchForNullPrimitive() throws Exception {
+    ResultSet rs = mockResultSet("age");
+    when(rs.getInt(1)).thenReturn(0);
+    when(rs.wasNull()).thenReturn(true);
+
+    GeneratedRowMapper<TestRow> f = new GeneratedRowMapper<>(TestRow.class);
+    assertThrows(TypeMismatchException.class, () -> f.mapRow(rs, 0));
+
+    f.setPrimitivesDefaultedForNullValue(true);
+    assertEquals(0, f.mapRow(rs, 0).getAge());
+  }
+
+  @Test
+  public void testMapRow_expectReflectionFallbackForNonPublicClass() throws Exception {
+    ResultSet rs = mockResultSet("name");
+    when(rs.getString(1)).thenReturn("value");
+
+    NonPublicRow result = new GeneratedRowMapper<>(NonPublicRow.class).mapRow(rs, 0);
+
+    assertEquals("value", result.getName());
+  }
+
+  protected ResultSet mockResultSet(String... columnNames) throws SQLException {
+    ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+    when(rsmd.getColumnCount()).thenReturn(columnNames.length);
+    when(rsmd.getColumnLabel(anyInt())).thenAnswer(x -> columnNames[(int) x.getArgument(0) - 1]);
+
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    return rs;
+  }
+
+  public enum TestStatus {
+    ACTIVE,
+    INACTIVE
+  }
+
+  public static class TestRow {
+    private long id;
+    private String userName;
+    private int age;
+    private Long refId;
+    private TestStatus status;
+    private BigDecimal amount;
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(long id) {
+      this.id = id;
+    }
+
+    public String getUserName() {
+      return userName;
+    }
+
+    public void setUserName(String userName) {
+      this.userName = userName;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public void setAge(int age) {
+      this.age = age;
+    }
+
+    public Long getRefId() {
+      return refId;
+    }
+
+    public void setRefId(Long refId) {
+      this.refId = refId;
+    }
+
+    public TestStatus getStatus() {
+      return status;
+    }
+
+    public void setStatus(TestStatus status) {
+      this.status = status;
+    }
+
+    public BigDecimal getAmount() {
+      return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+      this.amount = amount;
+    }
+  }
+
+  static class NonPublicRow {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+}
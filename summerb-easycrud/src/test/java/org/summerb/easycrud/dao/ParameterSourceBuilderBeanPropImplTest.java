@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
+
+public class ParameterSourceBuilderBeanPropImplTest {
+
+  @Test
+  public void testBuildParameterSource_expectValuesAvailableByColumnName() {
+    SqlParameterSource f = buildParameterSource(buildRow());
+
+    assertTrue(f.hasValue("id"));
+    assertEquals(1L, f.getValue("id"));
+    assertEquals("name", f.getValue("display_name"));
+    assertEquals("name", f.getValue("displayname"));
+    assertEquals("name", f.getValue("displayName"));
+    assertEquals(SqlParameterSource.TYPE_UNKNOWN, f.getSqlType("display_name"));
+  }
+
+  @Test
+  public void testBuildParameterSource_expectNoValueForUnknownColumn() {
+    BeanPropertySqlParameterSourceEx<?> f = buildParameterSource(buildRow());
+
+    assertFalse(f.hasValue("unknown_column"));
+    assertEquals(-1, f.getParameterIndex("unknown_column"));
+    assertNull(f.getValue("unknown_column"));
+  }
+
+  @Test
+  public void testBuildParameterSource_expectEnumConvertedAndTyped() {
+    BeanPropertySqlParameterSourceEx<?> f = buildParameterSource(buildRow());
+
+    assertEquals("B", f.getValue("status"));
+    assertEquals(new SqlTypeOverrideEnum().getSqlType(), f.getSqlType("status"));
+
+    Object typed = f.getTypedValue(f.getParameterIndex("status"));
+    SqlParameterValue expected =
+        (SqlParameterValue) SqlParameterSourceUtils.getTypedValue(f, "status");
+    assertEquals(expected.getValue(), ((SqlParameterValue) typed).getValue());
+    assertEquals(expected.getSqlType(), ((SqlParameterValue) typed).getSqlType());
+  }
+
+  @Test
+  public void testSetOverrides_expectNewOverridesApplied() {
+    ParameterSourceBuilderBeanPropImpl<TestRow> builder = buildBuilder();
+    builder.setOverrides(
+        new SqlTypeOverrides() {
+          @Override
+          public SqlTypeOverride findOverrideForValue(Object value) {
+            return null;
+          }
+
+          @Override
+          public SqlTypeOverride findOverrideForClass(Class<?> valueClass) {
+            return null;
+          }
+        });
+
+    SqlParameterSource f = builder.buildParameterSource(buildRow());
+
+    assertEquals(TestStatus.B, f.getValue("status"));
+    assertEquals(SqlParameterSource.TYPE_UNKNOWN, f.getSqlType("status"));
+  }
+
+  @Test
+  public void testBuildParameterSource_expectValuesByIndexSameAsByName() {
+    BeanPropertySqlParameterSourceEx<?> f = buildParameterSource(buildRow());
+
+    for (String column : List.of("id", "display_name", "active")) {
+      assertEquals(f.getValue(column), f.getTypedValue(f.getParameterIndex(column)));
+    }
+  }
+
+  @Test
+  public void testBuildParameterSource_expectNullsHandled() {
+    TestRow row = new TestRow();
+
+    BeanPropertySqlParameterSourceEx<?> f = buildParameterSource(row);
+
+    assertNull(f.getValue("display_name"));
+    assertNull(f.getValue("status"));
+    assertNull(f.getTypedValue(f.getParameterIndex("display_name")));
+  }
+
+  @Test
+  public void testBuildParameterSource_expectNonPublicClassSupported() {
+    HiddenRow row = new HiddenRow();
+    row.setValue("hidden");
+
+    SqlParameterSource f =
+        new ParameterSourceBuilderBeanPropImpl<>(new SqlTypeOverridesDefaultImpl(), HiddenRow.class)
+            .buildParameterSource(row);
+
+    assertEquals("hidden", f.getValue("value"));
+  }
+
+  @Test
+  public void testResolve_expectIndexesInOrderOfColumns() {
+    BeanPropertySqlParameterSourceEx<?> f = buildParameterSource(buildRow());
+    List<String> columns = List.of("active", "unknown_column", "display_name");
+
+    ParameterIndexes indexes = ParameterIndexes.resolve(f, x -> matchByName(x, columns));
+
+    assertEquals(f.getParameterIndex("active"), indexes.getIndexes()[0]);
+    assertEquals(-1, indexes.getIndexes()[1]);
+    assertEquals(f.getParameterIndex("display_name"), indexes.getIndexes()[2]);
+    assertArrayEquals(new Object[] {true, null, "name"}, indexes.getTypedValues(f));
+  }
+
+  @Test
+  public void testIsApplicableTo_expectOnlyForSourcesOfSameBuilder() {
+    ParameterSourceBuilderBeanPropImpl<TestRow> builder = buildBuilder();
+    BeanPropertySqlParameterSourceEx<?> f =
+        (BeanPropertySqlParameterSourceEx<?>) builder.buildParameterSource(buildRow());
+    ParameterIndexes indexes = ParameterIndexes.resolve(f, x -> matchByName(x, List.of("id")));
+
+    assertTrue(
+        indexes.isApplicableTo(
+            (IndexedSqlParameterSource) builder.buildParameterSource(new TestRow())));
+    assertFalse(indexes.isApplicableTo(buildParameterSource(buildRow())));
+  }
+
+  protected List<Object> matchByName(SqlParameterSource parameterSource, List<String> columns) {
+    List<Object> ret = new ArrayList<>(columns.size());
+    for (String column : columns) {
+      ret.add(
+          parameterSource.hasValue(column)
+              ? SqlParameterSourceUtils.getTypedValue(parameterSource, column)
+              : null);
+    }
+    return ret;
+  }
+
+  protected BeanPropertySqlParameterSourceEx<?> buildParameterSource(TestRow row) {
+    return (BeanPropertySqlParameterSourceEx<?>) buildBuilder().buildParameterSource(row);
+  }
+
+  protected ParameterSourceBuilderBeanPropImpl<TestRow> buildBuilder() {
+    return new ParameterSourceBuilderBeanPropImpl<>(
+        new SqlTypeOverridesDefaultImpl(), TestRow.class);
+  }
+
+  protected TestRow buildRow() {
+    TestRow row = new TestRow();
+    row.setId(1L);
+    row.setDisplayName("name");
+    row.setActive(true);
+    row.setStatus(TestStatus.B);
+    return row;
+  }
+
+  public enum TestStatus {
+    A,
+    B
+  }
+
+  public static class TestRow {
+    private Long id;
+    private String displayName;
+    private boolean active;
+    private TestStatus status;
+
+    public Long getId() {
+      return id;
+    }
+
+    public void setId(Long id) {
+      this.id = id;
+    }
+
+    public String getDisplayName() {
+      return displayName;
+    }
+
+    public void setDisplayName(String displayName) {
+      this.displayName = displayName;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+
+    public void setActive(boolean active) {
+      this.active = active;
+    }
+
+    public TestStatus getStatus() {
+      return status;
+    }
+
+    public void setStatus(TestStatus status) {
+      this.status = status;
+    }
+  }
+
+  static class HiddenRow {
+    private String value;
+
+    public String getValue() {
+      return value;
+    }
+
+    public void setValue(String value) {
+      this.value = value;
+    }
+  }
+}
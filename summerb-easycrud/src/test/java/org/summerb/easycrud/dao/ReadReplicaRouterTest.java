@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.summerb.security.api.CurrentUserUuidResolver;
+
+public class ReadReplicaRouterTest {
+  private final JdbcOperations primary = mock(JdbcOperations.class);
+
+  @AfterEach
+  void cleanup() {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    ReadReplicaRouter.LAST_WRITE_AT.remove();
+  }
+
+  @Test
+  void route_expectRoundRobinOverReplicas() {
+    ReadReplicaRouter f =
+        new ReadReplicaRouter(List.of(mock(DataSource.class), mock(DataSource.class)));
+
+    JdbcOperations a = f.route(primary);
+    JdbcOperations b = f.route(primary);
+
+    assertNotSame(primary, a);
+    assertNotSame(a, b);
+    assertSame(a, f.route(primary));
+  }
+
+  @Test
+  void route_expectPrimaryWhenNoReplicas() {
+    assertSame(primary, new ReadReplicaRouter(List.of()).route(primary));
+  }
+
+  @Test
+  void route_expectPrimaryWithinAnyTransaction() {
+    ReadReplicaRouter f = new ReadReplicaRouter(List.of(mock(DataSource.class)));
+
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    assertSame(primary, f.route(primary));
+
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    assertSame(primary, f.route(primary));
+
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    assertNotSame(primary, f.route(primary));
+  }
+
+  @Test
+  void route_expectPrimaryWhenPinned() {
+    ReadReplicaRouter f = new ReadReplicaRouter(List.of(mock(DataSource.class)));
+
+    assertSame(primary, ReadReplicaRouter.onPrimary(() -> f.route(primary)));
+    assertNotSame(primary, f.route(primary));
+  }
+
+  @Test
+  void onWrite_expectReadYourWritesOnlyWhenEnabled() {
+    ReadReplicaRouter f = new ReadReplicaRouter(List.of(mock(DataSource.class)));
+    f.onWrite();
+    assertNotSame(primary, f.route(primary));
+
+    f.setReadYourWritesWindow(Duration.ofMinutes(1));
+    f.onWrite();
+    assertSame(primary, f.route(primary));
+  }
+
+  @Test
+  void onWrite_expectReadYourWritesForSameUserOnOtherThread() throws Exception {
+    ReadReplicaRouter f = new ReadReplicaRouter(List.of(mock(DataSource.class)));
+    f.setReadYourWritesWindow(Duration.ofMinutes(1));
+    CurrentUserUuidResolver currentUserUuidResolver = mock(CurrentUserUuidResolver.class);
+    when(currentUserUuidResolver.getUserUuid()).thenReturn("u1");
+    f.setCurrentUserUuidResolver(currentUserUuidResolver);
+
+    Thread thread = new Thread(f::onWrite);
+    thread.start();
+    thread.join();
+
+    assertSame(primary, f.route(primary));
+    when(currentUserUuidResolver.getUserUuid()).thenReturn("u2");
+    assertNotSame(primary, f.route(primary));
+  }
+}
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.data_loader;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.summerb.easycrud.dao.EasyCrudDao;
+import org.summerb.easycrud.exceptions.EntityNotFoundException;
+import org.summerb.easycrud.impl.EasyCrudServiceDataLoaderImpl;
+import org.summerb.easycrud.impl.EasyCrudServiceImpl;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.easycrud.tools.RowClonerReflectionImpl;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTap;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTapMode;
+import org.summerb.security.api.exceptions.NotAuthorizedException;
+
+@SuppressWarnings("unchecked")
+public class EasyCrudDataLoaderTest {
+  private EasyCrudServiceImpl<Long, TestRow, EasyCrudDao<Long, TestRow>> actual;
+  private EasyCrudWireTap<TestRow> effectiveWireTap;
+  private EasyCrudServiceDataLoaderImpl<Long, TestRow> f;
+
+  @BeforeEach
+  void setUp() {
+    EasyCrudWireTap<TestRow> wireTap = mock(EasyCrudWireTap.class);
+    when(wireTap.requiresOnUpdate()).thenReturn(EasyCrudWireTapMode.NOT_APPLICABLE);
+    when(wireTap.requiresOnDelete()).thenReturn(EasyCrudWireTapMode.NOT_APPLICABLE);
+
+    actual = mock(EasyCrudServiceImpl.class);
+    when(actual.getWireTap()).thenReturn(wireTap);
+    when(actual.getRowCloner()).thenReturn(new RowClonerReflectionImpl());
+    when(actual.getByIds(any(List.class)))
+        .thenAnswer(
+            x ->
+                ((List<Long>) x.getArgument(0))
+                    .stream().filter(id -> id < 100).map(id -> new TestRow(id, "n" + id)).toList());
+
+    f = new EasyCrudServiceDataLoaderImpl<>(actual);
+
+    ArgumentCaptor<EasyCrudWireTap<TestRow>> captor =
+        ArgumentCaptor.forClass(EasyCrudWireTap.class);
+    verify(actual).setWireTap(captor.capture());
+    effectiveWireTap = captor.getValue();
+  }
+
+  @AfterEach
+  void tearDown() {
+    assertNull(EasyCrudDataLoaderScope.find());
+  }
+
+  @Test
+  void findById_expectDelegatedWhenThereIsNoScope() {
+    when(actual.findById(1L)).thenReturn(new TestRow(1L, "a"));
+
+    assertEquals("a", f.findById(1L).getName());
+    f.findById(1L);
+
+    verify(actual, times(2)).findById(1L);
+    verify(actual, never()).getByIds(any(List.class));
+  }
+
+  @Test
+  void load_expectPendingIdsDeduplicatedAndLoadedWithSingleQuery() {
+    try (EasyCrudDataLoaderScope scope = EasyCrudDataLoaderScope.open()) {
+      Supplier<TestRow> r1 = f.load(1L);
+      Supplier<TestRow> r2 = f.load(2L);
+      f.prime(List.of(2L, 3L, 500L));
+
+      assertEquals("n2", r2.get().getName());
+      assertEquals("n1", r1.get().getName());
+      assertEquals("n3", f.getById(3L).getName());
+      assertNull(f.findById(500L));
+      assertEquals(
+          List.of("n1", "n3"),
+          f.getByIds(List.of(1L, 500L, 3L)).stream().map(TestRow::getName).toList());
+
+      verify(actual, times(1)).getByIds(List.of(1L, 2L, 3L, 500L));
+      verify(actual, never()).findById(any());
+      assertEquals(1, scope.findLoader(actual).getBatchesDispatched());
+    }
+  }
+
+  @Test
+  void getByIds_expectOnlyMissingIdsLoadedAndBatchesSplit() {
+    f.setMaxBatchSize(2);
+    try (EasyCrudDataLoaderScope scope = EasyCrudDataLoaderScope.open()) {
+      f.findById(1L);
+      assertEquals(4, f.getMapByIds(List.of(1L, 2L, 3L, 4L, 500L)).size());
+
+      verify(actual).getByIds(List.of(1L));
+      verify(actual).getByIds(List.of(2L, 3L));
+      verify(actual).getByIds(List.of(4L, 500L));
+    }
+  }
+
+  @Test
+  void findById_expectEachCallerReceivesOwnCopyOfMemoizedRow() {
+    try (EasyCrudDataLoaderScope scope = EasyCrudDataLoaderScope.open()) {
+      TestRow first = f.findById(1L);
+      first.setName("modified");
+
+      TestRow second = f.getById(1L);
+      assertNotSame(first, second);
+      assertEquals("n1", second.getName());
+      assertEquals("n1", f.getMapByIds(List.of(1L)).get(1L).getName());
+      verify(actual, times(1)).getByIds(List.of(1L));
+    }
+  }
+
+  @Test
+  void getById_expectDelegatedWhenThereIsNoScope() {
+    when(actual.getById(1L)).thenReturn(new TestRow(1L, "a"));
+
+    assertEquals("a", f.getById(1L).getName());
+    verify(actual).getById(1L);
+  }
+
+  @Test
+  void getById_expectEntityNotFoundWhenRowDoesNotExist() {
+    when(actual.getRowMessageCode()).thenReturn("testRow");
+    try (EasyCrudDataLoaderScope scope = EasyCrudDataLoaderScope.open()) {
+      EntityNotFoundException ex =
+          assertThrows(EntityNotFoundException.class, () -> f.getById(500L));
+      assertEquals("500", ex.getErrorDescriptionObject().getIdentity());
+      assertEquals("testRow", ex.getErrorDescriptionObject().getSubjectTypeMessageCode());
+    }
+  }
+
+  @Test
+  void findById_expectFailedBatchResolvedOneByOne() {
+    NotAuthorizedException nae = new NotAuthorizedException("user", "read");
+    when(actual.getByIds(List.of(1L, 7L))).thenThrow(nae);
+    when(actual.findById(1L)).thenReturn(new TestRow(1L, "n1"));
+    when(actual.findById(7L)).thenThrow(nae);
+
+    try (EasyCrudDataLoaderScope scope = EasyCrudDataLoaderScope.open()) {
+      f.prime(List.of(1L, 7L));
+
+      assertEquals("n1", f.findById(1L).getName());
+      assertSame(nae, assertThrows(NotAuthorizedException.class, () -> f.getById(7L)));
+      assertEquals("n1", f.getById(1L).getName());
+
+      verify(actual, times(1)).getByIds(any(List.class));
+      verify(actual, times(1)).findById(1L);
+    }
+  }
+
+  @Test
+  void update_expectMemoizedRowInvalidatedThroughWireTap() {
+    try (EasyCrudDataLoaderScope scope = EasyCrudDataLoaderScope.open()) {
+      f.findById(1L);
+      effectiveWireTap.afterUpdate(null, new TestRow(1L, "b"));
+      f.findById(1L);
+
+      verify(actual, times(2)).getByIds(List.of(1L));
+    }
+  }
+
+  @Test
+  void requiresOnUpdateAndDelete_expectFullRowsAreNotRequested() {
+    assertEquals(EasyCrudWireTapMode.ONLY_INVOKE_WIRETAP, effectiveWireTap.requiresOnUpdate());
+    assertEquals(EasyCrudWireTapMode.ONLY_INVOKE_WIRETAP, effectiveWireTap.requiresOnDelete());
+    assertFalse(effectiveWireTap.requiresOnDeleteMultiple());
+  }
+
+  @Test
+  void delete_expectLoaderClearedWhenDeletedRowIsNotKnown() {
+    try (EasyCrudDataLoaderScope scope = EasyCrudDataLoaderScope.open()) {
+      f.getByIds(List.of(1L, 2L));
+      effectiveWireTap.afterDelete((TestRow) null);
+      f.findById(2L);
+
+      verify(actual).getByIds(List.of(1L, 2L));
+      verify(actual).getByIds(List.of(2L));
+    }
+  }
+
+  @Test
+  void delete_expectOnlyDeletedRowInvalidatedWhenRowIsKnown() {
+    try (EasyCrudDataLoaderScope scope = EasyCrudDataLoaderScope.open()) {
+      f.getByIds(List.of(1L, 2L));
+      effectiveWireTap.afterDelete(new TestRow(1L, "n1"));
+      f.getByIds(List.of(1L, 2L));
+
+      verify(actual).getByIds(List.of(1L, 2L));
+      verify(actual).getByIds(List.of(1L));
+    }
+  }
+
+  @Test
+  void open_expectNestedScopeJoinsOuterOne() {
+    try (EasyCrudDataLoaderScope outer = EasyCrudDataLoaderScope.open()) {
+      try (EasyCrudDataLoaderScope inner = EasyCrudDataLoaderScope.open()) {
+        assertSame(outer, inner);
+        f.findById(1L);
+      }
+      f.findById(1L);
+      verify(actual, times(1)).getByIds(List.of(1L));
+    }
+  }
+
+  @Test
+  void current_expectScopeBoundToTransactionAndDiscardedOnCompletion() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      f.findById(1L);
+      f.findById(1L);
+      verify(actual, times(1)).getByIds(List.of(1L));
+      assertNotNull(EasyCrudDataLoaderScope.find());
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(x -> x.afterCompletion(0));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  public static class TestRow implements HasId<Long> {
+    private Long id;
+    private String name;
+
+    public TestRow() {}
+
+    public TestRow(Long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    @Override
+    public Long getId() {
+      return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+}
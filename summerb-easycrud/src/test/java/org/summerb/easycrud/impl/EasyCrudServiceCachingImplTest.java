@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.summerb.easycrud.dao.EasyCrudDao;
+import org.summerb.easycrud.exceptions.EasyCrudExceptionStrategy;
+import org.summerb.easycrud.exceptions.EntityNotFoundException;
+import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.easycrud.tools.RowClonerReflectionImpl;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTap;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTapMode;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+
+@SuppressWarnings("unchecked")
+public class EasyCrudServiceCachingImplTest {
+  private EasyCrudServiceImpl<Long, TestRow, EasyCrudDao<Long, TestRow>> actual;
+  private EasyCrudDao<Long, TestRow> dao;
+  private EasyCrudWireTap<TestRow> authWireTap;
+  private EasyCrudWireTap<TestRow> effectiveWireTap;
+  private EasyCrudServiceCachingImpl<Long, TestRow> f;
+
+  @BeforeEach
+  void setUp() {
+    dao = mock(EasyCrudDao.class);
+    authWireTap = mock(EasyCrudWireTap.class);
+    when(authWireTap.requiresOnRead()).thenReturn(true);
+    when(authWireTap.requiresOnReadMultiple()).thenReturn(true);
+    when(authWireTap.requiresOnUpdate()).thenReturn(EasyCrudWireTapMode.NOT_APPLICABLE);
+    when(authWireTap.requiresOnDelete()).thenReturn(EasyCrudWireTapMode.NOT_APPLICABLE);
+
+    EasyCrudExceptionStrategy<Long, TestRow> exceptionStrategy =
+        mock(EasyCrudExceptionStrategy.class);
+    when(exceptionStrategy.exceptionAtFind(any(), any())).thenAnswer(x -> x.getArgument(0));
+
+    actual = mock(EasyCrudServiceImpl.class);
+    when(actual.getDao()).thenReturn(dao);
+    when(actual.getRowMessageCode()).thenReturn("testRow");
+    when(actual.getRowCloner()).thenReturn(new RowClonerReflectionImpl());
+    when(actual.getExceptionStrategy()).thenReturn(exceptionStrategy);
+    when(actual.query()).thenAnswer(x -> new Query<>(actual));
+    when(actual.getWireTap()).thenReturn(authWireTap);
+
+    f = new EasyCrudServiceCachingImpl<>(actual);
+
+    ArgumentCaptor<EasyCrudWireTap<TestRow>> captor =
+        ArgumentCaptor.forClass(EasyCrudWireTap.class);
+    verify(actual).setWireTap(captor.capture());
+    effectiveWireTap = captor.getValue();
+    when(actual.getWireTap()).thenReturn(effectiveWireTap);
+  }
+
+  @Test
+  void findById_expectCachedAndWireTapAppliedToCopy() {
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a"));
+
+    TestRow r1 = f.findById(1L);
+    TestRow r2 = f.findById(1L);
+
+    verify(dao, times(1)).findById(1L);
+    assertEquals("a", r2.getName());
+    assertNotSame(r1, r2);
+    verify(authWireTap, times(2)).beforeRead();
+    verify(authWireTap).afterRead(same(r1));
+    verify(authWireTap).afterRead(same(r2));
+  }
+
+  @Test
+  void findById_expectWireTapExceptionPropagatedForCachedRow() {
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a"));
+    f.findById(1L);
+
+    doThrow(new IllegalStateException("denied")).when(authWireTap).afterRead(any(TestRow.class));
+    assertThrows(IllegalStateException.class, () -> f.findById(1L));
+  }
+
+  @Test
+  void getById_expectNotFoundCachedAsNegativeEntryAndInvalidatedOnCreate() {
+    assertThrows(EntityNotFoundException.class, () -> f.getById(1L));
+    assertThrows(EntityNotFoundException.class, () -> f.getById(1L));
+    verify(dao, times(1)).findById(1L);
+
+    effectiveWireTap.afterCreate(new TestRow(1L, "a"));
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a"));
+    assertEquals("a", f.getById(1L).getName());
+  }
+
+  @Test
+  void getByIds_expectMissesLoadedUsingSingleQuery() {
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a"));
+    f.findById(1L);
+    when(dao.queryPage(eq(PagerParams.ALL), any(), any()))
+        .thenReturn(List.of(new TestRow(3L, "c"), new TestRow(2L, "b")));
+
+    List<TestRow> result = f.getByIds(List.of(1L, 2L, 3L, 4L));
+
+    assertEquals(List.of("a", "b", "c"), result.stream().map(TestRow::getName).toList());
+    ArgumentCaptor<Query<Long, TestRow>> query = ArgumentCaptor.forClass(Query.class);
+    verify(dao, times(1)).queryPage(eq(PagerParams.ALL), query.capture(), any());
+    assertEquals(1, query.getValue().getConditions().size());
+    verify(authWireTap).afterRead(anyList());
+
+    Map<Long, TestRow> map = f.getMapByIds(List.of(1L, 2L, 3L, 4L));
+    assertEquals(3, map.size());
+    verify(dao, times(1)).queryPage(any(), any(), any());
+  }
+
+  @Test
+  void update_expectInvalidatedThroughWireTap() {
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a"), new TestRow(1L, "b"));
+    f.findById(1L);
+
+    effectiveWireTap.afterUpdate(null, new TestRow(1L, "b"));
+
+    assertEquals("b", f.findById(1L).getName());
+    verify(dao, times(2)).findById(1L);
+  }
+
+  @Test
+  void delete_expectInvalidatedThroughWireTap() {
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a"), (TestRow) null);
+    f.findById(1L);
+
+    assertEquals(EasyCrudWireTapMode.ONLY_INVOKE_WIRETAP, effectiveWireTap.requiresOnDelete());
+    assertEquals(EasyCrudWireTapMode.ONLY_INVOKE_WIRETAP, effectiveWireTap.requiresOnUpdate());
+    effectiveWireTap.afterDelete(List.of(new TestRow(1L, "a")));
+
+    assertNull(f.findById(1L));
+  }
+
+  @Test
+  void deleteById_expectOnlyDeletedIdInvalidated() {
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a"), (TestRow) null);
+    when(dao.findById(2L)).thenReturn(new TestRow(2L, "b"));
+    f.findById(1L);
+    f.findById(2L);
+    doAnswer(
+            x -> {
+              effectiveWireTap.afterDelete((TestRow) null);
+              return null;
+            })
+        .when(actual)
+        .deleteById(1L);
+
+    f.deleteById(1L);
+
+    assertNull(f.findById(1L));
+    assertEquals("b", f.findById(2L).getName());
+    verify(dao, times(2)).findById(1L);
+    verify(dao, times(1)).findById(2L);
+  }
+
+  @Test
+  void deleteByQuery_expectWholeCacheInvalidatedWhenIdsUnknown() {
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a"));
+    when(dao.findById(2L)).thenReturn(new TestRow(2L, "b"));
+    f.findById(1L);
+    f.findById(2L);
+
+    effectiveWireTap.afterDelete((TestRow) null);
+    f.findById(1L);
+    f.findById(2L);
+
+    verify(dao, times(2)).findById(1L);
+    verify(dao, times(2)).findById(2L);
+  }
+
+  public static class TestRow implements HasId<Long> {
+    private Long id;
+    private String name;
+
+    public TestRow() {}
+
+    public TestRow(Long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    @Override
+    public Long getId() {
+      return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+}
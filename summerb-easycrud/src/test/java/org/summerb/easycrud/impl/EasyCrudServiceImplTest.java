@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.summerb.easycrud.UpdateAllResult;
+import org.summerb.easycrud.dao.EasyCrudDao;
+import org.summerb.easycrud.dao.UpsertResult;
+import org.summerb.easycrud.exceptions.EasyCrudExceptionStrategy;
+import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTap;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTapMode;
+import org.summerb.utils.easycrud.api.dto.KeysetPagerParams;
+
+@SuppressWarnings("unchecked")
+public class EasyCrudServiceImplTest {
+  private EasyCrudDao<Long, TestRow> dao;
+  private EasyCrudServiceImpl<Long, TestRow, EasyCrudDao<Long, TestRow>> f;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    dao = mock(EasyCrudDao.class);
+    f = new EasyCrudServiceImpl<>(dao, TestRow.class);
+    f.afterPropertiesSet();
+  }
+
+  @Test
+  void stream_expectWireTapExceptionTranslatedDuringConsumption() {
+    EasyCrudWireTap<TestRow> wireTap = mock(EasyCrudWireTap.class);
+    when(wireTap.requiresOnReadMultiple()).thenReturn(true);
+    IllegalStateException denied = new IllegalStateException("denied");
+    doThrow(denied).when(wireTap).afterRead(anyList());
+    f.setWireTap(wireTap);
+    EasyCrudExceptionStrategy<Long, TestRow> exceptionStrategy =
+        mock(EasyCrudExceptionStrategy.class);
+    RuntimeException translated = new RuntimeException("translated");
+    when(exceptionStrategy.exceptionAtFind(same(denied), any())).thenReturn(translated);
+    f.setExceptionStrategy(exceptionStrategy);
+    when(dao.stream(any(), any())).thenReturn(Stream.of(new TestRow(1L, "a", "b")));
+
+    try (Stream<TestRow> stream = f.stream(null)) {
+      assertSame(translated, assertThrows(RuntimeException.class, stream::toList));
+    }
+  }
+
+  @Test
+  void stream_expectDaoIteratorExceptionTranslatedDuringConsumption() {
+    EasyCrudExceptionStrategy<Long, TestRow> exceptionStrategy =
+        mock(EasyCrudExceptionStrategy.class);
+    RuntimeException translated = new RuntimeException("translated");
+    when(exceptionStrategy.exceptionAtFind(any(IllegalStateException.class), any()))
+        .thenReturn(translated);
+    f.setExceptionStrategy(exceptionStrategy);
+    when(dao.stream(any(), any()))
+        .thenReturn(
+            Stream.generate(
+                () -> {
+                  throw new IllegalStateException("connection lost");
+                }));
+
+    try (Stream<TestRow> stream = f.stream(null)) {
+      assertSame(translated, assertThrows(RuntimeException.class, stream::toList));
+    }
+  }
+
+  @Test
+  void update_expectAllColumnsUpdatedByDefault() {
+    f.update(new TestRow(1L, "a", "b"));
+
+    verify(dao).update(any(TestRow.class));
+    verify(dao, never()).findById(any());
+  }
+
+  @Test
+  void update_expectOnlyChangedFieldsUpdatedWhenEnabled() {
+    f.setUpdateChangedFieldsOnly(true);
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a", "b"));
+
+    f.update(new TestRow(1L, "a", "changed"));
+
+    verify(dao).update(any(TestRow.class), eq(List.of("body")));
+    verify(dao, never()).update(any(TestRow.class));
+  }
+
+  @Test
+  void update_expectChangedFieldsReadersBuiltOncePerService() {
+    f.setUpdateChangedFieldsOnly(true);
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a", "b"));
+
+    f.update(new TestRow(1L, "changed", "b"));
+    Object readers = f.getChangedFieldsReaders();
+    f.update(new TestRow(1L, "a", "changed"));
+
+    assertSame(readers, f.getChangedFieldsReaders());
+    verify(dao).update(any(TestRow.class), eq(List.of("title")));
+    verify(dao).update(any(TestRow.class), eq(List.of("body")));
+  }
+
+  @Test
+  void update_expectNoStatementWhenNothingChanged() {
+    f.setUpdateChangedFieldsOnly(true);
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a", "b"));
+
+    TestRow result = f.update(new TestRow(1L, "a", "b"));
+
+    assertEquals("b", result.getBody());
+    verify(dao, never()).update(any(TestRow.class), anyCollection());
+    verify(dao, never()).update(any(TestRow.class));
+  }
+
+  @Test
+  void updateFields_expectOnlyGivenFieldsUpdated() {
+    f.updateFields(new TestRow(1L, "a", "b"), List.of("title"));
+
+    verify(dao).update(any(TestRow.class), eq(List.of("title")));
+    verify(dao, never()).findById(any());
+  }
+
+  @Test
+  void updateFields_expectExceptionForUnknownField() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> f.updateFields(new TestRow(1L, "a", "b"), List.of("unknown")));
+  }
+
+  @Test
+  void updateAll_expectRowsWithUnreportedCountsReportedAsUnknown() {
+    EasyCrudWireTap<TestRow> wireTap = mock(EasyCrudWireTap.class);
+    when(wireTap.requiresOnUpdate()).thenReturn(EasyCrudWireTapMode.ONLY_INVOKE_WIRETAP);
+    f.setWireTap(wireTap);
+    when(dao.updateAll(anyList())).thenReturn(new int[] {1, 0, Statement.SUCCESS_NO_INFO});
+
+    UpdateAllResult<Long, TestRow> result =
+        f.updateAll(
+            List.of(
+                new TestRow(1L, "a", "b"), new TestRow(2L, "a", "b"), new TestRow(3L, "a", "b")));
+
+    assertEquals(List.of(1L), result.getUpdated().stream().map(TestRow::getId).toList());
+    assertEquals(List.of(2L), result.getNotUpdated().stream().map(TestRow::getId).toList());
+    assertEquals(List.of(3L), result.getUnknown().stream().map(TestRow::getId).toList());
+    assertFalse(result.isAllUpdated());
+    ArgumentCaptor<List<TestRow>> afterUpdate = ArgumentCaptor.forClass(List.class);
+    verify(wireTap).afterUpdate(anyList(), afterUpdate.capture());
+    assertEquals(List.of(1L, 3L), afterUpdate.getValue().stream().map(TestRow::getId).toList());
+  }
+
+  @Test
+  void create_expectRowClonedByDefault() {
+    TestRow row = new TestRow(1L, "a", "b");
+
+    TestRow result = f.create(row);
+
+    assertNotSame(row, result);
+    assertEquals("b", result.getBody());
+    verify(dao).create(result);
+  }
+
+  @Test
+  void create_expectCallerInstanceUsedWhenCloningDisabled() {
+    f.setCloneRowsOnWrite(false);
+    TestRow row = new TestRow(1L, "a", "b");
+
+    assertSame(row, f.create(row));
+    assertSame(row, f.update(row));
+    verify(dao).create(row);
+    verify(dao).update(row);
+  }
+
+  @Test
+  void upsertAll_expectCurrentVersionsLockedAndWireTapsInvokedByOutcome() {
+    EasyCrudWireTap<TestRow> wireTap = mock(EasyCrudWireTap.class);
+    when(wireTap.requiresOnCreate()).thenReturn(true);
+    when(wireTap.requiresOnUpdate()).thenReturn(EasyCrudWireTapMode.FULL_DTO_NEEDED);
+    f.setWireTap(wireTap);
+    when(dao.findByIdsForUpdate(List.of(1L, 2L))).thenReturn(List.of(new TestRow(1L, "a", "b")));
+    when(dao.upsertAll(anyCollection()))
+        .thenReturn(List.of(UpsertResult.UPDATED, UpsertResult.UNKNOWN));
+
+    List<TestRow> result =
+        f.upsertAll(List.of(new TestRow(1L, "a", "c"), new TestRow(2L, "a", "d")));
+
+    verify(wireTap).beforeUpdate(any(), eq(List.of(result.get(0))));
+    verify(wireTap).beforeCreate(List.of(result.get(1)));
+    verify(dao, never()).query(any(), any(), any());
+  }
+
+  @Test
+  void upsert_expectConcurrencyFailureWhenRowWasCreatedConcurrently() {
+    EasyCrudWireTap<TestRow> wireTap = mock(EasyCrudWireTap.class);
+    when(wireTap.requiresOnCreate()).thenReturn(true);
+    when(wireTap.requiresOnUpdate()).thenReturn(EasyCrudWireTapMode.FULL_DTO_NEEDED);
+    f.setWireTap(wireTap);
+    when(dao.findByIdsForUpdate(List.of(1L))).thenReturn(List.of());
+    when(dao.upsert(any())).thenReturn(UpsertResult.UPDATED);
+
+    RuntimeException result =
+        assertThrows(RuntimeException.class, () -> f.upsert(new TestRow(1L, "a", "b")));
+
+    assertInstanceOf(
+        ConcurrencyFailureException.class,
+        result instanceof ConcurrencyFailureException ? result : result.getCause());
+    verify(wireTap).beforeCreate(anyList());
+    verify(wireTap, never()).afterCreate(anyList());
+  }
+
+  @Test
+  void deleteByQueryChunked_expectChunksWalkedByIdAndOnlyDeletedRowsReported() {
+    EasyCrudWireTap<TestRow> wireTap = mock(EasyCrudWireTap.class);
+    when(wireTap.requiresOnDelete()).thenReturn(EasyCrudWireTapMode.FULL_DTO_NEEDED);
+    when(wireTap.requiresOnDeleteMultiple()).thenReturn(true);
+    f.setWireTap(wireTap);
+
+    TestRow r1 = new TestRow(1L, "a", "b");
+    TestRow r2 = new TestRow(2L, "a", "b");
+    TestRow r3 = new TestRow(3L, "a", "b");
+    when(dao.queryPage(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              KeysetPagerParams pagerParams = invocation.getArgument(0);
+              return pagerParams.getAfter() == null ? List.of(r1, r2) : List.of(r3);
+            });
+    when(dao.deleteByIds(List.of(1L, 2L))).thenReturn(List.of(2L));
+    when(dao.deleteByIds(List.of(3L))).thenReturn(List.of(3L));
+
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    f.setTransactionManager(transactionManager);
+
+    int result = f.deleteByQueryChunked(new Query<>(f), 2, true);
+
+    assertEquals(2, result);
+    ArgumentCaptor<KeysetPagerParams> pagerParams =
+        ArgumentCaptor.forClass(KeysetPagerParams.class);
+    verify(dao, times(2)).queryPage(pagerParams.capture(), any(), any());
+    assertEquals(List.of(2L), pagerParams.getAllValues().get(1).getAfter());
+    verify(wireTap).beforeDelete(List.of(r1, r2));
+    verify(wireTap).afterDelete(List.of(r2));
+    verify(wireTap).afterDelete(List.of(r3));
+    verify(dao, never()).deleteByQuery(any());
+    verify(transactionManager, times(2)).getTransaction(any());
+    verify(transactionManager, times(2)).commit(any());
+  }
+
+  @Test
+  void deleteByQueryChunked_expectFailureWhenTransactionManagerIsNotAvailable() {
+    RuntimeException ex =
+        assertThrows(
+            RuntimeException.class, () -> f.deleteByQueryChunked(new Query<>(f), 2, false));
+
+    assertInstanceOf(IllegalStateException.class, ex.getCause());
+    verify(dao, never()).queryPage(any(), any(), any());
+    verify(dao, never()).deleteByIds(any());
+  }
+
+  public static class TestRow implements HasId<Long> {
+    private Long id;
+    private String title;
+    private String body;
+
+    public TestRow() {}
+
+    public TestRow(Long id, String title, String body) {
+      this.id = id;
+      this.title = title;
+      this.body = body;
+    }
+
+    @Override
+    public Long getId() {
+      return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+      this.id = id;
+    }
+
+    public String getTitle() {
+      return title;
+    }
+
+    public void setTitle(String title) {
+      this.title = title;
+    }
+
+    public String getBody() {
+      return body;
+    }
+
+    public void setBody(String body) {
+      this.body = body;
+    }
+  }
+}
@@ -1,18 +1,24 @@
 package org.summerb.easycrud.join_query.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
 import org.summerb.easycrud.dao.NamedParameterJdbcTemplateEx;
+import org.summerb.easycrud.exceptions.EasyCrudExceptionStrategy;
 import org.summerb.easycrud.join_query.JoinQuery;
 import org.summerb.easycrud.join_query.QuerySpecificsResolver;
 import org.summerb.easycrud.join_query.model.JoinedRow;
@@ -22,6 +28,7 @@ import org.summerb.easycrud.sql_builder.FieldsEnlister;
 import org.summerb.easycrud.sql_builder.SqlBuilder;
 import org.summerb.easycrud.sql_builder.impl.FieldsEnlisterCachingImpl;
 import org.summerb.easycrud.sql_builder.impl.FieldsEnlisterImpl;
+import org.summerb.easycrud.sql_builder.model.QueryData;
 import org.summerb.easycrud.wireTaps.EasyCrudWireTap;
 import org.summerb.utils.easycrud.api.dto.PagerParams;
 
@@ -100,6 +107,99 @@ class JoinedSelectImplTest {
     assertEquals(extractor.rows, items);
   }
 
+  @Test
+  void stream_shouldInvokeWireTapsInChunksWithDistinctRows() {
+    NamedParameterJdbcTemplateEx jdbc = mock(NamedParameterJdbcTemplateEx.class);
+    QuerySpecificsResolver querySpecificsResolver = mock(QuerySpecificsResolver.class);
+    SqlBuilder sqlBuilder = mock(SqlBuilder.class);
+    JoinQuery<?, ?> joinQuery = mock(JoinQuery.class);
+    Query<Long, TestRow> q1 = mock(Query.class);
+    EasyCrudWireTap<TestRow> tap1 = mock(EasyCrudWireTap.class);
+    when(querySpecificsResolver.getWireTap(q1)).thenReturn(tap1);
+    when(tap1.requiresOnRead()).thenReturn(true);
+    when(tap1.requiresOnReadMultiple()).thenReturn(true);
+    when(sqlBuilder.joinedSelect(any(), any(), any(), any(), any()))
+        .thenReturn(new QueryData("SELECT", null));
+
+    TestRow shared = new TestRow(1L);
+    List<JoinedRow> rows = new ArrayList<>();
+    for (TestRow row : List.of(shared, shared, new TestRow(2L))) {
+      JoinedRowImpl joinedRow = new JoinedRowImpl(1);
+      joinedRow.put(q1, row);
+      rows.add(joinedRow);
+    }
+    ResultSetExtractorJoinedQueryImpl extractor = mock(ResultSetExtractorJoinedQueryImpl.class);
+    RowMapper<JoinedRow> rowMapper = mock(RowMapper.class);
+    when(extractor.asStreamingRowMapper()).thenReturn(rowMapper);
+    when(jdbc.queryForStream(any(), any(), same(rowMapper), anyInt())).thenReturn(rows.stream());
+
+    JoinedSelectImpl target =
+        spy(
+            new JoinedSelectImpl(
+                joinQuery,
+                List.of(q1),
+                jdbc,
+                querySpecificsResolver,
+                sqlBuilder,
+                new FieldsEnlisterCachingImpl(new FieldsEnlisterImpl())));
+    doReturn(extractor).when(target).buildResultSetExtractor(any(), any());
+    target.setStreamChunkSize(2);
+
+    List<JoinedRow> results = new ArrayList<>();
+    target.forEach(results::add);
+
+    assertEquals(3, results.size());
+    verify(tap1, times(1)).beforeRead();
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    verify(tap1, times(2)).afterRead(captor.capture());
+    assertEquals(1, captor.getAllValues().get(0).size());
+    assertEquals(1, captor.getAllValues().get(1).size());
+  }
+
+  @Test
+  void stream_shouldTranslateWireTapExceptionsUsingExceptionStrategy() {
+    NamedParameterJdbcTemplateEx jdbc = mock(NamedParameterJdbcTemplateEx.class);
+    QuerySpecificsResolver querySpecificsResolver = mock(QuerySpecificsResolver.class);
+    SqlBuilder sqlBuilder = mock(SqlBuilder.class);
+    JoinQuery<?, ?> joinQuery = mock(JoinQuery.class);
+    Query<Long, TestRow> q1 = mock(Query.class);
+    doReturn(q1).when(joinQuery).getPrimaryQuery();
+    EasyCrudWireTap<TestRow> tap1 = mock(EasyCrudWireTap.class);
+    when(querySpecificsResolver.getWireTap(q1)).thenReturn(tap1);
+    when(tap1.requiresOnRead()).thenReturn(true);
+    when(tap1.requiresOnReadMultiple()).thenReturn(true);
+    IllegalStateException denied = new IllegalStateException("denied");
+    doThrow(denied).when(tap1).afterRead(any(List.class));
+    EasyCrudExceptionStrategy exceptionStrategy = mock(EasyCrudExceptionStrategy.class);
+    RuntimeException translated = new RuntimeException("translated");
+    when(exceptionStrategy.exceptionAtFind(same(denied), same(joinQuery))).thenReturn(translated);
+    when(querySpecificsResolver.getExceptionStrategy(q1)).thenReturn(exceptionStrategy);
+    when(sqlBuilder.joinedSelect(any(), any(), any(), any(), any()))
+        .thenReturn(new QueryData("SELECT", null));
+
+    JoinedRowImpl joinedRow = new JoinedRowImpl(1);
+    joinedRow.put(q1, new TestRow(1L));
+    ResultSetExtractorJoinedQueryImpl extractor = mock(ResultSetExtractorJoinedQueryImpl.class);
+    RowMapper<JoinedRow> rowMapper = mock(RowMapper.class);
+    when(extractor.asStreamingRowMapper()).thenReturn(rowMapper);
+    when(jdbc.queryForStream(any(), any(), same(rowMapper), anyInt()))
+        .thenReturn(Stream.of(joinedRow));
+
+    JoinedSelectImpl target =
+        spy(
+            new JoinedSelectImpl(
+                joinQuery,
+                List.of(q1),
+                jdbc,
+                querySpecificsResolver,
+                sqlBuilder,
+                new FieldsEnlisterCachingImpl(new FieldsEnlisterImpl())));
+    doReturn(extractor).when(target).buildResultSetExtractor(any(), any());
+
+    RuntimeException ex = assertThrows(RuntimeException.class, () -> target.forEach(x -> {}));
+    assertSame(translated, ex);
+  }
+
   // --- Test helpers
   static class TestRow implements HasId<Long> {
     Long id;
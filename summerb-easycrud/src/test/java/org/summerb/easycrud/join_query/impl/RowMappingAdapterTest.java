@@ -0,0 +1,110 @@
+package org.summerb.easycrud.join_query.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowMapper;
+import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.easycrud.sql_builder.model.ColumnsSelection;
+import org.summerb.easycrud.sql_builder.model.SelectedColumn;
+
+class RowMappingAdapterTest {
+  private static final List<String> PHYSICAL_LABELS = List.of("c_id", "c_title", "p_id", "p_title");
+
+  private final RowMapper<TestRow> rowMapper =
+      (rs, rowNum) -> {
+        assertEquals(2, rs.getMetaData().getColumnCount());
+        assertEquals("title", rs.getMetaData().getColumnLabel(2));
+        return new TestRow((Long) rs.getObject("id"), rs.getString("title"));
+      };
+
+  @Test
+  void mapRow_expectLogicalColumnsResolvedToPhysicalIndexes() throws Exception {
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getObject(3)).thenReturn(5L);
+    when(rs.getString(4)).thenReturn("post");
+
+    RowMappingAdapter f = new RowMappingAdapter(buildSelection("p"), rowMapper);
+    f.setResultSet(rs, mock(ResultSetMetaData.class), PHYSICAL_LABELS);
+    TestRow result = (TestRow) f.mapRow(0);
+
+    assertEquals(5L, result.getId());
+    assertEquals("post", result.title);
+    assertEquals(2, f.findColumn("title"));
+    assertThrows(SQLException.class, () -> f.getString("c_title"));
+    verify(rs, never()).getString(anyString());
+  }
+
+  @Test
+  void setResultSet_expectIndexTableReusedForSameShape() throws Exception {
+    RowMappingAdapter f1 = new RowMappingAdapter(buildSelection("p"), rowMapper);
+    f1.setResultSet(mock(ResultSet.class), mock(ResultSetMetaData.class), PHYSICAL_LABELS);
+    RowMappingAdapter f2 = new RowMappingAdapter(buildSelection("p"), rowMapper);
+    f2.setResultSet(mock(ResultSet.class), mock(ResultSetMetaData.class), PHYSICAL_LABELS);
+    RowMappingAdapter f3 = new RowMappingAdapter(buildSelection("c"), rowMapper);
+    f3.setResultSet(mock(ResultSet.class), mock(ResultSetMetaData.class), PHYSICAL_LABELS);
+
+    assertSame(f1.indexTable, f2.indexTable);
+    assertNotSame(f1.indexTable, f3.indexTable);
+    assertEquals(1, f3.indexTable.logicalToPhysical()[1]);
+  }
+
+  @Test
+  void mapRow_expectOnlyLastRowRetainedWhenRetainingIsDisabled() throws Exception {
+    ResultSet rs = mock(ResultSet.class);
+    // NOTE: id is read once by adapter and once more by row mapper, unless row is reused
+    when(rs.getObject(3)).thenReturn(5L, 5L, 5L, 6L, 6L, 5L, 5L);
+    when(rs.getString(4)).thenReturn("post");
+
+    RowMappingAdapter f = new RowMappingAdapter(buildSelection("p"), rowMapper);
+    f.setRetainMappedRows(false);
+    f.setResultSet(rs, mock(ResultSetMetaData.class), PHYSICAL_LABELS);
+
+    Object r1 = f.mapRow(0);
+    Object r2 = f.mapRow(1);
+    Object r3 = f.mapRow(2);
+    Object r4 = f.mapRow(3);
+
+    assertSame(r1, r2);
+    assertNotSame(r1, r3);
+    assertNotSame(r1, r4);
+    assertTrue(f.mapIdToRow.isEmpty());
+  }
+
+  @SuppressWarnings("unchecked")
+  private ColumnsSelection buildSelection(String alias) {
+    ColumnsSelection ret = new ColumnsSelection();
+    ret.setQuery(mock(Query.class));
+    ret.setColumns(
+        List.of(
+            new SelectedColumn("id", "id", alias + "_id"),
+            new SelectedColumn("title", "title", alias + "_title")));
+    return ret;
+  }
+
+  static class TestRow implements HasId<Long> {
+    Long id;
+    String title;
+
+    TestRow(Long id, String title) {
+      this.id = id;
+      this.title = title;
+    }
+
+    @Override
+    public Long getId() {
+      return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+      this.id = id;
+    }
+  }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.summerb.easycrud.dao.EasyCrudDao;
+import org.summerb.easycrud.dao.UpsertResult;
+import org.summerb.easycrud.impl.EasyCrudServiceImpl;
+import org.summerb.easycrud.impl.EasyCrudServiceImplTest.TestRow;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTap;
+
+@SuppressWarnings("unchecked")
+public class OperationMetricsTest {
+  private final RecordingMetrics metrics = new RecordingMetrics();
+
+  @AfterEach
+  void tearDown() {
+    assertNull(OperationMetrics.current(), "Operation must not leak");
+  }
+
+  @Test
+  void start_expectNothingStartedWhenMetricsAreDisabled() {
+    OperationMetrics op = OperationMetrics.start(null, "Row", EasyCrudMetrics.OP_FIND);
+
+    assertNull(op);
+    OperationMetrics.addPhase(EasyCrudMetrics.PHASE_MAP, 10);
+    OperationMetrics.finish(op);
+  }
+
+  @Test
+  void finish_expectExecuteIsTimeNotAttributedToOtherPhases() {
+    OperationMetrics op = OperationMetrics.start(metrics, "Row", EasyCrudMetrics.OP_FIND);
+    OperationMetrics.addPhase(EasyCrudMetrics.PHASE_MAP, 1);
+    OperationMetrics.addPhase(EasyCrudMetrics.PHASE_MAP, 2);
+    OperationMetrics.rowsReturned(op, 5);
+    OperationMetrics.finish(op);
+
+    assertEquals(3L, metrics.latency("Row", "find", "map"));
+    long total = metrics.latency("Row", "find", "total");
+    assertEquals(total - 3, metrics.latency("Row", "find", "execute"));
+    assertEquals(5L, metrics.rows.get("Row/find/returned"));
+    assertFalse(metrics.rows.containsKey("Row/find/affected"));
+  }
+
+  @Test
+  void addPhase_expectAttributedToInnermostOperation() {
+    OperationMetrics outer = OperationMetrics.start(metrics, "Outer", EasyCrudMetrics.OP_FIND);
+    OperationMetrics inner = OperationMetrics.start(metrics, "Inner", EasyCrudMetrics.OP_FIND);
+    OperationMetrics.addPhase(EasyCrudMetrics.PHASE_SQL_BUILD, 7);
+    OperationMetrics.finish(inner);
+
+    assertSame(outer, OperationMetrics.current());
+    OperationMetrics.finish(outer);
+
+    assertEquals(7L, metrics.latency("Inner", "find", "sql-build"));
+    assertNull(metrics.latency("Outer", "find", "sql-build"));
+  }
+
+  @Test
+  void service_expectWireTapTimeAndRowsRecorded() throws Exception {
+    EasyCrudDao<Long, TestRow> dao = mock(EasyCrudDao.class);
+    when(dao.findById(1L)).thenReturn(new TestRow(1L, "a", "b"));
+    EasyCrudWireTap<TestRow> wireTap = mock(EasyCrudWireTap.class);
+    when(wireTap.requiresOnRead()).thenReturn(true);
+
+    EasyCrudServiceImpl<Long, TestRow, EasyCrudDao<Long, TestRow>> f =
+        new EasyCrudServiceImpl<>(dao, TestRow.class);
+    f.setWireTap(wireTap);
+    f.setMetrics(metrics);
+    f.afterPropertiesSet();
+
+    assertNotNull(f.findById(1L));
+
+    String wireTapPhase =
+        EasyCrudMetrics.PHASE_WIRE_TAP_PREFIX + wireTap.getClass().getSimpleName();
+    assertNotNull(metrics.latency("TestRow", "findById", wireTapPhase));
+    assertNotNull(metrics.latency("TestRow", "findById", "total"));
+    assertEquals(1L, metrics.rows.get("TestRow/findById/returned"));
+    verify(wireTap).afterRead(any(TestRow.class));
+  }
+
+  @Test
+  void service_expectBatchWritesRecordedAsRowsAffected() throws Exception {
+    EasyCrudDao<Long, TestRow> dao = mock(EasyCrudDao.class);
+    when(dao.updateAll(anyList())).thenReturn(new int[] {1, 0, Statement.SUCCESS_NO_INFO});
+    when(dao.upsert(any())).thenReturn(UpsertResult.CREATED);
+    when(dao.upsertAll(anyCollection()))
+        .thenReturn(List.of(UpsertResult.CREATED, UpsertResult.UPDATED));
+    EasyCrudServiceImpl<Long, TestRow, EasyCrudDao<Long, TestRow>> f = buildService(dao);
+
+    f.createAll(List.of(new TestRow(1L, "a", "b"), new TestRow(2L, "a", "b")));
+    f.updateAll(
+        List.of(new TestRow(1L, "a", "b"), new TestRow(2L, "a", "b"), new TestRow(3L, "a", "b")));
+    f.upsert(new TestRow(1L, "a", "b"));
+    f.upsertAll(List.of(new TestRow(1L, "a", "b"), new TestRow(2L, "a", "b")));
+
+    assertEquals(2L, metrics.rows.get("TestRow/create/affected"));
+    // NOTE: Row with unknown outcome is most likely updated, so it is counted as affected
+    assertEquals(2L, metrics.rows.get("TestRow/update/affected"));
+    assertEquals(3L, metrics.rows.get("TestRow/upsert/affected"));
+    assertNotNull(metrics.latency("TestRow", "create", "total"));
+    assertNotNull(metrics.latency("TestRow", "update", "total"));
+    assertNotNull(metrics.latency("TestRow", "upsert", "total"));
+  }
+
+  @Test
+  void service_expectStreamedRowsRecordedWhenStreamIsClosed() throws Exception {
+    EasyCrudDao<Long, TestRow> dao = mock(EasyCrudDao.class);
+    when(dao.stream(any(), any()))
+        .thenReturn(Stream.of(new TestRow(1L, "a", "b"), new TestRow(2L, "a", "b")));
+    EasyCrudServiceImpl<Long, TestRow, EasyCrudDao<Long, TestRow>> f = buildService(dao);
+
+    try (Stream<TestRow> stream = f.stream(null)) {
+      assertNotNull(metrics.latency("TestRow", "find", "total"));
+      assertNull(metrics.rows.get("TestRow/find/returned"));
+      assertEquals(2, stream.toList().size());
+    }
+
+    assertEquals(2L, metrics.rows.get("TestRow/find/returned"));
+  }
+
+  private EasyCrudServiceImpl<Long, TestRow, EasyCrudDao<Long, TestRow>> buildService(
+      EasyCrudDao<Long, TestRow> dao) throws Exception {
+    EasyCrudServiceImpl<Long, TestRow, EasyCrudDao<Long, TestRow>> f =
+        new EasyCrudServiceImpl<>(dao, TestRow.class);
+    f.setMetrics(metrics);
+    f.afterPropertiesSet();
+    return f;
+  }
+
+  static class RecordingMetrics implements EasyCrudMetrics {
+    final Map<String, Long> latencies = new HashMap<>();
+    final Map<String, Long> rows = new HashMap<>();
+
+    @Override
+    public void recordLatency(String target, String operation, String phase, long nanos) {
+      latencies.merge(target + "/" + operation + "/" + phase, nanos, Long::sum);
+    }
+
+    @Override
+    public void recordRows(String target, String operation, String kind, long rows) {
+      this.rows.merge(target + "/" + operation + "/" + kind, rows, Long::sum);
+    }
+
+    Long latency(String target, String operation, String phase) {
+      return latencies.get(target + "/" + operation + "/" + phase);
+    }
+  }
+}
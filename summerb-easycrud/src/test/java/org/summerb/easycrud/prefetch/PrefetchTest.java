@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.prefetch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.EasyCrudServiceResolver;
+import org.summerb.easycrud.query.OrderBy;
+import org.summerb.easycrud.row.HasId;
+import org.summerb.methodCapturers.PropertyNameResolver;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+import org.summerb.utils.easycrud.api.dto.PaginatedList;
+
+@SuppressWarnings("unchecked")
+public class PrefetchTest {
+  private static final Function<Post, Long> AUTHOR = Post::getAuthorId;
+  private static final Function<Post, Long> EDITOR = Post::getEditorId;
+
+  private EasyCrudService<Long, Post> postService;
+  private EasyCrudService<Long, User> userService;
+  private PrefetchSource<Post> source;
+  private Prefetch<Long, Post> f;
+
+  @BeforeEach
+  void setUp() {
+    PropertyNameResolver<Post> nameResolver = mock(PropertyNameResolver.class);
+    when(nameResolver.resolve(any()))
+        .thenAnswer(x -> x.getArgument(0).equals(AUTHOR) ? "authorId" : "editorId");
+
+    postService = mock(EasyCrudService.class);
+    when(postService.name(any())).thenAnswer(x -> nameResolver.resolve(x.getArgument(0)));
+    when(postService.getNameResolver()).thenReturn(nameResolver);
+
+    userService = mock(EasyCrudService.class);
+    when(userService.getMapByIds(any(List.class)))
+        .thenAnswer(
+            x ->
+                Map.of(
+                    1L, new User(1L, "u1"),
+                    2L, new User(2L, "u2"),
+                    3L, new User(3L, "u3")));
+
+    EasyCrudServiceResolver resolver = mock(EasyCrudServiceResolver.class);
+    when(resolver.resolveByRowClass(User.class)).thenReturn(userService);
+
+    source = mock(PrefetchSource.class);
+    f = new Prefetch<>(postService, resolver, source);
+  }
+
+  @Test
+  void findPage_expectOneQueryPerRelationAndReferencesAttached() {
+    when(source.findPage(any(), any(OrderBy[].class)))
+        .thenReturn(List.of(new Post(10L, 1L, 2L), new Post(11L, 1L, null)));
+
+    List<PrefetchedRow<Long, Post>> result =
+        f.prefetch(AUTHOR, userService).prefetch(EDITOR, User.class).findPage(new PagerParams());
+
+    assertEquals(2, result.size());
+    assertEquals(10L, result.get(0).getRow().getId());
+    assertEquals("u1", result.get(0).<User>get(AUTHOR).getName());
+    assertEquals("u2", result.get(0).<User>get("editorId").getName());
+    assertEquals("u1", result.get(1).<User>get(AUTHOR).getName());
+    assertNull(result.get(1).get(EDITOR));
+    verify(userService).getMapByIds(List.of(1L));
+    verify(userService).getMapByIds(List.of(2L));
+  }
+
+  @Test
+  void find_expectTotalsPreservedAndNoReferenceQueriesForEmptyPage() {
+    PagerParams pagerParams = new PagerParams(20, 10);
+    when(source.find(any(), any(OrderBy[].class)))
+        .thenReturn(new PaginatedList<>(pagerParams, List.of(), 20));
+
+    PaginatedList<PrefetchedRow<Long, Post>> result =
+        f.prefetch(AUTHOR, userService).find(pagerParams);
+
+    assertEquals(20, result.getTotalResults());
+    assertTrue(result.getItems().isEmpty());
+    verify(userService, never()).getMapByIds(any(List.class));
+  }
+
+  @Test
+  void prefetch_expectExceptionForDuplicateRelationOrUnknownRelation() {
+    f.prefetch(AUTHOR, userService);
+    assertThrows(IllegalArgumentException.class, () -> f.prefetch(AUTHOR, userService));
+
+    PrefetchedRow<Long, Post> row = new PrefetchedRow<>(new Post(1L, 1L, 1L), Map.of(), null);
+    assertThrows(IllegalArgumentException.class, () -> row.get("authorId"));
+  }
+
+  @Test
+  void usingJoin_expectExceptionWhenSourceIsNotQuery() {
+    assertThrows(IllegalStateException.class, () -> f.usingJoin());
+  }
+
+  public static class Post implements HasId<Long> {
+    private Long id;
+    private Long authorId;
+    private Long editorId;
+
+    public Post(Long id, Long authorId, Long editorId) {
+      this.id = id;
+      this.authorId = authorId;
+      this.editorId = editorId;
+    }
+
+    @Override
+    public Long getId() {
+      return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+      this.id = id;
+    }
+
+    public Long getAuthorId() {
+      return authorId;
+    }
+
+    public Long getEditorId() {
+      return editorId;
+    }
+  }
+
+  public static class User implements HasId<Long> {
+    private Long id;
+    private String name;
+
+    public User(Long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    @Override
+    public Long getId() {
+      return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+}
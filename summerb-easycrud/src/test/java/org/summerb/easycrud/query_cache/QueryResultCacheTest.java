@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.query_cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.summerb.easycrud.dao.EasyCrudDao;
+import org.summerb.easycrud.dao.EasyCrudDaoInjections;
+import org.summerb.easycrud.impl.EasyCrudServiceImpl;
+import org.summerb.easycrud.impl.EasyCrudServiceImplTest.TestRow;
+import org.summerb.easycrud.sql_builder.SqlBuilder;
+import org.summerb.easycrud.sql_builder.model.FromAndWhere;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTap;
+import org.summerb.easycrud.wireTaps.EasyCrudWireTapMode;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+import org.summerb.utils.easycrud.api.dto.PaginatedList;
+
+@SuppressWarnings("unchecked")
+public class QueryResultCacheTest {
+  private EasyCrudDao<Long, TestRow> dao;
+  private EasyCrudWireTap<TestRow> wireTap;
+  private EasyCrudServiceImpl<Long, TestRow, EasyCrudDao<Long, TestRow>> f;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    dao = mock(EasyCrudDao.class, withSettings().extraInterfaces(EasyCrudDaoInjections.class));
+    SqlBuilder sqlBuilder = mock(SqlBuilder.class);
+    when(((EasyCrudDaoInjections<?, ?>) dao).getSqlBuilder()).thenReturn(sqlBuilder);
+    when(((EasyCrudDaoInjections<?, ?>) dao).getTableName()).thenReturn("test_row");
+    when(sqlBuilder.fromAndWhere(anyString(), any()))
+        .thenAnswer(x -> new FromAndWhere(" FROM test_row", new MapSqlParameterSource()));
+    when(dao.query(any(), any(), any()))
+        .thenAnswer(
+            x -> new PaginatedList<>(PagerParams.ALL, List.of(new TestRow(1L, "a", "b")), 1));
+    when(dao.count(any())).thenReturn(1);
+
+    wireTap = mock(EasyCrudWireTap.class);
+    when(wireTap.requiresOnRead()).thenReturn(true);
+    when(wireTap.requiresOnReadMultiple()).thenReturn(true);
+    when(wireTap.requiresOnDelete()).thenReturn(EasyCrudWireTapMode.NOT_APPLICABLE);
+
+    f = new EasyCrudServiceImpl<>(dao, TestRow.class);
+    f.setWireTap(wireTap);
+    f.setQueryResultCache(new QueryResultCache());
+    f.afterPropertiesSet();
+    f.getQueryResultCache().invalidateAll();
+  }
+
+  @AfterEach
+  void cleanup() {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+  }
+
+  @Test
+  void find_expectCachedResultWithWireTapsInvokedOnHit() {
+    List<TestRow> first = f.findAll(null);
+    first.get(0).setTitle("modified by caller");
+    List<TestRow> second = f.findAll(null);
+
+    verify(dao, times(1)).query(any(), any(), any());
+    verify(wireTap, times(2)).afterRead(anyList());
+    assertEquals("a", second.get(0).getTitle());
+    assertNotSame(first.get(0), second.get(0));
+  }
+
+  @Test
+  void count_expectCacheInvalidatedByWrite() {
+    assertEquals(1, f.count());
+    assertEquals(1, f.count());
+    verify(dao, times(1)).count(any());
+
+    f.deleteByQuery(f.query());
+    assertEquals(1, f.count());
+    verify(dao, times(2)).count(any());
+  }
+
+  @Test
+  void put_expectCacheSizeLimitedByNumberOfRows() {
+    QueryResultCache cache = new QueryResultCache(3, QueryResultCache.DEFAULT_TTL);
+    cache.put("count", 10);
+    cache.put("page", new PaginatedList<>(PagerParams.ALL, List.of(1, 2), 2));
+    assertEquals(10, (Integer) cache.get("count"));
+    assertNotNull(cache.get("page"));
+
+    cache.put("list", List.of(1, 2, 3, 4));
+    assertNull(cache.get("list"));
+
+    assertEquals(1, QueryResultCache.weigh("k", 10));
+    assertEquals(1, QueryResultCache.weigh("k", List.of()));
+    assertEquals(4, QueryResultCache.weigh("k", List.of(1, 2, 3, 4)));
+  }
+
+  @Test
+  void find_expectCacheBypassedInsideReadWriteTransaction() {
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+
+    f.findAll(null);
+    f.findAll(null);
+
+    verify(dao, times(2)).query(any(), any(), any());
+  }
+}
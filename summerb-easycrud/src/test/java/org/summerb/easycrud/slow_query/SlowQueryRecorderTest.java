@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.slow_query;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.summerb.easycrud.dao.NamedParameterJdbcTemplateEx;
+
+@SuppressWarnings("unchecked")
+public class SlowQueryRecorderTest {
+  private final SlowQueryRecorder f = new SlowQueryRecorder(null, "test");
+
+  @AfterEach
+  void tearDown() {
+    f.destroy();
+  }
+
+  @Test
+  void normalize_expectLiteralsParamsAndInListsReplaced() {
+    assertEquals(
+        "SELECT * FROM t1 WHERE a = ? AND b IN (?) AND c = ? AND d::text = ?",
+        SqlFingerprint.normalize(
+            "SELECT *\n  FROM t1 WHERE a = :arg0 AND b IN (?, ?, ?) AND c = 'x''y' AND d::text ="
+                + " 15"));
+  }
+
+  @Test
+  void record_expectSameFingerprintAccumulatedAndOrderedByTotal() {
+    f.record("SELECT * FROM a WHERE id = :arg0", null, 1_000_000);
+    f.record("SELECT * FROM a WHERE id = :arg1", null, 2_000_000);
+    f.record("SELECT * FROM b", null, 1_000_000);
+
+    List<SlowQueryStats> top = f.getTopByTotalTime(10);
+    assertEquals(2, top.size());
+    assertEquals("SELECT * FROM a WHERE id = ?", top.get(0).getFingerprint());
+    assertEquals(2, top.get(0).getCount());
+    assertEquals(3, top.get(0).getTotalMillis());
+    assertEquals(2, top.get(0).getMaxMillis());
+    assertTrue(f.toJson().contains("\"fingerprint\": \"SELECT * FROM b\""));
+  }
+
+  @Test
+  void record_expectSmallestEvictedWhenFull() {
+    f.setMaxEntries(2);
+    f.record("SELECT 1 FROM a", null, 5_000_000);
+    f.record("SELECT 1 FROM b", null, 1_000_000);
+    f.record("SELECT 1 FROM c", null, 3_000_000);
+
+    assertEquals(2, f.getFingerprintsCount());
+    assertEquals(
+        List.of("SELECT ? FROM a", "SELECT ? FROM c"),
+        f.getTopByTotalTime(10).stream().map(SlowQueryStats::getFingerprint).toList());
+  }
+
+  @Test
+  void getP99Millis_expectUpperBoundOfBucket() {
+    SlowQueryStats stats = new SlowQueryStats("x");
+    for (int i = 0; i < 99; i++) {
+      stats.record("x", 3_000_000);
+    }
+    stats.record("x", 700_000_000);
+
+    assertEquals(5, stats.getP99Millis());
+    assertEquals(700, stats.getMaxMillis());
+  }
+
+  @Test
+  void wrap_expectStatementRecordedWithNamedSql() {
+    JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+    when(jdbcOperations.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+        .thenReturn(List.of("a"));
+    NamedParameterJdbcTemplateEx jdbc = f.wrap(new NamedParameterJdbcTemplateEx(jdbcOperations));
+
+    List<String> result =
+        jdbc.query(
+            "SELECT name FROM t WHERE id IN (:arg0)",
+            new MapSqlParameterSource("arg0", List.of(1, 2)),
+            (rs, rowNum) -> rs.getString(1));
+
+    assertEquals(List.of("a"), result);
+    assertSame(jdbc, f.wrap(jdbc));
+    SlowQueryStats stats = f.getTopByTotalTime(1).get(0);
+    assertEquals("SELECT name FROM t WHERE id IN (?)", stats.getFingerprint());
+    assertEquals("SELECT name FROM t WHERE id IN (:arg0)", stats.getSql());
+  }
+}
@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.sql_builder.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.join_query.QuerySpecificsResolver;
+import org.summerb.easycrud.query.OrderBy;
+import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.sql_builder.QueryToSql;
+import org.summerb.easycrud.sql_builder.SqlBuilder;
+import org.summerb.easycrud.sql_builder.model.FromAndWhere;
+import org.summerb.easycrud.sql_builder.model.QueryData;
+import org.summerb.easycrud.sql_builder.mysql.OrderByToSqlMySqlImpl;
+import org.summerb.easycrud.sql_builder.mysql.SqlBuilderMySqlImpl;
+import org.summerb.easycrud.sql_builder.postgres.OrderByToSqlPostgresImpl;
+import org.summerb.easycrud.sql_builder.postgres.QueryToSqlPostgresImpl;
+import org.summerb.easycrud.sql_builder.postgres.SqlBuilderPostgresImpl;
+import org.summerb.utils.easycrud.api.dto.KeysetPagerParams;
+import org.summerb.utils.easycrud.api.dto.PagerParams;
+
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class SqlBuilderCachingImplTest {
+  private SqlBuilder delegate;
+  private SqlBuilder uncached;
+  private SqlBuilderCachingImpl f;
+
+  @BeforeEach
+  void setUp() {
+    QueryToSql queryToSql = new QueryToSqlPostgresImpl();
+    delegate = spy(buildSqlBuilder(queryToSql));
+    uncached = buildSqlBuilder(queryToSql);
+    f = new SqlBuilderCachingImpl(delegate, queryToSql);
+  }
+
+  private SqlBuilder buildSqlBuilder(QueryToSql queryToSql) {
+    return new SqlBuilderMySqlImpl(
+        mock(QuerySpecificsResolver.class),
+        new FieldsEnlisterCachingImpl(new FieldsEnlisterImpl()),
+        queryToSql,
+        new OrderByToSqlMySqlImpl());
+  }
+
+  private Query query() {
+    return new Query(mock(EasyCrudService.class));
+  }
+
+  @Test
+  void fromAndWhere_expectSqlReusedAndParamsRebound() {
+    Query q1 = query().eq("karma", 1).in("id", Set.of(1L, 2L)).le("createdAt", 100L);
+    Query q2 = query().eq("karma", 2).in("id", Set.of(3L, 4L, 5L)).le("createdAt", 200L);
+
+    FromAndWhere r1 = f.fromAndWhere("users", q1);
+    FromAndWhere r2 = f.fromAndWhere("users", q2);
+
+    verify(delegate, times(1)).fromAndWhere(anyString(), any(Query.class));
+    FromAndWhere expected = uncached.fromAndWhere("users", q2);
+    assertEquals(expected.getSql(), r2.getSql());
+    assertEquals(r1.getSql(), r2.getSql());
+    assertEquals(expected.getParams().getValues(), r2.getParams().getValues());
+  }
+
+  @Test
+  void fromAndWhere_expectDifferentShapesAreNotMixed() {
+    FromAndWhere r1 = f.fromAndWhere("users", query().eq("karma", 1));
+    FromAndWhere r2 = f.fromAndWhere("users", query().ne("karma", 1));
+    FromAndWhere r3 = f.fromAndWhere("users", query().eq("karma", "str"));
+    FromAndWhere r4 = f.fromAndWhere("users", query().less("karma", 1));
+    FromAndWhere r5 = f.fromAndWhere("users", query().le("karma", 1));
+    FromAndWhere r6 = f.fromAndWhere("users", null);
+
+    assertEquals(
+        6,
+        Set.of(r1.getSql(), r2.getSql(), r3.getSql(), r4.getSql(), r5.getSql(), r6.getSql())
+            .size());
+    verify(delegate, times(6)).fromAndWhere(anyString(), any());
+  }
+
+  @Test
+  void fromAndWhere_expectDisjunctionParamsBoundInSameOrder() {
+    Query q1 = query().eq("a", 1).or(query().eq("b", 2), query().like("c", "x"));
+    Query q2 = query().eq("a", 3).or(query().eq("b", 4), query().like("c", "y"));
+
+    f.fromAndWhere("users", q1);
+    FromAndWhere result = f.fromAndWhere("users", q2);
+
+    assertEquals(
+        uncached.fromAndWhere("users", q2).getParams().getValues(), result.getParams().getValues());
+  }
+
+  @Test
+  void select_expectSqlReusedAndPagerAndKeysetParamsBound() {
+    OrderBy[] orderBy = new OrderBy[] {OrderBy.Desc("karma"), OrderBy.Desc("id")};
+    Query q1 = query().eq("karma", 1);
+    f.select(
+        Object.class,
+        f.fromAndWhere("users", q1),
+        q1,
+        new KeysetPagerParams(10, List.of(5, "abc")),
+        orderBy,
+        false);
+
+    Query q2 = query().eq("karma", 2);
+    KeysetPagerParams pagerParams = new KeysetPagerParams(20, List.of(7, "def"));
+    QueryData result =
+        f.select(Object.class, f.fromAndWhere("users", q2), q2, pagerParams, orderBy, false);
+
+    verify(delegate, times(1)).select(any(), any(), any(), any(), any(), anyBoolean());
+    QueryData expected =
+        uncached.select(
+            Object.class, uncached.fromAndWhere("users", q2), q2, pagerParams, orderBy, false);
+    assertEquals(expected.getSql(), result.getSql());
+    assertEquals(expected.getParams().getValues(), result.getParams().getValues());
+    assertSame(q2, result.getSelectedColumns().get(0).getQuery());
+  }
+
+  @Test
+  void selectWithWindowCount_expectCachedSeparatelyFromRegularSelect() {
+    QueryData r1 =
+        f.select(Object.class, f.fromAndWhere("users", null), null, new PagerParams(), null, false);
+    QueryData r2 =
+        f.selectWithWindowCount(
+            Object.class, f.fromAndWhere("users", null), null, new PagerParams(), null);
+    QueryData r3 =
+        f.selectWithWindowCount(
+            Object.class, f.fromAndWhere("users", null), null, new PagerParams(20, 10), null);
+
+    assertNotEquals(r1.getSql(), r2.getSql());
+    assertEquals(r2.getSql(), r3.getSql());
+    assertEquals(20L, r3.getParams().getValue(PagerParams.FIELD_OFFSET));
+    verify(delegate, times(1)).selectWithWindowCount(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void select_expectCountQueryWillFollowNotMixedWhenSqlDependsOnIt() {
+    QueryData r1 =
+        f.select(Object.class, f.fromAndWhere("users", null), null, new PagerParams(), null, false);
+    QueryData r2 =
+        f.select(Object.class, f.fromAndWhere("users", null), null, new PagerParams(), null, true);
+
+    assertNotEquals(r1.getSql(), r2.getSql());
+    verify(delegate, times(2)).select(any(), any(), any(), any(), any(), anyBoolean());
+  }
+
+  @Test
+  void select_expectCountQueryWillFollowNotPartOfKeyWhenSqlDoesNotDependOnIt() {
+    QueryToSql queryToSql = new QueryToSqlPostgresImpl();
+    SqlBuilder postgres =
+        spy(
+            new SqlBuilderPostgresImpl(
+                mock(QuerySpecificsResolver.class),
+                new FieldsEnlisterCachingImpl(new FieldsEnlisterImpl()),
+                queryToSql,
+                new OrderByToSqlPostgresImpl()));
+    SqlBuilderCachingImpl cached = new SqlBuilderCachingImpl(postgres, queryToSql);
+
+    QueryData r1 =
+        cached.select(
+            Object.class, cached.fromAndWhere("users", null), null, new PagerParams(), null, true);
+    QueryData r2 =
+        cached.select(
+            Object.class, cached.fromAndWhere("users", null), null, new PagerParams(), null, false);
+
+    assertEquals(r1.getSql(), r2.getSql());
+    verify(postgres, times(1)).select(any(), any(), any(), any(), any(), anyBoolean());
+  }
+
+  @Test
+  void select_expectPagedAndNonPagedNotMixed() {
+    QueryData r1 =
+        f.select(Object.class, f.fromAndWhere("users", null), null, PagerParams.ALL, null, false);
+    QueryData r2 =
+        f.select(Object.class, f.fromAndWhere("users", null), null, new PagerParams(), null, false);
+
+    assertNotEquals(r1.getSql(), r2.getSql());
+  }
+}
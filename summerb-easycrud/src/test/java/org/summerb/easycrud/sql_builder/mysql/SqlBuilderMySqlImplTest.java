@@ -6,6 +6,8 @@ import static org.mockito.Mockito.*;
 import integr.org.summerb.easycrud.dtos.CommentRow;
 import integr.org.summerb.easycrud.dtos.PostRow;
 import integr.org.summerb.easycrud.dtos.UserRow;
+import java.sql.ResultSet;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,14 +22,18 @@ import org.summerb.easycrud.join_query.QuerySpecificsResolver;
 import org.summerb.easycrud.join_query.SelectFactory;
 import org.summerb.easycrud.join_query.impl.JoinQueryFactoryImpl;
 import org.summerb.easycrud.join_query.impl.SelectFactoryImpl;
+import org.summerb.easycrud.query.OrderBy;
 import org.summerb.easycrud.query.Query;
 import org.summerb.easycrud.row.HasId;
 import org.summerb.easycrud.sql_builder.SqlBuilder;
 import org.summerb.easycrud.sql_builder.impl.FieldsEnlisterCachingImpl;
 import org.summerb.easycrud.sql_builder.impl.FieldsEnlisterImpl;
 import org.summerb.easycrud.sql_builder.impl.ParamIdxIncrementer;
+import org.summerb.easycrud.sql_builder.model.FromAndWhere;
+import org.summerb.easycrud.sql_builder.model.QueryData;
 import org.summerb.methodCapturers.MethodCapturerProxyClassFactoryImpl;
 import org.summerb.methodCapturers.PropertyNameResolverFactoryImpl;
+import org.summerb.utils.easycrud.api.dto.KeysetPagerParams;
 
 @ExtendWith(MockitoExtension.class)
 public class SqlBuilderMySqlImplTest {
@@ -82,6 +88,40 @@ public class SqlBuilderMySqlImplTest {
     return ret;
   }
 
+  @Test
+  void upsertClause_expectOnDuplicateKeyUpdateWithRowAliasWhenEnabled() {
+    ((SqlBuilderMySqlImpl) sqlBuilder).setUpsertRowAliasSupported(true);
+
+    assertEquals(
+        " AS new ON DUPLICATE KEY UPDATE name = new.name, modified_at = new.modified_at",
+        sqlBuilder.upsertClause("id", List.of("name", "modified_at")));
+    assertEquals(
+        " AS new ON DUPLICATE KEY UPDATE id = id", sqlBuilder.upsertClause("id", List.of()));
+  }
+
+  @Test
+  void upsertClause_expectValuesFunctionByDefault() {
+    assertEquals(
+        " ON DUPLICATE KEY UPDATE name = VALUES(name), modified_at = VALUES(modified_at)",
+        sqlBuilder.upsertClause("id", List.of("name", "modified_at")));
+    assertEquals(" ON DUPLICATE KEY UPDATE id = id", sqlBuilder.upsertClause("id", List.of()));
+  }
+
+  @Test
+  void getMaxInListSize_expectChunkingEnabledByDefault() {
+    assertEquals(SqlBuilderMySqlImpl.DEFAULT_MAX_IN_LIST_SIZE, sqlBuilder.getMaxInListSize());
+  }
+
+  @Test
+  void approximateCountExtractor_expectRowsAdjustedByFiltered() throws Exception {
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.next()).thenReturn(true);
+    when(rs.getLong("rows")).thenReturn(1000L);
+    when(rs.getDouble("filtered")).thenReturn(10.0);
+
+    assertEquals(100L, sqlBuilder.approximateCountExtractor().extractData(rs));
+  }
+
   @Test
   void appendFromClause_shouldGenerateCorrectFromClauseForSingleTable() {
     // Given
@@ -242,6 +282,65 @@ public class SqlBuilderMySqlImplTest {
     assertEquals(expected, sql.toString());
   }
 
+  @Test
+  void select_shouldUseRowValueComparisonForKeysetWithSameDirections() {
+    // Given
+    Query<String, UserRow> query = userService.query().greater(UserRow::getKarma, 1);
+    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere("users", query);
+    KeysetPagerParams pagerParams = new KeysetPagerParams(10, List.of(5, "abc"));
+    OrderBy[] orderBy = new OrderBy[] {OrderBy.Desc("karma"), OrderBy.Desc("id")};
+
+    // When
+    QueryData result =
+        sqlBuilder.select(UserRow.class, fromAndWhere, query, pagerParams, orderBy, false);
+
+    // Then
+    assertTrue(
+        result
+            .getSql()
+            .contains("WHERE karma > :arg0 AND (users.karma, users.id) < (:keyset0, :keyset1)"),
+        result.getSql());
+    assertEquals(5, result.getParams().getValue("keyset0"));
+    assertEquals("abc", result.getParams().getValue("keyset1"));
+    assertFalse(fromAndWhere.getSql().contains("keyset"));
+  }
+
+  @Test
+  void select_shouldUseExpandedPredicateForKeysetWithMixedDirections() {
+    // Given
+    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere("users", null);
+    KeysetPagerParams pagerParams = new KeysetPagerParams(10, List.of(5, "abc"));
+    OrderBy[] orderBy = new OrderBy[] {OrderBy.Desc("karma"), OrderBy.Asc("id")};
+
+    // When
+    QueryData result =
+        sqlBuilder.select(UserRow.class, fromAndWhere, null, pagerParams, orderBy, false);
+
+    // Then
+    assertTrue(
+        result
+            .getSql()
+            .contains(
+                "\nWHERE ((users.karma < :keyset0)"
+                    + " OR (users.karma = :keyset0 AND users.id > :keyset1))"),
+        result.getSql());
+  }
+
+  @Test
+  void select_shouldNotAddKeysetPredicateForFirstPage() {
+    // Given
+    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere("users", null);
+    OrderBy[] orderBy = new OrderBy[] {OrderBy.Asc("id")};
+
+    // When
+    QueryData result =
+        sqlBuilder.select(
+            UserRow.class, fromAndWhere, null, new KeysetPagerParams(10), orderBy, false);
+
+    // Then
+    assertFalse(result.getSql().contains("WHERE"), result.getSql());
+  }
+
   class UserServiceTestImpl extends EasyCrudServiceTestImpl<String, UserRow> {
     public UserServiceTestImpl() {
       super("users", UserRow.class);
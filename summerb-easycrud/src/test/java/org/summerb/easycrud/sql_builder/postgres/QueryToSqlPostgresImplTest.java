@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.sql_builder.postgres;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.summerb.easycrud.EasyCrudService;
+import org.summerb.easycrud.query.Query;
+import org.summerb.easycrud.row.HasId;
+
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class QueryToSqlPostgresImplTest {
+  private QueryToSqlPostgresImpl f;
+  private CaseMatchingResolverImpl caseMatchingResolver;
+
+  @BeforeEach
+  void setUp() {
+    f = new QueryToSqlPostgresImpl();
+    caseMatchingResolver = new CaseMatchingResolverImpl();
+    f.setCaseMatchingResolver(caseMatchingResolver);
+  }
+
+  private Query query() {
+    EasyCrudService service = mock(EasyCrudService.class);
+    when(service.getRowClass()).thenReturn(Row.class);
+    return new Query(service);
+  }
+
+  @Test
+  void buildFilter_expectCaseMatchingTakenFromAnnotations() {
+    Query query =
+        query().eq("name", "A").eq("email", "B").eq("login", "C").in("login", List.of("D", "E"));
+    MapSqlParameterSource params = new MapSqlParameterSource();
+
+    String sql = f.buildFilter(query, params);
+
+    assertEquals(
+        "lower(name)  =  :arg0 AND email = :arg1 AND login = CAST(:arg2 AS citext)"
+            + " AND login = ANY(CAST(:arg3 AS citext[]))",
+        sql);
+    assertEquals("a", params.getValue("arg0"));
+    assertEquals("B", params.getValue("arg1"));
+    assertEquals("C", params.getValue("arg2"));
+  }
+
+  @Test
+  void buildFilter_expectProgrammaticOverrideAndDefaultCaseMatching() {
+    caseMatchingResolver.setCaseMatching(Row.class, "email", CaseMatching.LOWER);
+    f.setDefaultCaseMatching(CaseMatching.EXACT);
+
+    String sql =
+        f.buildFilter(
+            query().eq("name", "A").eq("email", "B").like("name", "x"),
+            new MapSqlParameterSource());
+
+    assertEquals("name = :arg0 AND lower(email)  =  :arg1 AND name LIKE :arg2", sql);
+  }
+
+  @Test
+  void appendShape_expectDifferentShapesForDifferentCaseMatching() {
+    StringBuilder exact = new StringBuilder();
+    f.appendShape(query().eq("email", "x"), exact);
+    caseMatchingResolver.setCaseMatching(Row.class, "email", CaseMatching.CITEXT);
+    StringBuilder citext = new StringBuilder();
+    f.appendShape(query().eq("email", "x"), citext);
+
+    assertNotEquals(exact.toString(), citext.toString());
+  }
+
+  @Test
+  void hasMatchingIndex_expectOnlyLeadingKeyConsidered() {
+    CaseMatchingIndexValidator validator = new CaseMatchingIndexValidator(caseMatchingResolver);
+    List<String> indexes =
+        List.of(
+            "CREATE INDEX i1 ON public.t USING btree (lower((email)::text))",
+            "CREATE UNIQUE INDEX i2 ON public.t USING btree (login)",
+            "CREATE INDEX i3 ON public.t USING btree (id, name)");
+
+    assertTrue(validator.hasMatchingIndex(indexes, "email", CaseMatching.LOWER));
+    assertFalse(validator.hasMatchingIndex(indexes, "email", CaseMatching.CITEXT));
+    assertTrue(validator.hasMatchingIndex(indexes, "login", CaseMatching.CITEXT));
+    assertFalse(validator.hasMatchingIndex(indexes, "login", CaseMatching.LOWER));
+    assertFalse(validator.hasMatchingIndex(indexes, "name", CaseMatching.CITEXT));
+  }
+
+  public static class Row implements HasId<Long> {
+    private Long id;
+    private String name;
+
+    @CaseMatchingStrategy(CaseMatching.EXACT)
+    private String email;
+
+    @CaseMatchingStrategy(CaseMatching.CITEXT)
+    private String login;
+
+    @Override
+    public Long getId() {
+      return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getEmail() {
+      return email;
+    }
+
+    public String getLogin() {
+      return login;
+    }
+  }
+}
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 import integr.org.summerb.easycrud.dtos.CommentRow;
 import integr.org.summerb.easycrud.dtos.PostRow;
 import integr.org.summerb.easycrud.dtos.UserRow;
+import java.sql.ResultSet;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -86,6 +87,52 @@ public class SqlBuilderPostgresImplTest {
     return ret;
   }
 
+  @Test
+  void upsertClause_expectOnConflictDoUpdate() {
+    assertEquals(
+        " ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, modified_at = EXCLUDED.modified_at",
+        sqlBuilder.upsertClause("id", List.of("name", "modified_at")));
+    assertEquals(
+        " ON CONFLICT (id) DO UPDATE SET id = EXCLUDED.id",
+        sqlBuilder.upsertClause("id", List.of()));
+  }
+
+  @Test
+  void upsertInsertedFlagClause_expectXmaxReturned() {
+    assertEquals(
+        " RETURNING (xmax = 0) AS easycrud_inserted", sqlBuilder.upsertInsertedFlagClause());
+  }
+
+  @Test
+  void getMaxInListSize_expectChunkingDisabledSinceValuesBoundAsArray() {
+    assertEquals(0, sqlBuilder.getMaxInListSize());
+  }
+
+  @Test
+  void selectWithWindowCount_expectCountOverAdded() {
+    FromAndWhere fromAndWhere = sqlBuilder.fromAndWhere("users", null);
+    QueryData result =
+        sqlBuilder.selectWithWindowCount(
+            UserRow.class, fromAndWhere, null, new PagerParams(10, 5), null);
+
+    assertEquals(
+        "SELECT *, COUNT(*) OVER() AS easycrud_window_count\nFROM users\nLIMIT :max OFFSET :offset",
+        result.getSql());
+    assertEquals(10L, result.getParams().getValue(PagerParams.FIELD_OFFSET));
+  }
+
+  @Test
+  void approximateCountExtractor_expectRowsTakenFromTopPlanNode() throws Exception {
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.next()).thenReturn(true);
+    when(rs.getString(1)).thenReturn("Seq Scan on users  (cost=0.00..35.50 rows=2550 width=4)");
+
+    assertEquals(2550L, sqlBuilder.approximateCountExtractor().extractData(rs));
+    assertEquals(
+        "EXPLAIN SELECT 1\nFROM users",
+        sqlBuilder.approximateCount(sqlBuilder.fromAndWhere("users", null)).getSql());
+  }
+
   @Test
   void appendFieldConditionsToWhereClause_expectConditionsAddedCorrectly() {
     // Given
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.sql_builder.postgres.restrictions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.summerb.easycrud.dao.SqlTypeOverridesDefaultImpl;
+import org.summerb.easycrud.query.restrictions.In;
+import org.summerb.easycrud.sql_builder.postgres.ArrayParameterValue;
+
+public class InRestrictionToNativeSqlTest {
+  private final InRestrictionToNativeSql f = new InRestrictionToNativeSql();
+  private final SqlTypeOverridesDefaultImpl overrides = new SqlTypeOverridesDefaultImpl();
+
+  private Supplier<Integer> idx() {
+    AtomicInteger ret = new AtomicInteger();
+    return ret::getAndIncrement;
+  }
+
+  @Test
+  void getBucketSize_expectPowerOfTwoThenMultipleOfMax() {
+    assertEquals(0, InRestrictionToNativeSql.getBucketSize(0, 1024));
+    assertEquals(1, InRestrictionToNativeSql.getBucketSize(1, 1024));
+    assertEquals(2, InRestrictionToNativeSql.getBucketSize(2, 1024));
+    assertEquals(4, InRestrictionToNativeSql.getBucketSize(3, 1024));
+    assertEquals(8, InRestrictionToNativeSql.getBucketSize(5, 1024));
+    assertEquals(1024, InRestrictionToNativeSql.getBucketSize(1000, 1024));
+    assertEquals(1024, InRestrictionToNativeSql.getBucketSize(1024, 1024));
+    assertEquals(2048, InRestrictionToNativeSql.getBucketSize(1025, 1024));
+    assertEquals(3072, InRestrictionToNativeSql.getBucketSize(2049, 1024));
+    assertEquals(5, InRestrictionToNativeSql.getBucketSize(5, 0));
+  }
+
+  @Test
+  void convert_expectSingleArrayParameterForLongs() {
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    String sql = f.convert(new In(List.of(1L, 2L, 3L)), params, idx(), "id", overrides);
+
+    assertEquals("id = ANY(:arg0)", sql);
+    ArrayParameterValue value = (ArrayParameterValue) params.getValue("arg0");
+    assertEquals("bigint", value.getTypeName());
+    assertEquals(3, value.getElements().length);
+  }
+
+  @Test
+  void convert_expectLowerCasedTextArrayAndAllForNegatedStrings() {
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    String sql = f.convert(new In(List.of("A", "b")).not(), params, idx(), "name", overrides);
+
+    assertEquals("lower(name) <> ALL(:arg0)", sql);
+    ArrayParameterValue value = (ArrayParameterValue) params.getValue("arg0");
+    assertEquals("text", value.getTypeName());
+    assertTrue(List.of(value.getElements()).containsAll(List.of("a", "b")));
+  }
+
+  @Test
+  void convert_expectPaddedInListWhenArraysAreNotApplicable() {
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    In in = new In(List.of(Color.values()));
+
+    String sql = f.convert(in, params, idx(), "id", overrides);
+
+    assertEquals("id IN (:arg0)", sql);
+    Collection<?> values = (Collection<?>) params.getValue("arg0");
+    assertEquals(8, values.size());
+    assertTrue(values.containsAll(List.of("RED", "GREEN", "BLUE", "CYAN", "MAGENTA")));
+  }
+
+  @Test
+  void bind_expectSameParamsAsConvert() {
+    f.setUseArrays(false);
+    In in = new In(List.of(1L, 2L, 3L));
+    MapSqlParameterSource converted = new MapSqlParameterSource();
+    MapSqlParameterSource bound = new MapSqlParameterSource();
+
+    f.convert(in, converted, idx(), "id", overrides);
+    f.bind(in, bound, idx(), overrides);
+
+    assertEquals(converted.getValues(), bound.getValues());
+    assertEquals(4, ((Collection<?>) bound.getValue("arg0")).size());
+  }
+
+  public enum Color {
+    RED,
+    GREEN,
+    BLUE,
+    CYAN,
+    MAGENTA
+  }
+}
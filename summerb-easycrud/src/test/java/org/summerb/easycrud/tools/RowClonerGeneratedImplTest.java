@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.easycrud.tools;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.summerb.utils.objectcopy.Clonnable;
+
+public class RowClonerGeneratedImplTest {
+
+  @Test
+  public void testClone_expectAllPropertiesCopiedToNewInstance() {
+    TestRow row = new TestRow();
+    row.setId(1L);
+    row.setName("name");
+    row.setAge(42);
+    row.setActive(true);
+    row.setAmount(new BigDecimal("1.5"));
+    row.incrementReadOnlyCounter();
+
+    TestRow result = (TestRow) new RowClonerGeneratedImpl().clone(row);
+
+    assertNotSame(row, result);
+    assertEquals(1L, result.getId());
+    assertEquals("name", result.getName());
+    assertEquals(42, result.getAge());
+    assertTrue(result.isActive());
+    assertSame(row.getAmount(), result.getAmount());
+    assertNull(result.getRefId());
+    assertEquals(0, result.readOnlyCounter);
+  }
+
+  @Test
+  public void testClone_expectNullForNull() {
+    assertNull(new RowClonerGeneratedImpl().clone(null));
+  }
+
+  @Test
+  public void testClone_expectClonnableRespected() {
+    ClonnableRow row = new ClonnableRow();
+
+    Object result = new RowClonerGeneratedImpl().clone(row);
+
+    assertEquals("cloned", ((ClonnableRow) result).getName());
+  }
+
+  @Test
+  public void testClone_expectFallbackForNonPublicClass() {
+    NonPublicRow row = new NonPublicRow();
+    row.setName("name");
+    RowCloner fallback = x -> row;
+
+    assertSame(row, new RowClonerGeneratedImpl(fallback).clone(row));
+    NonPublicRow result = (NonPublicRow) new RowClonerGeneratedImpl().clone(row);
+    assertNotSame(row, result);
+    assertEquals("name", result.getName());
+  }
+
+  @Test
+  public void testClone_expectFallbackForPublicClassNestedInNonPublicClass() {
+    NonPublicHolder.PublicNestedRow row = new NonPublicHolder.PublicNestedRow();
+    row.setName("name");
+    RowCloner fallback = x -> row;
+
+    assertSame(row, new RowClonerGeneratedImpl(fallback).clone(row));
+    NonPublicHolder.PublicNestedRow result =
+        (NonPublicHolder.PublicNestedRow) new RowClonerGeneratedImpl().clone(row);
+    assertNotSame(row, result);
+    assertEquals("name", result.getName());
+  }
+
+  @Test
+  public void testClone_expectExceptionWhenNoDefaultConstructor() {
+    assertThrows(
+        RuntimeException.class, () -> new RowClonerGeneratedImpl().clone(new NoDefaultCtorRow(1)));
+  }
+
+  public static class TestRow {
+    private long id;
+    private String name;
+    private int age;
+    private boolean active;
+    private BigDecimal amount;
+    private Long refId;
+    private int readOnlyCounter;
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(long id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public void setAge(int age) {
+      this.age = age;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+
+    public void setActive(boolean active) {
+      this.active = active;
+    }
+
+    public BigDecimal getAmount() {
+      return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+      this.amount = amount;
+    }
+
+    public Long getRefId() {
+      return refId;
+    }
+
+    public void setRefId(Long refId) {
+      this.refId = refId;
+    }
+
+    public int getReadOnlyCounter() {
+      return readOnlyCounter;
+    }
+
+    public void incrementReadOnlyCounter() {
+      readOnlyCounter++;
+    }
+  }
+
+  public static class ClonnableRow implements Clonnable<ClonnableRow> {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public ClonnableRow clone() {
+      ClonnableRow ret = new ClonnableRow();
+      ret.setName("cloned");
+      return ret;
+    }
+  }
+
+  static class NonPublicRow {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  static class NonPublicHolder {
+    public static class PublicNestedRow {
+      private String name;
+
+      public String getName() {
+        return name;
+      }
+
+      public void setName(String name) {
+        this.name = name;
+      }
+    }
+  }
+
+  public static class NoDefaultCtorRow {
+    private int value;
+
+    public NoDefaultCtorRow(int value) {
+      this.value = value;
+    }
+
+    public int getValue() {
+      return value;
+    }
+
+    public void setValue(int value) {
+      this.value = value;
+    }
+  }
+}
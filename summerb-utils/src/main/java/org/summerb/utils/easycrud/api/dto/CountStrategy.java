@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.utils.easycrud.api.dto;
+
+/**
+ * Strategy of finding out total number of results for paginated queries. Can be specified per call
+ * using {@link PagerParams#setCountStrategy(CountStrategy)}, otherwise DAO default is used.
+ * Actually used strategy is reported by {@link PaginatedList#getCountStrategy()}. When requested
+ * page turns out to be the last one, total is known without counting, so {@link #EXACT} is reported
+ * instead of {@link #CACHED} or {@link #APPROXIMATE}.
+ *
+ * @author sergey.karpushin
+ */
+public enum CountStrategy {
+  /**
+   * Count is not performed, {@link PaginatedList#getTotalResults()} is number of items retrieved
+   */
+  NONE,
+
+  /** Exact count performed by separate statement, i.e. "SELECT COUNT(*)" or "FOUND_ROWS()" */
+  EXACT,
+
+  /**
+   * Exact count performed within the same statement using "COUNT(*) OVER()" window function. Saves
+   * a round trip, but the database still has to find all matching rows
+   */
+  EXACT_WINDOW,
+
+  /**
+   * Exact count which is cached for some time per query (SQL and parameter values). Count might be
+   * stale by the time it is returned
+   */
+  CACHED,
+
+  /**
+   * Count is not performed, instead one more row is requested to find out whether there is a next
+   * page, see {@link PaginatedList#getHasMore()}. {@link PaginatedList#getTotalResults()} is number
+   * of rows up to and including current page
+   */
+  HAS_MORE,
+
+  /**
+   * Estimate based on the database statistics (i.e. planner estimate). Cheap, but might be way off,
+   * so should be used only when precise number is not important, i.e. "about 10 000 results"
+   */
+  APPROXIMATE;
+
+  /**
+   * @return true if {@link PaginatedList#getTotalResults()} produced by this strategy can be
+   *     trusted as an exact number of matching rows
+   */
+  public boolean isExact() {
+    return this == EXACT || this == EXACT_WINDOW;
+  }
+}
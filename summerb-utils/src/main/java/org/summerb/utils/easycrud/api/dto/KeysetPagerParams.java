@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.utils.easycrud.api.dto;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.Serial;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keyset (a.k.a. seek) pagination params. Instead of skipping {@link #getOffset()} rows (which
+ * becomes slower the deeper the page is) query will continue right after the last row of the
+ * previous page, identified by values of its sort keys. Thus, deep pages cost the same as the first
+ * one.
+ *
+ * <p>Values in {@link #getAfter()} must correspond to the order by fields of the query. For the
+ * first page {@link #getAfter()} is null. Subsequent pages are usually requested using opaque
+ * cursor returned in {@link PaginatedList#getNextPageCursor()}, see {@link #fromCursor(String,
+ * long)}.
+ *
+ * <p>Sort keys are expected to be non-nullable. It's also recommended that combination of sort keys
+ * is unique, otherwise rows with same values might be skipped. EasyCrud will append id as a
+ * tie-breaker if it's not already present.
+ *
+ * <p>Cursor keeps type of each value, so values are decoded exactly as they were read from the row.
+ * Supported types are: strings (enums are encoded by name), numbers, booleans, {@link UUID}, {@link
+ * Date} (including {@link Timestamp} with nanos, {@link java.sql.Date} and {@link Time}) and {@link
+ * Instant}, {@link LocalDate}, {@link LocalDateTime}, {@link OffsetDateTime}.
+ *
+ * @author sergey.karpushin
+ */
+public class KeysetPagerParams extends PagerParams {
+  @Serial private static final long serialVersionUID = -2797513838315618523L;
+
+  protected static final Gson GSON = new Gson();
+
+  protected List<Object> after;
+
+  public KeysetPagerParams() {}
+
+  public KeysetPagerParams(long max) {
+    super(0, max);
+  }
+
+  public KeysetPagerParams(long max, List<Object> after) {
+    super(0, max);
+    this.after = after;
+  }
+
+  public static boolean is(PagerParams pagerParams) {
+    return pagerParams instanceof KeysetPagerParams;
+  }
+
+  /**
+   * Build pager params from cursor which was previously returned in {@link
+   * PaginatedList#getNextPageCursor()}
+   *
+   * @param cursor cursor, might be null or empty, in which case first page will be requested
+   * @param max max number of items on the page
+   * @return pager params
+   * @throws IllegalArgumentException if cursor is malformed
+   */
+  public static KeysetPagerParams fromCursor(String cursor, long max) {
+    return new KeysetPagerParams(max, decodeCursor(cursor));
+  }
+
+  /**
+   * @return values of sort keys of the last row of the previous page or null if first page is
+   *     requested
+   */
+  public List<Object> getAfter() {
+    return after;
+  }
+
+  public void setAfter(List<Object> after) {
+    this.after = after;
+  }
+
+  public boolean isFirstPage() {
+    return after == null || after.isEmpty();
+  }
+
+  @Override
+  public void setOffset(long offset) {
+    Preconditions.checkArgument(offset == 0, "For keyset-based queries only 0 offset is allowed");
+  }
+
+  /**
+   * Encode sort key values into opaque cursor string
+   *
+   * @param values values of sort keys
+   * @return url-safe cursor string
+   */
+  public static String encodeCursor(List<Object> values) {
+    Preconditions.checkArgument(values != null, "values required");
+    List<String[]> typed = new ArrayList<>(values.size());
+    for (Object value : values) {
+      typed.add(encodeValue(value));
+    }
+    byte[] json = GSON.toJson(typed).getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+  }
+
+  /**
+   * Decode cursor string which was previously built using {@link #encodeCursor(List)}
+   *
+   * @param cursor cursor, might be null or empty
+   * @return values of sort keys or null if cursor is empty
+   * @throws IllegalArgumentException if cursor is malformed
+   */
+  public static List<Object> decodeCursor(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+
+    String[][] typed;
+    try {
+      String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      typed = GSON.fromJson(json, String[][].class);
+    } catch (IllegalArgumentException | JsonParseException e) {
+      throw new IllegalArgumentException("Malformed cursor", e);
+    }
+    Preconditions.checkArgument(typed != null && typed.length > 0, "Malformed cursor");
+
+    List<Object> ret = new ArrayList<>(typed.length);
+    for (String[] pair : typed) {
+      Preconditions.checkArgument(pair != null && pair.length == 2, "Malformed cursor");
+      ret.add(decodeValue(pair[0], pair[1]));
+    }
+    return Collections.unmodifiableList(ret);
+  }
+
+  protected static String[] encodeValue(Object value) {
+    if (value == null) {
+      return new String[] {"0", null};
+    } else if (value instanceof String || value instanceof Enum<?>) {
+      return new String[] {"s", value instanceof Enum<?> e ? e.name() : (String) value};
+    } else if (value instanceof Long) {
+      return new String[] {"l", value.toString()};
+    } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return new String[] {"i", value.toString()};
+    } else if (value instanceof Double || value instanceof Float) {
+      return new String[] {"d", value.toString()};
+    } else if (value instanceof BigDecimal bigDecimal) {
+      return new String[] {"n", bigDecimal.toPlainString()};
+    } else if (value instanceof Boolean) {
+      return new String[] {"b", value.toString()};
+    } else if (value instanceof UUID) {
+      return new String[] {"u", value.toString()};
+    } else if (value instanceof Timestamp timestamp) {
+      return new String[] {"ts", timestamp.toInstant().toString()};
+    } else if (value instanceof java.sql.Date || value instanceof Time) {
+      return new String[] {value instanceof Time ? "st" : "sd", value.toString()};
+    } else if (value instanceof Date date) {
+      return new String[] {"dt", String.valueOf(date.getTime())};
+    } else if (value instanceof Instant) {
+      return new String[] {"in", value.toString()};
+    } else if (value instanceof LocalDate) {
+      return new String[] {"ld", value.toString()};
+    } else if (value instanceof LocalDateTime) {
+      return new String[] {"ldt", value.toString()};
+    } else if (value instanceof OffsetDateTime) {
+      return new String[] {"odt", value.toString()};
+    }
+    throw new IllegalArgumentException(
+        "Type " + value.getClass().getName() + " is not supported as keyset pagination sort key");
+  }
+
+  protected static Object decodeValue(String type, String value) {
+    try {
+      return switch (type) {
+        case "0" -> null;
+        case "s" -> value;
+        case "l" -> Long.valueOf(value);
+        case "i" -> Integer.valueOf(value);
+        case "d" -> Double.valueOf(value);
+        case "n" -> new BigDecimal(value);
+        case "b" -> Boolean.valueOf(value);
+        case "u" -> UUID.fromString(value);
+        case "ts" -> Timestamp.from(Instant.parse(value));
+        case "sd" -> java.sql.Date.valueOf(value);
+        case "st" -> Time.valueOf(value);
+        case "dt" -> new Date(Long.parseLong(value));
+        case "in" -> Instant.parse(value);
+        case "ld" -> LocalDate.parse(value);
+        case "ldt" -> LocalDateTime.parse(value);
+        case "odt" -> OffsetDateTime.parse(value);
+        default -> throw new IllegalArgumentException("Malformed cursor");
+      };
+    } catch (IllegalArgumentException | DateTimeParseException | NullPointerException e) {
+      throw new IllegalArgumentException("Malformed cursor", e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "KeysetPagerParams [max=" + max + ", after=" + after + "]";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!super.equals(o)) return false;
+    KeysetPagerParams that = (KeysetPagerParams) o;
+    return Objects.equals(after, that.after);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), after);
+  }
+}
@@ -35,6 +35,13 @@ public class PagerParams implements Serializable {
   protected long offset = 0;
   protected long max = 20;
 
+  /**
+   * Optional count strategy for this particular call. If null, default strategy configured for the
+   * DAO is used. Not a part of {@link #equals(Object)} since it does not affect which rows are
+   * selected
+   */
+  protected CountStrategy countStrategy;
+
   public PagerParams() {}
 
   public PagerParams(long offset, long max) {
@@ -68,9 +75,32 @@ public class PagerParams implements Serializable {
     this.max = max;
   }
 
+  public CountStrategy getCountStrategy() {
+    return countStrategy;
+  }
+
+  public void setCountStrategy(CountStrategy countStrategy) {
+    this.countStrategy = countStrategy;
+  }
+
+  /**
+   * Convenience method for fluent-style setting of {@link #setCountStrategy(CountStrategy)}
+   *
+   * @return this
+   */
+  public PagerParams withCountStrategy(CountStrategy countStrategy) {
+    setCountStrategy(countStrategy);
+    return this;
+  }
+
   @Override
   public String toString() {
-    return "PagerParams [offset=" + offset + ", max=" + max + "]";
+    return "PagerParams [offset="
+        + offset
+        + ", max="
+        + max
+        + (countStrategy == null ? "" : ", countStrategy=" + countStrategy)
+        + "]";
   }
 
   @Override
@@ -91,6 +121,7 @@ public class PagerParams implements Serializable {
     public Unmodifiable(PagerParams pagerParams) {
       this.offset = pagerParams.offset;
       this.max = pagerParams.max;
+      this.countStrategy = pagerParams.countStrategy;
     }
 
     @Override
@@ -102,5 +133,10 @@ public class PagerParams implements Serializable {
     public void setMax(long max) {
       throw new IllegalStateException("Not allowed for unmodifiable object");
     }
+
+    @Override
+    public void setCountStrategy(CountStrategy countStrategy) {
+      throw new IllegalStateException("Not allowed for unmodifiable object");
+    }
   }
 }
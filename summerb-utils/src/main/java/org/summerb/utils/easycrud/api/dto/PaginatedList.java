@@ -32,6 +32,19 @@ public class PaginatedList<T> implements Serializable {
   private PagerParams pagerParams;
   private long totalResults;
 
+  /**
+   * Opaque cursor that can be used to request next page using {@link
+   * KeysetPagerParams#fromCursor(String, long)}. Only populated for {@link KeysetPagerParams}, null
+   * if there are no more pages
+   */
+  private String nextPageCursor;
+
+  /** Strategy which was used to find out {@link #totalResults}, null if not reported */
+  private CountStrategy countStrategy;
+
+  /** Explicitly set flag of next page presence. If null, it's derived from {@link #totalResults} */
+  private Boolean hasMore;
+
   public PaginatedList() {}
 
   public PaginatedList(PagerParams pagerParams, List<T> items, long totalResults) {
@@ -64,6 +77,38 @@ public class PaginatedList<T> implements Serializable {
     this.totalResults = totalResults;
   }
 
+  public String getNextPageCursor() {
+    return nextPageCursor;
+  }
+
+  public void setNextPageCursor(String nextPageCursor) {
+    this.nextPageCursor = nextPageCursor;
+  }
+
+  public CountStrategy getCountStrategy() {
+    return countStrategy;
+  }
+
+  public void setCountStrategy(CountStrategy countStrategy) {
+    this.countStrategy = countStrategy;
+  }
+
+  /**
+   * @return true if there are more results after current page. Unless explicitly set (see {@link
+   *     CountStrategy#HAS_MORE}) it is derived from {@link #getTotalResults()}
+   */
+  public boolean getHasMore() {
+    if (hasMore != null) {
+      return hasMore;
+    }
+    long offset = pagerParams == null ? 0 : pagerParams.getOffset();
+    return offset + (items == null ? 0 : items.size()) < totalResults;
+  }
+
+  public void setHasMore(Boolean hasMore) {
+    this.hasMore = hasMore;
+  }
+
   public boolean getHasItems() {
     return !CollectionUtils.isEmpty(items);
   }
@@ -74,6 +119,7 @@ public class PaginatedList<T> implements Serializable {
         + pagerParams
         + ", totalResults="
         + totalResults
+        + (countStrategy == null ? "" : ", countStrategy=" + countStrategy)
         + ", items="
         + (items == null ? "null" : "" + items.size())
         + "]";
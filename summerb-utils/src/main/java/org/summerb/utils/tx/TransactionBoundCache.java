@@ -22,9 +22,13 @@ import com.google.common.cache.LoadingCache;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentMap;
@@ -40,6 +44,10 @@ import org.summerb.utils.jmx.GuavaCacheMXBeanImpl;
  * transaction boundary. If transaction commit, then changes propagated to global cache, otherwise
  * all changes will affect transaction-local cache only
  *
+ * <p>Transaction-local cache is an overlay on top of global cache: it holds only entries which were
+ * changed or loaded within the transaction and keys which were invalidated. Lookups of other keys
+ * fall through to the global cache, so starting a transaction does not copy the global cache.
+ *
  * @author sergeyk
  * @param <K>
  * @param <V>
@@ -80,14 +88,16 @@ public class TransactionBoundCache<K, V> implements LoadingCache<K, V> {
     actual = new GuavaCacheMXBeanImpl<>(cacheName, actual);
   }
 
-  /** Get for write purpose */
-  protected LoadingCache<K, V> get() {
+  /**
+   * @return transaction-local cache entry or null if global cache should be used
+   */
+  protected TransactionBoundCacheEntry<K, V> get() {
     TransactionBoundCacheEntry transactionBoundCacheEntry = transactionBoundCacheEntries.get();
     if (transactionBoundCacheEntry == markerUseGlobalCache) {
       if (log.isTraceEnabled()) {
         log.trace("{}: Transaction is committing. Using global cache", cacheName);
       }
-      return actual;
+      return null;
     }
 
     String curTranName = TransactionSynchronizationManager.getCurrentTransactionName();
@@ -98,7 +108,7 @@ public class TransactionBoundCache<K, V> implements LoadingCache<K, V> {
             cacheName,
             curTranName);
       }
-      return transactionBoundCacheEntry.transactionBound;
+      return transactionBoundCacheEntry;
     }
 
     boolean synchronizationActive = TransactionSynchronizationManager.isSynchronizationActive();
@@ -108,7 +118,7 @@ public class TransactionBoundCache<K, V> implements LoadingCache<K, V> {
       if (log.isTraceEnabled()) {
         log.trace("{}: Using global cache", cacheName);
       }
-      return actual;
+      return null;
     }
 
     if (log.isTraceEnabled()) {
@@ -119,13 +129,9 @@ public class TransactionBoundCache<K, V> implements LoadingCache<K, V> {
     TransactionBoundCacheEntry newCache = new TransactionBoundCacheEntry<K, V>();
     newCache.transactionBound =
         CacheBuilder.newBuilder().removalListener(localRemovalListener).build(loader);
-    // TBD: Instead of copy-on-write the whole thing, isn't it better to
-    // implement inheritance? Like if we didn't find it in this cache, then
-    // lookup parent?
-    newCache.transactionBound.putAll(actual.asMap());
     newCache.transactionBoundRemovals = new HashSet<K>();
     transactionBoundCacheEntries.set(newCache);
-    return newCache.transactionBound;
+    return newCache;
   }
 
   protected TransactionSynchronization synchronization =
@@ -143,15 +149,18 @@ public class TransactionBoundCache<K, V> implements LoadingCache<K, V> {
           }
 
           Set invalidatedKeys = transactionBoundCacheEntry.transactionBoundRemovals;
+          boolean allInvalidated = transactionBoundCacheEntry.allInvalidated;
           if (log.isTraceEnabled()) {
             log.trace(
                 "{}: Clean-up after transaction commit. Removing invalidated objects from global cache: {}",
                 cacheName,
-                Arrays.toString(invalidatedKeys.toArray()));
+                allInvalidated ? "ALL" : Arrays.toString(invalidatedKeys.toArray()));
           }
 
           transactionBoundCacheEntries.set(markerUseGlobalCache);
-          if (!invalidatedKeys.isEmpty()) {
+          if (allInvalidated) {
+            actual.invalidateAll();
+          } else if (!invalidatedKeys.isEmpty()) {
             actual.invalidateAll(invalidatedKeys);
           }
         }
@@ -166,6 +175,10 @@ public class TransactionBoundCache<K, V> implements LoadingCache<K, V> {
         }
       };
 
+  /**
+   * Tracks changes made directly via {@link #asMap()} of the transaction-local cache. Other
+   * modifications are tracked explicitly by the corresponding methods
+   */
   protected RemovalListener<? super K, ? super V> localRemovalListener =
       new RemovalListener<>() {
         @Override
@@ -193,49 +206,122 @@ public class TransactionBoundCache<K, V> implements LoadingCache<K, V> {
         }
       };
 
+  /**
+   * @return value from transaction-local cache or, unless key was invalidated within transaction,
+   *     from the global cache. Null if neither has it
+   */
+  protected V lookup(TransactionBoundCacheEntry<K, V> entry, Object key) {
+    V ret = entry.transactionBound.getIfPresent(key);
+    if (ret != null || entry.isShadowed(key)) {
+      return ret;
+    }
+    return actual.getIfPresent(key);
+  }
+
   @Override
   public V getIfPresent(Object key) {
-    return get().getIfPresent(key);
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      return actual.getIfPresent(key);
+    }
+    return lookup(entry, key);
   }
 
   @Override
   public V get(K key, Callable<? extends V> valueLoader) throws ExecutionException {
-    return get().get(key, valueLoader);
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      return actual.get(key, valueLoader);
+    }
+    V ret = lookup(entry, key);
+    return ret != null ? ret : entry.transactionBound.get(key, valueLoader);
   }
 
   @Override
   public ImmutableMap<K, V> getAllPresent(Iterable<?> keys) {
-    return get().getAllPresent(keys);
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      return actual.getAllPresent(keys);
+    }
+    ImmutableMap.Builder<K, V> ret = ImmutableMap.builder();
+    for (Object key : keys) {
+      V value = lookup(entry, key);
+      if (value != null) {
+        ret.put((K) key, value);
+      }
+    }
+    return ret.buildKeepingLast();
   }
 
   @Override
   public void put(K key, V value) {
-    get().put(key, value);
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      actual.put(key, value);
+      return;
+    }
+    entry.transactionBound.put(key, value);
+    entry.transactionBoundRemovals.add(key);
   }
 
   @Override
   public void putAll(Map<? extends K, ? extends V> m) {
-    get().putAll(m);
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      actual.putAll(m);
+      return;
+    }
+    entry.transactionBound.putAll(m);
+    entry.transactionBoundRemovals.addAll(m.keySet());
   }
 
   @Override
   public void invalidate(Object key) {
-    get().invalidate(key);
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      actual.invalidate(key);
+      return;
+    }
+    entry.transactionBound.invalidate(key);
+    entry.transactionBoundRemovals.add((K) key);
   }
 
   @Override
   public void invalidateAll(Iterable<?> keys) {
-    get().invalidateAll(keys);
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      actual.invalidateAll(keys);
+      return;
+    }
+    entry.transactionBound.invalidateAll(keys);
+    keys.forEach(key -> entry.transactionBoundRemovals.add((K) key));
   }
 
   @Override
   public void invalidateAll() {
-    get().invalidateAll();
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      actual.invalidateAll();
+      return;
+    }
+    entry.transactionBound.invalidateAll();
+    entry.allInvalidated = true;
   }
 
+  /**
+   * @return size of the global cache. Within transaction it is approximate: entries of
+   *     transaction-local cache are added to it, even if global cache has same keys
+   */
   @Override
   public long size() {
-    return get().size();
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      return actual.size();
+    }
+    if (entry.allInvalidated || entry.detached) {
+      return entry.transactionBound.size();
+    }
+    return actual.size() + entry.transactionBound.size();
   }
 
   @Override
@@ -245,42 +331,125 @@ public class TransactionBoundCache<K, V> implements LoadingCache<K, V> {
 
   @Override
   public void cleanUp() {
-    get().cleanUp();
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry != null) {
+      entry.transactionBound.cleanUp();
+    }
+    actual.cleanUp();
   }
 
   @Override
   public V get(K key) throws ExecutionException {
-    return get().get(key);
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      return actual.get(key);
+    }
+    V ret = lookup(entry, key);
+    return ret != null ? ret : entry.transactionBound.get(key);
   }
 
   @Override
   public V getUnchecked(K key) {
-    return get().getUnchecked(key);
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      return actual.getUnchecked(key);
+    }
+    V ret = lookup(entry, key);
+    return ret != null ? ret : entry.transactionBound.getUnchecked(key);
   }
 
   @Override
   public ImmutableMap<K, V> getAll(Iterable<? extends K> keys) throws ExecutionException {
-    return get().getAll(keys);
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      return actual.getAll(keys);
+    }
+
+    Map<K, V> found = new HashMap<>();
+    List<K> missing = new ArrayList<>();
+    for (K key : keys) {
+      V value = lookup(entry, key);
+      if (value != null) {
+        found.put(key, value);
+      } else {
+        missing.add(key);
+      }
+    }
+    if (!missing.isEmpty()) {
+      found.putAll(entry.transactionBound.getAll(missing));
+    }
+
+    // NOTE: Preserve order of the requested keys, same as Guava does
+    ImmutableMap.Builder<K, V> ret = ImmutableMap.builder();
+    for (K key : keys) {
+      V value = found.get(key);
+      if (value != null) {
+        ret.put(key, value);
+      }
+    }
+    return ret.buildKeepingLast();
   }
 
   @SuppressWarnings("deprecation")
   @Override
   public V apply(K key) {
-    return get().apply(key);
+    return getUnchecked(key);
   }
 
   @Override
   public void refresh(K key) {
-    get().refresh(key);
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      actual.refresh(key);
+      return;
+    }
+    entry.transactionBound.refresh(key);
+    entry.transactionBoundRemovals.add(key);
   }
 
+  /**
+   * Within transaction map view requires full view of the cache, so entries of the global cache are
+   * copied to transaction-local cache upon first call and global cache is not consulted for the
+   * rest of the transaction
+   */
   @Override
   public ConcurrentMap<K, V> asMap() {
-    return get().asMap();
+    TransactionBoundCacheEntry<K, V> entry = get();
+    if (entry == null) {
+      return actual.asMap();
+    }
+    ConcurrentMap<K, V> ret = entry.transactionBound.asMap();
+    if (!entry.detached) {
+      if (!entry.allInvalidated) {
+        for (Entry<K, V> globalEntry : actual.asMap().entrySet()) {
+          if (!entry.isShadowed(globalEntry.getKey())) {
+            ret.putIfAbsent(globalEntry.getKey(), globalEntry.getValue());
+          }
+        }
+      }
+      entry.detached = true;
+    }
+    return ret;
   }
 
   protected static class TransactionBoundCacheEntry<K, V> {
+    /** Entries changed or loaded within transaction */
     LoadingCache<K, V> transactionBound;
+
+    /** Keys to be invalidated in global cache upon commit */
     Set<K> transactionBoundRemovals;
+
+    /** Whole global cache is to be invalidated upon commit */
+    boolean allInvalidated;
+
+    /** Global cache was copied to transaction-local one, see {@link #asMap()} */
+    boolean detached;
+
+    /**
+     * @return true if global cache must not be consulted for this key
+     */
+    boolean isShadowed(Object key) {
+      return allInvalidated || detached || transactionBoundRemovals.contains(key);
+    }
   }
 }
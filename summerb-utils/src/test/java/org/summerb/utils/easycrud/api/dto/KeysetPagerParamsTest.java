@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.utils.easycrud.api.dto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class KeysetPagerParamsTest {
+  @Test
+  public void testCursorRoundTrip_expectSameValuesAndTypes() {
+    List<Object> values =
+        Arrays.asList("abc", 5L, 7, 1.5d, new BigDecimal("10.25"), true, null, "-/+=");
+
+    String cursor = KeysetPagerParams.encodeCursor(values);
+    KeysetPagerParams result = KeysetPagerParams.fromCursor(cursor, 20);
+
+    assertEquals(values, result.getAfter());
+    assertEquals(20, result.getMax());
+    assertEquals(0, result.getOffset());
+    assertFalse(result.isFirstPage());
+  }
+
+  @Test
+  public void testCursorRoundTrip_expectTemporalAndUuidValuesPreserved() {
+    Timestamp timestamp = Timestamp.valueOf("2025-03-04 05:06:07.123456789");
+    List<Object> values =
+        List.of(
+            UUID.fromString("6f1c2a4e-93b8-4d1a-9d3e-2f7a5b8c1d0e"),
+            timestamp,
+            java.sql.Date.valueOf("2025-03-04"),
+            Time.valueOf("05:06:07"),
+            new Date(1741064767123L),
+            Instant.ofEpochSecond(1741064767L, 42),
+            LocalDate.of(2025, 3, 4),
+            LocalDateTime.of(2025, 3, 4, 5, 6, 7, 8),
+            OffsetDateTime.of(2025, 3, 4, 5, 6, 7, 0, ZoneOffset.ofHours(2)));
+
+    List<Object> result =
+        KeysetPagerParams.fromCursor(KeysetPagerParams.encodeCursor(values), 10).getAfter();
+
+    assertEquals(values, result);
+    for (int i = 0; i < values.size(); i++) {
+      assertSame(values.get(i).getClass(), result.get(i).getClass());
+    }
+    assertEquals(timestamp.getNanos(), ((Timestamp) result.get(1)).getNanos());
+  }
+
+  @Test
+  public void testFromCursor_expectFirstPageForEmptyCursor() {
+    assertTrue(KeysetPagerParams.fromCursor(null, 10).isFirstPage());
+    assertTrue(KeysetPagerParams.fromCursor("", 10).isFirstPage());
+  }
+
+  @Test
+  public void testFromCursor_expectIllegalArgumentForMalformedCursor() {
+    assertThrows(IllegalArgumentException.class, () -> KeysetPagerParams.fromCursor("@@@", 10));
+    assertThrows(
+        IllegalArgumentException.class, () -> KeysetPagerParams.fromCursor("W1sieCIsIjEiXV0", 10));
+  }
+
+  @Test
+  public void testEncodeCursor_expectIllegalArgumentForUnsupportedType() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> KeysetPagerParams.encodeCursor(List.of(new Object())));
+  }
+
+  @Test
+  public void testSetOffset_expectOnlyZeroAllowed() {
+    KeysetPagerParams fixture = new KeysetPagerParams(10);
+    fixture.setOffset(0);
+    assertThrows(IllegalArgumentException.class, () -> fixture.setOffset(10));
+  }
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright 2015-2025 Sergey Karpushin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.summerb.utils.tx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionBoundCacheTest {
+  protected Map<Integer, String> storage;
+  protected AtomicInteger loads;
+  protected TransactionBoundCache<Integer, String> cache;
+
+  @BeforeEach
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void setUp() {
+    CacheBuilder cacheBuilder = CacheBuilder.newBuilder();
+    storage = new HashMap<>(Map.of(1, "a", 2, "b", 3, "c"));
+    loads = new AtomicInteger();
+    cache =
+        new TransactionBoundCache<>(
+            "test-" + System.nanoTime(),
+            cacheBuilder,
+            CacheLoader.from(
+                key -> {
+                  loads.incrementAndGet();
+                  return storage.get(key);
+                }));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  public void testGetInsideTransaction_expectGlobalEntriesReadWithoutCopying() {
+    cache.getUnchecked(1);
+    cache.getUnchecked(2);
+    loads.set(0);
+
+    TransactionSynchronizationManager.initSynchronization();
+    assertEquals("a", cache.getUnchecked(1));
+    assertEquals(Map.of(1, "a", 2, "b"), cache.getAllPresent(List.of(1, 2, 3)));
+    assertEquals(0, loads.get());
+    complete(true);
+
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testInvalidateInsideTransaction_expectGlobalUntouchedUntilCommit() {
+    cache.getUnchecked(1);
+
+    TransactionSynchronizationManager.initSynchronization();
+    storage.put(1, "changed");
+    cache.invalidate(1);
+    assertEquals("changed", cache.getUnchecked(1));
+    assertEquals("a", cache.actual.getIfPresent(1));
+    complete(true);
+
+    assertNull(cache.actual.getIfPresent(1));
+    assertEquals("changed", cache.getUnchecked(1));
+  }
+
+  @Test
+  public void testInvalidateInsideTransaction_expectGlobalUntouchedOnRollback() {
+    cache.getUnchecked(1);
+
+    TransactionSynchronizationManager.initSynchronization();
+    cache.invalidate(1);
+    complete(false);
+
+    assertEquals("a", cache.actual.getIfPresent(1));
+  }
+
+  @Test
+  public void testPutInsideTransaction_expectGlobalEntryInvalidatedOnCommit() {
+    cache.getUnchecked(1);
+
+    TransactionSynchronizationManager.initSynchronization();
+    cache.put(1, "local");
+    assertEquals("local", cache.getUnchecked(1));
+    complete(true);
+
+    assertNull(cache.actual.getIfPresent(1));
+  }
+
+  @Test
+  public void testInvalidateAllInsideTransaction_expectWholeGlobalCacheInvalidatedOnCommit()
+      throws Exception {
+    cache.getUnchecked(1);
+    cache.getUnchecked(2);
+    loads.set(0);
+
+    TransactionSynchronizationManager.initSynchronization();
+    cache.invalidateAll();
+    assertNull(cache.getIfPresent(2));
+    assertEquals(Map.of(1, "a", 3, "c"), cache.getAll(List.of(1, 3)));
+    assertEquals(2, loads.get());
+    complete(true);
+
+    assertEquals(0, cache.actual.size());
+  }
+
+  @Test
+  public void testAsMapInsideTransaction_expectGlobalEntriesVisibleExceptInvalidated() {
+    cache.getUnchecked(1);
+    cache.getUnchecked(2);
+
+    TransactionSynchronizationManager.initSynchronization();
+    cache.invalidate(2);
+    assertEquals(Map.of(1, "a"), Map.copyOf(cache.asMap()));
+    cache.asMap().remove(1);
+    complete(true);
+
+    assertEquals(0, cache.actual.size());
+  }
+
+  protected void complete(boolean commit) {
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    for (TransactionSynchronization synchronization : synchronizations) {
+      if (commit) {
+        synchronization.afterCommit();
+      }
+      synchronization.afterCompletion(
+          commit
+              ? TransactionSynchronization.STATUS_COMMITTED
+              : TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+  }
+}